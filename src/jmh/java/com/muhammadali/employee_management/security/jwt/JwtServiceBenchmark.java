@@ -0,0 +1,69 @@
+package com.muhammadali.employee_management.security.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// Per-request cost of token verification as seen by JwtAuthFilter. Run with `./gradlew jmh`.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = "verylongsecretkey-shouldbeatleast32characters!!";
+
+    private String token;
+
+    private JwtService uncached;
+
+    private JwtService cached;
+
+    @Setup
+    public void setUp() {
+        uncached = new JwtService(SECRET, 0);
+        cached = new JwtService(SECRET, 10_000);
+        token = cached.generateToken("john@example.com");
+        cached.verify(token);
+    }
+
+
+    // What the filter used to do: extractUsername, then validateToken (extractUsername +
+    // extractExpiration), each rebuilding the key and the parser.
+    @Benchmark
+    public void previousFilterPath(Blackhole blackhole) {
+        blackhole.consume(parseWithFreshParser().getSubject());
+        blackhole.consume(parseWithFreshParser().getSubject());
+        blackhole.consume(parseWithFreshParser().getExpiration());
+    }
+
+
+    @Benchmark
+    public Claims verifyOncePerRequest() {
+        return uncached.verify(token);
+    }
+
+
+    @Benchmark
+    public Claims verifyCached() {
+        return cached.verify(token);
+    }
+
+
+    private Claims parseWithFreshParser() {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
@@ -1,7 +1,9 @@
 package com.muhammadali.employee_management;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 @SpringBootApplication
+@EnableScheduling
 public class EmployeeManagementApplication {
 	public static void main(String[] args) {
 		SpringApplication.run(EmployeeManagementApplication.class, args);
@@ -1,13 +1,18 @@
 package com.muhammadali.employee_management.controller;
 import com.muhammadali.employee_management.dto.*;
 import com.muhammadali.employee_management.enums.DepartmentStatType;
+import com.muhammadali.employee_management.exceptions.BusinessValidationException;
 import com.muhammadali.employee_management.service.DepartmentService;
+import com.muhammadali.employee_management.service.DepartmentStatsService;
+import com.muhammadali.employee_management.service.ReferenceDataCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 
 @RestController
@@ -18,6 +23,10 @@ public class DepartmentController {
 
     private final DepartmentService departmentService;
 
+    private final ReferenceDataCache referenceDataCache;
+
+    private final DepartmentStatsService departmentStatsService;
+
     @Operation(summary = "Create a new department")
     @PostMapping("/create")
     public ResponseEntity<DepartmentResponseDTO> save(@RequestBody DepartmentRequestDTO dto){
@@ -66,6 +75,13 @@ public class DepartmentController {
     }
 
 
+    @Operation(summary = "Second-level cache statistics for department and role reference data")
+    @GetMapping("/cache/stats")
+    public ResponseEntity<List<CacheRegionStatsDTO>> getCacheStats(){
+        return ResponseEntity.ok(referenceDataCache.stats());
+    }
+
+
     @GetMapping("/all")
     public ResponseEntity<List<DepartmentResponseDTO>> getAll(){
         List<DepartmentResponseDTO> departments=departmentService.getAll();
@@ -77,7 +93,8 @@ public class DepartmentController {
     @GetMapping("/{id}/stats")
     public ResponseEntity<?> getDepartmentStats(
             @PathVariable Long id,
-            @RequestParam String type
+            @RequestParam String type,
+            @RequestParam(defaultValue = "5") int limit
     ) {
         DepartmentStatType statType;
         try {
@@ -93,12 +110,42 @@ public class DepartmentController {
             case POSITION_COUNT -> ResponseEntity.ok(departmentService.getPositionCountByDepartment(id));
             case EMPLOYEE_COUNT -> ResponseEntity.ok(departmentService.getEmployeeCountInDepartment(id));
             case EMPLOYEES -> ResponseEntity.ok(departmentService.getEmployeesByDepartment(id));
+            case TOP_SALARY -> ResponseEntity.ok(departmentService.getTopEarners(id, limit));
             case YEARLY_STATS -> ResponseEntity.ok(departmentService.getYearlyStatsByDepartment(id));
             default -> ResponseEntity.badRequest().body("Invalid type provided");
         };
     }
 
 
+    @Operation(summary = "Get several department statistics in one call")
+    @GetMapping(value = "/{id}/stats", params = "types")
+    public ResponseEntity<DepartmentStatsDTO> getDepartmentStatsComposite(
+            @PathVariable Long id,
+            @RequestParam List<String> types,
+            @RequestParam(defaultValue = "5") int limit
+    ) {
+        Set<DepartmentStatType> statTypes = EnumSet.noneOf(DepartmentStatType.class);
+        for (String param : types) {
+            for (String type : param.split(",")) {
+                try {
+                    statTypes.add(DepartmentStatType.valueOf(type.trim().toUpperCase()));
+                } catch (IllegalArgumentException e) {
+                    throw new BusinessValidationException("INVALID_STAT_TYPE", "Invalid type provided: " + type);
+                }
+            }
+        }
+        return ResponseEntity.ok(departmentStatsService.getStats(id, statTypes, limit));
+    }
+
+
+    @Operation(summary = "Salary and headcount summary for every department")
+    @GetMapping("/salary-summary")
+    public ResponseEntity<List<DepartmentSalarySummaryDTO>> getSalarySummary(
+            @RequestParam(required = false) String currency){
+        return ResponseEntity.ok(departmentService.getSalarySummary(currency));
+    }
+
+
     @GetMapping("/employee-count")
     public List<DepartmentEmployeeCountDTO> getEmployeeCountForAllDepartments(){
         return departmentService.getEmployeeCountForAllDepartments();
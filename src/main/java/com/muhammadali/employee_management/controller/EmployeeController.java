@@ -1,10 +1,21 @@
 package com.muhammadali.employee_management.controller;
+import com.muhammadali.employee_management.dto.EmployeeCursorPageDTO;
+import com.muhammadali.employee_management.dto.EmployeeFacetedSearchDTO;
+import com.muhammadali.employee_management.dto.EmployeeImportResultDTO;
 import com.muhammadali.employee_management.dto.EmployeeRequestDTO;
 import com.muhammadali.employee_management.dto.EmployeeResponseDTO;
+import com.muhammadali.employee_management.dto.EmployeeSuggestionDTO;
 import com.muhammadali.employee_management.dto.SalaryResponseDTO;
+import com.muhammadali.employee_management.dto.SuggestIndexStatsDTO;
+import com.muhammadali.employee_management.enums.ExportFormat;
 import com.muhammadali.employee_management.enums.Gender;
+import com.muhammadali.employee_management.enums.ImportFormat;
 import com.muhammadali.employee_management.enums.Status;
+import com.muhammadali.employee_management.service.EmployeeExportService;
+import com.muhammadali.employee_management.service.EmployeeFacetService;
+import com.muhammadali.employee_management.service.EmployeeImportService;
 import com.muhammadali.employee_management.service.EmployeeService;
+import com.muhammadali.employee_management.service.EmployeeSuggestIndex;
 import com.muhammadali.employee_management.service.SalaryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -12,8 +23,13 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -29,6 +45,14 @@ public class EmployeeController {
 
     private final SalaryService salaryService;
 
+    private final EmployeeExportService employeeExportService;
+
+    private final EmployeeSuggestIndex employeeSuggestIndex;
+
+    private final EmployeeFacetService employeeFacetService;
+
+    private final EmployeeImportService employeeImportService;
+
     @Operation(summary = "Create a new employee")
     @PostMapping("/save")
     public ResponseEntity<EmployeeResponseDTO> create(@Valid @RequestBody EmployeeRequestDTO requestDTO){
@@ -50,6 +74,28 @@ public class EmployeeController {
     }
 
 
+    @Operation(summary = "Stream all employees as NDJSON or CSV")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "NDJSON") ExportFormat format){
+        boolean csv = format == ExportFormat.CSV;
+        StreamingResponseBody body = out -> employeeExportService.export(format, out);
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv") : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"employees." + (csv ? "csv" : "ndjson") + "\"")
+                .body(body);
+    }
+
+
+    @Operation(summary = "Bulk import employees from NDJSON or CSV")
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<EmployeeImportResultDTO> importEmployees(
+            @RequestParam(defaultValue = "NDJSON") ImportFormat format,
+            InputStream body) throws IOException {
+        return ResponseEntity.ok(employeeImportService.importEmployees(format, body));
+    }
+
+
     @GetMapping("/age")
     public List<EmployeeResponseDTO> searchByAgeRange(
             @RequestParam int min,
@@ -112,6 +158,23 @@ public class EmployeeController {
     }
 
 
+    @Operation(summary = "Typeahead suggestions from the in-memory employee index")
+    @GetMapping("/suggest")
+    public List<EmployeeSuggestionDTO> suggest(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit
+    ){
+        return employeeSuggestIndex.suggest(q, Math.min(limit, 50));
+    }
+
+
+    @Operation(summary = "Memory and size statistics of the suggestion index")
+    @GetMapping("/suggest/stats")
+    public SuggestIndexStatsDTO suggestStats(){
+        return employeeSuggestIndex.stats();
+    }
+
+
     @Operation(summary = "Search employees by phone number")
     @GetMapping("/search/phone")
     public List<EmployeeResponseDTO> searchByPhone(@RequestParam String phone){
@@ -171,6 +234,18 @@ public class EmployeeController {
     }
 
 
+    @Operation(summary = "Get employees with cursor (keyset) pagination")
+    @GetMapping("/paging/cursor")
+    public EmployeeCursorPageDTO getEmployeesWithCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "asc") String direction
+    ){
+        return employeeService.getEmployeesWithCursor(cursor,size,sortBy,direction);
+    }
+
+
     @Operation(summary = "Get salary history of an employee")
     @GetMapping("/{employeeId}/salaries")
     public ResponseEntity<List<SalaryResponseDTO>> getEmployeeSalaryHistory(
@@ -194,6 +269,23 @@ public class EmployeeController {
     }
 
 
+    @Operation(summary = "Faceted employee search: a page of matches plus filter counts")
+    @GetMapping("/faceted-search")
+    public EmployeeFacetedSearchDTO facetedSearch(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) Status status,
+            @RequestParam(required = false) Gender gender,
+            @RequestParam(required = false) String position,
+            @RequestParam(required = false) Integer minAge,
+            @RequestParam(required = false) Integer maxAge,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ){
+        return employeeFacetService.search(name,department,status,gender,position,minAge,maxAge,page,size);
+    }
+
+
     @Operation(summary = "Get total number of employees")
     @GetMapping("/count")
     public long getEmployeeCount(){
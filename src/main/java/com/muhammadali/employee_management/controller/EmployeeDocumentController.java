@@ -1,13 +1,16 @@
 package com.muhammadali.employee_management.controller;
 import com.muhammadali.employee_management.dto.EmployeeDocumentDTO;
 import com.muhammadali.employee_management.service.EmployeeDocumentService;
+import com.muhammadali.employee_management.service.FileDownloadWriter;
 import io.swagger.v3.oas.annotations.Operation;
-import org.springframework.core.io.Resource;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.List;
 
 
@@ -18,6 +21,8 @@ public class EmployeeDocumentController {
 
     private final EmployeeDocumentService employeeDocumentService;
 
+    private final FileDownloadWriter fileDownloadWriter;
+
     @Operation(summary = "Upload a document for an employee")
     @PostMapping(
             value = "/upload",
@@ -63,10 +68,12 @@ public class EmployeeDocumentController {
     }
 
 
-    @Operation(summary = "Download a document file")
+    @Operation(summary = "Download a document file; supports Range, If-Range and conditional GET")
     @GetMapping("/file/{documentId}/download")
-    public ResponseEntity<Resource> downloadDocument(@PathVariable Long documentId) {
-        return employeeDocumentService.downloadDocument(documentId);
+    public void downloadDocument(@PathVariable Long documentId,
+                                 HttpServletRequest request,
+                                 HttpServletResponse response) throws IOException {
+        fileDownloadWriter.write(employeeDocumentService.getDownload(documentId), request, response);
     }
 
 
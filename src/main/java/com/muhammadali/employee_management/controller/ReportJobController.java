@@ -0,0 +1,93 @@
+package com.muhammadali.employee_management.controller;
+
+import com.muhammadali.employee_management.dto.ReportJobRequestDTO;
+import com.muhammadali.employee_management.dto.ReportJobResponseDTO;
+import com.muhammadali.employee_management.entity.ReportJob;
+import com.muhammadali.employee_management.exceptions.ResourceNotFoundException;
+import com.muhammadali.employee_management.service.ReportJobService;
+import com.muhammadali.employee_management.service.ReportJobWorker;
+import com.muhammadali.employee_management.service.ReportSpool;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/reports/jobs")
+@RequiredArgsConstructor
+public class ReportJobController {
+
+    private final ReportJobService reportJobService;
+
+    private final ReportJobWorker reportJobWorker;
+
+    private final ReportSpool reportSpool;
+
+
+    @Operation(summary = "Queue a report; poll the returned job until it has SUCCEEDED, then download it")
+    @PostMapping
+    public ResponseEntity<ReportJobResponseDTO> submit(@Valid @RequestBody ReportJobRequestDTO request,
+                                                       Authentication authentication){
+        ReportJobResponseDTO job = reportJobService.submit(request, authentication.getName());
+        reportJobWorker.wakeUp();
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/reports/jobs/" + job.id()))
+                .body(job);
+    }
+
+
+    @Operation(summary = "The caller's most recent report jobs")
+    @GetMapping
+    public ResponseEntity<List<ReportJobResponseDTO>> list(Authentication authentication){
+        return ResponseEntity.ok(reportJobService.listMine(authentication.getName()));
+    }
+
+
+    @Operation(summary = "Status and progress of a report job")
+    @GetMapping("/{id}")
+    public ResponseEntity<ReportJobResponseDTO> get(@PathVariable UUID id, Authentication authentication){
+        return ResponseEntity.ok(reportJobService.get(id, authentication.getName(), isAdmin(authentication)));
+    }
+
+
+    @Operation(summary = "Download the result of a finished report job")
+    @GetMapping("/{id}/result")
+    public ResponseEntity<Resource> result(@PathVariable UUID id, Authentication authentication){
+        ReportJob job = reportJobService.getResult(id, authentication.getName(), isAdmin(authentication));
+        Path file = reportSpool.resolve(job.getResultFile());
+        if (!Files.isReadable(file)) {
+            throw new ResourceNotFoundException("Report result", "id", id);
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(job.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + job.getFileName() + "\"")
+                .body(new FileSystemResource(file));
+    }
+
+
+    @Operation(summary = "Cancel a queued or running report job")
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ReportJobResponseDTO> cancel(@PathVariable UUID id, Authentication authentication){
+        return ResponseEntity.ok(reportJobService.cancel(id, authentication.getName(), isAdmin(authentication)));
+    }
+
+
+    private static boolean isAdmin(Authentication authentication){
+        return authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ADMIN".equals(authority.getAuthority()));
+    }
+
+
+}
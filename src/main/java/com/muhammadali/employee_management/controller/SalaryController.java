@@ -1,16 +1,27 @@
 package com.muhammadali.employee_management.controller;
+import com.muhammadali.employee_management.dto.SalaryDepartmentMonthlyStatDTO;
+import com.muhammadali.employee_management.dto.SalaryLoadResultDTO;
 import com.muhammadali.employee_management.dto.SalaryMonthlyStatDTO;
+import com.muhammadali.employee_management.dto.SalaryPartitionDTO;
 import com.muhammadali.employee_management.dto.SalaryRequestDTO;
 import com.muhammadali.employee_management.dto.SalaryResponseDTO;
+import com.muhammadali.employee_management.dto.SalaryRollupRebuildResultDTO;
+import com.muhammadali.employee_management.service.SalaryCopyService;
+import com.muhammadali.employee_management.service.SalaryPartitionService;
+import com.muhammadali.employee_management.service.SalaryRollupService;
 import com.muhammadali.employee_management.service.SalaryService;
 import io.swagger.v3.oas.annotations.Operation;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.Date;
 import java.util.List;
 
@@ -21,6 +32,12 @@ public class SalaryController {
 
     private final SalaryService salaryService;
 
+    private final SalaryCopyService salaryCopyService;
+
+    private final SalaryRollupService salaryRollupService;
+
+    private final SalaryPartitionService salaryPartitionService;
+
 
     @Operation(summary = "Create a new salary record")
     @PostMapping
@@ -63,8 +80,13 @@ public class SalaryController {
 
 
     @GetMapping("/employee/{employeeId}")
-    public ResponseEntity<List<SalaryResponseDTO>> getByEmployee(@PathVariable Long employeeId){
-        List<SalaryResponseDTO> list=salaryService.getSalaryHistoryByEmployee(employeeId);
+    public ResponseEntity<List<SalaryResponseDTO>> getByEmployee(
+            @PathVariable Long employeeId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to){
+        List<SalaryResponseDTO> list = from == null && to == null
+                ? salaryService.getSalaryHistoryByEmployee(employeeId)
+                : salaryService.getSalaryHistoryByEmployee(employeeId, from, to);
         return ResponseEntity.ok(list);
     }
 
@@ -135,6 +157,41 @@ public class SalaryController {
     }
 
 
+    @GetMapping("/monthly-stats/by-department")
+    public ResponseEntity<List<SalaryDepartmentMonthlyStatDTO>> getMonthlyStatsPerDepartment(
+            @RequestParam(required = false) Integer year){
+        return ResponseEntity.ok(salaryService.getMonthlySalaryStatsPerDepartment(year));
+    }
+
+
+    @GetMapping("/department/{departmentId}/monthly-stats")
+    public ResponseEntity<List<SalaryMonthlyStatDTO>> getMonthlyStatsByDepartment(
+            @PathVariable Long departmentId, @RequestParam(required = false) Integer year){
+        return ResponseEntity.ok(salaryService.getMonthlySalaryStatsByDepartment(departmentId, year));
+    }
+
+
+    @GetMapping("/partitions")
+    public ResponseEntity<List<SalaryPartitionDTO>> getPartitions(){
+        return ResponseEntity.ok(salaryPartitionService.list());
+    }
+
+
+    @Operation(summary = "Detach monthly salary partitions ending on or before a date, for archival")
+    @PostMapping("/partitions/detach")
+    public ResponseEntity<List<String>> detachPartitions(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate before){
+        return ResponseEntity.ok(salaryPartitionService.detachBefore(before));
+    }
+
+
+    @Operation(summary = "Recompute the monthly payroll rollup from salaries")
+    @PostMapping("/monthly-stats/rebuild")
+    public ResponseEntity<SalaryRollupRebuildResultDTO> rebuildMonthlyStats(){
+        return ResponseEntity.ok(salaryRollupService.rebuild());
+    }
+
+
     @GetMapping("/employee/{employeeId}/max")
     public ResponseEntity<Double> getMaxSalaryByEmployee(@PathVariable Long employeeId){
         return ResponseEntity.ok(salaryService.getMaxSalaryByEmployee(employeeId));
@@ -147,6 +204,26 @@ public class SalaryController {
     }
 
 
+    @Operation(summary = "Bulk load salaries from CSV using COPY")
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<SalaryLoadResultDTO> importSalaries(InputStream body){
+        return ResponseEntity.ok(salaryCopyService.load(body));
+    }
+
+
+    @Operation(summary = "Stream salaries as CSV using COPY")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportSalaries(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to){
+        StreamingResponseBody body = out -> salaryCopyService.unload(from, to, out);
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"salaries.csv\"")
+                .body(body);
+    }
+
+
     @Operation(summary = "Delete salary record")
     @DeleteMapping("/{id}")
     public ResponseEntity<String> delete(@PathVariable Long id){
@@ -0,0 +1,80 @@
+package com.muhammadali.employee_management.controller;
+
+import com.muhammadali.employee_management.dto.PayslipDTO;
+import com.muhammadali.employee_management.entity.Department;
+import com.muhammadali.employee_management.service.PayslipPdfService;
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.YearMonth;
+
+@RestController
+@RequestMapping("/api/salaries/pdf")
+@RequiredArgsConstructor
+public class SalaryPdfController {
+
+    private static final MediaType APPLICATION_ZIP = new MediaType("application", "zip");
+
+    private final PayslipPdfService payslipPdfService;
+
+
+    @Operation(summary = "Payslip PDF for one salary payment")
+    @GetMapping("/payslip/{salaryId}")
+    public ResponseEntity<StreamingResponseBody> payslip(@PathVariable Long salaryId){
+        // Looked up before streaming starts so a missing salary is still a 404.
+        PayslipDTO payslip = payslipPdfService.getPayslip(salaryId);
+        StreamingResponseBody body = out -> payslipPdfService.writePayslip(payslip, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_PDF)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"payslip-" + payslip.employeeId() + "-" + salaryId + ".pdf\"")
+                .body(body);
+    }
+
+
+    @Operation(summary = "ZIP of payslip PDFs for every payment in a month")
+    @GetMapping("/payslips")
+    public ResponseEntity<StreamingResponseBody> payslips(@RequestParam YearMonth month,
+                                                          @RequestParam(required = false) Long departmentId){
+        if (departmentId != null) {
+            payslipPdfService.getDepartment(departmentId);
+        }
+        StreamingResponseBody body = out -> payslipPdfService.writePayslipsZip(month, departmentId, out);
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_ZIP)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"payslips-" + month + ".zip\"")
+                .body(body);
+    }
+
+
+    @Operation(summary = "Payroll table PDF for one department and month")
+    @GetMapping("/payroll/department/{departmentId}")
+    public ResponseEntity<StreamingResponseBody> departmentPayroll(@PathVariable Long departmentId,
+                                                                   @RequestParam YearMonth month){
+        Department department = payslipPdfService.getDepartment(departmentId);
+        StreamingResponseBody body = out -> payslipPdfService.writePayroll(department, month, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_PDF)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"payroll-" + departmentId + "-" + month + ".pdf\"")
+                .body(body);
+    }
+
+
+    @Operation(summary = "ZIP of payroll table PDFs, one per department, for a month")
+    @GetMapping("/payroll")
+    public ResponseEntity<StreamingResponseBody> payroll(@RequestParam YearMonth month){
+        StreamingResponseBody body = out -> payslipPdfService.writePayrollZip(month, out);
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_ZIP)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"payroll-" + month + ".zip\"")
+                .body(body);
+    }
+
+
+}
@@ -0,0 +1,62 @@
+package com.muhammadali.employee_management.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+
+// Bulk downloads (exports, PDF bundles) stream for as long as the data takes to write, far
+// beyond the default async timeout. They get web.streaming.timeout; every other async
+// request keeps spring.mvc.async.request-timeout. StreamingResponseBody runs as a Callable,
+// so the timeout is set just before its async processing starts.
+@Configuration
+public class StreamingTimeoutConfig implements WebMvcConfigurer {
+
+    private final AntPathMatcher matcher = new AntPathMatcher();
+
+    private final List<String> paths;
+
+    private final Duration timeout;
+
+
+    public StreamingTimeoutConfig(@Value("${web.streaming.paths:}") List<String> paths,
+                                  @Value("${web.streaming.timeout:30m}") Duration timeout){
+        this.paths = paths;
+        this.timeout = timeout;
+    }
+
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer){
+        configurer.registerCallableInterceptors(new CallableProcessingInterceptor() {
+            @Override
+            public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task){
+                if (request instanceof AsyncWebRequest asyncRequest && isStreaming(request)) {
+                    asyncRequest.setTimeout(timeout.toMillis());
+                }
+            }
+        });
+    }
+
+
+    boolean isStreaming(NativeWebRequest request){
+        HttpServletRequest servletRequest = request.getNativeRequest(HttpServletRequest.class);
+        if (servletRequest == null) {
+            return false;
+        }
+        String path = servletRequest.getRequestURI().substring(servletRequest.getContextPath().length());
+        return paths.stream().anyMatch(pattern -> matcher.match(pattern, path));
+    }
+
+
+}
@@ -1,4 +1,5 @@
 package com.muhammadali.employee_management.controller;
+import com.muhammadali.employee_management.dto.PrincipalCacheStatsDTO;
 import com.muhammadali.employee_management.dto.UsersRequestDTO;
 import com.muhammadali.employee_management.dto.UsersResponseDTO;
 import com.muhammadali.employee_management.dto.auth.LoginRequestDTO;
@@ -8,8 +9,11 @@ import com.muhammadali.employee_management.entity.RefreshToken;
 import com.muhammadali.employee_management.entity.Users;
 import com.muhammadali.employee_management.repository.UsersRepository;
 import com.muhammadali.employee_management.security.jwt.JwtService;
+import com.muhammadali.employee_management.security.service.LoginThrottle;
+import com.muhammadali.employee_management.security.service.PrincipalCache;
 import com.muhammadali.employee_management.service.RefreshTokenService;
 import com.muhammadali.employee_management.service.UsersService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -36,6 +40,10 @@ public class UsersController {
 
     private final UsersRepository usersRepository;
 
+    private final PrincipalCache principalCache;
+
+    private final LoginThrottle loginThrottle;
+
 
     @PostMapping
     public ResponseEntity<UsersResponseDTO> create(@RequestBody UsersRequestDTO dto){
@@ -62,6 +70,12 @@ public class UsersController {
     }
 
 
+    @GetMapping("/principal-cache/stats")
+    public ResponseEntity<PrincipalCacheStatsDTO> getPrincipalCacheStats(){
+        return ResponseEntity.ok(principalCache.stats());
+    }
+
+
     @GetMapping
     public ResponseEntity<List<UsersResponseDTO>> findAll(){
         return ResponseEntity.ok(usersService.findAll());
@@ -69,7 +83,9 @@ public class UsersController {
 
 
     @PostMapping("/login")
-    public LoginResponseDTO login(@RequestBody LoginRequestDTO dto){
+    public LoginResponseDTO login(@RequestBody LoginRequestDTO dto, HttpServletRequest request){
+
+        loginThrottle.acquire(request.getRemoteAddr(), dto.email());
 
         Authentication authentication =
                 authenticationManager.authenticate(
@@ -109,7 +125,7 @@ public class UsersController {
 
         return new LoginResponseDTO(
                 accessToken,
-                refreshToken.getToken(),
+                request.refreshToken(),
                 "Bearer"
         );
     }
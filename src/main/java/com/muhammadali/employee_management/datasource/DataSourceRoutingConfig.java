@@ -0,0 +1,82 @@
+package com.muhammadali.employee_management.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+
+// Off by default: with datasource.routing.enabled unset, Boot's single spring.datasource
+// pool is used unchanged.
+@Configuration
+@ConditionalOnProperty(prefix = "datasource.routing", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(RoutingDataSourceProperties.class)
+public class DataSourceRoutingConfig {
+
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties){
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             RoutingDataSourceProperties properties){
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (RoutingDataSourceProperties.Replica replica : properties.getReplicas()) {
+            replicas.put(replica.getName(), replicaPool(replica));
+        }
+        ReadYourWritesTracker readYourWrites = new ReadYourWritesTracker(
+                properties.getReadYourWritesWindow(), properties.getReadYourWritesMaxUsers());
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas,
+                properties.getMaxReplicaLag(), properties.getHealthCheckInterval(), readYourWrites);
+    }
+
+
+    // Picked up by the auto-configured transaction manager as an execution listener.
+    @Bean
+    public ReplicaCacheGuard replicaCacheGuard(ReplicaRoutingDataSource replicaRoutingDataSource,
+                                               EntityManagerFactory entityManagerFactory){
+        return new ReplicaCacheGuard(replicaRoutingDataSource, entityManagerFactory);
+    }
+
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource){
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+
+    private static HikariDataSource replicaPool(RoutingDataSourceProperties.Replica replica){
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(replica.getName());
+        dataSource.setJdbcUrl(replica.getUrl());
+        dataSource.setUsername(replica.getUsername());
+        dataSource.setPassword(replica.getPassword());
+        dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+        dataSource.setConnectionTimeout(replica.getConnectionTimeout().toMillis());
+        dataSource.setReadOnly(true);
+        // A replica that is down at startup is marked unhealthy instead of failing the boot.
+        dataSource.setInitializationFailTimeout(-1);
+        return dataSource;
+    }
+
+
+}
@@ -0,0 +1,80 @@
+package com.muhammadali.employee_management.datasource;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+
+// Remembers when each user last committed a write so their next reads can stay on the
+// primary until the replicas have had time to catch up.
+public class ReadYourWritesTracker {
+
+    private final ConcurrentHashMap<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    private final long windowNanos;
+
+    private final int maxUsers;
+
+    private final LongSupplier clock;
+
+
+    public ReadYourWritesTracker(Duration window, int maxUsers){
+        this(window, maxUsers, System::nanoTime);
+    }
+
+
+    ReadYourWritesTracker(Duration window, int maxUsers, LongSupplier clock){
+        this.windowNanos = window.toNanos();
+        this.maxUsers = maxUsers;
+        this.clock = clock;
+    }
+
+
+    // Stamped after commit: that is the moment the write starts replicating.
+    public void recordWrite(){
+        String user = currentUser();
+        if (user == null || windowNanos <= 0 || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                long now = clock.getAsLong();
+                if (lastWrites.size() >= maxUsers) {
+                    lastWrites.values().removeIf(at -> now - at >= windowNanos);
+                }
+                lastWrites.put(user, now);
+            }
+        });
+    }
+
+
+    public boolean recentlyWrote(){
+        String user = currentUser();
+        if (user == null) {
+            return false;
+        }
+        Long at = lastWrites.get(user);
+        if (at == null) {
+            return false;
+        }
+        if (clock.getAsLong() - at < windowNanos) {
+            return true;
+        }
+        lastWrites.remove(user, at);
+        return false;
+    }
+
+
+    private static String currentUser(){
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+
+
+}
@@ -0,0 +1,57 @@
+package com.muhammadali.employee_management.datasource;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.lang.Nullable;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+
+// Keeps transactions served by a replica from filling the second-level and query caches.
+// A replica may be up to max-replica-lag behind; a row it returns right after a write's
+// afterCommit eviction would otherwise stay cached for the region's whole TTL. Such
+// sessions still read from the caches, only the primary fills them.
+public class ReplicaCacheGuard implements TransactionExecutionListener {
+
+    private final ReplicaRoutingDataSource routing;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+
+    public ReplicaCacheGuard(ReplicaRoutingDataSource routing, EntityManagerFactory entityManagerFactory){
+        this.routing = routing;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, @Nullable Throwable beginFailure){
+        if (beginFailure != null || !transaction.isReadOnly()
+                || ReplicaRoutingDataSource.PRIMARY.equals(routing.routeCurrentTransaction())) {
+            return;
+        }
+        EntityManager entityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+        if (entityManager == null) {
+            return;
+        }
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode previous = session.getCacheMode();
+        session.setCacheMode(CacheMode.GET);
+        // With open-in-view the session outlives this transaction.
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (session.isOpen()) {
+                    session.setCacheMode(previous);
+                }
+            }
+        });
+    }
+
+
+}
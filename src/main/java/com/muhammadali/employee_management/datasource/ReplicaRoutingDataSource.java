@@ -0,0 +1,195 @@
+package com.muhammadali.employee_management.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+
+// Sends read-only transactions to a healthy, caught-up replica and everything else to the
+// primary. Must sit behind a LazyConnectionDataSourceProxy: the JPA transaction manager asks
+// for a connection before it marks the transaction read-only. A replica's health is only
+// trusted for STALE_CHECKS check intervals: if the checks stop running, because the
+// scheduler is busy or stuck, replicas fall back to the primary instead of being used on
+// an old verdict.
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    static final int STALE_CHECKS = 3;
+
+    // Zero when the replica has replayed everything it received, otherwise seconds since the
+    // last replayed commit. A plain (non-standby) server reports zero, which lets a second
+    // local instance or schema stand in for a replica.
+    static final String LAG_QUERY = """
+            SELECT CASE
+                       WHEN NOT pg_is_in_recovery() THEN 0
+                       WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                       ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+                   END
+            """;
+
+    private final List<Replica> replicas;
+
+    private final double maxLagSeconds;
+
+    private final long staleAfterNanos;
+
+    private final LongSupplier clock;
+
+    private final ReadYourWritesTracker readYourWrites;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    // Transaction resource holding the target chosen by routeCurrentTransaction().
+    private final Object routeKey = new Object();
+
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicaPools, Duration maxLag,
+                                    Duration healthCheckInterval, ReadYourWritesTracker readYourWrites){
+        this(primary, replicaPools, maxLag, healthCheckInterval, readYourWrites, System::nanoTime);
+    }
+
+
+    ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicaPools, Duration maxLag,
+                             Duration healthCheckInterval, ReadYourWritesTracker readYourWrites, LongSupplier clock){
+        Map<Object, Object> targets = new HashMap<>(replicaPools);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        this.replicas = replicaPools.entrySet().stream()
+                .map(e -> new Replica(e.getKey(), e.getValue()))
+                .toList();
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.readYourWrites = readYourWrites;
+        this.staleAfterNanos = healthCheckInterval.multipliedBy(STALE_CHECKS).toNanos();
+        this.clock = clock;
+    }
+
+
+    @Override
+    public void afterPropertiesSet(){
+        super.afterPropertiesSet();
+        checkReplicas();
+    }
+
+
+    @Override
+    protected Object determineCurrentLookupKey(){
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return PRIMARY;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            readYourWrites.recordWrite();
+            return PRIMARY;
+        }
+        Object routed = TransactionSynchronizationManager.getResource(routeKey);
+        if (routed != null) {
+            return routed;
+        }
+        if (readYourWrites.recentlyWrote()) {
+            return PRIMARY;
+        }
+        return pickReplica();
+    }
+
+
+    // Chooses the target of the current read-only transaction as it begins and keeps it for
+    // the rest of the transaction, so ReplicaCacheGuard knows before the first statement
+    // whether a replica will serve it.
+    Object routeCurrentTransaction(){
+        Object routed = TransactionSynchronizationManager.getResource(routeKey);
+        if (routed != null) {
+            return routed;
+        }
+        Object key = determineCurrentLookupKey();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.bindResource(routeKey, key);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(routeKey);
+                }
+            });
+        }
+        return key;
+    }
+
+
+    @Scheduled(fixedDelayString = "${datasource.routing.health-check-interval:5s}")
+    public void checkReplicas(){
+        for (Replica replica : replicas) {
+            boolean healthy = lagSeconds(replica.dataSource) <= maxLagSeconds;
+            replica.health = new Health(healthy, clock.getAsLong());
+        }
+    }
+
+
+    // Only the replica pools are ours to close; the primary is its own bean.
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+
+    // Round robin over the healthy replicas; the primary when none is usable.
+    private String pickReplica(){
+        int size = replicas.size();
+        long now = clock.getAsLong();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            Health health = replica.health;
+            if (health.healthy() && now - health.checkedAt() <= staleAfterNanos) {
+                return replica.name;
+            }
+        }
+        return PRIMARY;
+    }
+
+
+    private static double lagSeconds(DataSource dataSource){
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(LAG_QUERY)) {
+            return rs.next() ? rs.getDouble(1) : Double.MAX_VALUE;
+        } catch (SQLException e) {
+            return Double.MAX_VALUE;
+        }
+    }
+
+
+    private static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile Health health = new Health(false, 0);
+
+        Replica(String name, DataSource dataSource){
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+
+
+    // Swapped as one value so a reader never pairs a verdict with another check's time.
+    private record Health(boolean healthy, long checkedAt) {
+    }
+
+
+}
@@ -0,0 +1,49 @@
+package com.muhammadali.employee_management.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "datasource.routing")
+public class RoutingDataSourceProperties {
+
+    private boolean enabled;
+
+    private Duration maxReplicaLag = Duration.ofSeconds(5);
+
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    // Also how old a replica's last check may get before the replica is skipped.
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+    private int readYourWritesMaxUsers = 10000;
+
+    private List<Replica> replicas = new ArrayList<>();
+
+
+    @Getter
+    @Setter
+    public static class Replica {
+
+        private String name;
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        private int maximumPoolSize = 10;
+
+        private Duration connectionTimeout = Duration.ofSeconds(2);
+    }
+
+
+}
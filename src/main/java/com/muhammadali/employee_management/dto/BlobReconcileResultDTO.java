@@ -0,0 +1,8 @@
+package com.muhammadali.employee_management.dto;
+
+public record BlobReconcileResultDTO(
+        int recounted,
+        int adopted,
+        int collected,
+        int staleUploads
+){}
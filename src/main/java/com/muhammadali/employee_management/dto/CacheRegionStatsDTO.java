@@ -0,0 +1,9 @@
+package com.muhammadali.employee_management.dto;
+
+public record CacheRegionStatsDTO(
+        String region,
+        long hits,
+        long misses,
+        long puts,
+        double hitRate
+) {}
@@ -0,0 +1,10 @@
+package com.muhammadali.employee_management.dto;
+
+
+public interface DepartmentAggregateStatsDTO {
+        Double getMinSalary();
+        Double getMaxSalary();
+        Double getAverageSalary();
+        Long getPositionCount();
+        Long getEmployeeCount();
+}
@@ -0,0 +1,12 @@
+package com.muhammadali.employee_management.dto;
+
+public record DepartmentSalarySummaryDTO(
+        Long departmentId,
+        String departmentName,
+        Double minSalary,
+        Double maxSalary,
+        Double averageSalary,
+        Double totalSalary,
+        Long headcount,
+        Long positionCount
+) {}
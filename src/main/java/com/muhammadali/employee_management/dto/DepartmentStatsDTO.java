@@ -0,0 +1,19 @@
+package com.muhammadali.employee_management.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+// Only the statistics that were requested are filled in; the rest are left out of the JSON.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record DepartmentStatsDTO(
+        Long departmentId,
+        Double minSalary,
+        Double maxSalary,
+        Double averageSalary,
+        Long positionCount,
+        Long employeeCount,
+        List<EmployeeResponseDTO> employees,
+        List<EmployeeResponseDTO> topEarners,
+        List<DepartmentYearlyStatsDTO> yearlyStats
+) {}
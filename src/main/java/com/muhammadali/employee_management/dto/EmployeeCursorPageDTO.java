@@ -0,0 +1,10 @@
+package com.muhammadali.employee_management.dto;
+
+import java.util.List;
+
+public record EmployeeCursorPageDTO(
+        List<EmployeeResponseDTO> content,
+        String nextCursor,
+        boolean hasNext,
+        int size
+) {}
@@ -0,0 +1,8 @@
+package com.muhammadali.employee_management.dto;
+
+
+public interface EmployeeFacetCountDTO {
+    String getFacet();
+    String getValue();
+    Long getCount();
+}
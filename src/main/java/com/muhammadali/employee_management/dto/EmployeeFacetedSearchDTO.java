@@ -0,0 +1,15 @@
+package com.muhammadali.employee_management.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public record EmployeeFacetedSearchDTO(
+        List<EmployeeResponseDTO> content,
+        int page,
+        int size,
+        long totalElements,
+        Map<String, Long> statusCounts,
+        Map<String, Long> genderCounts,
+        Map<String, Long> departmentCounts,
+        Map<String, Long> positionCounts
+) {}
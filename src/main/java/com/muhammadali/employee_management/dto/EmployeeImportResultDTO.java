@@ -0,0 +1,10 @@
+package com.muhammadali.employee_management.dto;
+
+import java.util.List;
+
+public record EmployeeImportResultDTO(
+        long processed,
+        long imported,
+        long failed,
+        List<ImportRowErrorDTO> errors
+) {}
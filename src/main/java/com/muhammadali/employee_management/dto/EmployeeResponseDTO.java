@@ -17,4 +17,13 @@ public record EmployeeResponseDTO(
    String departmentName,
    Status status,
    String image_path
-) {}
+) {
+
+    public EmployeeResponseDTO(Long id, String firstName, String lastName, String phone, Gender gender,
+                               LocalDate birthDate, LocalDate hire_date, String position,
+                               String departmentName, Status status, String image_path) {
+        this(id, firstName + " " + lastName, phone, gender, birthDate, hire_date,
+                position, departmentName, status, image_path);
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.muhammadali.employee_management.dto;
+
+public record EmployeeSuggestionDTO(
+        Long id,
+        String fullName,
+        String phone,
+        String position,
+        String departmentName
+) {}
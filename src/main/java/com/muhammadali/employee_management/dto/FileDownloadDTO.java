@@ -0,0 +1,49 @@
+package com.muhammadali.employee_management.dto;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// A stored file ready to be sent, with the validators used for conditional and range requests.
+// lastModified is in epoch millis, truncated to whole seconds like HTTP dates.
+public record FileDownloadDTO(
+        Content content,
+        String fileName,
+        String contentType,
+        long size,
+        long lastModified,
+        String etag
+){
+
+    // Where the bytes come from. open() starts at start and may run past start + length;
+    // callers read only what they need. A file on this node's disk is also exposed through
+    // localFile(), which FileDownloadWriter hands to sendfile.
+    @FunctionalInterface
+    public interface Content {
+
+        InputStream open(long start, long length) throws IOException;
+
+        default Path localFile(){
+            return null;
+        }
+
+        static Content of(Path file){
+            return new Content() {
+                @Override
+                public InputStream open(long start, long length) throws IOException {
+                    FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+                    channel.position(start);
+                    return Channels.newInputStream(channel);
+                }
+
+                @Override
+                public Path localFile(){
+                    return file;
+                }
+            };
+        }
+    }
+}
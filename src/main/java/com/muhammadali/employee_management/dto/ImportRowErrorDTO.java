@@ -0,0 +1,6 @@
+package com.muhammadali.employee_management.dto;
+
+public record ImportRowErrorDTO(
+        long line,
+        String message
+) {}
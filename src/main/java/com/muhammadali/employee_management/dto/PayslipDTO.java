@@ -0,0 +1,26 @@
+package com.muhammadali.employee_management.dto;
+
+import java.util.Date;
+
+public record PayslipDTO(
+        Long salaryId,
+        Long employeeId,
+        String firstName,
+        String lastName,
+        String position,
+        Long departmentId,
+        String departmentName,
+        Double amount,
+        Double bonus,
+        String currency,
+        Date paymentDate
+){
+
+    public String fullName(){
+        return lastName == null ? firstName : firstName + " " + lastName;
+    }
+
+    public double total(){
+        return amount + (bonus != null ? bonus : 0.0);
+    }
+}
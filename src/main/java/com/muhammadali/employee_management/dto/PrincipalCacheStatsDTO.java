@@ -0,0 +1,9 @@
+package com.muhammadali.employee_management.dto;
+
+public record PrincipalCacheStatsDTO(
+        long hits,
+        long misses,
+        long evictions,
+        int size,
+        double hitRate
+) {}
@@ -0,0 +1,19 @@
+package com.muhammadali.employee_management.dto;
+
+import com.muhammadali.employee_management.enums.ExportFormat;
+import com.muhammadali.employee_management.enums.ReportType;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.YearMonth;
+
+// Which parameters are needed depends on the type: month for payroll and payslips,
+// departmentId for PAYROLL_PDF (optional for PAYSLIPS_ZIP), year for DEPARTMENT_SALARY_STATS
+// and format for EMPLOYEE_EXPORT (NDJSON when omitted).
+public record ReportJobRequestDTO(
+        @NotNull(message = "Report type is required")
+        ReportType type,
+        YearMonth month,
+        Long departmentId,
+        Integer year,
+        ExportFormat format
+){}
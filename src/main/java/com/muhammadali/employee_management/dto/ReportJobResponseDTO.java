@@ -0,0 +1,28 @@
+package com.muhammadali.employee_management.dto;
+
+import com.muhammadali.employee_management.enums.ExportFormat;
+import com.muhammadali.employee_management.enums.ReportJobStatus;
+import com.muhammadali.employee_management.enums.ReportType;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record ReportJobResponseDTO(
+        UUID id,
+        ReportType type,
+        ReportJobStatus status,
+        int priority,
+        String month,
+        Long departmentId,
+        Integer year,
+        ExportFormat format,
+        int attempts,
+        long progressBytes,
+        Long resultSize,
+        String fileName,
+        String message,
+        Instant createdAt,
+        Instant startedAt,
+        Instant finishedAt,
+        Instant expiresAt
+){}
@@ -0,0 +1,11 @@
+package com.muhammadali.employee_management.dto;
+
+public record SalaryDepartmentMonthlyStatDTO(
+        Integer year,
+        Integer month,
+        Long departmentId,
+        String currency,
+        Double totalAmount,
+        Double totalBonus,
+        Long paymentCount
+){}
@@ -0,0 +1,11 @@
+package com.muhammadali.employee_management.dto;
+
+import java.util.List;
+
+public record SalaryLoadResultDTO(
+        long processed,
+        long inserted,
+        long updated,
+        long rejected,
+        List<ImportRowErrorDTO> errors
+) {}
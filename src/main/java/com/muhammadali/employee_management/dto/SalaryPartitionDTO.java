@@ -0,0 +1,10 @@
+package com.muhammadali.employee_management.dto;
+
+import java.time.LocalDate;
+
+public record SalaryPartitionDTO(
+        String name,
+        LocalDate fromDate,
+        LocalDate toDate,
+        long estimatedRows
+){}
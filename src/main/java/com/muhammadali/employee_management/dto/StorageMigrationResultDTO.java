@@ -0,0 +1,9 @@
+package com.muhammadali.employee_management.dto;
+
+public record StorageMigrationResultDTO(
+        int copied,
+        int skipped,
+        int failed,
+        int legacyMigrated,
+        int legacyFailed
+){}
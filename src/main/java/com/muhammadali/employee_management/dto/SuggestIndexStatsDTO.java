@@ -0,0 +1,8 @@
+package com.muhammadali.employee_management.dto;
+
+public record SuggestIndexStatsDTO(
+        int documents,
+        int keys,
+        long postings,
+        long estimatedBytes
+) {}
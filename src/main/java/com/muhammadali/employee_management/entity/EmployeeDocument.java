@@ -35,6 +35,11 @@ public class EmployeeDocument {
     @Column(name = "file_path",nullable = false)
     private String filePath;
 
+    // Hex SHA-256 of the content, naming its blob in DocumentBlobStore. Null for documents
+    // stored before content addressing, which keep a file of their own at filePath.
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
     @Column(name = "uploaded_at",updatable = false)
     private Timestamp uploadedAt;
 
@@ -0,0 +1,93 @@
+package com.muhammadali.employee_management.entity;
+
+import com.muhammadali.employee_management.enums.ExportFormat;
+import com.muhammadali.employee_management.enums.ReportJobStatus;
+import com.muhammadali.employee_management.enums.ReportType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "report_job")
+public class ReportJob {
+
+    @Id
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false)
+    private ReportType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private ReportJobStatus status;
+
+    @Column(name = "priority", nullable = false)
+    private int priority;
+
+    // Authentication name of the user who asked for the report.
+    @Column(name = "owner", nullable = false)
+    private String owner;
+
+    // yyyy-MM, for the payroll and payslip reports.
+    @Column(name = "report_month")
+    private String reportMonth;
+
+    @Column(name = "report_year")
+    private Integer reportYear;
+
+    @Column(name = "department_id")
+    private Long departmentId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "export_format")
+    private ExportFormat exportFormat;
+
+    // Bumped on every claim; a worker only finishes the attempt it claimed.
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "worker")
+    private String worker;
+
+    @Column(name = "progress_bytes", nullable = false)
+    private long progressBytes;
+
+    @Column(name = "message", length = 1000)
+    private String message;
+
+    @Column(name = "file_name", nullable = false)
+    private String fileName;
+
+    @Column(name = "content_type", nullable = false)
+    private String contentType;
+
+    // Name inside the spool directory, set once the result is complete.
+    @Column(name = "result_file")
+    private String resultFile;
+
+    @Column(name = "result_size")
+    private Long resultSize;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "started_at")
+    private Instant startedAt;
+
+    @Column(name = "heartbeat_at")
+    private Instant heartbeatAt;
+
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+
+    @Column(name = "expires_at")
+    private Instant expiresAt;
+}
@@ -0,0 +1,6 @@
+package com.muhammadali.employee_management.enums;
+
+public enum DocumentStorageType {
+    LOCAL,
+    S3
+}
@@ -0,0 +1,10 @@
+package com.muhammadali.employee_management.enums;
+
+public enum ReportJobStatus {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED,
+    CANCELLED,
+    EXPIRED
+}
@@ -0,0 +1,18 @@
+package com.muhammadali.employee_management.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// Higher priority runs first. Small reports are ahead of bulk PDF runs so a payroll ZIP
+// for the whole company does not hold up a stats CSV behind it.
+@Getter
+@RequiredArgsConstructor
+public enum ReportType {
+    DEPARTMENT_SALARY_STATS(8),
+    PAYROLL_PDF(6),
+    EMPLOYEE_EXPORT(4),
+    PAYSLIPS_ZIP(2),
+    PAYROLL_ZIP(2);
+
+    private final int priority;
+}
@@ -0,0 +1,17 @@
+package com.muhammadali.employee_management.exceptions;
+
+import lombok.Getter;
+
+@Getter
+public class DeadlineExceededException extends RuntimeException {
+
+    private final long deadlineMillis;
+
+
+    public DeadlineExceededException(String message, long deadlineMillis){
+        super(message);
+        this.deadlineMillis = deadlineMillis;
+    }
+
+
+}
@@ -0,0 +1,32 @@
+package com.muhammadali.employee_management.mapper;
+
+import com.muhammadali.employee_management.dto.ReportJobResponseDTO;
+import com.muhammadali.employee_management.entity.ReportJob;
+
+public class ReportJobMapper {
+
+
+    public static ReportJobResponseDTO toResponse(ReportJob job){
+        return new ReportJobResponseDTO(
+                job.getId(),
+                job.getType(),
+                job.getStatus(),
+                job.getPriority(),
+                job.getReportMonth(),
+                job.getDepartmentId(),
+                job.getReportYear(),
+                job.getExportFormat(),
+                job.getAttempts(),
+                job.getProgressBytes(),
+                job.getResultSize(),
+                job.getFileName(),
+                job.getMessage(),
+                job.getCreatedAt(),
+                job.getStartedAt(),
+                job.getFinishedAt(),
+                job.getExpiresAt()
+        );
+    }
+
+
+}
@@ -1,24 +1,52 @@
 package com.muhammadali.employee_management.repository;
+import com.muhammadali.employee_management.dto.DepartmentAggregateStatsDTO;
 import com.muhammadali.employee_management.dto.DepartmentEmployeeCountDTO;
+import com.muhammadali.employee_management.dto.DepartmentSalarySummaryDTO;
 import com.muhammadali.employee_management.dto.DepartmentYearlyStatsDTO;
 import com.muhammadali.employee_management.entity.Department;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.QueryHint;
 import java.sql.Timestamp;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface DepartmentRepository extends JpaRepository<Department, Long> {
 
 
+    // Reference-data lookups go through the query cache; Hibernate invalidates the
+    // region whenever departments is written, ReferenceDataCache evicts it explicitly.
+    @Override
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = "reference-queries")
+    })
+    List<Department> findAll();
+
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = "reference-queries")
+    })
     List<Department> findByNameContainingIgnoreCase(String name);
+
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = "reference-queries")
+    })
+    Optional<Department> findByNameIgnoreCase(String name);
+
     List<Department> findByManagerId(Integer managerId);
     List<Department> findByCreatedAtGreaterThanEqual(Timestamp start);
     List<Department> findByCreatedAtLessThanEqual(Timestamp end);
     List<Department> findByCreatedAtBetween(Timestamp start, Timestamp end);
 
+    @Query("SELECT d.id FROM Department d")
+    List<Long> findAllIds();
+
 
 
     @Query("""
@@ -32,6 +60,22 @@ public interface DepartmentRepository extends JpaRepository<Department, Long> {
     List<DepartmentEmployeeCountDTO> getDepartmentEmployeeCounts();
 
 
+    // One GROUP BY over all departments. The currency filter sits in the salary join, so
+    // headcount and positions still count every employee when a currency is given.
+    @Query("""
+        SELECT new com.muhammadali.employee_management.dto.DepartmentSalarySummaryDTO(
+            d.id, d.name, MIN(s.amount), MAX(s.amount), AVG(s.amount), SUM(s.amount),
+            COUNT(DISTINCT e.id), COUNT(DISTINCT e.position)
+        )
+        FROM Department d
+        LEFT JOIN d.employees e
+        LEFT JOIN Salary s ON s.employee = e AND (:currency IS NULL OR s.currency = :currency)
+        GROUP BY d.id, d.name
+        ORDER BY d.id
+        """)
+    List<DepartmentSalarySummaryDTO> getSalarySummary(@Param("currency") String currency);
+
+
     @Query(value = """
             SELECT EXTRACT(YEAR FROM created_at) AS year, COUNT(*) AS employeeCount
             FROM employee
@@ -55,5 +99,28 @@ public interface DepartmentRepository extends JpaRepository<Department, Long> {
     );
 
 
+    // The five scalar department statistics in one round trip: one pass over the
+    // department's salaries and one over its employees.
+    @Query(value = """
+           SELECT s.min_salary     AS minSalary,
+                  s.max_salary     AS maxSalary,
+                  s.avg_salary     AS averageSalary,
+                  e.position_count AS positionCount,
+                  e.employee_count AS employeeCount
+           FROM (SELECT MIN(sa.amount) AS min_salary,
+                        MAX(sa.amount) AS max_salary,
+                        AVG(sa.amount) AS avg_salary
+                 FROM salaries sa
+                 JOIN employee em ON em.id = sa.employee_id
+                 WHERE em.department_id = :departmentId) s
+           CROSS JOIN
+                (SELECT COUNT(DISTINCT position) AS position_count,
+                        COUNT(*)                 AS employee_count
+                 FROM employee
+                 WHERE department_id = :departmentId) e
+           """, nativeQuery = true)
+    DepartmentAggregateStatsDTO getAggregateStats(@Param("departmentId") Long departmentId);
+
+
 
 }
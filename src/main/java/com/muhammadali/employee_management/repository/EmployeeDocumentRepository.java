@@ -14,4 +14,6 @@ public interface EmployeeDocumentRepository extends JpaRepository<EmployeeDocume
 
     List<EmployeeDocument> findByEmployee_IdAndFileCategory(Long employeeId,String category);
 
+    List<EmployeeDocument> findByContentHashIsNull();
+
 }
@@ -1,30 +1,184 @@
 package com.muhammadali.employee_management.repository;
+import com.muhammadali.employee_management.dto.EmployeeFacetCountDTO;
+import com.muhammadali.employee_management.dto.EmployeeResponseDTO;
 import com.muhammadali.employee_management.entity.Employee;
 import com.muhammadali.employee_management.enums.Gender;
 import com.muhammadali.employee_management.enums.Status;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.QueryHint;
 
 
+import java.sql.Timestamp;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee,Long>,
         JpaSpecificationExecutor<Employee> {
 
+    String RESPONSE_PROJECTION = """
+        SELECT new com.muhammadali.employee_management.dto.EmployeeResponseDTO(
+            e.id, e.firstName, e.lastName, e.phone, e.gender, e.birthDate, e.hireDate,
+            e.position, d.name, e.status, e.image_path
+        )
+        """;
+
+    String RESPONSE_FROM = RESPONSE_PROJECTION + " FROM Employee e LEFT JOIN e.department d ";
+
+    // Substring patterns for the search terms. The user's % and _ are escaped, so a search
+    // for "50%" or "a_b" matches those characters instead of anything. The escape character
+    // is '!' rather than a backslash, which HQL string literals treat as an escape of their own.
+    String NAME_PATTERN =
+            "CONCAT('%', REPLACE(REPLACE(REPLACE(LOWER(:name), '!', '!!'), '%', '!%'), '_', '!_'), '%') ESCAPE '!' ";
+
+    String PHONE_PATTERN =
+            "CONCAT('%', REPLACE(REPLACE(REPLACE(:phone, '!', '!!'), '%', '!%'), '_', '!_'), '%') ESCAPE '!' ";
+
+    @Query(RESPONSE_FROM + "ORDER BY e.id")
+    List<EmployeeResponseDTO> findAllProjected();
+
+    @Query(value = RESPONSE_FROM, countQuery = "SELECT COUNT(e) FROM Employee e")
+    Page<EmployeeResponseDTO> findAllProjected(Pageable pageable);
+
+    @Query(RESPONSE_FROM + "WHERE e.id IN :ids")
+    List<EmployeeResponseDTO> findProjectedByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(RESPONSE_FROM + "WHERE e.status = :status")
+    List<EmployeeResponseDTO> findProjectedByStatus(@Param("status") Status status);
+
+    @Query(RESPONSE_FROM + "WHERE d.name = :departmentName")
+    List<EmployeeResponseDTO> findProjectedByDepartmentName(@Param("departmentName") String departmentName);
+
+    @Query(RESPONSE_FROM + "WHERE d.id = :departmentId")
+    List<EmployeeResponseDTO> findProjectedByDepartmentId(@Param("departmentId") Long departmentId);
+
+    @Query(RESPONSE_FROM
+        + "WHERE LOWER(e.firstName) LIKE " + NAME_PATTERN
+        + "OR LOWER(e.lastName) LIKE " + NAME_PATTERN + """
+        ORDER BY FUNCTION('similarity', LOWER(CONCAT(e.firstName, ' ', COALESCE(e.lastName, ''))), LOWER(:name)) DESC,
+                 e.id
+        """)
+    List<EmployeeResponseDTO> findProjectedByName(@Param("name") String name, Pageable limit);
+
+    @Query(RESPONSE_FROM
+        + "WHERE e.phone LIKE " + PHONE_PATTERN + """
+        ORDER BY FUNCTION('similarity', e.phone, :phone) DESC, e.id
+        """)
+    List<EmployeeResponseDTO> findProjectedByPhone(@Param("phone") String phone, Pageable limit);
+
+    @Query(RESPONSE_FROM + "WHERE e.gender = :gender")
+    List<EmployeeResponseDTO> findProjectedByGender(@Param("gender") Gender gender);
+
+    @Query(RESPONSE_FROM + "WHERE e.birthDate BETWEEN :from AND :to")
+    List<EmployeeResponseDTO> findProjectedByBirthDateBetween(@Param("from") LocalDate from,
+                                                              @Param("to") LocalDate to);
+
+    @Query(RESPONSE_FROM + "WHERE e.hireDate BETWEEN :from AND :to")
+    List<EmployeeResponseDTO> findProjectedByHireDateBetween(@Param("from") LocalDate from,
+                                                             @Param("to") LocalDate to);
+
+    @Query(RESPONSE_FROM + "WHERE e.status = :status AND d.name = :departmentName")
+    List<EmployeeResponseDTO> findProjectedByStatusAndDepartmentName(@Param("status") Status status,
+                                                                     @Param("departmentName") String departmentName);
+
+    @Query(RESPONSE_FROM + """
+        WHERE TRIM(UPPER(d.name)) = TRIM(UPPER(:departmentName))
+          AND TRIM(UPPER(e.position)) = TRIM(UPPER(:position))
+        """)
+    List<EmployeeResponseDTO> findProjectedByDepartmentNameAndPositionIgnoreCase(
+            @Param("departmentName") String departmentName,
+            @Param("position") String position
+    );
+
+    @Query(RESPONSE_PROJECTION + """
+        FROM Salary s
+        JOIN s.employee e
+        LEFT JOIN e.department d
+        WHERE s.amount BETWEEN :min AND :max
+        """)
+    List<EmployeeResponseDTO> findProjectedBySalaryBetween(@Param("min") Double min, @Param("max") Double max);
+
     List<Employee> findByStatus(Status status);
 
     List<Employee> findByDepartmentName(String departmentName);
 
     Page<Employee> findAll(Pageable pageable);
 
+    @Query("SELECT e FROM Employee e JOIN FETCH e.department WHERE e.id > :lastId ORDER BY e.id ASC")
+    Slice<Employee> findKeysetByIdAsc(@Param("lastId") Long lastId, Pageable pageable);
+
+    @Query("SELECT e FROM Employee e JOIN FETCH e.department WHERE e.id < :lastId ORDER BY e.id DESC")
+    Slice<Employee> findKeysetByIdDesc(@Param("lastId") Long lastId, Pageable pageable);
+
+    @Query("""
+        SELECT e FROM Employee e JOIN FETCH e.department
+        WHERE e.created_at > :createdAt
+           OR (e.created_at = :createdAt AND e.id > :lastId)
+        ORDER BY e.created_at ASC, e.id ASC
+        """)
+    Slice<Employee> findKeysetByCreatedAtAsc(@Param("createdAt") Timestamp createdAt,
+                                             @Param("lastId") Long lastId,
+                                             Pageable pageable);
+
+    @Query("""
+        SELECT e FROM Employee e JOIN FETCH e.department
+        WHERE e.created_at < :createdAt
+           OR (e.created_at = :createdAt AND e.id < :lastId)
+        ORDER BY e.created_at DESC, e.id DESC
+        """)
+    Slice<Employee> findKeysetByCreatedAtDesc(@Param("createdAt") Timestamp createdAt,
+                                              @Param("lastId") Long lastId,
+                                              Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("SELECT e FROM Employee e JOIN FETCH e.department ORDER BY e.id")
+    Stream<Employee> streamAllForExport();
+
+    @Query(value = """
+        SELECT CASE
+                   WHEN GROUPING(e.status) = 0 THEN 'STATUS'
+                   WHEN GROUPING(e.gender) = 0 THEN 'GENDER'
+                   WHEN GROUPING(d.name) = 0 THEN 'DEPARTMENT'
+                   WHEN GROUPING(e.position) = 0 THEN 'POSITION'
+                   ELSE 'TOTAL'
+               END AS facet,
+               COALESCE(e.status, e.gender, d.name, e.position) AS value,
+               COUNT(*) AS count
+        FROM employee e
+        JOIN departments d ON d.id = e.department_id
+        WHERE (lower(e.first_name) LIKE '%' || lower(:name) || '%'
+               OR lower(e.last_name) LIKE '%' || lower(:name) || '%')
+          AND (CAST(:department AS varchar) IS NULL OR d.name = CAST(:department AS varchar))
+          AND (CAST(:status AS varchar) IS NULL OR e.status = CAST(:status AS varchar))
+          AND (CAST(:gender AS varchar) IS NULL OR e.gender = CAST(:gender AS varchar))
+          AND (CAST(:position AS varchar) IS NULL OR e.position = CAST(:position AS varchar))
+          AND (:ageFiltered = false OR e.birth_date BETWEEN :minBirthDate AND :maxBirthDate)
+        GROUP BY GROUPING SETS ((e.status), (e.gender), (d.name), (e.position), ())
+        """, nativeQuery = true)
+    List<EmployeeFacetCountDTO> countFacets(@Param("name") String name,
+                                            @Param("department") String department,
+                                            @Param("status") String status,
+                                            @Param("gender") String gender,
+                                            @Param("position") String position,
+                                            @Param("ageFiltered") boolean ageFiltered,
+                                            @Param("minBirthDate") LocalDate minBirthDate,
+                                            @Param("maxBirthDate") LocalDate maxBirthDate);
+
     long countByDepartment_Id(Long departmentId);
 
     long count();
@@ -72,16 +226,6 @@ public interface EmployeeRepository extends JpaRepository<Employee,Long>,
 
 
 
-    @Query(value = """
-    SELECT DISTINCT ON (e.id) e.*
-    FROM salaries s
-    JOIN employee e ON s.employee_id = e.id
-    ORDER BY e.id, s.amount DESC
-    """, nativeQuery = true)
-    List<Employee> findTopEmployeesBySalary(Pageable pageable);
-
-
-
     @Query("SELECT e FROM Employee e WHERE e.hireDate BETWEEN :from AND :to")
     List<Employee> findByHireDateBetween(@Param("from") LocalDate from,
                                          @Param("to") LocalDate to);
@@ -106,4 +250,10 @@ public interface EmployeeRepository extends JpaRepository<Employee,Long>,
 
 
 
+    // Department changes take this lock; salary rollup deltas read the row FOR SHARE.
+    @Query(value = "SELECT * FROM employee WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<Employee> findByIdForUpdate(@Param("id") Long id);
+
+
+
 }
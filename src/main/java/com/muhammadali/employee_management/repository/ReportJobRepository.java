@@ -0,0 +1,105 @@
+package com.muhammadali.employee_management.repository;
+
+import com.muhammadali.employee_management.entity.ReportJob;
+import com.muhammadali.employee_management.enums.ReportJobStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ReportJobRepository extends JpaRepository<ReportJob, UUID> {
+
+    List<ReportJob> findByOwnerOrderByCreatedAtDesc(String owner, Pageable pageable);
+
+    long countByOwnerAndStatusIn(String owner, Collection<ReportJobStatus> statuses);
+
+    List<ReportJob> findByStatusInAndExpiresAtBefore(Collection<ReportJobStatus> statuses, Instant now);
+
+
+    // Highest priority queued job whose owner is under the running limit. SKIP LOCKED lets
+    // several instances claim at once without handing out the same row; two instances
+    // claiming for the same owner at the same moment can overshoot the limit by one.
+    @Query(value = """
+            SELECT * FROM report_job j
+            WHERE j.status = 'QUEUED'
+              AND (SELECT COUNT(*) FROM report_job r
+                   WHERE r.owner = j.owner AND r.status = 'RUNNING') < :maxRunningPerOwner
+            ORDER BY j.priority DESC, j.created_at
+            LIMIT 1
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    Optional<ReportJob> lockNextQueued(@Param("maxRunningPerOwner") int maxRunningPerOwner);
+
+
+    // The attempt number fences off a worker whose job was cancelled or re-queued under it:
+    // its updates then match no row.
+    @Modifying
+    @Query("""
+            UPDATE ReportJob j SET j.heartbeatAt = :now, j.progressBytes = :progressBytes
+            WHERE j.id = :id AND j.attempts = :attempt AND j.status = :running
+            """)
+    int heartbeat(@Param("id") UUID id,
+                  @Param("attempt") int attempt,
+                  @Param("progressBytes") long progressBytes,
+                  @Param("now") Instant now,
+                  @Param("running") ReportJobStatus running);
+
+
+    @Modifying
+    @Query("""
+            UPDATE ReportJob j
+            SET j.status = :status, j.resultFile = :resultFile, j.resultSize = :resultSize,
+                j.message = :message, j.finishedAt = :now, j.expiresAt = :expiresAt
+            WHERE j.id = :id AND j.attempts = :attempt AND j.status = :running
+            """)
+    int finish(@Param("id") UUID id,
+               @Param("attempt") int attempt,
+               @Param("status") ReportJobStatus status,
+               @Param("resultFile") String resultFile,
+               @Param("resultSize") Long resultSize,
+               @Param("message") String message,
+               @Param("now") Instant now,
+               @Param("expiresAt") Instant expiresAt,
+               @Param("running") ReportJobStatus running);
+
+
+    @Modifying
+    @Query("""
+            UPDATE ReportJob j
+            SET j.status = :failed, j.message = :message, j.finishedAt = :now, j.expiresAt = :expiresAt
+            WHERE j.status = :running AND j.heartbeatAt < :cutoff AND j.attempts >= :maxAttempts
+            """)
+    int failStale(@Param("cutoff") Instant cutoff,
+                  @Param("maxAttempts") int maxAttempts,
+                  @Param("message") String message,
+                  @Param("now") Instant now,
+                  @Param("expiresAt") Instant expiresAt,
+                  @Param("running") ReportJobStatus running,
+                  @Param("failed") ReportJobStatus failed);
+
+
+    @Modifying
+    @Query("""
+            UPDATE ReportJob j
+            SET j.status = :queued, j.worker = NULL, j.progressBytes = 0
+            WHERE j.status = :running AND j.heartbeatAt < :cutoff
+            """)
+    int requeueStale(@Param("cutoff") Instant cutoff,
+                     @Param("running") ReportJobStatus running,
+                     @Param("queued") ReportJobStatus queued);
+
+
+    @Modifying
+    @Query("DELETE FROM ReportJob j WHERE j.status = :expired AND j.expiresAt < :cutoff")
+    int deleteExpiredBefore(@Param("cutoff") Instant cutoff, @Param("expired") ReportJobStatus expired);
+
+}
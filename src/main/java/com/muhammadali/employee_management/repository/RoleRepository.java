@@ -1,7 +1,18 @@
 package com.muhammadali.employee_management.repository;
 
 import com.muhammadali.employee_management.entity.Role;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.List;
 
 public interface RoleRepository extends JpaRepository<Role,Long> {
+
+    @Override
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = "reference-queries")
+    })
+    List<Role> findAll();
 }
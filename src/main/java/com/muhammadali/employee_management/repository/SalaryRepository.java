@@ -1,22 +1,40 @@
 package com.muhammadali.employee_management.repository;
 
-import com.muhammadali.employee_management.dto.SalaryMonthlyStatDTO;
+import com.muhammadali.employee_management.dto.EmployeeSalaryRankDTO;
+import com.muhammadali.employee_management.dto.PayslipDTO;
 import com.muhammadali.employee_management.entity.Salary;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 
 
+import jakarta.persistence.QueryHint;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface SalaryRepository extends JpaRepository<Salary,Long> {
 
     List<Salary> findByEmployee_IdOrderByPaymentDate(Long employeeId);
 
+    // Date filters on salaries are half-open [from, to) on the bare column, so the planner
+    // can prune payment_date partitions (V8).
+    @Query("""
+            SELECT s FROM Salary s
+            WHERE s.employee.id = :employeeId
+              AND s.paymentDate >= :from AND s.paymentDate < :to
+            ORDER BY s.paymentDate
+            """)
+    List<Salary> findByEmployeeIdAndPaymentDateRange(@Param("employeeId") Long employeeId,
+                                                     @Param("from") Date from,
+                                                     @Param("to") Date to);
+
     @Query("SELECT AVG(s.amount) FROM Salary s WHERE s.employee.id=:employeeId")
     Double findAverageSalaryByEmployeeId(Long employeeId);
 
@@ -25,7 +43,8 @@ public interface SalaryRepository extends JpaRepository<Salary,Long> {
     @Query("SELECT s FROM Salary s WHERE s.amount BETWEEN :min AND :max ORDER BY s.amount ASC")
     List<Salary> findByAmountBetween(Double min,Double max);
 
-    List<Salary> findByPaymentDateBetween(Date startDate,Date endDate);
+    @Query("SELECT s FROM Salary s WHERE s.paymentDate >= :from AND s.paymentDate < :to ORDER BY s.paymentDate")
+    List<Salary> findByPaymentDateRange(@Param("from") Date from, @Param("to") Date to);
 
     @Query("SELECT s FROM Salary s WHERE s.bonus IS NOT NULL AND s.bonus > 0")
     List<Salary> findAllWithPositiveBonus();
@@ -50,20 +69,72 @@ public interface SalaryRepository extends JpaRepository<Salary,Long> {
     Double findMinSalary();
 
 
+    // Ordered by department so per-department payroll documents can be cut from the stream
+    // without holding the whole month in memory.
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
     @Query("""
-            SELECT new com.muhammadali.employee_management.dto.SalaryMonthlyStatDTO(
-                    YEAR(s.paymentDate),
-                    MONTH(s.paymentDate),
-                    SUM(s.amount + COALESCE(s.bonus, 0))
-                )
-                FROM Salary s
-                WHERE YEAR(s.paymentDate)=:year
-                GROUP BY YEAR(s.paymentDate), MONTH(s.paymentDate)
-                ORDER BY MONTH(s.paymentDate)
+            SELECT new com.muhammadali.employee_management.dto.PayslipDTO(
+                    s.id, e.id, e.firstName, e.lastName, e.position, d.id, d.name,
+                    s.amount, s.bonus, s.currency, s.paymentDate)
+            FROM Salary s
+            JOIN s.employee e
+            JOIN e.department d
+            WHERE s.paymentDate >= :from AND s.paymentDate < :to
+              AND (:departmentId IS NULL OR d.id = :departmentId)
+            ORDER BY d.id, e.id, s.id
             """)
-    List<SalaryMonthlyStatDTO> getMonthlySalaryStats(@Param("year") Integer year);
+    Stream<PayslipDTO> streamPayslips(@Param("from") Date from,
+                                      @Param("to") Date to,
+                                      @Param("departmentId") Long departmentId);
+
+    @Query("""
+            SELECT new com.muhammadali.employee_management.dto.PayslipDTO(
+                    s.id, e.id, e.firstName, e.lastName, e.position, d.id, d.name,
+                    s.amount, s.bonus, s.currency, s.paymentDate)
+            FROM Salary s
+            JOIN s.employee e
+            JOIN e.department d
+            WHERE s.id = :salaryId
+            """)
+    Optional<PayslipDTO> findPayslip(@Param("salaryId") Long salaryId);
 
     List<Salary> findTop10ByOrderByAmountDesc();
 
     List<Salary> findTop10ByOrderByBonusDesc();
+
+    List<Salary> findTop10ByBonusIsNotNullOrderByBonusDesc();
+
+    @Query("""
+            SELECT new com.muhammadali.employee_management.dto.EmployeeSalaryRankDTO(s.employee.id, s.amount)
+            FROM Salary s
+            ORDER BY s.amount DESC, s.employee.id
+            """)
+    List<EmployeeSalaryRankDTO> findSalaryRanking(Pageable pageable);
+
+    // Continues findSalaryRanking after the row (amount, employeeId) without an OFFSET: the
+    // scan of idx_salaries_amount_desc starts at amount <= :amount.
+    @Query("""
+            SELECT new com.muhammadali.employee_management.dto.EmployeeSalaryRankDTO(s.employee.id, s.amount)
+            FROM Salary s
+            WHERE s.amount <= :amount
+              AND (s.amount < :amount OR s.employee.id > :employeeId)
+            ORDER BY s.amount DESC, s.employee.id
+            """)
+    List<EmployeeSalaryRankDTO> findSalaryRankingAfter(@Param("amount") Double amount,
+                                                       @Param("employeeId") Long employeeId,
+                                                       Pageable pageable);
+
+    // One row per employee of the department, ranked by their best payment. A department's
+    // salaries are few enough to group, where the company-wide amount index would be walked
+    // past every other department's rows.
+    @Query("""
+            SELECT new com.muhammadali.employee_management.dto.EmployeeSalaryRankDTO(e.id, MAX(s.amount))
+            FROM Salary s
+            JOIN s.employee e
+            WHERE e.department.id = :departmentId
+            GROUP BY e.id
+            ORDER BY MAX(s.amount) DESC, e.id
+            """)
+    List<EmployeeSalaryRankDTO> findTopEarnersByDepartment(@Param("departmentId") Long departmentId,
+                                                           Pageable pageable);
 }
@@ -3,6 +3,7 @@ package com.muhammadali.employee_management.repository;
 import com.muhammadali.employee_management.entity.Users;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -10,6 +11,9 @@ import java.util.Optional;
 @Repository
 public interface UsersRepository extends JpaRepository<Users,Long> {
 
+    // Read-write so it is served by the primary when replica routing is on: the result feeds
+    // PrincipalCache, and a lagging replica could hand it roles that were already revoked.
+    @Transactional
     Optional<Users> findByEmail(String email);
 
     Optional<Users> findByUsername(String username);
@@ -1,7 +1,9 @@
 package com.muhammadali.employee_management.security.config;
 import com.muhammadali.employee_management.security.jwt.JwtAuthFilter;
+import com.muhammadali.employee_management.security.service.BoundedPasswordEncoder;
 import com.muhammadali.employee_management.security.service.CustomUserDetailsService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -12,6 +14,9 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+
+import java.time.Duration;
+
 @Configuration
 @EnableWebSecurity
 @RequiredArgsConstructor
@@ -20,6 +25,15 @@ public class SecurityConfig {
     private final JwtAuthFilter jwtAuthFilter;
     private final CustomUserDetailsService customUserDetailsService;
 
+    @Value("${security.password-hashing.threads:0}")
+    private int passwordHashingThreads;
+
+    @Value("${security.password-hashing.queue-capacity:64}")
+    private int passwordHashingQueueCapacity;
+
+    @Value("${security.password-hashing.max-wait:5s}")
+    private Duration passwordHashingMaxWait;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws
             Exception {
@@ -39,6 +53,9 @@ public class SecurityConfig {
                         .requestMatchers("/api/users/logout").authenticated()
                         .requestMatchers("/api/users").permitAll()
                         .requestMatchers("/api/users/**").hasAuthority("ADMIN")
+                        .requestMatchers("/api/employees/suggest", "/api/employees/suggest/stats",
+                                "/api/employees/faceted-search")
+                        .hasAnyAuthority("ADMIN", "HR", "MANAGER")
                         .requestMatchers("/api/employees/save").hasAuthority("ADMIN")
                         .requestMatchers("/api/employees/*").hasAuthority("ADMIN")
                         .requestMatchers("/api/employees/delete/**").hasAuthority("ADMIN")
@@ -49,13 +66,18 @@ public class SecurityConfig {
                         .requestMatchers("/api/employees/new-employees/month").hasAnyAuthority("ADMIN", "HR")
                         .requestMatchers("/api/employees/*/documents/**")
                         .hasAnyAuthority("ADMIN", "HR", "MANAGER")
+                        .requestMatchers("/api/salaries/pdf/payslips", "/api/salaries/pdf/payroll/**")
+                        .hasAnyAuthority("ADMIN", "HR")
                         .requestMatchers("/api/salaries/pdf/**").authenticated()
                         .requestMatchers("/api/salaries/employee/**").authenticated()
                         .requestMatchers("/api/salaries/**").hasAuthority("ADMIN")
+                        .requestMatchers("/api/reports/**").hasAnyAuthority("ADMIN", "HR")
                         .requestMatchers("/api/departments/create").hasAuthority("ADMIN")
+                        .requestMatchers("/api/departments/cache/stats").hasAuthority("ADMIN")
                         .requestMatchers("/api/departments/update/**").hasAuthority("ADMIN")
                         .requestMatchers("/api/departments/delete/**").hasAuthority("ADMIN")
                         .requestMatchers("/api/departments/*/stats").hasAnyAuthority("ADMIN", "HR", "MANAGER")
+                        .requestMatchers("/api/departments/salary-summary").hasAnyAuthority("ADMIN", "HR", "MANAGER")
                         .requestMatchers("/api/departments/all").authenticated()
                         .requestMatchers("/api/departments/*/employee-count").authenticated()
                         .requestMatchers("/api/departments/employee-count").authenticated()
@@ -78,9 +100,11 @@ public class SecurityConfig {
         return provider;
     }
 
+    // BCrypt is deliberately slow; keep it off the request threads (see BoundedPasswordEncoder).
     @Bean
     public PasswordEncoder passwordEncoder(){
-        return new BCryptPasswordEncoder();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(),
+                passwordHashingThreads, passwordHashingQueueCapacity, passwordHashingMaxWait);
     }
 
     @Bean
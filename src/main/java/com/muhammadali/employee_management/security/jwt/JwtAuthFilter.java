@@ -2,6 +2,7 @@ package com.muhammadali.employee_management.security.jwt;
 import java.io.IOException;
 
 import com.muhammadali.employee_management.exceptions.AuthenticationFailedException;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -36,15 +37,17 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         }
 
         String token = authHeader.substring(7);
-        String username;
+        Claims claims;
 
+        // Parsed and verified once; everything below reads from these claims.
         try {
-            username = jwtService.extractUsername(token);
+            claims = jwtService.verify(token);
         } catch (AuthenticationFailedException e) {
 
             response.sendError(HttpServletResponse.SC_UNAUTHORIZED, e.getMessage());
             return;
         }
+        String username = claims.getSubject();
 
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             UserDetails userDetails;
@@ -55,7 +58,7 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             }
 
             try {
-                if (jwtService.validateToken(token, userDetails)) {
+                if (jwtService.validateToken(claims, userDetails)) {
                     UsernamePasswordAuthenticationToken authToken =
                             new UsernamePasswordAuthenticationToken(
                                     userDetails, null, userDetails.getAuthorities()
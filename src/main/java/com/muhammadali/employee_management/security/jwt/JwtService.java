@@ -2,6 +2,7 @@ package com.muhammadali.employee_management.security.jwt;
 
 import com.muhammadali.employee_management.exceptions.AuthenticationFailedException;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -14,17 +15,26 @@ import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 
 @Component
 public class JwtService {
 
-    private final String secret;
+    private final Key signKey;
 
+    // Built once: JwtParser is immutable and thread-safe.
+    private final JwtParser parser;
 
-    public JwtService(@Value("${jwt.secret}") String secret){
-        this.secret=secret;
+    private final VerifiedClaimsCache claimsCache;
+
+
+    public JwtService(@Value("${jwt.secret}") String secret,
+                      @Value("${jwt.claims-cache.max-size:10000}") int claimsCacheSize){
+        this.signKey=Keys.hmacShaKeyFor(secret.getBytes());
+        this.parser=Jwts.parserBuilder().setSigningKey(signKey).build();
+        this.claimsCache=new VerifiedClaimsCache(claimsCacheSize);
     }
 
 
@@ -40,7 +50,7 @@ public class JwtService {
                     .setSubject(email)
                     .setIssuedAt(new Date())
                     .setExpiration(new Date(System.currentTimeMillis() +1000 * 60 * 60 * 24)) // 24 hour
-                    .signWith(getSignKey(), SignatureAlgorithm.HS256)
+                    .signWith(signKey, SignatureAlgorithm.HS256)
                     .compact();
         } catch (Exception e) {
             throw new AuthenticationFailedException("Token generation failed", e);
@@ -52,21 +62,16 @@ public class JwtService {
         Map<String,Object> clims=new HashMap<>();
         return Jwts.builder()
                 .setClaims(clims)
+                .setId(UUID.randomUUID().toString()) // keeps same-second logins from colliding in the unique hash index
                 .setSubject(email)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis()+1000L*60*60*24*7))
-                .signWith(getSignKey(),SignatureAlgorithm.HS256)
+                .signWith(signKey,SignatureAlgorithm.HS256)
                 .compact();
     }
 
 
 
-    private Key getSignKey(){
-        byte[] keyBytes=secret.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-
-
     public String extractUsername(String token){
         try {
             return extractClaim(token, Claims::getSubject);
@@ -86,30 +91,40 @@ public class JwtService {
 
 
     public <T> T extractClaim(String token, Function<Claims,T> claimsTFunction){
-        final Claims claims=extractAllClaims(token);
+        final Claims claims=verify(token);
         return claimsTFunction.apply(claims);
     }
 
+
+    // Verifies the signature and expiry once and remembers the result until the token
+    // expires. The returned Claims instance is shared between callers: read it, never modify it.
+    public Claims verify(String token){
+        Claims cached=claimsCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+        Claims claims=extractAllClaims(token);
+        claimsCache.put(token, claims);
+        return claims;
+    }
+
     private Claims extractAllClaims(String token){
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(getSignKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            return parser.parseClaimsJws(token).getBody();
         } catch (Exception e) {
             throw new AuthenticationFailedException("Invalid or expired token", e);
         }
     }
 
 
-    private Boolean isTokenExpired(String token){
-        return extractExpiration(token).before(new Date());
+    public Boolean validateToken(String token, UserDetails userDetails){
+        return validateToken(verify(token), userDetails);
     }
 
-    public Boolean validateToken(String token, UserDetails userDetails){
-        final String username = extractUsername(token);
-        if (!username.equals(userDetails.getUsername()) || isTokenExpired(token)) {
+    public Boolean validateToken(Claims claims, UserDetails userDetails){
+        final String username = claims.getSubject();
+        if (username == null || !username.equals(userDetails.getUsername())
+                || claims.getExpiration().before(new Date())) {
             throw new AuthenticationFailedException("Token validation failed for user: " + userDetails.getUsername());
         }
         return true;
@@ -0,0 +1,88 @@
+package com.muhammadali.employee_management.security.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+
+// Bounded cache of claims whose signature has already been checked, keyed by SHA-256 of the
+// token so raw bearer tokens are never held in memory. Each entry expires with the token
+// itself; after that the caller re-parses and gets the parser's expiry error. Caffeine keeps
+// lookups lock-free, as this sits on every authenticated request.
+final class VerifiedClaimsCache {
+
+    // null when disabled (max-size 0).
+    private final Cache<String, Claims> entries;
+
+
+    VerifiedClaimsCache(int maxSize){
+        this.entries = maxSize <= 0 ? null : Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                        return untilExpiry(claims);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                        return untilExpiry(claims);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+
+    Claims get(String token){
+        return entries == null ? null : entries.getIfPresent(digest(token));
+    }
+
+
+    void put(String token, Claims claims){
+        if (entries != null) {
+            entries.put(digest(token), claims);
+        }
+    }
+
+
+    int size(){
+        if (entries == null) {
+            return 0;
+        }
+        entries.cleanUp();
+        return (int) entries.estimatedSize();
+    }
+
+
+    private static long untilExpiry(Claims claims){
+        Date expiration = claims.getExpiration();
+        if (expiration == null) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, TimeUnit.MILLISECONDS.toNanos(expiration.getTime() - System.currentTimeMillis()));
+    }
+
+
+    private static String digest(String token){
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+}
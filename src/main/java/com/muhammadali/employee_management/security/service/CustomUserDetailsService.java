@@ -21,10 +21,16 @@ public class CustomUserDetailsService implements UserDetailsService {
 
     private final UsersRepository usersRepository;
 
+    private final PrincipalCache principalCache;
+
     @Override
     public UserDetails loadUserByUsername(String username)
             throws UsernameNotFoundException {
+        return principalCache.get(username, this::loadFromDatabase);
+    }
+
 
+    private UserDetails loadFromDatabase(String username) {
         Optional<Users> userInfo = usersRepository.findByEmail(username);
 
         if (userInfo.isEmpty()) {
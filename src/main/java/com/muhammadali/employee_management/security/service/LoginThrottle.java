@@ -0,0 +1,129 @@
+package com.muhammadali.employee_management.security.service;
+
+import com.muhammadali.employee_management.exceptions.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+
+// Token buckets per client IP and per account, checked before any password is hashed.
+// The IP bucket caps one client spraying many accounts; the account bucket caps many
+// clients guessing one password.
+@Component
+public class LoginThrottle {
+
+    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    private final Limit ipLimit;
+
+    private final Limit accountLimit;
+
+    private final int maxKeys;
+
+    private final LongSupplier clock;
+
+
+    @Autowired
+    public LoginThrottle(@Value("${security.login-throttle.ip.capacity:20}") int ipCapacity,
+                         @Value("${security.login-throttle.ip.refill-period:3s}") Duration ipRefillPeriod,
+                         @Value("${security.login-throttle.account.capacity:5}") int accountCapacity,
+                         @Value("${security.login-throttle.account.refill-period:12s}") Duration accountRefillPeriod,
+                         @Value("${security.login-throttle.max-keys:100000}") int maxKeys){
+        this(new Limit(ipCapacity, ipRefillPeriod.toNanos()),
+                new Limit(accountCapacity, accountRefillPeriod.toNanos()),
+                maxKeys, System::nanoTime);
+    }
+
+
+    LoginThrottle(Limit ipLimit, Limit accountLimit, int maxKeys, LongSupplier clock){
+        this.ipLimit = ipLimit;
+        this.accountLimit = accountLimit;
+        this.maxKeys = maxKeys;
+        this.clock = clock;
+    }
+
+
+    public void acquire(String ip, String account){
+        long now = clock.getAsLong();
+        take("ip:" + ip, ipLimit, now);
+        if (account != null && !account.isBlank()) {
+            take("account:" + account.trim().toLowerCase(Locale.ROOT), accountLimit, now);
+        }
+    }
+
+
+    private void take(String key, Limit limit, long now){
+        Bucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxKeys) {
+                makeRoom(now);
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new Bucket(limit, now));
+        }
+        long waitNanos = bucket.tryTake(now);
+        if (waitNanos > 0) {
+            long retryAfter = Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+            throw new TooManyRequestsException("Too many login attempts, try again later", retryAfter);
+        }
+    }
+
+
+    // Full buckets carry no state worth keeping; only if none are full do we drop arbitrary ones.
+    private void makeRoom(long now){
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+        Iterator<Map.Entry<String, Bucket>> it = buckets.entrySet().iterator();
+        while (buckets.size() >= maxKeys && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+
+    record Limit(int capacity, long refillNanos) {}
+
+
+    private static final class Bucket {
+
+        private final Limit limit;
+        private double tokens;
+        private long updatedAt;
+
+        Bucket(Limit limit, long now){
+            this.limit = limit;
+            this.tokens = limit.capacity();
+            this.updatedAt = now;
+        }
+
+        // Returns 0 when a token was taken, otherwise the nanos until the next one is due.
+        synchronized long tryTake(long now){
+            refill(now);
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) * limit.refillNanos());
+        }
+
+        synchronized boolean isFull(long now){
+            refill(now);
+            return tokens >= limit.capacity();
+        }
+
+        private void refill(long now){
+            long elapsed = now - updatedAt;
+            if (elapsed > 0) {
+                tokens = Math.min(limit.capacity(), tokens + (double) elapsed / limit.refillNanos());
+                updatedAt = now;
+            }
+        }
+    }
+
+
+}
@@ -0,0 +1,132 @@
+package com.muhammadali.employee_management.security.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.muhammadali.employee_management.dto.PrincipalCacheStatsDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+
+// Bounded, time-limited cache of loaded principals keyed by email, on Caffeine. Entries hold
+// plain values and every hit builds a fresh User: Spring Security erases the password on
+// the instance it authenticates, which would otherwise poison the cached copy for the next
+// login.
+@Component
+public class PrincipalCache {
+
+    private final Cache<String, Entry> entries;
+
+    // Bumped on every eviction. A load that saw it move did not see the committed change
+    // and may have been stored after the evict ran, so its entry is taken out again.
+    private final AtomicLong generation = new AtomicLong();
+
+    // Caffeine counts size and expiry evictions; these are the explicit ones.
+    private final LongAdder invalidations = new LongAdder();
+
+
+    @Autowired
+    public PrincipalCache(@Value("${security.principal-cache.ttl:5m}") Duration ttl,
+                          @Value("${security.principal-cache.max-size:10000}") int maxSize){
+        this(ttl, maxSize, System::nanoTime);
+    }
+
+
+    PrincipalCache(Duration ttl, int maxSize, LongSupplier clock){
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .ticker(clock::getAsLong)
+                .recordStats()
+                .build();
+    }
+
+
+    // Not Cache.get(key, loader): an evict arriving while the loader runs would block on
+    // the entry being computed, or fail outright if it came from the loading thread.
+    public UserDetails get(String email, Function<String, UserDetails> loader){
+        Entry entry = entries.getIfPresent(email);
+        if (entry != null) {
+            return entry.toUserDetails();
+        }
+
+        long loadedGeneration = generation.get();
+        UserDetails loaded = loader.apply(email);
+        Entry fresh = Entry.of(loaded);
+        entries.put(email, fresh);
+        if (generation.get() != loadedGeneration) {
+            entries.asMap().remove(email, fresh);
+        }
+        return loaded;
+    }
+
+
+    // Evicts now and again after the surrounding transaction commits, so a request that
+    // reloads the principal between the two cannot re-cache the pre-commit row.
+    public void evict(String email){
+        if (email == null) {
+            return;
+        }
+        remove(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove(email);
+                }
+            });
+        }
+    }
+
+
+    public void clear(){
+        generation.incrementAndGet();
+        invalidations.add(entries.estimatedSize());
+        entries.invalidateAll();
+    }
+
+
+    public PrincipalCacheStatsDTO stats(){
+        entries.cleanUp();
+        CacheStats stats = entries.stats();
+        return new PrincipalCacheStatsDTO(stats.hitCount(), stats.missCount(),
+                stats.evictionCount() + invalidations.sum(), (int) entries.estimatedSize(),
+                stats.requestCount() == 0 ? 0.0 : stats.hitRate());
+    }
+
+
+    private void remove(String email){
+        generation.incrementAndGet();
+        if (entries.asMap().remove(email) != null) {
+            invalidations.increment();
+        }
+    }
+
+
+    private record Entry(String username, String password, List<GrantedAuthority> authorities) {
+
+        static Entry of(UserDetails details){
+            Collection<? extends GrantedAuthority> authorities = details.getAuthorities();
+            return new Entry(details.getUsername(), details.getPassword(), List.copyOf(authorities));
+        }
+
+        UserDetails toUserDetails(){
+            return new User(username, password, authorities);
+        }
+    }
+
+}
@@ -0,0 +1,110 @@
+package com.muhammadali.employee_management.service;
+
+import com.muhammadali.employee_management.dto.DepartmentSalarySummaryDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+
+// Holds the all-departments salary summary per currency filter. Any write to salaries or
+// employees invalidates it; the TTL only bounds staleness from writers that bypass the
+// services (manual SQL, migrations).
+//
+// Fills run in a read-write transaction of their own, which replica routing always sends to
+// the primary. Read right after an invalidation, a lagging replica could otherwise hand back
+// the pre-write totals, and the generation check cannot tell: the bump came before the load.
+@Component
+public class DepartmentSalarySummaryCache {
+
+    private static final String ALL_CURRENCIES = "*";
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    // Bumped on every invalidation; a load that started before a bump is not stored, so a
+    // summary computed from pre-commit data cannot outlive the write that changed it.
+    private final AtomicLong generation = new AtomicLong();
+
+    private final long ttlNanos;
+
+    private final LongSupplier clock;
+
+    private final TransactionOperations fill;
+
+
+    @Autowired
+    public DepartmentSalarySummaryCache(@Value("${department.salary-summary.ttl:10m}") Duration ttl,
+                                        PlatformTransactionManager transactionManager){
+        this(ttl, System::nanoTime, onPrimary(transactionManager));
+    }
+
+
+    DepartmentSalarySummaryCache(Duration ttl, LongSupplier clock, TransactionOperations fill){
+        this.ttlNanos = ttl.toNanos();
+        this.clock = clock;
+        this.fill = fill;
+    }
+
+
+    public List<DepartmentSalarySummaryDTO> get(String currency, Supplier<List<DepartmentSalarySummaryDTO>> loader){
+        String key = currency == null ? ALL_CURRENCIES : currency.toUpperCase(Locale.ROOT);
+        long now = clock.getAsLong();
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt() - now > 0) {
+            return entry.summary();
+        }
+
+        long loadedGeneration = generation.get();
+        List<DepartmentSalarySummaryDTO> summary = List.copyOf(fill.execute(status -> loader.get()));
+        if (generation.get() == loadedGeneration) {
+            entries.put(key, new Entry(summary, now + ttlNanos));
+        }
+        return summary;
+    }
+
+
+    // Invalidates now and again after the surrounding transaction commits.
+    public void invalidate(){
+        clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    clear();
+                }
+            });
+        }
+    }
+
+
+    private static TransactionOperations onPrimary(PlatformTransactionManager transactionManager){
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transaction.setReadOnly(false);
+        return transaction;
+    }
+
+
+    private void clear(){
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+
+    private record Entry(List<DepartmentSalarySummaryDTO> summary, long expiresAt) {}
+
+
+}
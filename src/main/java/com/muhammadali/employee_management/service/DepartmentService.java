@@ -1,13 +1,12 @@
 package com.muhammadali.employee_management.service;
 import com.muhammadali.employee_management.dto.*;
 import com.muhammadali.employee_management.entity.Department;
-import com.muhammadali.employee_management.entity.Employee;
 import com.muhammadali.employee_management.exceptions.BusinessValidationException;
 import com.muhammadali.employee_management.exceptions.DepartmentHasEmployeeException;
 import com.muhammadali.employee_management.exceptions.InvalidDateRangeException;
+import com.muhammadali.employee_management.exceptions.ResourceAlreadyExistsException;
 import com.muhammadali.employee_management.exceptions.ResourceNotFoundException;
 import com.muhammadali.employee_management.mapper.DepartmentMapper;
-import com.muhammadali.employee_management.mapper.EmployeeMapper;
 import com.muhammadali.employee_management.repository.DepartmentRepository;
 import com.muhammadali.employee_management.repository.EmployeeRepository;
 import lombok.RequiredArgsConstructor;
@@ -17,7 +16,10 @@ import org.springframework.transaction.annotation.Transactional;
 import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Currency;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 
@@ -27,15 +29,28 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class DepartmentService {
 
+    private static final Set<String> ISO_CURRENCIES = Currency.getAvailableCurrencies().stream()
+            .map(Currency::getCurrencyCode)
+            .collect(Collectors.toUnmodifiableSet());
+
     private final DepartmentRepository departmentRepository;
 
     private final EmployeeRepository employeeRepository;
 
+    private final SalaryRankingService salaryRankingService;
+
+    private final ReferenceDataCache referenceDataCache;
+
+    private final DepartmentSalarySummaryCache salarySummaryCache;
+
     @Transactional
     public DepartmentResponseDTO save(DepartmentRequestDTO dto){
+        departmentRepository.findByNameIgnoreCase(dto.name())
+                .ifPresent(d -> { throw new ResourceAlreadyExistsException("Department", "name", dto.name()); });
         Department department= DepartmentMapper.toEntity(dto);
         department.setCreatedAt(Timestamp.valueOf(LocalDateTime.now()));
         Department saved=departmentRepository.save(department);
+        salarySummaryCache.invalidate();
         return DepartmentMapper.toResponse(saved);
     }
 
@@ -46,15 +61,21 @@ public class DepartmentService {
         existing.setName(dto.name());
         existing.setUpdatedAt(new Timestamp(System.currentTimeMillis()));
         existing.setManagerId(dto.manager_id());
-        return DepartmentMapper.toResponse(departmentRepository.save(existing));
+        Department saved = departmentRepository.save(existing);
+        referenceDataCache.evictDepartment(id);
+        salarySummaryCache.invalidate();
+        return DepartmentMapper.toResponse(saved);
     }
 
 
     public List<EmployeeResponseDTO> getEmployeesByDepartment(Long departmentId){
-        List<Employee> employees=employeeRepository.findByDepartmentId(departmentId);
-        return employees.stream()
-                .map(EmployeeMapper::toResponse)
-                .toList();
+        return employeeRepository.findProjectedByDepartmentId(departmentId);
+    }
+
+
+    public List<EmployeeResponseDTO> getTopEarners(Long departmentId, int limit){
+        getDepartmentOrThrow(departmentId);
+        return salaryRankingService.topEarners(departmentId, limit);
     }
 
 
@@ -184,6 +205,17 @@ public class DepartmentService {
     }
 
 
+    // The filter is part of the cache key, so only ISO 4217 codes are accepted: arbitrary
+    // strings would each add an entry to the summary cache.
+    public List<DepartmentSalarySummaryDTO> getSalarySummary(String currency){
+        String filter = currency == null || currency.isBlank() ? null : currency.trim().toUpperCase(Locale.ROOT);
+        if (filter != null && !ISO_CURRENCIES.contains(filter)) {
+            throw new BusinessValidationException("INVALID_CURRENCY", "Unknown currency code: " + filter);
+        }
+        return salarySummaryCache.get(filter, () -> departmentRepository.getSalarySummary(filter));
+    }
+
+
     public List<DepartmentEmployeeCountDTO> getEmployeeCountForAllDepartments(){
         return departmentRepository.getDepartmentEmployeeCounts();
     }
@@ -204,6 +236,8 @@ public class DepartmentService {
             );
         }
         departmentRepository.delete(department);
+        referenceDataCache.evictDepartment(id);
+        salarySummaryCache.invalidate();
     }
 
 
@@ -0,0 +1,169 @@
+package com.muhammadali.employee_management.service;
+
+import com.muhammadali.employee_management.dto.DepartmentAggregateStatsDTO;
+import com.muhammadali.employee_management.dto.DepartmentStatsDTO;
+import com.muhammadali.employee_management.dto.DepartmentYearlyStatsDTO;
+import com.muhammadali.employee_management.dto.EmployeeResponseDTO;
+import com.muhammadali.employee_management.enums.DepartmentStatType;
+import com.muhammadali.employee_management.exceptions.BusinessValidationException;
+import com.muhammadali.employee_management.exceptions.DeadlineExceededException;
+import com.muhammadali.employee_management.exceptions.ResourceNotFoundException;
+import com.muhammadali.employee_management.repository.DepartmentRepository;
+import com.muhammadali.employee_management.repository.EmployeeRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+
+@Service
+@Transactional(readOnly = true)
+public class DepartmentStatsService {
+
+    private static final Set<DepartmentStatType> AGGREGATE_TYPES = EnumSet.of(
+            DepartmentStatType.MIN_SALARY, DepartmentStatType.MAX_SALARY, DepartmentStatType.AVG_SALARY,
+            DepartmentStatType.POSITION_COUNT, DepartmentStatType.EMPLOYEE_COUNT);
+
+    private final DepartmentRepository departmentRepository;
+
+    private final EmployeeRepository employeeRepository;
+
+    private final SalaryRankingService salaryRankingService;
+
+    private final AsyncTaskExecutor executor;
+
+    private final PlatformTransactionManager transactionManager;
+
+    private final Duration deadline;
+
+
+    public DepartmentStatsService(DepartmentRepository departmentRepository,
+                                  EmployeeRepository employeeRepository,
+                                  SalaryRankingService salaryRankingService,
+                                  @Qualifier("applicationTaskExecutor") AsyncTaskExecutor executor,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${department.stats.deadline:2s}") Duration deadline){
+        this.departmentRepository = departmentRepository;
+        this.employeeRepository = employeeRepository;
+        this.salaryRankingService = salaryRankingService;
+        this.executor = executor;
+        this.transactionManager = transactionManager;
+        this.deadline = deadline;
+    }
+
+
+    // The scalar statistics come from a single aggregate query; list statistics run as
+    // separate queries. All of them run concurrently, each on its own pooled connection,
+    // and the request fails with 504 if they are not all done within the deadline. Each query
+    // carries the remaining deadline as its statement timeout, so one that outlives the 504
+    // is cancelled by the database and gives its connection back.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public DepartmentStatsDTO getStats(Long departmentId, Set<DepartmentStatType> types, int limit){
+        if (types.isEmpty()) {
+            throw new BusinessValidationException("INVALID_STAT_TYPE", "At least one statistic type is required");
+        }
+        if (types.contains(DepartmentStatType.TOP_EMPLOYEE_COUNT)) {
+            throw new BusinessValidationException("INVALID_STAT_TYPE",
+                    "TOP_EMPLOYEE_COUNT is not a per-department statistic");
+        }
+        if (!departmentRepository.existsById(departmentId)) {
+            throw new ResourceNotFoundException("Department", "id", departmentId);
+        }
+
+        long deadlineAt = System.nanoTime() + deadline.toNanos();
+        boolean needsAggregate = types.stream().anyMatch(AGGREGATE_TYPES::contains);
+        CompletableFuture<DepartmentAggregateStatsDTO> aggregate =
+                submit(needsAggregate, deadlineAt, () -> departmentRepository.getAggregateStats(departmentId));
+        CompletableFuture<List<EmployeeResponseDTO>> employees =
+                submit(types.contains(DepartmentStatType.EMPLOYEES), deadlineAt,
+                        () -> employeeRepository.findProjectedByDepartmentId(departmentId));
+        CompletableFuture<List<EmployeeResponseDTO>> topEarners =
+                submit(types.contains(DepartmentStatType.TOP_SALARY), deadlineAt,
+                        () -> salaryRankingService.topEarners(departmentId, limit));
+        CompletableFuture<List<DepartmentYearlyStatsDTO>> yearlyStats =
+                submit(types.contains(DepartmentStatType.YEARLY_STATS), deadlineAt,
+                        () -> departmentRepository.getYearlyHiresByDepartment(departmentId));
+
+        CompletableFuture<Void> all = CompletableFuture.allOf(aggregate, employees, topEarners, yearlyStats);
+        try {
+            all.get(deadline.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Only stops queries still waiting for a thread; running ones end at their timeout.
+            List.of(aggregate, employees, topEarners, yearlyStats).forEach(f -> f.cancel(true));
+            throw new DeadlineExceededException("Department statistics did not complete within "
+                    + deadline.toMillis() + " ms", deadline.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while computing department statistics", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+
+        DepartmentAggregateStatsDTO stats = aggregate.join();
+        return new DepartmentStatsDTO(
+                departmentId,
+                scalar(types, DepartmentStatType.MIN_SALARY, stats, s -> zeroIfNull(s.getMinSalary())),
+                scalar(types, DepartmentStatType.MAX_SALARY, stats, s -> zeroIfNull(s.getMaxSalary())),
+                scalar(types, DepartmentStatType.AVG_SALARY, stats, s -> zeroIfNull(s.getAverageSalary())),
+                scalar(types, DepartmentStatType.POSITION_COUNT, stats, DepartmentAggregateStatsDTO::getPositionCount),
+                scalar(types, DepartmentStatType.EMPLOYEE_COUNT, stats, DepartmentAggregateStatsDTO::getEmployeeCount),
+                employees.join(),
+                topEarners.join(),
+                yearlyStats.join()
+        );
+    }
+
+
+    private <T> CompletableFuture<T> submit(boolean requested, long deadlineAt, Supplier<T> query){
+        return requested
+                ? CompletableFuture.supplyAsync(() -> withTimeout(deadlineAt, query), executor)
+                : CompletableFuture.completedFuture(null);
+    }
+
+
+    // Transaction timeouts are applied by Hibernate and JdbcTemplate as the statement's query
+    // timeout. JDBC counts it in whole seconds, so the remaining time is rounded up.
+    private <T> T withTimeout(long deadlineAt, Supplier<T> query){
+        long remaining = deadlineAt - System.nanoTime();
+        if (remaining <= 0) {
+            throw new DeadlineExceededException("Department statistics did not complete within "
+                    + deadline.toMillis() + " ms", deadline.toMillis());
+        }
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.setTimeout((int) Math.max(1, TimeUnit.NANOSECONDS.toSeconds(remaining + 999_999_999L)));
+        return transaction.execute(status -> query.get());
+    }
+
+
+    private static <T> T scalar(Set<DepartmentStatType> types, DepartmentStatType type,
+                                DepartmentAggregateStatsDTO stats, Function<DepartmentAggregateStatsDTO, T> getter){
+        return stats != null && types.contains(type) ? getter.apply(stats) : null;
+    }
+
+
+    // Same convention as the single-statistic endpoint: no salaries means 0.0, not null.
+    private static Double zeroIfNull(Double value){
+        return value != null ? value : 0.0;
+    }
+
+
+}
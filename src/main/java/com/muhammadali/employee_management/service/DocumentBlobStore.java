@@ -0,0 +1,297 @@
+package com.muhammadali.employee_management.service;
+
+import com.muhammadali.employee_management.dto.BlobReconcileResultDTO;
+import com.muhammadali.employee_management.exceptions.FileStorageException;
+import com.muhammadali.employee_management.storage.DocumentStorage;
+import com.muhammadali.employee_management.storage.StoredObject;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+
+// Content-addressed store for document files. Each distinct content is written once to the
+// configured DocumentStorage, keyed by its SHA-256, and counted in document_blob by the
+// documents that use it. Uploads are staged in <blob-dir>/tmp on the local node.
+//
+// The document_blob row doubles as the lock for its object. For remote backends stage()
+// uploads the object before any lock is taken; on a local disk it is renamed into place
+// by acquire() instead, which is as cheap as the stat. acquire() upserts the row and makes
+// sure the object is there, and collect() deletes the object while holding the row lock. An upload that races the
+// deletion of the last reference therefore either keeps the blob alive or waits and puts
+// the file back afterwards. Objects left behind by crashes or rolled-back uploads, and
+// counts changed behind the services' back, are fixed by reconcile().
+@Service
+public class DocumentBlobStore {
+
+    private static final Pattern BLOB_NAME = Pattern.compile("[0-9a-f]{64}");
+
+    private static final String ACQUIRE = """
+            INSERT INTO document_blob AS b (hash, size, ref_count) VALUES (?, ?, 1)
+            ON CONFLICT (hash) DO UPDATE SET ref_count = b.ref_count + 1
+            """;
+
+    private static final String RELEASE = """
+            UPDATE document_blob SET ref_count = ref_count - 1
+            WHERE hash = ? AND ref_count > 0
+            RETURNING ref_count
+            """;
+
+    private static final String LOCK_UNREFERENCED =
+            "SELECT hash FROM document_blob WHERE hash = ? AND ref_count = 0 FOR UPDATE";
+
+    private static final String DRIFTED_COUNTS = """
+            SELECT b.hash
+            FROM document_blob b
+            LEFT JOIN (SELECT content_hash, COUNT(*) AS n
+                       FROM employee_documents
+                       WHERE content_hash IS NOT NULL
+                       GROUP BY content_hash) d ON d.content_hash = b.hash
+            WHERE b.ref_count <> COALESCE(d.n, 0)
+            """;
+
+    // Run after taking the row lock, so the count sees every committed reference and no
+    // upload or delete of this blob is in flight.
+    private static final String RECOUNT = """
+            UPDATE document_blob
+            SET ref_count = (SELECT COUNT(*) FROM employee_documents WHERE content_hash = ?)
+            WHERE hash = ?
+            """;
+
+    // Claims a file with no row. If an upload has just inserted the row, this waits for it
+    // and then does nothing.
+    private static final String ADOPT_ORPHAN = """
+            INSERT INTO document_blob (hash, size, ref_count) VALUES (?, ?, 0)
+            ON CONFLICT (hash) DO NOTHING
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate newTransaction;
+
+    private final DocumentStorage storage;
+
+    private final Path staging;
+
+    private final Duration orphanGrace;
+
+
+    public DocumentBlobStore(JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             DocumentStorage storage,
+                             @Value("${file.blob-dir:${file.upload-dir}/blobs}") String blobDir,
+                             @Value("${file.blob.orphan-grace:1h}") Duration orphanGrace){
+        this.jdbcTemplate = jdbcTemplate;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.storage = storage;
+        this.staging = Paths.get(blobDir).toAbsolutePath().normalize().resolve("tmp");
+        this.orphanGrace = orphanGrace;
+        try {
+            Files.createDirectories(staging);
+        } catch (IOException e) {
+            throw new FileStorageException("Could not create staging directory: " + staging, e);
+        }
+    }
+
+
+    // Content written to a local staging file and hashed on the way through. Runs before any
+    // row is locked, so slow uploads do not hold anything up. A remote backend gets the
+    // object here unless it already has it; a local one is left to acquire(), since copying
+    // now would write every blob twice. The staging file is kept for acquire().
+    public StagedBlob stage(InputStream in) throws IOException {
+        MessageDigest sha256 = sha256();
+        Path temp = Files.createTempFile(staging, "upload-", ".tmp");
+        try {
+            long size;
+            try (InputStream source = in;
+                 OutputStream out = new DigestOutputStream(Files.newOutputStream(temp), sha256)) {
+                size = source.transferTo(out);
+            }
+            StagedBlob blob = new StagedBlob(temp, HexFormat.of().formatHex(sha256.digest()), size);
+            if (storage.localFile(blob.hash()).isEmpty() && storage.stat(blob.hash()).isEmpty()) {
+                try (InputStream content = Files.newInputStream(temp)) {
+                    storage.put(blob.hash(), content, size);
+                }
+            }
+            return blob;
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+
+    // Takes a reference in the caller's transaction. Under the row lock this is the upsert,
+    // a stat and, when the object is missing, storing the staged file: a rename on the local
+    // backend, and for remote ones only if a collection removed the upload in between.
+    @Transactional
+    public void acquire(StagedBlob blob) throws IOException {
+        checkHash(blob.hash());
+        jdbcTemplate.update(ACQUIRE, blob.hash(), blob.size());
+        try {
+            if (storage.stat(blob.hash()).isEmpty()) {
+                storage.putFile(blob.hash(), blob.tempFile());
+            }
+        } finally {
+            Files.deleteIfExists(blob.tempFile());
+        }
+    }
+
+
+    public void discard(StagedBlob blob){
+        try {
+            Files.deleteIfExists(blob.tempFile());
+        } catch (IOException e) {
+            // Swept by reconcile() once past the grace period.
+        }
+    }
+
+
+    // Drops a reference in the caller's transaction. The file goes once that transaction
+    // has committed and only if nothing took a new reference in between.
+    @Transactional
+    public void release(String hash){
+        List<Integer> remaining = jdbcTemplate.queryForList(RELEASE, Integer.class, hash);
+        if (remaining.isEmpty() || remaining.get(0) > 0) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    try {
+                        collect(hash);
+                    } catch (RuntimeException e) {
+                        // Left with ref_count 0 for reconcile() to collect.
+                    }
+                }
+            });
+        } else {
+            collect(hash);
+        }
+    }
+
+
+    // Deletes an unreferenced blob in a transaction of its own: row lock, row, then object.
+    // If the commit fails after the object is gone, the row stays at zero and the next
+    // collection removes it; a waiting upload finds no object and stores its own copy.
+    public boolean collect(String hash){
+        try {
+            return Boolean.TRUE.equals(newTransaction.execute(status -> {
+                if (jdbcTemplate.queryForList(LOCK_UNREFERENCED, String.class, hash).isEmpty()) {
+                    return false;
+                }
+                jdbcTemplate.update("DELETE FROM document_blob WHERE hash = ?", hash);
+                try {
+                    storage.delete(checkHash(hash));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return true;
+            }));
+        } catch (DataIntegrityViolationException e) {
+            // Still referenced although counted as zero; reconcile() recounts it.
+            return false;
+        }
+    }
+
+
+    private static String checkHash(String hash){
+        if (hash == null || !BLOB_NAME.matcher(hash).matches()) {
+            throw new FileStorageException("Invalid blob hash: " + hash, "INVALID_PATH");
+        }
+        return hash;
+    }
+
+
+    // Nightly repair: recounts drifted references, claims objects with no row, and collects
+    // everything unreferenced. Objects younger than the grace period are left alone, as they
+    // may belong to an upload whose transaction has not committed yet.
+    @Scheduled(cron = "${file.blob.reconcile-cron:0 15 3 * * *}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BlobReconcileResultDTO reconcile(){
+        int recounted = 0;
+        for (String hash : jdbcTemplate.queryForList(DRIFTED_COUNTS, String.class)) {
+            Boolean fixed = newTransaction.execute(status -> {
+                jdbcTemplate.queryForList("SELECT hash FROM document_blob WHERE hash = ? FOR UPDATE", String.class, hash);
+                return jdbcTemplate.update(RECOUNT, hash, hash) == 1;
+            });
+            if (Boolean.TRUE.equals(fixed)) {
+                recounted++;
+            }
+        }
+
+        Instant cutoff = Instant.now().minus(orphanGrace);
+        int staleUploads = 0;
+        try (Stream<Path> files = Files.list(staging)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (Files.getLastModifiedTime(file).toInstant().isBefore(cutoff) && Files.deleteIfExists(file)) {
+                    staleUploads++;
+                }
+            }
+        } catch (IOException e) {
+            throw new FileStorageException("Could not scan staging directory: " + staging, e);
+        }
+        List<StoredObject> candidates;
+        try (Stream<StoredObject> objects = storage.list()) {
+            candidates = objects
+                    .filter(object -> object.lastModified().isBefore(cutoff))
+                    .filter(object -> BLOB_NAME.matcher(object.key()).matches())
+                    .toList();
+        } catch (IOException e) {
+            throw new FileStorageException("Could not list stored blobs", e);
+        }
+        int adopted = 0;
+        for (StoredObject object : candidates) {
+            adopted += jdbcTemplate.update(ADOPT_ORPHAN, object.key(), object.size());
+        }
+
+        int collected = 0;
+        for (String hash : jdbcTemplate.queryForList("SELECT hash FROM document_blob WHERE ref_count = 0", String.class)) {
+            if (collect(hash)) {
+                collected++;
+            }
+        }
+        return new BlobReconcileResultDTO(recounted, adopted, collected, staleUploads);
+    }
+
+
+    private static MessageDigest sha256(){
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+
+    public record StagedBlob(Path tempFile, String hash, long size){}
+
+
+}
@@ -0,0 +1,198 @@
+package com.muhammadali.employee_management.service;
+
+import com.muhammadali.employee_management.dto.StorageMigrationResultDTO;
+import com.muhammadali.employee_management.entity.EmployeeDocument;
+import com.muhammadali.employee_management.repository.EmployeeDocumentRepository;
+import com.muhammadali.employee_management.storage.DocumentStorage;
+import com.muhammadali.employee_management.storage.DocumentStorageConfig;
+import com.muhammadali.employee_management.storage.DocumentStorageProperties;
+import com.muhammadali.employee_management.storage.StoredObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+
+// Moves document content onto the configured backend. Enabled by file.storage.migrate-from:
+//   1. every object in that backend is copied to file.storage.type, skipping objects the
+//      target already holds with the same size; the source is left as it is;
+//   2. documents from before content addressing are hashed into blobs on the target and
+//      their old file on the upload volume is removed.
+// Both steps are idempotent, so a run interrupted halfway can simply be repeated. Meant to
+// run once per switch with --spring.main.web-application-type=none, in which case the process
+// exits when done, with status 1 if anything failed. Nodes can then move to the new backend;
+// a second run afterwards picks up anything uploaded in between.
+@Component
+@ConditionalOnProperty(prefix = "file.storage", name = "migrate-from")
+public class DocumentStorageMigration implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(DocumentStorageMigration.class);
+
+    private final DocumentStorageProperties properties;
+
+    private final DocumentStorage target;
+
+    private final DocumentBlobStore blobStore;
+
+    private final EmployeeDocumentRepository documentRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ConfigurableApplicationContext context;
+
+    private final String blobDir;
+
+
+    public DocumentStorageMigration(DocumentStorageProperties properties,
+                                    DocumentStorage target,
+                                    DocumentBlobStore blobStore,
+                                    EmployeeDocumentRepository documentRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    ConfigurableApplicationContext context,
+                                    @Value("${file.blob-dir:${file.upload-dir}/blobs}") String blobDir){
+        this.properties = properties;
+        this.target = target;
+        this.blobStore = blobStore;
+        this.documentRepository = documentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.context = context;
+        this.blobDir = blobDir;
+    }
+
+
+    @Override
+    public void run(ApplicationArguments args){
+        StorageMigrationResultDTO result = migrate();
+        boolean clean = result.failed() == 0 && result.legacyFailed() == 0;
+        if (clean) {
+            log.info("Document storage migration finished: {}", result);
+        } else {
+            log.error("Document storage migration finished with failures: {}", result);
+        }
+        if (!(context instanceof WebApplicationContext)) {
+            System.exit(SpringApplication.exit(context, () -> clean ? 0 : 1));
+        }
+    }
+
+
+    public StorageMigrationResultDTO migrate(){
+        StorageMigrationResultDTO copied = new StorageMigrationResultDTO(0, 0, 0, 0, 0);
+        if (properties.getMigrateFrom() != properties.getType()) {
+            copied = copy(DocumentStorageConfig.create(properties.getMigrateFrom(), properties, blobDir), target);
+        }
+        int legacyMigrated = 0;
+        int legacyFailed = 0;
+        for (EmployeeDocument document : documentRepository.findByContentHashIsNull()) {
+            if (migrateLegacy(document.getId())) {
+                legacyMigrated++;
+            } else {
+                legacyFailed++;
+            }
+        }
+        return new StorageMigrationResultDTO(copied.copied(), copied.skipped(), copied.failed(),
+                legacyMigrated, legacyFailed);
+    }
+
+
+    static StorageMigrationResultDTO copy(DocumentStorage from, DocumentStorage to){
+        int copied = 0;
+        int skipped = 0;
+        int failed = 0;
+        try (Stream<StoredObject> objects = from.list()) {
+            for (Iterator<StoredObject> it = objects.iterator(); it.hasNext(); ) {
+                StoredObject object = it.next();
+                try {
+                    Optional<StoredObject> existing = to.stat(object.key());
+                    if (existing.isPresent() && existing.get().size() == object.size()) {
+                        skipped++;
+                        continue;
+                    }
+                    try (InputStream in = from.get(object.key())) {
+                        to.put(object.key(), in, object.size());
+                    }
+                    long stored = to.stat(object.key()).map(StoredObject::size).orElse(-1L);
+                    if (stored == object.size()) {
+                        copied++;
+                    } else {
+                        log.error("Failed to copy {}: target holds {} bytes, source has {}",
+                                object.key(), stored, object.size());
+                        failed++;
+                    }
+                } catch (IOException e) {
+                    log.error("Failed to copy {}", object.key(), e);
+                    failed++;
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not list the source storage", e);
+        }
+        return new StorageMigrationResultDTO(copied, skipped, failed, 0, 0);
+    }
+
+
+    // One transaction per document: the blob reference and the row change commit together,
+    // and the old file goes only after that.
+    private boolean migrateLegacy(Long documentId){
+        EmployeeDocument document = documentRepository.findById(documentId).orElse(null);
+        if (document == null || document.getContentHash() != null) {
+            return true;
+        }
+        Path legacyFile = Paths.get(document.getFilePath()).normalize();
+        DocumentBlobStore.StagedBlob staged;
+        try (InputStream in = Files.newInputStream(legacyFile)) {
+            staged = blobStore.stage(in);
+        } catch (IOException e) {
+            log.error("Failed to read legacy file {} of document {}", legacyFile, documentId, e);
+            return false;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                EmployeeDocument current = documentRepository.findById(documentId).orElseThrow();
+                if (current.getContentHash() != null) {
+                    // Migrated by a concurrent run.
+                    return;
+                }
+                try {
+                    blobStore.acquire(staged);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                current.setContentHash(staged.hash());
+                current.setFilePath(staged.hash());
+                documentRepository.save(current);
+            });
+        } catch (RuntimeException e) {
+            log.error("Failed to move document {} into blob {}", documentId, staged.hash(), e);
+            return false;
+        } finally {
+            blobStore.discard(staged);
+        }
+        try {
+            Files.deleteIfExists(legacyFile);
+        } catch (IOException e) {
+            // The row no longer points at it; harmless apart from the space.
+            log.warn("Could not delete migrated legacy file {}", legacyFile, e);
+        }
+        return true;
+    }
+
+
+}
@@ -1,5 +1,6 @@
 package com.muhammadali.employee_management.service;
 import com.muhammadali.employee_management.dto.EmployeeDocumentDTO;
+import com.muhammadali.employee_management.dto.FileDownloadDTO;
 import com.muhammadali.employee_management.entity.Employee;
 import com.muhammadali.employee_management.entity.EmployeeDocument;
 import com.muhammadali.employee_management.exceptions.FileNotFoundCustomException;
@@ -9,27 +10,28 @@ import com.muhammadali.employee_management.exceptions.ResourceNotFoundException;
 import com.muhammadali.employee_management.mapper.EmployeeDocumentMapper;
 import com.muhammadali.employee_management.repository.EmployeeDocumentRepository;
 import com.muhammadali.employee_management.repository.EmployeeRepository;
-import org.springframework.core.io.Resource;
+import com.muhammadali.employee_management.storage.DocumentStorage;
+import com.muhammadali.employee_management.storage.StoredObject;
 import lombok.SneakyThrows;
-import org.springframework.core.io.FileSystemResource;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
 import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
-import org.springframework.web.util.UriUtils;
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.util.List;
-import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
@@ -46,6 +48,12 @@ public class EmployeeDocumentService {
 
     private final EmployeeDocumentRepository documentRepository;
 
+    private final DocumentBlobStore blobStore;
+
+    private final DocumentStorage documentStorage;
+
+    private final PlatformTransactionManager transactionManager;
+
 
     @jakarta.annotation.PostConstruct
     public void init(){
@@ -58,40 +66,47 @@ public class EmployeeDocumentService {
     }
 
 
-    @Transactional
+    // Not transactional: the content is hashed and stored before a connection is taken, and
+    // the short transaction after it only checks the employee, takes the blob reference and
+    // inserts the row.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     @SneakyThrows
     public EmployeeDocumentDTO uploadDocument(Long employeeId, MultipartFile file, String category) {
-        Employee employee = getEmployeeById(employeeId);
         validateFile(file);
         String originalFilename = file.getOriginalFilename();
-        String extension = getFileExtension(originalFilename);
-        String storedFilename = UUID.randomUUID() + extension;
-        Path destinationPath;
+        DocumentBlobStore.StagedBlob staged;
         try {
-            destinationPath = rootLocation.resolve(storedFilename)
-                    .normalize()
-                    .toAbsolutePath();
-
-            if (!destinationPath.startsWith(rootLocation)) {
-                throw new FileUploadException("Cannot store file outside upload directory",
-                        "INVALID_PATH");
-            }
-
-            Files.copy(file.getInputStream(), destinationPath, StandardCopyOption.REPLACE_EXISTING);
-
-        } catch (Exception e) {
+            staged = blobStore.stage(file.getInputStream());
+        } catch (IOException e) {
             throw new FileStorageException("Failed to save file", "STORAGE_ERROR", e.getMessage());
         }
-
-        EmployeeDocument document = new EmployeeDocument();
-        document.setFileName(originalFilename);
-        document.setFileType(file.getContentType());
-        document.setFileCategory(category);
-        document.setFilePath(destinationPath.toString());
-        document.setUploadedAt(Timestamp.from(Instant.now()));
-        document.setEmployee(employee);
-
-        return EmployeeDocumentMapper.toDTO(documentRepository.save(document));
+        try {
+            return new TransactionTemplate(transactionManager).execute(status -> {
+                Employee employee = getEmployeeById(employeeId);
+                try {
+                    blobStore.acquire(staged);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+
+                EmployeeDocument document = new EmployeeDocument();
+                document.setFileName(originalFilename);
+                document.setFileType(file.getContentType());
+                document.setFileCategory(category);
+                document.setFilePath(staged.hash());
+                document.setContentHash(staged.hash());
+                document.setUploadedAt(Timestamp.from(Instant.now()));
+                document.setEmployee(employee);
+
+                return EmployeeDocumentMapper.toDTO(documentRepository.save(document));
+            });
+        } catch (UncheckedIOException e) {
+            blobStore.discard(staged);
+            throw new FileStorageException("Failed to save file", "STORAGE_ERROR", e.getCause().getMessage());
+        } catch (RuntimeException e) {
+            blobStore.discard(staged);
+            throw e;
+        }
     }
 
 
@@ -103,30 +118,67 @@ public class EmployeeDocumentService {
     }
 
 
-    public ResponseEntity<Resource> downloadDocument(Long documentId) {
+    // Everything the download needs comes from the row and one stat of the stored object;
+    // the content type is the one recorded at upload rather than probed on every request.
+    public FileDownloadDTO getDownload(Long documentId) {
         EmployeeDocument document = getDocumentById(documentId);
+        if (document.getContentHash() == null) {
+            return getLegacyDownload(document);
+        }
+        String hash = document.getContentHash();
+        StoredObject object;
+        try {
+            object = documentStorage.stat(hash).orElse(null);
+        } catch (IOException e) {
+            throw new FileStorageException("Failed to read file", "STORAGE_ERROR", e.getMessage(), e);
+        }
+        if (object == null) {
+            throw new FileNotFoundCustomException(
+                    "File not found or unreadable: " + document.getFileName(),
+                    "FILE_NOT_FOUND"
+            );
+        }
+        FileDownloadDTO.Content content = documentStorage.localFile(hash)
+                .map(FileDownloadDTO.Content::of)
+                .orElse((start, length) -> documentStorage.get(hash, start, length));
+        // A blob's name is its content hash, which makes a strong validator on its own.
+        return new FileDownloadDTO(content, document.getFileName(), contentType(document.getFileType()),
+                object.size(), object.lastModified().toEpochMilli() / 1000 * 1000, "\"" + hash + "\"");
+    }
+
+
+    // Documents stored before content addressing keep their own file on the upload volume
+    // until DocumentStorageMigration moves them into blobs.
+    private FileDownloadDTO getLegacyDownload(EmployeeDocument document) {
         Path filePath = Paths.get(document.getFilePath()).normalize();
-        Resource resource = new FileSystemResource(filePath);
-        if (!resource.exists() || !resource.isReadable()) {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(filePath, BasicFileAttributes.class);
+        } catch (IOException e) {
             throw new FileNotFoundCustomException(
                     "File not found or unreadable: " + document.getFileName(),
                     "FILE_NOT_FOUND"
             );
         }
-        String contentType = resolveContentType(filePath, document.getFileType());
-        String encodedFilename = UriUtils.encode(document.getFileName(), StandardCharsets.UTF_8);
-        return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType(contentType))
-                .header(HttpHeaders.CONTENT_DISPOSITION,
-                        "attachment; filename=\"" + encodedFilename +
-                                "\"; filename*=UTF-8''" + encodedFilename)
-                .build();
+        long lastModified = attributes.lastModifiedTime().toMillis() / 1000 * 1000;
+        String etag = "\"" + Long.toHexString(document.getId()) + "-"
+                + Long.toHexString(attributes.size()) + "-" + Long.toHexString(lastModified) + "\"";
+        return new FileDownloadDTO(FileDownloadDTO.Content.of(filePath), document.getFileName(),
+                contentType(document.getFileType()), attributes.size(), lastModified, etag);
     }
 
 
     @Transactional
     public void deleteDocument(Long documentId) {
         EmployeeDocument document = getDocumentById(documentId);
+        if (document.getContentHash() != null) {
+            // The row goes first so the foreign key no longer holds the blob; the file itself
+            // is removed after commit if this was its last reference.
+            documentRepository.delete(document);
+            documentRepository.flush();
+            blobStore.release(document.getContentHash());
+            return;
+        }
         try {
             Files.deleteIfExists(Paths.get(document.getFilePath()));
         } catch (Exception e) {
@@ -180,20 +232,14 @@ public class EmployeeDocumentService {
     }
 
 
-    private String getFileExtension(String filename) {
-        if (filename == null || !filename.contains(".")) {
-            return "";
+    private String contentType(String stored) {
+        if (stored == null || stored.isBlank()) {
+            return MediaType.APPLICATION_OCTET_STREAM_VALUE;
         }
-        return filename.substring(filename.lastIndexOf(".")).toLowerCase();
-    }
-
-
-    private String resolveContentType(Path path, String fallback) {
         try {
-            String type = Files.probeContentType(path);
-            return type != null ? type : fallback != null ? fallback : "application/octet-stream";
-        } catch (Exception e) {
-            return fallback != null ? fallback : "application/octet-stream";
+            return MediaType.parseMediaType(stored).toString();
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_OCTET_STREAM_VALUE;
         }
     }
 
@@ -0,0 +1,93 @@
+package com.muhammadali.employee_management.service;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.muhammadali.employee_management.dto.EmployeeResponseDTO;
+import com.muhammadali.employee_management.entity.Employee;
+import com.muhammadali.employee_management.enums.ExportFormat;
+import com.muhammadali.employee_management.mapper.EmployeeMapper;
+import com.muhammadali.employee_management.repository.EmployeeRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class EmployeeExportService {
+
+    private static final int FLUSH_EVERY_ROWS = 500;
+
+    private static final String CSV_HEADER =
+            "id,fullName,phone,gender,birthDate,hireDate,position,departmentName,status";
+
+    private final EmployeeRepository employeeRepository;
+
+    private final EntityManager entityManager;
+
+    private final ObjectMapper objectMapper;
+
+
+    // Rows are pulled from a server-side cursor and written one at a time. A slow client
+    // blocks the write, which in turn stops the cursor from advancing, so memory stays flat.
+    public void export(ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        try (Stream<Employee> employees = employeeRepository.streamAllForExport()) {
+            Iterator<Employee> iterator = employees.iterator();
+            long rows = 0;
+            while (iterator.hasNext()) {
+                Employee employee = iterator.next();
+                EmployeeResponseDTO dto = EmployeeMapper.toResponse(employee);
+                writer.write(format == ExportFormat.CSV ? toCsvLine(dto) : objectMapper.writeValueAsString(dto));
+                writer.write('\n');
+                entityManager.detach(employee);
+                if (++rows % FLUSH_EVERY_ROWS == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+    }
+
+
+    private String toCsvLine(EmployeeResponseDTO dto){
+        return String.join(",",
+                csv(dto.id()),
+                csv(dto.fullName()),
+                csv(dto.phone()),
+                csv(dto.gender()),
+                csv(dto.birthDate()),
+                csv(dto.hire_date()),
+                csv(dto.position()),
+                csv(dto.departmentName()),
+                csv(dto.status())
+        );
+    }
+
+
+    private String csv(Object value){
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+
+}
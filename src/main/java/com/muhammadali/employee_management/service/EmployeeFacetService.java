@@ -0,0 +1,127 @@
+package com.muhammadali.employee_management.service;
+import com.muhammadali.employee_management.dto.EmployeeFacetCountDTO;
+import com.muhammadali.employee_management.dto.EmployeeFacetedSearchDTO;
+import com.muhammadali.employee_management.dto.EmployeeResponseDTO;
+import com.muhammadali.employee_management.entity.Employee;
+import com.muhammadali.employee_management.enums.Gender;
+import com.muhammadali.employee_management.enums.Status;
+import com.muhammadali.employee_management.exceptions.BusinessValidationException;
+import com.muhammadali.employee_management.mapper.EmployeeMapper;
+import com.muhammadali.employee_management.repository.EmployeeRepository;
+import com.muhammadali.employee_management.specification.EmployeeSpecification;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class EmployeeFacetService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private static final String UNSPECIFIED = "UNSPECIFIED";
+
+    private static final LocalDate NO_MIN_BIRTH_DATE = LocalDate.of(1900, 1, 1);
+
+    private static final LocalDate NO_MAX_BIRTH_DATE = LocalDate.of(9999, 12, 31);
+
+    private final EmployeeRepository employeeRepository;
+
+    private final EntityManager entityManager;
+
+
+    public EmployeeFacetedSearchDTO search(String name, String department, Status status, Gender gender,
+                                           String position, Integer minAge, Integer maxAge,
+                                           int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BusinessValidationException(
+                    "INVALID_PAGE",
+                    "Page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE
+            );
+        }
+        boolean ageFiltered = minAge != null || maxAge != null;
+        if (ageFiltered && (minAge == null || maxAge == null || minAge < 0 || minAge > maxAge)) {
+            throw new BusinessValidationException(
+                    "INVALID_AGE_RANGE",
+                    "minAge and maxAge must be provided together with 0 <= minAge <= maxAge"
+            );
+        }
+
+        Specification<Employee> spec = Specification.where(EmployeeSpecification.hasName(name))
+                .and(EmployeeSpecification.hasDepartment(department))
+                .and(EmployeeSpecification.hasStatus(status))
+                .and(EmployeeSpecification.hasGender(gender))
+                .and(EmployeeSpecification.hasPosition(position))
+                .and(EmployeeSpecification.hasAgeBetween(minAge, maxAge))
+                .and(EmployeeSpecification.fetchDepartment());
+
+        List<EmployeeResponseDTO> content = findPage(spec, page, size);
+
+        LocalDate today = LocalDate.now();
+        List<EmployeeFacetCountDTO> facets = employeeRepository.countFacets(
+                name != null ? name : "",
+                department,
+                status != null ? status.name() : null,
+                gender != null ? gender.name() : null,
+                position,
+                ageFiltered,
+                ageFiltered ? today.minusYears(maxAge) : NO_MIN_BIRTH_DATE,
+                ageFiltered ? today.minusYears(minAge) : NO_MAX_BIRTH_DATE
+        );
+
+        long total = 0;
+        Map<String, Long> statusCounts = new LinkedHashMap<>();
+        Map<String, Long> genderCounts = new LinkedHashMap<>();
+        Map<String, Long> departmentCounts = new LinkedHashMap<>();
+        Map<String, Long> positionCounts = new LinkedHashMap<>();
+        for (EmployeeFacetCountDTO facet : facets) {
+            String value = facet.getValue() != null ? facet.getValue() : UNSPECIFIED;
+            switch (facet.getFacet()) {
+                case "STATUS" -> statusCounts.put(value, facet.getCount());
+                case "GENDER" -> genderCounts.put(value, facet.getCount());
+                case "DEPARTMENT" -> departmentCounts.put(value, facet.getCount());
+                case "POSITION" -> positionCounts.put(value, facet.getCount());
+                default -> total = facet.getCount();
+            }
+        }
+
+        return new EmployeeFacetedSearchDTO(
+                content, page, size, total,
+                statusCounts, genderCounts, departmentCounts, positionCounts
+        );
+    }
+
+
+    private List<EmployeeResponseDTO> findPage(Specification<Employee> spec, int page, int size) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Employee> query = builder.createQuery(Employee.class);
+        Root<Employee> root = query.from(Employee.class);
+        Predicate predicate = spec.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(builder.asc(root.get("id")));
+
+        return entityManager.createQuery(query)
+                .setFirstResult(page * size)
+                .setMaxResults(size)
+                .getResultList()
+                .stream()
+                .map(EmployeeMapper::toResponse)
+                .toList();
+    }
+
+}
@@ -0,0 +1,320 @@
+package com.muhammadali.employee_management.service;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.muhammadali.employee_management.dto.EmployeeImportResultDTO;
+import com.muhammadali.employee_management.dto.EmployeeRequestDTO;
+import com.muhammadali.employee_management.dto.ImportRowErrorDTO;
+import com.muhammadali.employee_management.entity.Department;
+import com.muhammadali.employee_management.entity.Employee;
+import com.muhammadali.employee_management.enums.Gender;
+import com.muhammadali.employee_management.enums.ImportFormat;
+import com.muhammadali.employee_management.enums.Status;
+import com.muhammadali.employee_management.exceptions.BusinessValidationException;
+import com.muhammadali.employee_management.mapper.EmployeeMapper;
+import com.muhammadali.employee_management.repository.DepartmentRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ValidationException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class EmployeeImportService {
+
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final Set<String> CSV_COLUMNS = Set.of(
+            "firstName", "lastName", "phone", "gender", "birthDate",
+            "hireDate", "position", "departmentId", "image_path", "status");
+
+    @Value("${employee.import.batch-size:500}")
+    private int batchSize;
+
+    // Imports up to this many rows are added to the suggest index as they commit; larger
+    // ones rebuild it once at the end.
+    @Value("${employee.import.index-rebuild-threshold:1000}")
+    private int indexRebuildThreshold;
+
+    private final DepartmentRepository departmentRepository;
+
+    private final EmployeeSuggestIndex employeeSuggestIndex;
+
+    private final DepartmentSalarySummaryCache salarySummaryCache;
+
+    private final EntityManager entityManager;
+
+    private final PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper;
+
+
+    // Rows are validated as they are read and inserted in batches, each in its own
+    // transaction, so a bad row only costs its own batch a retry, never the whole file.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public EmployeeImportResultDTO importEmployees(ImportFormat format, InputStream in) throws IOException {
+        Set<Long> departmentIds = new HashSet<>(departmentRepository.findAllIds());
+        Progress progress = new Progress();
+        List<Row> pending = new ArrayList<>(batchSize);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        Map<String, Integer> columns = null;
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == ImportFormat.CSV && columns == null) {
+                columns = parseHeader(line);
+                continue;
+            }
+
+            progress.processed++;
+            try {
+                EmployeeRequestDTO dto = format == ImportFormat.CSV ? fromCsv(columns, line) : fromJson(line);
+                validate(dto, departmentIds);
+                pending.add(new Row(lineNumber, dto));
+            } catch (BusinessValidationException e) {
+                progress.fail(lineNumber, e.getMessage());
+            }
+
+            if (pending.size() >= batchSize) {
+                insertBatch(pending, progress);
+                pending.clear();
+            }
+        }
+        if (!pending.isEmpty()) {
+            insertBatch(pending, progress);
+        }
+
+        // One full rebuild is cheaper than thousands of incremental posting-list merges, but
+        // re-reading the whole table for a handful of rows is not.
+        if (progress.imported > indexRebuildThreshold) {
+            employeeSuggestIndex.rebuild();
+        }
+        if (progress.imported > 0) {
+            salarySummaryCache.invalidate();
+        }
+        return progress.toResult();
+    }
+
+
+    private void insertBatch(List<Row> rows, Progress progress){
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        try {
+            tx.executeWithoutResult(status -> persist(rows, progress));
+            progress.imported += rows.size();
+        } catch (DataAccessException | PersistenceException | ValidationException | TransactionException e) {
+            // A single failing row rejects the whole JDBC batch; replay row by row to find it.
+            for (Row row : rows) {
+                try {
+                    tx.executeWithoutResult(status -> persist(List.of(row), progress));
+                    progress.imported++;
+                } catch (DataAccessException | PersistenceException | ValidationException | TransactionException rowError) {
+                    progress.fail(row.line(), rootMessage(rowError));
+                }
+            }
+        }
+    }
+
+
+    // Rows are indexed on commit while the import as a whole can still stay under the
+    // rebuild threshold; once it is past it, the rebuild at the end picks them up.
+    private void persist(List<Row> rows, Progress progress){
+        List<Employee> employees = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            Department department = entityManager.getReference(Department.class, row.dto().departmentId());
+            Employee employee = EmployeeMapper.toEntity(row.dto(), department);
+            entityManager.persist(employee);
+            employees.add(employee);
+        }
+        entityManager.flush();
+        if (progress.imported + rows.size() <= indexRebuildThreshold) {
+            employees.forEach(employeeSuggestIndex::index);
+        }
+        entityManager.clear();
+    }
+
+
+    private void validate(EmployeeRequestDTO dto, Set<Long> departmentIds){
+        if (dto.firstName() == null || dto.firstName().isBlank()) {
+            throw new BusinessValidationException("INVALID_ROW", "First name cannot be blank");
+        }
+        if (dto.departmentId() == null) {
+            throw new BusinessValidationException("INVALID_ROW", "Department ID must not be null");
+        }
+        if (!departmentIds.contains(dto.departmentId())) {
+            throw new BusinessValidationException("INVALID_ROW", "Department not found with id : '" + dto.departmentId() + "'");
+        }
+        if (dto.birthDate() != null && !dto.birthDate().isBefore(LocalDate.now())) {
+            throw new BusinessValidationException("INVALID_ROW", "Birth date must be in the past");
+        }
+    }
+
+
+    private Map<String, Integer> parseHeader(String line){
+        List<String> names = splitCsv(line);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i).trim();
+            if (!CSV_COLUMNS.contains(name)) {
+                throw new BusinessValidationException("INVALID_IMPORT_HEADER", "Unknown column: " + name);
+            }
+            columns.put(name, i);
+        }
+        if (!columns.containsKey("firstName") || !columns.containsKey("departmentId")) {
+            throw new BusinessValidationException("INVALID_IMPORT_HEADER",
+                    "Header must contain firstName and departmentId");
+        }
+        return columns;
+    }
+
+
+    private EmployeeRequestDTO fromJson(String line){
+        try {
+            JsonNode node = objectMapper.readTree(line);
+            // "null", arrays and scalars are valid JSON but not an employee.
+            if (node == null || !node.isObject()) {
+                throw new BusinessValidationException("INVALID_ROW", "Expected a JSON object");
+            }
+            return objectMapper.treeToValue(node, EmployeeRequestDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new BusinessValidationException("INVALID_ROW", "Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+
+    private EmployeeRequestDTO fromCsv(Map<String, Integer> columns, String line){
+        List<String> values = splitCsv(line);
+        if (values.size() != columns.size()) {
+            throw new BusinessValidationException("INVALID_ROW",
+                    "Expected " + columns.size() + " columns but found " + values.size());
+        }
+        try {
+            String gender = value(columns, values, "gender");
+            String status = value(columns, values, "status");
+            String birthDate = value(columns, values, "birthDate");
+            String hireDate = value(columns, values, "hireDate");
+            String departmentId = value(columns, values, "departmentId");
+            return new EmployeeRequestDTO(
+                    value(columns, values, "firstName"),
+                    value(columns, values, "lastName"),
+                    value(columns, values, "phone"),
+                    gender != null ? Gender.valueOf(gender.toUpperCase()) : null,
+                    birthDate != null ? LocalDate.parse(birthDate) : null,
+                    hireDate != null ? LocalDate.parse(hireDate) : null,
+                    value(columns, values, "position"),
+                    departmentId != null ? Long.valueOf(departmentId) : null,
+                    value(columns, values, "image_path"),
+                    status != null ? Status.valueOf(status.toUpperCase()) : null
+            );
+        } catch (DateTimeParseException e) {
+            throw new BusinessValidationException("INVALID_ROW", "Invalid date: " + e.getParsedString());
+        } catch (IllegalArgumentException e) {
+            throw new BusinessValidationException("INVALID_ROW", "Invalid value: " + e.getMessage());
+        }
+    }
+
+
+    private static String value(Map<String, Integer> columns, List<String> values, String column){
+        Integer index = columns.get(column);
+        if (index == null) {
+            return null;
+        }
+        String text = values.get(index).trim();
+        return text.isEmpty() ? null : text;
+    }
+
+
+    // Same quoting rules the CSV export writes: fields with commas or quotes are wrapped
+    // in double quotes and embedded quotes are doubled.
+    static List<String> splitCsv(String line){
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new BusinessValidationException("INVALID_ROW", "Unterminated quoted field");
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+
+    private static String rootMessage(Throwable e){
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage();
+    }
+
+
+    private record Row(long line, EmployeeRequestDTO dto) {}
+
+
+    private static final class Progress {
+
+        private long processed;
+        private long imported;
+        private long failed;
+        private final List<ImportRowErrorDTO> errors = new ArrayList<>();
+
+        void fail(long line, String message){
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportRowErrorDTO(line, message));
+            }
+        }
+
+        EmployeeImportResultDTO toResult(){
+            return new EmployeeImportResultDTO(processed, imported, failed, List.copyOf(errors));
+        }
+    }
+
+}
@@ -1,4 +1,5 @@
 package com.muhammadali.employee_management.service;
+import com.muhammadali.employee_management.dto.EmployeeCursorPageDTO;
 import com.muhammadali.employee_management.dto.EmployeeRequestDTO;
 import com.muhammadali.employee_management.dto.EmployeeResponseDTO;
 import com.muhammadali.employee_management.entity.Department;
@@ -16,17 +17,21 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 
+import java.nio.charset.StandardCharsets;
 import java.sql.Timestamp;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.Period;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
-import java.util.stream.Collectors;
 
 
 @Service
@@ -39,6 +44,22 @@ public class EmployeeService {
 
     private final DepartmentRepository departmentRepository;
 
+    private final EmployeeSuggestIndex employeeSuggestIndex;
+
+    private final SalaryRankingService salaryRankingService;
+
+    private final DepartmentSalarySummaryCache salarySummaryCache;
+
+    private final SalaryRollupService salaryRollupService;
+
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
+    private static final int SEARCH_RESULT_LIMIT = 50;
+
+    private static final Timestamp MIN_CREATED_AT = new Timestamp(0L);
+
+    private static final Timestamp MAX_CREATED_AT = Timestamp.valueOf("9999-12-31 23:59:59");
+
 
     @Transactional
     public EmployeeResponseDTO save(EmployeeRequestDTO dto){
@@ -48,25 +69,20 @@ public class EmployeeService {
         Department department = getDepartmentById(dto.departmentId());
         Employee employee = EmployeeMapper.toEntity(dto, department);
         employee.setCreated_at(Timestamp.valueOf(java.time.LocalDateTime.now()));
-        return EmployeeMapper.toResponse(employeeRepository.save(employee));
+        Employee saved = employeeRepository.save(employee);
+        employeeSuggestIndex.index(saved);
+        salarySummaryCache.invalidate();
+        return EmployeeMapper.toResponse(saved);
     }
 
 
     public List<EmployeeResponseDTO> getTop5HighestSalary(){
-        Pageable pageable = PageRequest.of(0, 5);
-        List<Employee> employees = employeeRepository.findTopEmployeesBySalary(pageable);
-
-        return employees.stream()
-                .map(EmployeeMapper::toResponse)
-                .toList();
+        return salaryRankingService.topEarners(null, 5);
     }
 
 
     public List<EmployeeResponseDTO> searchByPhone(String phone) {
-        return employeeRepository.findByPhoneContainingIgnoreCase(phone)
-                .stream()
-                .map(EmployeeMapper::toResponse)
-                .toList();
+        return employeeRepository.findProjectedByPhone(phone, PageRequest.of(0, SEARCH_RESULT_LIMIT));
     }
 
 
@@ -76,7 +92,8 @@ public class EmployeeService {
         Specification<Employee> spec = Specification.where(EmployeeSpecification.hasName(name))
                 .and(EmployeeSpecification.hasDepartment(department))
                 .and(EmployeeSpecification.hasStatus(status))
-                .and(EmployeeSpecification.hasAgeBetween(minAge, maxAge));
+                .and(EmployeeSpecification.hasAgeBetween(minAge, maxAge))
+                .and(EmployeeSpecification.fetchDepartment());
 
         return employeeRepository.findAll(spec)
                 .stream()
@@ -89,10 +106,7 @@ public class EmployeeService {
         validateAgeRange(min, max);
         LocalDate from = LocalDate.now().minusYears(max);
         LocalDate to = LocalDate.now().minusYears(min);
-        return employeeRepository.findByBirthDateBetween(from, to)
-                .stream()
-                .map(EmployeeMapper::toResponse)
-                .toList();
+        return employeeRepository.findProjectedByBirthDateBetween(from, to);
     }
 
 
@@ -100,35 +114,23 @@ public class EmployeeService {
         if (min == null || max == null || min > max) {
             throw new IllegalArgumentException("Invalid salary range");
         }
-        return employeeRepository.findEmployeeBySalaryBetween(min, max)
-                .stream()
-                .map(EmployeeMapper::toResponse)
-                .toList();
+        return employeeRepository.findProjectedBySalaryBetween(min, max);
     }
 
 
     public List<EmployeeResponseDTO> searchByHireDateRange(LocalDate from, LocalDate to) {
         validateDateRange(from, to);
-        return employeeRepository.findByHireDateBetween(from, to)
-                .stream()
-                .map(EmployeeMapper::toResponse)
-                .toList();
+        return employeeRepository.findProjectedByHireDateBetween(from, to);
     }
 
 
     public List<EmployeeResponseDTO>  filterByStatusAndDepartment(Status status,String departmentName){
-        List<Employee> employees=employeeRepository.findByStatusAndDepartmentName(status,departmentName);
-        return employees.stream()
-                .map(EmployeeMapper::toResponse)
-                .toList();
+        return employeeRepository.findProjectedByStatusAndDepartmentName(status,departmentName);
     }
 
 
     public List<EmployeeResponseDTO> filterByDepartmentAndPosition(String departmentName,String position){
-        List<Employee> employees=employeeRepository.findByDepartmentNameAndPositionIgnoreCase(departmentName,position);
-        return employees.stream()
-                .map(EmployeeMapper::toResponse)
-                .toList();
+        return employeeRepository.findProjectedByDepartmentNameAndPositionIgnoreCase(departmentName,position);
     }
 
 
@@ -136,34 +138,27 @@ public class EmployeeService {
         if (from.isAfter(to)) {
             throw new IllegalArgumentException("'from' date must be before 'to' date");
         }
-        return employeeRepository.findByBirthDateBetween(from, to)
-                .stream()
-                .map(EmployeeMapper::toResponse)
-                .toList();
+        return employeeRepository.findProjectedByBirthDateBetween(from, to);
     }
 
 
     public List<EmployeeResponseDTO> searchByGender(Gender gender) {
-        return employeeRepository.findByGender(gender)
-                .stream()
-                .map(EmployeeMapper::toResponse)
-                .toList();
+        return employeeRepository.findProjectedByGender(gender);
     }
 
 
     public List<EmployeeResponseDTO> searchByName(String name) {
-        return employeeRepository
-                .findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(name, name)
-                .stream()
-                .map(EmployeeMapper::toResponse)
-                .toList();
+        return employeeRepository.findProjectedByName(name, PageRequest.of(0, SEARCH_RESULT_LIMIT));
     }
 
 
     @Transactional
     public EmployeeResponseDTO update(Long id, EmployeeRequestDTO dto){
-        Employee existing = getEmployeeById(id);
+        // Locked until commit so salary rollup deltas cannot read the department mid-move.
+        Employee existing = employeeRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Employee", "id", id));
         Department department = getDepartmentById(dto.departmentId());
+        Long previousDepartmentId = existing.getDepartment().getId();
         existing.setFirstName(dto.firstName());
         existing.setLastName(dto.lastName());
         existing.setPhone(dto.phone());
@@ -175,53 +170,25 @@ public class EmployeeService {
         existing.setStatus(dto.status());
         existing.setUpdated_at(new Timestamp(System.currentTimeMillis()));
         Employee updated = employeeRepository.save(existing);
+        salaryRollupService.employeeMoved(id, previousDepartmentId, department.getId());
+        employeeSuggestIndex.index(updated);
+        salarySummaryCache.invalidate();
         return EmployeeMapper.toResponse(updated);
     }
 
 
     public List<EmployeeResponseDTO> findAll(){
-        return employeeRepository.findAll()
-                .stream()
-                .map(EmployeeMapper::toResponse)
-                .collect(Collectors.toList());
+        return employeeRepository.findAllProjected();
     }
 
 
     public List<EmployeeResponseDTO> getEmployeesStatus(Status status){
-        return employeeRepository.findByStatus(status)
-                .stream()
-                .map(emp->new EmployeeResponseDTO(
-                        emp.getId(),
-                        emp.getFirstName()+" "+emp.getLastName(),
-                        emp.getPhone(),
-                        emp.getGender(),
-                        emp.getBirthDate(),
-                        emp.getHireDate(),
-                        emp.getPosition(),
-                        emp.getDepartment()!=null ? emp.getDepartment().getName():null,
-                        emp.getStatus(),
-                        emp.getImage_path()
-                ))
-                .toList();
+        return employeeRepository.findProjectedByStatus(status);
     }
 
 
     public List<EmployeeResponseDTO> getEmployeeByDepartment(String departmentName){
-        return employeeRepository.findByDepartmentName(departmentName)
-                .stream()
-                .map(emp->new EmployeeResponseDTO(
-                        emp.getId(),
-                        emp.getFirstName()+" "+emp.getLastName(),
-                        emp.getPhone(),
-                        emp.getGender(),
-                        emp.getBirthDate(),
-                        emp.getHireDate(),
-                        emp.getPosition(),
-                        emp.getDepartment()!=null?emp.getDepartment().getName():null,
-                        emp.getStatus(),
-                        emp.getImage_path()
-                ))
-                .toList();
+        return employeeRepository.findProjectedByDepartmentName(departmentName);
     }
 
 
@@ -231,19 +198,54 @@ public class EmployeeService {
                 :Sort.by(sortBy).ascending();
         Pageable pageable= PageRequest.of(page,size,sort);
 
-        return employeeRepository.findAll(pageable)
-                .map(emp->new EmployeeResponseDTO(
-                        emp.getId(),
-                        emp.getFirstName()+" "+emp.getLastName(),
-                        emp.getPhone(),
-                        emp.getGender(),
-                        emp.getBirthDate(),
-                        emp.getHireDate(),
-                        emp.getPosition(),
-                        emp.getDepartment()!=null?emp.getDepartment().getName():null,
-                        emp.getStatus(),
-                        emp.getImage_path()
-                ));
+        return employeeRepository.findAllProjected(pageable);
+    }
+
+
+    public EmployeeCursorPageDTO getEmployeesWithCursor(String cursor, int size, String sortBy, String direction){
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new BusinessValidationException(
+                    "INVALID_PAGE_SIZE",
+                    "Page size must be between 1 and " + MAX_CURSOR_PAGE_SIZE
+            );
+        }
+        boolean descending = direction.equalsIgnoreCase("desc");
+        String[] key = cursor == null || cursor.isBlank() ? null : decodeCursor(cursor, sortBy, descending);
+        Pageable limit = PageRequest.of(0, size);
+
+        Slice<Employee> slice = switch (sortBy) {
+            case "id" -> {
+                long lastId = key != null ? parseCursorLong(key[3]) : descending ? Long.MAX_VALUE : 0L;
+                yield descending
+                        ? employeeRepository.findKeysetByIdDesc(lastId, limit)
+                        : employeeRepository.findKeysetByIdAsc(lastId, limit);
+            }
+            case "createdAt" -> {
+                Timestamp createdAt = key != null
+                        ? parseCursorTimestamp(key[2])
+                        : descending ? MAX_CREATED_AT : MIN_CREATED_AT;
+                long lastId = key != null ? parseCursorLong(key[3]) : descending ? Long.MAX_VALUE : 0L;
+                yield descending
+                        ? employeeRepository.findKeysetByCreatedAtDesc(createdAt, lastId, limit)
+                        : employeeRepository.findKeysetByCreatedAtAsc(createdAt, lastId, limit);
+            }
+            default -> throw new BusinessValidationException(
+                    "INVALID_SORT_FIELD",
+                    "Cursor paging supports sorting by 'id' or 'createdAt' only"
+            );
+        };
+
+        List<Employee> employees = slice.getContent();
+        String nextCursor = slice.hasNext() && !employees.isEmpty()
+                ? encodeCursor(employees.get(employees.size() - 1), sortBy, descending)
+                : null;
+
+        return new EmployeeCursorPageDTO(
+                employees.stream().map(EmployeeMapper::toResponse).toList(),
+                nextCursor,
+                slice.hasNext(),
+                employees.size()
+        );
     }
 
 
@@ -289,6 +291,8 @@ public class EmployeeService {
             throw new IllegalArgumentException("Employee not found with id: " + id);
         }
         employeeRepository.deleteById(id);
+        employeeSuggestIndex.remove(id);
+        salarySummaryCache.invalidate();
     }
 
 
@@ -311,6 +315,52 @@ public class EmployeeService {
     }
 
 
+    private String encodeCursor(Employee last, String sortBy, boolean descending){
+        String sortValue = sortBy.equals("createdAt")
+                ? last.getCreated_at().toInstant().toString()
+                : String.valueOf(last.getId());
+        String raw = sortBy + "|" + (descending ? "desc" : "asc") + "|" + sortValue + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+
+    private String[] decodeCursor(String cursor, String sortBy, boolean descending){
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+        } catch (IllegalArgumentException e) {
+            throw new BusinessValidationException("INVALID_CURSOR", "Cursor is malformed");
+        }
+        if (parts.length != 4
+                || !parts[0].equals(sortBy)
+                || !parts[1].equals(descending ? "desc" : "asc")) {
+            throw new BusinessValidationException(
+                    "INVALID_CURSOR",
+                    "Cursor does not match the requested sort field and direction"
+            );
+        }
+        return parts;
+    }
+
+
+    private long parseCursorLong(String value){
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new BusinessValidationException("INVALID_CURSOR", "Cursor is malformed");
+        }
+    }
+
+
+    private Timestamp parseCursorTimestamp(String value){
+        try {
+            return Timestamp.from(Instant.parse(value));
+        } catch (DateTimeParseException e) {
+            throw new BusinessValidationException("INVALID_CURSOR", "Cursor is malformed");
+        }
+    }
+
+
     private void validateDateRange(LocalDate from, LocalDate to){
         if (from != null && to != null && from.isAfter(to)){
             throw new InvalidDateRangeException("'from' date must be before or equal to 'to' date");
@@ -0,0 +1,366 @@
+package com.muhammadali.employee_management.service;
+import com.muhammadali.employee_management.dto.EmployeeSuggestionDTO;
+import com.muhammadali.employee_management.dto.SuggestIndexStatsDTO;
+import com.muhammadali.employee_management.entity.Employee;
+import com.muhammadali.employee_management.repository.EmployeeRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+
+@Component
+@RequiredArgsConstructor
+public class EmployeeSuggestIndex {
+
+    private static final int MIN_KEY_LENGTH = 2;
+
+    private static final int MAX_KEY_LENGTH = 12;
+
+    private static final long[] EMPTY = new long[0];
+
+    private final EmployeeRepository employeeRepository;
+
+    private final EntityManager entityManager;
+
+    // Posting lists are immutable sorted arrays that are replaced, never mutated, so
+    // readers only ever do lock-free ConcurrentHashMap lookups. Writers are serialized.
+    private volatile ConcurrentHashMap<String, long[]> postings = new ConcurrentHashMap<>();
+
+    private volatile ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    // Guards every change to the maps. Held only for in-memory work, never across I/O.
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    // Serializes rebuilds, which stream from JDBC without holding writeLock.
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    // Changes applied while a rebuild is reading, replayed onto its maps before they go
+    // live; null when no rebuild is running. Guarded by writeLock.
+    private List<Change> changesDuringRebuild;
+
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild(){
+        rebuildLock.lock();
+        try {
+            writeLock.lock();
+            try {
+                changesDuringRebuild = new ArrayList<>();
+            } finally {
+                writeLock.unlock();
+            }
+            ConcurrentHashMap<Long, Entry> newEntries = new ConcurrentHashMap<>();
+            ConcurrentHashMap<String, long[]> newPostings;
+            try {
+                newPostings = load(newEntries);
+            } catch (RuntimeException e) {
+                writeLock.lock();
+                try {
+                    changesDuringRebuild = null;
+                } finally {
+                    writeLock.unlock();
+                }
+                throw e;
+            }
+            writeLock.lock();
+            try {
+                this.postings = newPostings;
+                this.entries = newEntries;
+                // Replaying a change the snapshot already contains leaves the maps as they are.
+                for (Change change : changesDuringRebuild) {
+                    applyLocked(change.id(), change.replacement());
+                }
+                changesDuringRebuild = null;
+            } finally {
+                writeLock.unlock();
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+
+    // Reads every employee into fresh maps; the live index keeps serving and taking changes.
+    private ConcurrentHashMap<String, long[]> load(ConcurrentHashMap<Long, Entry> newEntries){
+        Map<String, PostingBuilder> builders = new HashMap<>();
+        // rows arrive ordered by id, so appending keeps every posting list sorted
+        try (Stream<Employee> employees = employeeRepository.streamAllForExport()) {
+            employees.forEach(employee -> {
+                Entry entry = Entry.of(employee);
+                newEntries.put(entry.id(), entry);
+                for (String key : entry.keys()) {
+                    builders.computeIfAbsent(key, k -> new PostingBuilder()).add(entry.id());
+                }
+                entityManager.detach(employee);
+            });
+        }
+        ConcurrentHashMap<String, long[]> newPostings = new ConcurrentHashMap<>(builders.size());
+        builders.forEach((key, builder) -> newPostings.put(key, builder.toArray()));
+        return newPostings;
+    }
+
+
+    public void index(Employee employee){
+        Entry entry = Entry.of(employee);
+        afterCommit(() -> apply(entry.id(), entry));
+    }
+
+
+    public void remove(Long employeeId){
+        afterCommit(() -> apply(employeeId, null));
+    }
+
+
+    public List<EmployeeSuggestionDTO> suggest(String query, int limit){
+        List<String> terms = tokenize(query).stream()
+                .filter(term -> term.length() >= MIN_KEY_LENGTH)
+                .toList();
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        ConcurrentHashMap<String, long[]> currentPostings = this.postings;
+        ConcurrentHashMap<Long, Entry> currentEntries = this.entries;
+
+        long[] candidates = null;
+        for (String term : terms) {
+            long[] ids = currentPostings.getOrDefault(toKey(term), EMPTY);
+            candidates = candidates == null ? ids : intersect(candidates, ids);
+            if (candidates.length == 0) {
+                return List.of();
+            }
+        }
+
+        List<EmployeeSuggestionDTO> result = new ArrayList<>(Math.min(limit, candidates.length));
+        for (long id : candidates) {
+            Entry entry = currentEntries.get(id);
+            if (entry != null && entry.matches(terms)) {
+                result.add(entry.toSuggestion());
+                if (result.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+
+    public SuggestIndexStatsDTO stats(){
+        ConcurrentHashMap<String, long[]> currentPostings = this.postings;
+        long postingCount = 0;
+        long bytes = 0;
+        for (var e : currentPostings.entrySet()) {
+            postingCount += e.getValue().length;
+            // map node + key String + posting array
+            bytes += 32 + (40 + 2L * e.getKey().length()) + (16 + 8L * e.getValue().length);
+        }
+        for (Entry entry : this.entries.values()) {
+            bytes += entry.estimatedBytes();
+        }
+        return new SuggestIndexStatsDTO(this.entries.size(), currentPostings.size(), postingCount, bytes);
+    }
+
+
+    private void apply(Long id, Entry replacement){
+        writeLock.lock();
+        try {
+            applyLocked(id, replacement);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(new Change(id, replacement));
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+
+    private void applyLocked(Long id, Entry replacement){
+        Entry previous = replacement != null ? entries.put(id, replacement) : entries.remove(id);
+        Set<String> replacementKeys = replacement != null ? replacement.keys() : Set.of();
+        if (previous != null) {
+            for (String key : previous.keys()) {
+                if (!replacementKeys.contains(key)) {
+                    postings.computeIfPresent(key, (k, ids) -> {
+                        long[] left = without(ids, id);
+                        return left.length == 0 ? null : left;
+                    });
+                }
+            }
+        }
+        for (String key : replacementKeys) {
+            postings.merge(key, new long[]{id}, EmployeeSuggestIndex::union);
+        }
+    }
+
+
+    private void afterCommit(Runnable action){
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+
+    static List<String> tokenize(String text){
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+
+    private static String toKey(String term){
+        return term.length() > MAX_KEY_LENGTH ? term.substring(0, MAX_KEY_LENGTH) : term;
+    }
+
+
+    private static long[] union(long[] a, long[] b){
+        long[] merged = new long[a.length + b.length];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) merged[n++] = a[i++];
+            else if (a[i] > b[j]) merged[n++] = b[j++];
+            else { merged[n++] = a[i++]; j++; }
+        }
+        while (i < a.length) merged[n++] = a[i++];
+        while (j < b.length) merged[n++] = b[j++];
+        return n == merged.length ? merged : Arrays.copyOf(merged, n);
+    }
+
+
+    private static long[] intersect(long[] a, long[] b){
+        long[] common = new long[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) i++;
+            else if (a[i] > b[j]) j++;
+            else { common[n++] = a[i++]; j++; }
+        }
+        return Arrays.copyOf(common, n);
+    }
+
+
+    private static long[] without(long[] ids, long id){
+        int index = Arrays.binarySearch(ids, id);
+        if (index < 0) {
+            return ids;
+        }
+        long[] copy = new long[ids.length - 1];
+        System.arraycopy(ids, 0, copy, 0, index);
+        System.arraycopy(ids, index + 1, copy, index, ids.length - index - 1);
+        return copy;
+    }
+
+
+    private static final class PostingBuilder {
+
+        private long[] ids = new long[4];
+
+        private int size;
+
+        void add(long id){
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        long[] toArray(){
+            return Arrays.copyOf(ids, size);
+        }
+    }
+
+
+    private record Change(Long id, Entry replacement){}
+
+
+    private record Entry(Long id, String firstName, String lastName, String phone, String position,
+                         String departmentName, List<String> tokens, String digits) {
+
+        static Entry of(Employee e){
+            List<String> tokens = new ArrayList<>();
+            tokens.addAll(tokenize(e.getFirstName()));
+            tokens.addAll(tokenize(e.getLastName()));
+            tokens.addAll(tokenize(e.getPosition()));
+            return new Entry(
+                    e.getId(),
+                    e.getFirstName(),
+                    e.getLastName(),
+                    e.getPhone(),
+                    e.getPosition(),
+                    e.getDepartment() != null ? e.getDepartment().getName() : null,
+                    List.copyOf(tokens),
+                    e.getPhone() != null ? e.getPhone().replaceAll("\\D", "") : ""
+            );
+        }
+
+        Set<String> keys(){
+            Set<String> keys = new HashSet<>();
+            for (String token : tokens) {
+                for (int len = MIN_KEY_LENGTH; len <= Math.min(token.length(), MAX_KEY_LENGTH); len++) {
+                    keys.add(token.substring(0, len));
+                }
+            }
+            // every substring of the phone digits, so "4567" finds "+998 90 123 4567"
+            for (int start = 0; start < digits.length(); start++) {
+                int maxEnd = Math.min(digits.length(), start + MAX_KEY_LENGTH);
+                for (int end = start + MIN_KEY_LENGTH; end <= maxEnd; end++) {
+                    keys.add(digits.substring(start, end));
+                }
+            }
+            return keys;
+        }
+
+        // Keys are truncated to MAX_KEY_LENGTH, so longer terms are confirmed against the tokens.
+        boolean matches(List<String> terms){
+            for (String term : terms) {
+                boolean found = digits.contains(term)
+                        || tokens.stream().anyMatch(token -> token.startsWith(term));
+                if (!found) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        EmployeeSuggestionDTO toSuggestion(){
+            return new EmployeeSuggestionDTO(id, firstName + " " + lastName, phone, position, departmentName);
+        }
+
+        long estimatedBytes(){
+            long bytes = 96 + 40 + 2L * digits.length();
+            for (String token : tokens) {
+                bytes += 40 + 2L * token.length();
+            }
+            return bytes;
+        }
+    }
+
+}
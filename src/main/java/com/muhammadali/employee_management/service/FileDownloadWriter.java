@@ -0,0 +1,206 @@
+package com.muhammadali.employee_management.service;
+
+import com.muhammadali.employee_management.dto.FileDownloadDTO;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.util.UriUtils;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+
+// Sends a stored file as the response body. Handles conditional GETs (ETag and Last-Modified,
+// answered with 304) and a single byte range (206, or 416 when it lies past the end;
+// If-Range falls back to the whole file when the validator no longer matches). Requests
+// for several ranges get the whole file, which RFC 9110 allows.
+//
+// When the content is a file on this node and Tomcat has sendfile enabled, larger bodies are
+// handed to the connector, which sends them from the page cache with sendfile(2) after the
+// handler returns. Other local files go out through FileChannel.transferTo, and content from
+// remote storage is streamed through as it arrives.
+@Component
+public class FileDownloadWriter {
+
+    static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final String CACHE_CONTROL = "private, no-cache";
+
+    private static final int STREAM_BUFFER = 64 * 1024;
+
+    private final long sendfileMinSize;
+
+
+    public FileDownloadWriter(@Value("${file.download.sendfile-min-size:48KB}") DataSize sendfileMinSize){
+        this.sendfileMinSize = sendfileMinSize.toBytes();
+    }
+
+
+    public void write(FileDownloadDTO file, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.ETAG, file.etag());
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, file.lastModified());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        // Set here so Spring Security does not add its no-store default; documents may be
+        // kept by the browser but are revalidated on every use.
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+
+        if (new ServletWebRequest(request, response).checkNotModified(file.etag(), file.lastModified())) {
+            return;
+        }
+
+        ByteRange range = ifRangeMatches(request.getHeader(HttpHeaders.IF_RANGE), file)
+                ? parseRange(request.getHeader(HttpHeaders.RANGE), file.size())
+                : null;
+        if (range == ByteRange.UNSATISFIABLE) {
+            response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + file.size());
+            return;
+        }
+
+        long start = range != null ? range.start() : 0;
+        long length = range != null ? range.end() - range.start() + 1 : file.size();
+        if (range != null) {
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE,
+                    "bytes " + range.start() + "-" + range.end() + "/" + file.size());
+        }
+        String encodedFilename = UriUtils.encode(file.fileName(), StandardCharsets.UTF_8);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + encodedFilename + "\"; filename*=UTF-8''" + encodedFilename);
+        response.setContentType(file.contentType());
+        response.setContentLengthLong(length);
+
+        if ("HEAD".equals(request.getMethod()) || length == 0) {
+            return;
+        }
+        Path localFile = file.content().localFile();
+        if (localFile == null) {
+            stream(file, start, length, response);
+            return;
+        }
+        if (length >= sendfileMinSize && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, localFile.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + length);
+            return;
+        }
+        transfer(localFile, file.fileName(), start, length, response);
+    }
+
+
+    private static void transfer(Path localFile, String fileName, long start, long length,
+                                 HttpServletResponse response) throws IOException {
+        try (FileChannel channel = FileChannel.open(localFile, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, target);
+                if (sent <= 0) {
+                    // The file shrank after Content-Length went out.
+                    throw new EOFException("File changed during download: " + fileName);
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+
+    private static void stream(FileDownloadDTO file, long start, long length, HttpServletResponse response) throws IOException {
+        byte[] buffer = new byte[STREAM_BUFFER];
+        try (InputStream in = file.content().open(start, length)) {
+            OutputStream out = response.getOutputStream();
+            long remaining = length;
+            while (remaining > 0) {
+                int n = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (n < 0) {
+                    throw new EOFException("File changed during download: " + file.fileName());
+                }
+                out.write(buffer, 0, n);
+                remaining -= n;
+            }
+        }
+    }
+
+
+    // A missing If-Range always matches. Entity tags compare strongly, so a weak one never
+    // does; dates must equal Last-Modified exactly.
+    private static boolean ifRangeMatches(String ifRange, FileDownloadDTO file){
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(file.etag());
+        }
+        try {
+            return ZonedDateTime.parse(ifRange, DateTimeFormatter.RFC_1123_DATE_TIME)
+                    .toInstant().toEpochMilli() == file.lastModified();
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+
+    // Null when there is no usable single range, meaning the whole file is sent.
+    static ByteRange parseRange(String header, long size){
+        if (header == null || !header.startsWith("bytes=")) {
+            return null;
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (spec.contains(",") || dash < 0) {
+            return null;
+        }
+        String first = spec.substring(0, dash).trim();
+        String last = spec.substring(dash + 1).trim();
+        try {
+            if (first.isEmpty()) {
+                // Suffix range: the last N bytes.
+                long suffix = Long.parseLong(last);
+                if (suffix < 0) {
+                    return null;
+                }
+                return suffix == 0 || size == 0 ? ByteRange.UNSATISFIABLE : new ByteRange(Math.max(0, size - suffix), size - 1);
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? size - 1 : Long.parseLong(last);
+            if (start < 0 || end < start) {
+                return null;
+            }
+            return start >= size ? ByteRange.UNSATISFIABLE : new ByteRange(start, Math.min(end, size - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+
+    record ByteRange(long start, long end){
+
+        static final ByteRange UNSATISFIABLE = new ByteRange(-1, -1);
+    }
+
+
+}
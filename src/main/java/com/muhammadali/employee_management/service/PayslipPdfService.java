@@ -0,0 +1,252 @@
+package com.muhammadali.employee_management.service;
+
+import com.muhammadali.employee_management.dto.PayslipDTO;
+import com.muhammadali.employee_management.entity.Department;
+import com.muhammadali.employee_management.exceptions.ResourceNotFoundException;
+import com.muhammadali.employee_management.repository.DepartmentRepository;
+import com.muhammadali.employee_management.repository.SalaryRepository;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.YearMonth;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+
+// Payslip and payroll PDFs. Single documents are rendered straight onto the response.
+// Bulk runs read the month from a database cursor on the calling thread, render on a fixed
+// pool, and write the results into a ZipOutputStream on the response in cursor order. Only
+// a bounded window of rendered documents is held at any time, so memory does not grow with
+// the size of the month.
+@Service
+@Transactional(readOnly = true)
+public class PayslipPdfService implements DisposableBean {
+
+    private static final int RENDER_BUFFER_BYTES = 8 * 1024;
+
+    private static final int ZIP_BUFFER_BYTES = 64 * 1024;
+
+    private final SalaryRepository salaryRepository;
+
+    private final DepartmentRepository departmentRepository;
+
+    private final PayslipRenderer renderer;
+
+    private final ThreadPoolExecutor executor;
+
+    private final int window;
+
+
+    public PayslipPdfService(SalaryRepository salaryRepository,
+                             DepartmentRepository departmentRepository,
+                             PayslipRenderer renderer,
+                             @Value("${pdf.render.threads:0}") int threads,
+                             @Value("${pdf.render.queue-capacity:256}") int queueCapacity,
+                             @Value("${pdf.render.window:0}") int window){
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.salaryRepository = salaryRepository;
+        this.departmentRepository = departmentRepository;
+        this.renderer = renderer;
+        this.window = window > 0 ? window : poolSize * 4;
+        // A full queue makes the submitting request render the document itself, which
+        // slows that request down instead of buffering more work.
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "pdf-render-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+
+    public PayslipDTO getPayslip(Long salaryId){
+        return salaryRepository.findPayslip(salaryId)
+                .orElseThrow(() -> new ResourceNotFoundException("Salary", "id", salaryId));
+    }
+
+
+    public void writePayslip(PayslipDTO payslip, OutputStream out) throws IOException {
+        renderer.renderPayslip(payslip, out);
+    }
+
+
+    public Department getDepartment(Long departmentId){
+        return departmentRepository.findById(departmentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Department", "id", departmentId));
+    }
+
+
+    public void writePayroll(Department department, YearMonth month, OutputStream out) throws IOException {
+        List<PayslipDTO> rows;
+        try (Stream<PayslipDTO> payslips = stream(month, department.getId())) {
+            rows = payslips.toList();
+        }
+        renderer.renderPayroll(department.getName(), month, rows, out);
+    }
+
+
+    // One PDF per payment in the month, optionally limited to one department.
+    public void writePayslipsZip(YearMonth month, Long departmentId, OutputStream out) throws IOException {
+        try (Stream<PayslipDTO> payslips = stream(month, departmentId)) {
+            ZipPipeline zip = new ZipPipeline(out);
+            try {
+                Iterator<PayslipDTO> iterator = payslips.iterator();
+                while (iterator.hasNext()) {
+                    PayslipDTO payslip = iterator.next();
+                    zip.submit("payslip-" + payslip.employeeId() + "-" + payslip.salaryId() + ".pdf",
+                            document -> renderer.renderPayslip(payslip, document));
+                }
+                zip.finish();
+            } finally {
+                zip.abort();
+            }
+        }
+    }
+
+
+    // One payroll table per department. The cursor is ordered by department, so each
+    // department's rows are cut off and handed to the pool as soon as the next one starts.
+    public void writePayrollZip(YearMonth month, OutputStream out) throws IOException {
+        try (Stream<PayslipDTO> payslips = stream(month, null)) {
+            ZipPipeline zip = new ZipPipeline(out);
+            try {
+                Iterator<PayslipDTO> iterator = payslips.iterator();
+                List<PayslipDTO> department = new ArrayList<>();
+                while (iterator.hasNext()) {
+                    PayslipDTO payslip = iterator.next();
+                    if (!department.isEmpty() && !department.get(0).departmentId().equals(payslip.departmentId())) {
+                        submitPayroll(zip, month, department);
+                        department = new ArrayList<>();
+                    }
+                    department.add(payslip);
+                }
+                if (!department.isEmpty()) {
+                    submitPayroll(zip, month, department);
+                }
+                zip.finish();
+            } finally {
+                zip.abort();
+            }
+        }
+    }
+
+
+    @Override
+    public void destroy(){
+        executor.shutdownNow();
+    }
+
+
+    private void submitPayroll(ZipPipeline zip, YearMonth month, List<PayslipDTO> rows) throws IOException {
+        PayslipDTO first = rows.get(0);
+        zip.submit("payroll-" + first.departmentId() + "-" + month + ".pdf",
+                document -> renderer.renderPayroll(first.departmentName(), month, rows, document));
+    }
+
+
+    private Stream<PayslipDTO> stream(YearMonth month, Long departmentId){
+        return salaryRepository.streamPayslips(
+                java.sql.Date.valueOf(month.atDay(1)),
+                java.sql.Date.valueOf(month.plusMonths(1).atDay(1)),
+                departmentId);
+    }
+
+
+    @FunctionalInterface
+    private interface PdfJob {
+        void render(OutputStream out) throws IOException;
+    }
+
+
+    private record Rendered(String name, byte[] bytes) {}
+
+
+    // Keeps at most `window` documents rendering or rendered-but-unwritten; submitting
+    // past that blocks on the oldest, which is also the next one the zip needs.
+    private final class ZipPipeline {
+
+        private final OutputStream buffered;
+
+        private final ZipOutputStream zip;
+
+        private final ArrayDeque<Future<Rendered>> inFlight = new ArrayDeque<>();
+
+        ZipPipeline(OutputStream out){
+            this.buffered = new BufferedOutputStream(out, ZIP_BUFFER_BYTES);
+            this.zip = new ZipOutputStream(buffered);
+            // PDF content streams are already deflated; more effort buys next to nothing.
+            this.zip.setLevel(Deflater.BEST_SPEED);
+        }
+
+        void submit(String name, PdfJob job) throws IOException {
+            inFlight.add(executor.submit(() -> {
+                ByteArrayOutputStream document = new ByteArrayOutputStream(RENDER_BUFFER_BYTES);
+                job.render(document);
+                return new Rendered(name, document.toByteArray());
+            }));
+            if (inFlight.size() >= window) {
+                writeNext();
+            }
+        }
+
+        void finish() throws IOException {
+            while (!inFlight.isEmpty()) {
+                writeNext();
+            }
+            zip.finish();
+            buffered.flush();
+        }
+
+        void abort(){
+            inFlight.forEach(future -> future.cancel(true));
+            inFlight.clear();
+        }
+
+        private void writeNext() throws IOException {
+            Rendered rendered = await(inFlight.poll());
+            zip.putNextEntry(new ZipEntry(rendered.name()));
+            zip.write(rendered.bytes());
+            zip.closeEntry();
+        }
+
+        private Rendered await(Future<Rendered> future) throws IOException {
+            try {
+                return future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while rendering PDFs", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException io) {
+                    throw io;
+                }
+                if (e.getCause() instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+    }
+
+
+}
@@ -0,0 +1,222 @@
+package com.muhammadali.employee_management.service;
+
+import com.lowagie.text.Document;
+import com.lowagie.text.DocumentException;
+import com.lowagie.text.Element;
+import com.lowagie.text.Font;
+import com.lowagie.text.FontFactory;
+import com.lowagie.text.PageSize;
+import com.lowagie.text.Paragraph;
+import com.lowagie.text.Phrase;
+import com.lowagie.text.Rectangle;
+import com.lowagie.text.pdf.PdfPCell;
+import com.lowagie.text.pdf.PdfPTable;
+import com.lowagie.text.pdf.PdfWriter;
+import com.muhammadali.employee_management.dto.PayslipDTO;
+import org.springframework.stereotype.Component;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.text.DecimalFormat;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+
+// Renders payslips and department payroll tables with OpenPDF. Fonts and the header rows
+// of every table are built once; each document copies a template table and only adds its
+// own rows. Nothing here holds per-document state, so one instance serves all render threads.
+@Component
+public class PayslipRenderer {
+
+    private static final Font TITLE_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 16);
+    private static final Font SUBTITLE_FONT = FontFactory.getFont(FontFactory.HELVETICA, 10, Color.DARK_GRAY);
+    private static final Font LABEL_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10);
+    private static final Font VALUE_FONT = FontFactory.getFont(FontFactory.HELVETICA, 10);
+    private static final Font HEADER_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 9, Color.WHITE);
+    private static final Font CELL_FONT = FontFactory.getFont(FontFactory.HELVETICA, 9);
+    private static final Font TOTAL_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 9);
+
+    private static final Color HEADER_BACKGROUND = new Color(52, 73, 94);
+
+    // DecimalFormat is not thread-safe.
+    private static final ThreadLocal<DecimalFormat> MONEY_FORMAT =
+            ThreadLocal.withInitial(() -> new DecimalFormat("#,##0.00"));
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("MMMM yyyy", Locale.ENGLISH);
+    private static final String DEFAULT_CURRENCY = "USD";
+
+    private static final String[] PAYROLL_COLUMNS =
+            {"Employee ID", "Name", "Position", "Payment date", "Base", "Bonus", "Total", "Currency"};
+
+    private static final PdfPTable PAYSLIP_AMOUNTS_TEMPLATE = template(new float[]{3, 2}, "Item", "Amount");
+
+    private static final PdfPTable PAYROLL_TEMPLATE =
+            template(new float[]{1.2f, 3, 2.5f, 1.6f, 1.6f, 1.4f, 1.6f, 1}, PAYROLL_COLUMNS);
+
+
+    public void renderPayslip(PayslipDTO payslip, OutputStream out) throws IOException {
+        Document document = new Document(PageSize.A5.rotate(), 36, 36, 36, 36);
+        try {
+            open(document, out);
+            document.add(new Paragraph("Payslip", TITLE_FONT));
+            document.add(new Paragraph(month(payslip.paymentDate()), SUBTITLE_FONT));
+            document.add(spacer());
+
+            PdfPTable details = new PdfPTable(new float[]{1, 2});
+            details.setWidthPercentage(100);
+            detail(details, "Employee", payslip.fullName());
+            detail(details, "Employee ID", String.valueOf(payslip.employeeId()));
+            detail(details, "Position", payslip.position());
+            detail(details, "Department", payslip.departmentName());
+            detail(details, "Payment date", date(payslip.paymentDate()));
+            document.add(details);
+            document.add(spacer());
+
+            String currency = currency(payslip.currency());
+            PdfPTable amounts = new PdfPTable(PAYSLIP_AMOUNTS_TEMPLATE);
+            amounts.addCell(cell("Base salary", CELL_FONT, Element.ALIGN_LEFT));
+            amounts.addCell(cell(money(payslip.amount(), currency), CELL_FONT, Element.ALIGN_RIGHT));
+            amounts.addCell(cell("Bonus", CELL_FONT, Element.ALIGN_LEFT));
+            amounts.addCell(cell(money(payslip.bonus(), currency), CELL_FONT, Element.ALIGN_RIGHT));
+            amounts.addCell(cell("Total", TOTAL_FONT, Element.ALIGN_LEFT));
+            amounts.addCell(cell(money(payslip.total(), currency), TOTAL_FONT, Element.ALIGN_RIGHT));
+            document.add(amounts);
+        } catch (DocumentException e) {
+            throw new IOException("Could not render payslip " + payslip.salaryId(), e);
+        } finally {
+            document.close();
+        }
+    }
+
+
+    // rows are one department's payments for the month, in the order they should be listed.
+    public void renderPayroll(String departmentName, YearMonth month, List<PayslipDTO> rows, OutputStream out)
+            throws IOException {
+        Document document = new Document(PageSize.A4.rotate(), 30, 30, 30, 30);
+        try {
+            open(document, out);
+            document.add(new Paragraph("Payroll - " + departmentName, TITLE_FONT));
+            document.add(new Paragraph(month.format(MONTH_FORMAT) + " - " + rows.size() + " payments", SUBTITLE_FONT));
+            document.add(spacer());
+
+            PdfPTable table = new PdfPTable(PAYROLL_TEMPLATE);
+            Map<String, double[]> totals = new TreeMap<>();
+            for (PayslipDTO row : rows) {
+                String currency = currency(row.currency());
+                table.addCell(cell(String.valueOf(row.employeeId()), CELL_FONT, Element.ALIGN_LEFT));
+                table.addCell(cell(row.fullName(), CELL_FONT, Element.ALIGN_LEFT));
+                table.addCell(cell(row.position(), CELL_FONT, Element.ALIGN_LEFT));
+                table.addCell(cell(date(row.paymentDate()), CELL_FONT, Element.ALIGN_LEFT));
+                table.addCell(cell(money(row.amount()), CELL_FONT, Element.ALIGN_RIGHT));
+                table.addCell(cell(money(row.bonus()), CELL_FONT, Element.ALIGN_RIGHT));
+                table.addCell(cell(money(row.total()), CELL_FONT, Element.ALIGN_RIGHT));
+                table.addCell(cell(currency, CELL_FONT, Element.ALIGN_LEFT));
+
+                double[] sums = totals.computeIfAbsent(currency, c -> new double[3]);
+                sums[0] += row.amount();
+                sums[1] += row.bonus() != null ? row.bonus() : 0.0;
+                sums[2] += row.total();
+            }
+            // Payments in different currencies are never added together.
+            for (Map.Entry<String, double[]> total : totals.entrySet()) {
+                PdfPCell label = cell("Total", TOTAL_FONT, Element.ALIGN_LEFT);
+                label.setColspan(4);
+                table.addCell(label);
+                table.addCell(cell(money(total.getValue()[0]), TOTAL_FONT, Element.ALIGN_RIGHT));
+                table.addCell(cell(money(total.getValue()[1]), TOTAL_FONT, Element.ALIGN_RIGHT));
+                table.addCell(cell(money(total.getValue()[2]), TOTAL_FONT, Element.ALIGN_RIGHT));
+                table.addCell(cell(total.getKey(), TOTAL_FONT, Element.ALIGN_LEFT));
+            }
+            document.add(table);
+        } catch (DocumentException e) {
+            throw new IOException("Could not render payroll for " + departmentName, e);
+        } finally {
+            document.close();
+        }
+    }
+
+
+    // The caller owns the stream (a response or a zip entry), so closing the document
+    // must not close it.
+    private static void open(Document document, OutputStream out) throws DocumentException {
+        PdfWriter writer = PdfWriter.getInstance(document, out);
+        writer.setCloseStream(false);
+        document.open();
+    }
+
+
+    private static PdfPTable template(float[] widths, String... headers){
+        PdfPTable table = new PdfPTable(widths);
+        table.setWidthPercentage(100);
+        table.setHeaderRows(1);
+        for (String header : headers) {
+            PdfPCell cell = cell(header, HEADER_FONT, Element.ALIGN_LEFT);
+            cell.setBackgroundColor(HEADER_BACKGROUND);
+            table.addCell(cell);
+        }
+        return table;
+    }
+
+
+    private static void detail(PdfPTable table, String label, String value){
+        PdfPCell labelCell = cell(label, LABEL_FONT, Element.ALIGN_LEFT);
+        PdfPCell valueCell = cell(value, VALUE_FONT, Element.ALIGN_LEFT);
+        labelCell.setBorder(Rectangle.NO_BORDER);
+        valueCell.setBorder(Rectangle.NO_BORDER);
+        table.addCell(labelCell);
+        table.addCell(valueCell);
+    }
+
+
+    private static PdfPCell cell(String text, Font font, int alignment){
+        PdfPCell cell = new PdfPCell(new Phrase(text != null ? text : "-", font));
+        cell.setHorizontalAlignment(alignment);
+        cell.setPadding(4);
+        return cell;
+    }
+
+
+    private static Paragraph spacer(){
+        return new Paragraph(" ", VALUE_FONT);
+    }
+
+
+    private static String money(Double value){
+        return MONEY_FORMAT.get().format(value != null ? value : 0.0);
+    }
+
+
+    private static String money(Double value, String currency){
+        return money(value) + " " + currency;
+    }
+
+
+    private static String currency(String currency){
+        return currency != null ? currency : DEFAULT_CURRENCY;
+    }
+
+
+    // Same conversion Hibernate applies to the DATE column, so the printed day is the stored day.
+    private static LocalDate localDate(Date date){
+        return new java.sql.Date(date.getTime()).toLocalDate();
+    }
+
+
+    private static String date(Date date){
+        return date == null ? "-" : localDate(date).format(DATE_FORMAT);
+    }
+
+
+    private static String month(Date date){
+        return date == null ? "" : YearMonth.from(localDate(date)).format(MONTH_FORMAT);
+    }
+
+
+}
@@ -0,0 +1,82 @@
+package com.muhammadali.employee_management.service;
+
+import com.muhammadali.employee_management.dto.CacheRegionStatsDTO;
+import com.muhammadali.employee_management.entity.Department;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+// Thin handle on the Hibernate second-level cache regions holding departments and roles.
+@Component
+@RequiredArgsConstructor
+public class ReferenceDataCache {
+
+    static final String DEPARTMENT_REGION = "department";
+
+    static final String ROLE_REGION = "role";
+
+    static final String QUERY_REGION = "reference-queries";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+
+    // READ_WRITE already keeps the entity region consistent for JPA writes; evicting again
+    // after commit also covers native SQL and anything else that bypassed the session.
+    public void evictDepartment(Long id){
+        evict(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(id);
+                }
+            });
+        }
+    }
+
+
+    public List<CacheRegionStatsDTO> stats(){
+        Statistics statistics = sessionFactory().getStatistics();
+        List<CacheRegionStatsDTO> result = new ArrayList<>();
+        result.add(toDto(DEPARTMENT_REGION, statistics.getDomainDataRegionStatistics(DEPARTMENT_REGION)));
+        result.add(toDto(ROLE_REGION, statistics.getDomainDataRegionStatistics(ROLE_REGION)));
+        result.add(toDto(QUERY_REGION, statistics.getQueryRegionStatistics(QUERY_REGION)));
+        return result;
+    }
+
+
+    private void evict(Long id){
+        Cache cache = sessionFactory().getCache();
+        cache.evictEntityData(Department.class, id);
+        cache.evictQueryRegion(QUERY_REGION);
+    }
+
+
+    private SessionFactory sessionFactory(){
+        return entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+
+    private static CacheRegionStatsDTO toDto(String region, CacheRegionStatistics statistics){
+        if (statistics == null) {
+            return new CacheRegionStatsDTO(region, 0, 0, 0, 0.0);
+        }
+        long hits = statistics.getHitCount();
+        long misses = statistics.getMissCount();
+        long lookups = hits + misses;
+        return new CacheRegionStatsDTO(region, hits, misses, statistics.getPutCount(),
+                lookups == 0 ? 0.0 : (double) hits / lookups);
+    }
+
+
+}
@@ -2,35 +2,82 @@ package com.muhammadali.employee_management.service;
 
 import com.muhammadali.employee_management.entity.RefreshToken;
 import com.muhammadali.employee_management.entity.Users;
+import com.muhammadali.employee_management.exceptions.AuthenticationFailedException;
 import com.muhammadali.employee_management.repository.RefreshTokenRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.HexFormat;
 
 @Service
 @RequiredArgsConstructor
 public class RefreshTokenService {
 
+    private static final long REFRESH_TOKEN_TTL_MS = 1000L * 60 * 60 * 24 * 7;
+
     private final RefreshTokenRepository refreshTokenRepository;
 
+    @Value("${security.refresh-token.purge-batch-size:1000}")
+    private int purgeBatchSize;
+
     public RefreshToken save(Users user, String token){
 
         RefreshToken refreshToken=new RefreshToken();
-        refreshToken.setToken(token);
+        refreshToken.setTokenHash(hash(token));
         refreshToken.setUser(user);
-        refreshToken.setExpireDate(new Date(System.currentTimeMillis()+1000L*60*60*24*7));
+        refreshToken.setExpireDate(new Date(System.currentTimeMillis()+REFRESH_TOKEN_TTL_MS));
 
         return refreshTokenRepository.save(refreshToken);
     }
 
+    // The rejection must not roll back the delete of the expired token.
+    @Transactional(noRollbackFor = AuthenticationFailedException.class)
     public RefreshToken verify(String token){
-        return refreshTokenRepository.findByToken(token)
-                .orElseThrow(()->new RuntimeException("Refresh token not found"));
+        String tokenHash = hash(token);
+        RefreshToken refreshToken = refreshTokenRepository.findByTokenHash(tokenHash)
+                .orElseThrow(() -> new AuthenticationFailedException("Refresh token not found"));
+        if (refreshToken.getExpireDate() == null || !refreshToken.getExpireDate().after(new Date())) {
+            refreshTokenRepository.delete(refreshToken);
+            throw new AuthenticationFailedException("Refresh token expired");
+        }
+        return refreshToken;
     }
 
     public void delete(String token){
-        refreshTokenRepository.deleteByToken(token);
+        refreshTokenRepository.deleteByTokenHash(hash(token));
+    }
+
+
+    // Chunked so the purge never holds a long transaction or a large lock set, however
+    // far behind it is.
+    @Scheduled(fixedDelayString = "${security.refresh-token.purge-interval:PT1H}",
+            initialDelayString = "${security.refresh-token.purge-initial-delay:PT5M}")
+    public long purgeExpired(){
+        Date now = new Date();
+        long total = 0;
+        int deleted;
+        do {
+            deleted = refreshTokenRepository.deleteExpiredBatch(now, purgeBatchSize);
+            total += deleted;
+        } while (deleted == purgeBatchSize);
+        return total;
+    }
+
+
+    static String hash(String token){
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 
 
@@ -0,0 +1,301 @@
+package com.muhammadali.employee_management.service;
+
+import com.muhammadali.employee_management.dto.ReportJobRequestDTO;
+import com.muhammadali.employee_management.dto.ReportJobResponseDTO;
+import com.muhammadali.employee_management.entity.ReportJob;
+import com.muhammadali.employee_management.enums.ExportFormat;
+import com.muhammadali.employee_management.enums.ReportJobStatus;
+import com.muhammadali.employee_management.enums.ReportType;
+import com.muhammadali.employee_management.exceptions.BusinessValidationException;
+import com.muhammadali.employee_management.exceptions.ResourceNotFoundException;
+import com.muhammadali.employee_management.exceptions.TooManyRequestsException;
+import com.muhammadali.employee_management.mapper.ReportJobMapper;
+import com.muhammadali.employee_management.repository.DepartmentRepository;
+import com.muhammadali.employee_management.repository.ReportJobRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+
+// State of asynchronous report jobs, kept in report_job so queued and running jobs survive
+// a restart. ReportJobWorker claims and runs them; this class only moves rows between states.
+@Service
+@Transactional(readOnly = true)
+public class ReportJobService {
+
+    private static final Set<ReportJobStatus> ACTIVE = EnumSet.of(ReportJobStatus.QUEUED, ReportJobStatus.RUNNING);
+
+    private static final Set<ReportJobStatus> FINISHED =
+            EnumSet.of(ReportJobStatus.SUCCEEDED, ReportJobStatus.FAILED, ReportJobStatus.CANCELLED);
+
+    private static final int LIST_LIMIT = 50;
+
+    private static final int MESSAGE_LENGTH = 1000;
+
+    private static final long RETRY_AFTER_SECONDS = 30;
+
+    private final ReportJobRepository reportJobRepository;
+
+    private final DepartmentRepository departmentRepository;
+
+    private final int maxRunningPerUser;
+
+    private final int maxActivePerUser;
+
+    private final Duration resultTtl;
+
+    private final Duration staleAfter;
+
+    private final int maxAttempts;
+
+    private final Duration history;
+
+    private final Clock clock;
+
+
+    @Autowired
+    public ReportJobService(ReportJobRepository reportJobRepository,
+                            DepartmentRepository departmentRepository,
+                            @Value("${report.jobs.max-running-per-user:2}") int maxRunningPerUser,
+                            @Value("${report.jobs.max-active-per-user:20}") int maxActivePerUser,
+                            @Value("${report.jobs.result-ttl:24h}") Duration resultTtl,
+                            @Value("${report.jobs.stale-after:2m}") Duration staleAfter,
+                            @Value("${report.jobs.max-attempts:3}") int maxAttempts,
+                            @Value("${report.jobs.history:7d}") Duration history){
+        this(reportJobRepository, departmentRepository, maxRunningPerUser, maxActivePerUser,
+                resultTtl, staleAfter, maxAttempts, history, Clock.systemUTC());
+    }
+
+
+    ReportJobService(ReportJobRepository reportJobRepository,
+                     DepartmentRepository departmentRepository,
+                     int maxRunningPerUser,
+                     int maxActivePerUser,
+                     Duration resultTtl,
+                     Duration staleAfter,
+                     int maxAttempts,
+                     Duration history,
+                     Clock clock){
+        this.reportJobRepository = reportJobRepository;
+        this.departmentRepository = departmentRepository;
+        this.maxRunningPerUser = maxRunningPerUser;
+        this.maxActivePerUser = maxActivePerUser;
+        this.resultTtl = resultTtl;
+        this.staleAfter = staleAfter;
+        this.maxAttempts = maxAttempts;
+        this.history = history;
+        this.clock = clock;
+    }
+
+
+    @Transactional
+    public ReportJobResponseDTO submit(ReportJobRequestDTO request, String owner){
+        validate(request);
+        if (reportJobRepository.countByOwnerAndStatusIn(owner, ACTIVE) >= maxActivePerUser) {
+            throw new TooManyRequestsException(
+                    "Too many report jobs in progress, wait for some to finish", RETRY_AFTER_SECONDS);
+        }
+
+        ReportType type = request.type();
+        ExportFormat format = type == ReportType.EMPLOYEE_EXPORT
+                ? (request.format() != null ? request.format() : ExportFormat.NDJSON)
+                : null;
+        ReportJob job = ReportJob.builder()
+                .id(UUID.randomUUID())
+                .type(type)
+                .status(ReportJobStatus.QUEUED)
+                .priority(type.getPriority())
+                .owner(owner)
+                .reportMonth(request.month() != null ? request.month().toString() : null)
+                .reportYear(request.year())
+                .departmentId(request.departmentId())
+                .exportFormat(format)
+                .createdAt(clock.instant())
+                .build();
+        job.setFileName(fileName(job));
+        job.setContentType(contentType(job));
+        return ReportJobMapper.toResponse(reportJobRepository.save(job));
+    }
+
+
+    public ReportJobResponseDTO get(UUID id, String requester, boolean admin){
+        return ReportJobMapper.toResponse(find(id, requester, admin));
+    }
+
+
+    public List<ReportJobResponseDTO> listMine(String owner){
+        return reportJobRepository.findByOwnerOrderByCreatedAtDesc(owner, PageRequest.of(0, LIST_LIMIT))
+                .stream()
+                .map(ReportJobMapper::toResponse)
+                .toList();
+    }
+
+
+    // A running job is only flagged here; its worker notices on the next heartbeat, stops
+    // and discards the partial file.
+    @Transactional
+    public ReportJobResponseDTO cancel(UUID id, String requester, boolean admin){
+        ReportJob job = find(id, requester, admin);
+        if (!ACTIVE.contains(job.getStatus())) {
+            throw new BusinessValidationException("REPORT_JOB_FINISHED",
+                    "Report job " + id + " has already finished with status " + job.getStatus());
+        }
+        Instant now = clock.instant();
+        job.setStatus(ReportJobStatus.CANCELLED);
+        job.setMessage("Cancelled by " + requester);
+        job.setFinishedAt(now);
+        job.setExpiresAt(now.plus(resultTtl));
+        return ReportJobMapper.toResponse(job);
+    }
+
+
+    // The finished job whose result file is to be downloaded.
+    public ReportJob getResult(UUID id, String requester, boolean admin){
+        ReportJob job = find(id, requester, admin);
+        if (job.getStatus() == ReportJobStatus.EXPIRED) {
+            throw new BusinessValidationException("REPORT_JOB_EXPIRED",
+                    "The result of report job " + id + " has expired, submit the report again");
+        }
+        if (job.getStatus() != ReportJobStatus.SUCCEEDED || job.getResultFile() == null) {
+            throw new BusinessValidationException("REPORT_JOB_NOT_READY",
+                    "Report job " + id + " has no result, status is " + job.getStatus());
+        }
+        return job;
+    }
+
+
+    @Transactional
+    public Optional<ReportJob> claimNext(String worker){
+        return reportJobRepository.lockNextQueued(maxRunningPerUser).map(job -> {
+            Instant now = clock.instant();
+            job.setStatus(ReportJobStatus.RUNNING);
+            job.setAttempts(job.getAttempts() + 1);
+            job.setWorker(worker);
+            job.setProgressBytes(0);
+            job.setMessage(null);
+            job.setStartedAt(now);
+            job.setHeartbeatAt(now);
+            return job;
+        });
+    }
+
+
+    // False once the job is no longer this worker's to run: cancelled, or re-queued after
+    // its heartbeat went stale.
+    @Transactional
+    public boolean heartbeat(UUID id, int attempt, long progressBytes){
+        return reportJobRepository.heartbeat(id, attempt, progressBytes, clock.instant(), ReportJobStatus.RUNNING) == 1;
+    }
+
+
+    @Transactional
+    public boolean succeed(UUID id, int attempt, String resultFile, long resultSize){
+        Instant now = clock.instant();
+        return reportJobRepository.finish(id, attempt, ReportJobStatus.SUCCEEDED, resultFile, resultSize,
+                null, now, now.plus(resultTtl), ReportJobStatus.RUNNING) == 1;
+    }
+
+
+    @Transactional
+    public boolean fail(UUID id, int attempt, String message){
+        Instant now = clock.instant();
+        String truncated = message != null && message.length() > MESSAGE_LENGTH
+                ? message.substring(0, MESSAGE_LENGTH)
+                : message;
+        return reportJobRepository.finish(id, attempt, ReportJobStatus.FAILED, null, null,
+                truncated, now, now.plus(resultTtl), ReportJobStatus.RUNNING) == 1;
+    }
+
+
+    // Jobs whose worker stopped sending heartbeats (crash, restart, lost instance) go back to
+    // the queue, or fail once they have used up their attempts.
+    @Transactional
+    public int requeueStale(){
+        Instant now = clock.instant();
+        Instant cutoff = now.minus(staleAfter);
+        reportJobRepository.failStale(cutoff, maxAttempts, "Gave up after " + maxAttempts + " attempts",
+                now, now.plus(resultTtl), ReportJobStatus.RUNNING, ReportJobStatus.FAILED);
+        return reportJobRepository.requeueStale(cutoff, ReportJobStatus.RUNNING, ReportJobStatus.QUEUED);
+    }
+
+
+    // Marks finished jobs past their TTL as expired and returns the result files to delete.
+    // Expired rows are kept for a while so a late poll still gets a status, then deleted.
+    @Transactional
+    public List<String> expireFinished(){
+        Instant now = clock.instant();
+        List<String> files = new ArrayList<>();
+        for (ReportJob job : reportJobRepository.findByStatusInAndExpiresAtBefore(FINISHED, now)) {
+            if (job.getResultFile() != null) {
+                files.add(job.getResultFile());
+            }
+            job.setStatus(ReportJobStatus.EXPIRED);
+            job.setResultFile(null);
+        }
+        reportJobRepository.deleteExpiredBefore(now.minus(history), ReportJobStatus.EXPIRED);
+        return files;
+    }
+
+
+    private ReportJob find(UUID id, String requester, boolean admin){
+        // Other users' jobs are reported as missing rather than forbidden.
+        return reportJobRepository.findById(id)
+                .filter(job -> admin || job.getOwner().equals(requester))
+                .orElseThrow(() -> new ResourceNotFoundException("Report job", "id", id));
+    }
+
+
+    private void validate(ReportJobRequestDTO request){
+        ReportType type = request.type();
+        boolean needsMonth = type == ReportType.PAYROLL_ZIP
+                || type == ReportType.PAYSLIPS_ZIP
+                || type == ReportType.PAYROLL_PDF;
+        if (needsMonth && request.month() == null) {
+            throw new BusinessValidationException("REPORT_PARAMETER_MISSING", "month is required for " + type);
+        }
+        if (type == ReportType.PAYROLL_PDF && request.departmentId() == null) {
+            throw new BusinessValidationException("REPORT_PARAMETER_MISSING", "departmentId is required for " + type);
+        }
+        if (type == ReportType.DEPARTMENT_SALARY_STATS && request.year() == null) {
+            throw new BusinessValidationException("REPORT_PARAMETER_MISSING", "year is required for " + type);
+        }
+        if (request.departmentId() != null && !departmentRepository.existsById(request.departmentId())) {
+            throw new ResourceNotFoundException("Department", "id", request.departmentId());
+        }
+    }
+
+
+    private static String fileName(ReportJob job){
+        return switch (job.getType()) {
+            case PAYROLL_ZIP -> "payroll-" + job.getReportMonth() + ".zip";
+            case PAYSLIPS_ZIP -> "payslips-" + job.getReportMonth() + ".zip";
+            case PAYROLL_PDF -> "payroll-" + job.getDepartmentId() + "-" + job.getReportMonth() + ".pdf";
+            case EMPLOYEE_EXPORT -> "employees." + (job.getExportFormat() == ExportFormat.CSV ? "csv" : "ndjson");
+            case DEPARTMENT_SALARY_STATS -> "department-salary-stats-" + job.getReportYear() + ".csv";
+        };
+    }
+
+
+    private static String contentType(ReportJob job){
+        return switch (job.getType()) {
+            case PAYROLL_ZIP, PAYSLIPS_ZIP -> "application/zip";
+            case PAYROLL_PDF -> "application/pdf";
+            case EMPLOYEE_EXPORT -> job.getExportFormat() == ExportFormat.CSV ? "text/csv" : "application/x-ndjson";
+            case DEPARTMENT_SALARY_STATS -> "text/csv";
+        };
+    }
+
+
+}
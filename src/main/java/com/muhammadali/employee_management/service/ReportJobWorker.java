@@ -0,0 +1,320 @@
+package com.muhammadali.employee_management.service;
+
+import com.muhammadali.employee_management.dto.SalaryDepartmentMonthlyStatDTO;
+import com.muhammadali.employee_management.entity.ReportJob;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+
+// Runs report jobs on a fixed pool. A job is only claimed from report_job when a worker
+// thread is free, so the database queue (priority first, then age, within the per-user
+// running limit) decides what runs next and nothing piles up in memory. Progress and a
+// heartbeat are written on every tick; a job that misses heartbeats, because this instance
+// died or was restarted, is put back in the queue by whichever instance ticks next.
+// Ticks run on a thread of their own rather than the shared @Scheduled one, so a long
+// blob reconcile or partition run cannot hold back heartbeats until jobs look stale.
+@Component
+public class ReportJobWorker implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportJobWorker.class);
+
+    private static final int OUTPUT_BUFFER_BYTES = 64 * 1024;
+
+    // Result files normally go with their row when it expires; anything older than the TTL
+    // plus this margin is a leftover.
+    private static final Duration SWEEP_GRACE = Duration.ofHours(1);
+
+    private static final String STATS_CSV_HEADER = "year,month,departmentId,currency,totalAmount,totalBonus,paymentCount";
+
+    private final ReportJobService reportJobService;
+
+    private final ReportSpool spool;
+
+    private final PayslipPdfService payslipPdfService;
+
+    private final EmployeeExportService employeeExportService;
+
+    private final SalaryRollupService salaryRollupService;
+
+    private final int workers;
+
+    private final Duration resultTtl;
+
+    private final Duration pollInterval;
+
+    private final String workerId;
+
+    private final ThreadPoolExecutor pool;
+
+    // One thread and room for one pending run: wake-ups that arrive while a dispatch is
+    // already pending are covered by it and dropped.
+    private final ThreadPoolExecutor dispatcher;
+
+    private final ScheduledThreadPoolExecutor ticker;
+
+    private final Map<UUID, RunningJob> running = new ConcurrentHashMap<>();
+
+    private volatile boolean stopping;
+
+
+    public ReportJobWorker(ReportJobService reportJobService,
+                           ReportSpool spool,
+                           PayslipPdfService payslipPdfService,
+                           EmployeeExportService employeeExportService,
+                           SalaryRollupService salaryRollupService,
+                           @Value("${report.jobs.workers:2}") int workers,
+                           @Value("${report.jobs.result-ttl:24h}") Duration resultTtl,
+                           @Value("${report.jobs.poll-interval:PT2S}") Duration pollInterval){
+        AtomicInteger counter = new AtomicInteger();
+        this.reportJobService = reportJobService;
+        this.spool = spool;
+        this.payslipPdfService = payslipPdfService;
+        this.employeeExportService = employeeExportService;
+        this.salaryRollupService = salaryRollupService;
+        this.workers = workers;
+        this.resultTtl = resultTtl;
+        this.pollInterval = pollInterval;
+        String instance = ManagementFactory.getRuntimeMXBean().getName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+        this.workerId = instance.length() > 100 ? instance.substring(instance.length() - 100) : instance;
+        this.pool = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "report-job-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.dispatcher = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "report-dispatcher");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.DiscardPolicy());
+        this.ticker = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "report-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start(){
+        long delay = pollInterval.toMillis();
+        ticker.scheduleWithFixedDelay(this::safeTick, delay, delay, TimeUnit.MILLISECONDS);
+    }
+
+
+    // Called after a job is submitted and whenever a worker frees up. Also picks up jobs
+    // left in the queue by a previous run of the application.
+    @EventListener(ApplicationReadyEvent.class)
+    public void wakeUp(){
+        dispatcher.execute(this::dispatch);
+    }
+
+
+    void tick(){
+        for (RunningJob handle : running.values()) {
+            ReportJob job = handle.job;
+            if (!reportJobService.heartbeat(job.getId(), job.getAttempts(), handle.bytes.get())) {
+                handle.cancelled = true;
+                Future<?> future = handle.future;
+                if (future != null) {
+                    future.cancel(true);
+                }
+            }
+        }
+        reportJobService.requeueStale();
+        wakeUp();
+    }
+
+
+    // A failed run would otherwise cancel all later ones.
+    private void safeTick(){
+        try {
+            tick();
+        } catch (RuntimeException e) {
+            log.error("Report job tick failed", e);
+        }
+    }
+
+
+    @Scheduled(fixedDelayString = "${report.jobs.cleanup-interval:PT10M}",
+            initialDelayString = "${report.jobs.cleanup-initial-delay:PT1M}")
+    public void cleanup(){
+        reportJobService.expireFinished().forEach(spool::delete);
+        Set<String> inProgress = running.values().stream()
+                .map(handle -> spool.partFile(handle.job).getFileName().toString())
+                .collect(Collectors.toSet());
+        spool.sweep(resultTtl.plus(SWEEP_GRACE), inProgress);
+    }
+
+
+    void dispatch(){
+        while (!stopping && running.size() < workers) {
+            Optional<ReportJob> claimed = reportJobService.claimNext(workerId);
+            if (claimed.isEmpty()) {
+                return;
+            }
+            RunningJob handle = new RunningJob(claimed.get());
+            running.put(handle.job.getId(), handle);
+            handle.future = pool.submit(() -> run(handle));
+        }
+    }
+
+
+    private void run(RunningJob handle){
+        ReportJob job = handle.job;
+        Path part = spool.partFile(job);
+        try {
+            try (OutputStream out = new BufferedOutputStream(
+                    new ProgressOutputStream(Files.newOutputStream(part), handle), OUTPUT_BUFFER_BYTES)) {
+                generate(job, out);
+            }
+            String resultName = spoolResult(job, part);
+            if (!reportJobService.succeed(job.getId(), job.getAttempts(), resultName, Files.size(spool.resolve(resultName)))) {
+                // Cancelled while the last bytes were being written.
+                spool.delete(resultName);
+            }
+        } catch (Exception e) {
+            spool.delete(part);
+            // On shutdown the job stays RUNNING and is re-queued once its heartbeat is stale.
+            if (!handle.cancelled && !stopping) {
+                reportJobService.fail(job.getId(), job.getAttempts(),
+                        e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+            }
+        } finally {
+            running.remove(job.getId());
+            wakeUp();
+        }
+    }
+
+
+    private String spoolResult(ReportJob job, Path part) throws IOException {
+        String resultName = spool.resultName(job);
+        Files.move(part, spool.resolve(resultName), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return resultName;
+    }
+
+
+    private void generate(ReportJob job, OutputStream out) throws IOException {
+        switch (job.getType()) {
+            case PAYROLL_ZIP -> payslipPdfService.writePayrollZip(YearMonth.parse(job.getReportMonth()), out);
+            case PAYSLIPS_ZIP -> payslipPdfService.writePayslipsZip(
+                    YearMonth.parse(job.getReportMonth()), job.getDepartmentId(), out);
+            case PAYROLL_PDF -> payslipPdfService.writePayroll(
+                    payslipPdfService.getDepartment(job.getDepartmentId()), YearMonth.parse(job.getReportMonth()), out);
+            case EMPLOYEE_EXPORT -> employeeExportService.export(job.getExportFormat(), out);
+            case DEPARTMENT_SALARY_STATS -> writeDepartmentSalaryStats(job.getReportYear(), out);
+        }
+    }
+
+
+    private void writeDepartmentSalaryStats(int year, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(STATS_CSV_HEADER);
+        writer.write('\n');
+        for (SalaryDepartmentMonthlyStatDTO row : salaryRollupService.monthlyByDepartment(year)) {
+            writer.write(row.year() + "," + row.month() + "," + row.departmentId() + "," + row.currency() + ","
+                    + row.totalAmount() + "," + row.totalBonus() + "," + row.paymentCount());
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+
+    @Override
+    public void destroy(){
+        stopping = true;
+        ticker.shutdownNow();
+        dispatcher.shutdownNow();
+        pool.shutdownNow();
+    }
+
+
+    private static final class RunningJob {
+
+        private final ReportJob job;
+
+        private final AtomicLong bytes = new AtomicLong();
+
+        private volatile boolean cancelled;
+
+        private volatile Future<?> future;
+
+        private RunningJob(ReportJob job){
+            this.job = job;
+        }
+    }
+
+
+    // Counts bytes for the progress column and stops the report once the job is cancelled.
+    private static final class ProgressOutputStream extends FilterOutputStream {
+
+        private final RunningJob handle;
+
+        private ProgressOutputStream(OutputStream out, RunningJob handle){
+            super(out);
+            this.handle = handle;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            checkCancelled();
+            out.write(b);
+            handle.bytes.incrementAndGet();
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            checkCancelled();
+            out.write(b, off, len);
+            handle.bytes.addAndGet(len);
+        }
+
+        private void checkCancelled() throws InterruptedIOException {
+            if (handle.cancelled) {
+                throw new InterruptedIOException("Report job cancelled");
+            }
+        }
+    }
+
+
+}
@@ -0,0 +1,97 @@
+package com.muhammadali.employee_management.service;
+
+import com.muhammadali.employee_management.entity.ReportJob;
+import com.muhammadali.employee_management.exceptions.FileStorageException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+
+
+// Local directory holding report job output. A job writes <id>-<attempt>.part and renames
+// it to its result name once complete, so a download never sees a half-written file and a
+// re-run of the same job never clobbers an earlier attempt's output.
+@Component
+public class ReportSpool {
+
+    private final Path root;
+
+
+    public ReportSpool(@Value("${report.jobs.spool-dir:${java.io.tmpdir}/employee-management/reports}") String dir){
+        this.root = Paths.get(dir).toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(root);
+        } catch (IOException e) {
+            throw new FileStorageException("Could not create report spool directory: " + root, e);
+        }
+    }
+
+
+    public Path partFile(ReportJob job){
+        return root.resolve(job.getId() + "-" + job.getAttempts() + ".part");
+    }
+
+
+    public String resultName(ReportJob job){
+        String fileName = job.getFileName();
+        return job.getId() + "-" + job.getAttempts() + fileName.substring(fileName.lastIndexOf('.'));
+    }
+
+
+    public Path resolve(String name){
+        Path path = root.resolve(name).normalize();
+        if (!path.getParent().equals(root)) {
+            throw new FileStorageException("Invalid spool file name: " + name);
+        }
+        return path;
+    }
+
+
+    public void delete(String name){
+        delete(resolve(name));
+    }
+
+
+    public void delete(Path path){
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            // Left for the next sweep.
+        }
+    }
+
+
+    // Deletes files last modified before the cutoff, except those named in keep.
+    public int sweep(Duration olderThan, Set<String> keep){
+        FileTime cutoff = FileTime.from(Instant.now().minus(olderThan));
+        int deleted = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(root)) {
+            for (Path file : files) {
+                if (keep.contains(file.getFileName().toString())) {
+                    continue;
+                }
+                try {
+                    if (Files.isRegularFile(file) && Files.getLastModifiedTime(file).compareTo(cutoff) < 0) {
+                        Files.deleteIfExists(file);
+                        deleted++;
+                    }
+                } catch (IOException e) {
+                    // Removed concurrently or not ours to delete; try again next sweep.
+                }
+            }
+        } catch (IOException e) {
+            throw new FileStorageException("Could not list report spool directory: " + root, e);
+        }
+        return deleted;
+    }
+
+
+}
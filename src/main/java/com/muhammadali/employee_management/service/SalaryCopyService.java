@@ -0,0 +1,217 @@
+package com.muhammadali.employee_management.service;
+import com.muhammadali.employee_management.dto.ImportRowErrorDTO;
+import com.muhammadali.employee_management.dto.SalaryLoadResultDTO;
+import com.muhammadali.employee_management.exceptions.BusinessValidationException;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+
+// Bulk salary load and unload over the PostgreSQL COPY protocol. Rows are copied as text
+// into a per-transaction staging table, validated with the same rules SalaryMapper and the
+// Salary entity enforce, and merged into salaries with a couple of set-based statements.
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class SalaryCopyService {
+
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    static final String CSV_COLUMNS = "employee_id,amount,currency,payment_date,bonus";
+
+    private static final String CREATE_STAGING = """
+            CREATE TEMP TABLE salary_load_staging (
+                row_no             BIGINT GENERATED ALWAYS AS IDENTITY,
+                employee_id        TEXT,
+                amount             TEXT,
+                currency           TEXT,
+                payment_date       TEXT,
+                bonus              TEXT,
+                employee_ref       BIGINT,
+                amount_value       DOUBLE PRECISION,
+                payment_date_value DATE,
+                bonus_value        DOUBLE PRECISION,
+                error              TEXT
+            ) ON COMMIT DROP
+            """;
+
+    private static final String COPY_IN =
+            "COPY salary_load_staging (" + CSV_COLUMNS + ") FROM STDIN WITH (FORMAT csv, HEADER true)";
+
+    private static final String CAST_VALUES = """
+            UPDATE salary_load_staging SET
+                employee_ref       = try_cast_bigint(employee_id),
+                amount_value       = try_cast_float8(amount),
+                payment_date_value = try_cast_date(payment_date),
+                bonus_value        = try_cast_float8(bonus)
+            """;
+
+    private static final String VALIDATE_VALUES = """
+            UPDATE salary_load_staging SET error = CASE
+                WHEN employee_id IS NULL THEN 'Employee cannot be null'
+                WHEN employee_ref IS NULL THEN 'Invalid employee id: ' || employee_id
+                WHEN amount IS NULL THEN 'Amount cannot be null'
+                WHEN amount_value IS NULL THEN 'Invalid amount: ' || amount
+                WHEN amount_value <= 0 THEN 'Amount must be positive'
+                WHEN currency IS NULL THEN 'Currency cannot be null'
+                WHEN length(currency) > 10 THEN 'Currency must be at most 10 characters'
+                WHEN payment_date IS NULL THEN 'Payment date cannot be null'
+                WHEN payment_date_value IS NULL THEN 'Invalid payment date: ' || payment_date
+                WHEN bonus IS NOT NULL AND bonus_value IS NULL THEN 'Invalid bonus: ' || bonus
+                WHEN bonus_value < 0 THEN 'Bonus must be zero or positive'
+            END
+            """;
+
+    private static final String VALIDATE_EMPLOYEES = """
+            UPDATE salary_load_staging s
+            SET error = 'Employee not found with id : ''' || s.employee_ref || ''''
+            WHERE s.error IS NULL
+              AND NOT EXISTS (SELECT 1 FROM employee e WHERE e.id = s.employee_ref)
+            """;
+
+    // Same rule as SalaryService: archived months keep the rollup totals they were detached with.
+    private static final String VALIDATE_ARCHIVED = """
+            UPDATE salary_load_staging
+            SET error = 'Salaries dated ' || to_char(payment_date_value, 'YYYY-MM') || ' are archived and cannot be changed'
+            WHERE error IS NULL
+              AND to_regclass('salaries_archived_p' || to_char(payment_date_value, 'YYYYMM')) IS NOT NULL
+            """;
+
+    // The last row in the file wins when it repeats an (employee, payment date) pair.
+    private static final String CREATE_READY = """
+            CREATE TEMP TABLE salary_load_ready ON COMMIT DROP AS
+            SELECT DISTINCT ON (employee_ref, payment_date_value)
+                   employee_ref, amount_value, currency, payment_date_value, bonus_value
+            FROM salary_load_staging
+            WHERE error IS NULL
+            ORDER BY employee_ref, payment_date_value, row_no DESC
+            """;
+
+    private static final String MERGE_UPDATE = """
+            UPDATE salaries s
+            SET amount = r.amount_value, currency = r.currency, bonus = r.bonus_value, update_at = now()
+            FROM salary_load_ready r
+            WHERE s.employee_id = r.employee_ref
+              AND s.payment_date = r.payment_date_value
+            """;
+
+    private static final String MERGE_INSERT = """
+            INSERT INTO salaries (employee_id, amount, currency, payment_date, bonus, created_at, update_at)
+            SELECT r.employee_ref, r.amount_value, r.currency, r.payment_date_value, r.bonus_value, now(), now()
+            FROM salary_load_ready r
+            WHERE NOT EXISTS (
+                SELECT 1 FROM salaries s
+                WHERE s.employee_id = r.employee_ref
+                  AND s.payment_date = r.payment_date_value
+            )
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final DepartmentSalarySummaryCache salarySummaryCache;
+
+    private final SalaryRollupService salaryRollupService;
+
+
+    @Transactional
+    public SalaryLoadResultDTO load(InputStream csv){
+        jdbcTemplate.execute(CREATE_STAGING);
+        long processed;
+        try {
+            processed = copy(copyManager -> copyManager.copyIn(COPY_IN, csv));
+        } catch (DataAccessException e) {
+            throw new BusinessValidationException("INVALID_COPY_FILE",
+                    "Could not read salary file: " + e.getMostSpecificCause().getMessage());
+        }
+        // Temp tables are never auto-analyzed; without stats the merge joins plan badly.
+        jdbcTemplate.execute("ANALYZE salary_load_staging");
+
+        jdbcTemplate.update(CAST_VALUES);
+        jdbcTemplate.update(VALIDATE_VALUES);
+        jdbcTemplate.update(VALIDATE_EMPLOYEES);
+        jdbcTemplate.update(VALIDATE_ARCHIVED);
+
+        Long rejected = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM salary_load_staging WHERE error IS NOT NULL", Long.class);
+        // row_no + 1 accounts for the header line.
+        List<ImportRowErrorDTO> errors = jdbcTemplate.query(
+                "SELECT row_no + 1 AS line, error FROM salary_load_staging"
+                        + " WHERE error IS NOT NULL ORDER BY row_no LIMIT " + MAX_REPORTED_ERRORS,
+                (rs, i) -> new ImportRowErrorDTO(rs.getLong("line"), rs.getString("error")));
+
+        jdbcTemplate.execute(CREATE_READY);
+        // Blocks concurrent writers (not readers) so two loads cannot both insert the same pair.
+        jdbcTemplate.execute("LOCK TABLE salaries IN SHARE ROW EXCLUSIVE MODE");
+        salaryRollupService.beforeLoadMerge();
+        int updated = jdbcTemplate.update(MERGE_UPDATE);
+        int inserted = jdbcTemplate.update(MERGE_INSERT);
+        salaryRollupService.afterLoadMerge();
+        if (updated + inserted > 0) {
+            salarySummaryCache.invalidate();
+        }
+
+        return new SalaryLoadResultDTO(processed, inserted, updated, rejected != null ? rejected : 0, errors);
+    }
+
+
+    public long unload(LocalDate from, LocalDate to, OutputStream out){
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new BusinessValidationException("INVALID_DATE_RANGE", "from must not be after to");
+        }
+        String sql = "COPY (" + unloadQuery(from, to) + ") TO STDOUT WITH (FORMAT csv, HEADER true)";
+        return copy(copyManager -> copyManager.copyOut(sql, out));
+    }
+
+
+    // COPY does not take bind parameters. LocalDate.toString() is always yyyy-MM-dd,
+    // so the literals below cannot carry anything but a date.
+    static String unloadQuery(LocalDate from, LocalDate to){
+        StringBuilder query = new StringBuilder("SELECT " + CSV_COLUMNS + " FROM salaries");
+        List<String> conditions = new ArrayList<>();
+        if (from != null) {
+            conditions.add("payment_date >= DATE '" + from + "'");
+        }
+        if (to != null) {
+            conditions.add("payment_date < DATE '" + to.plusDays(1) + "'");
+        }
+        if (!conditions.isEmpty()) {
+            query.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        return query.append(" ORDER BY id").toString();
+    }
+
+
+    // Runs on the connection bound to the current transaction, so the staging table and
+    // the merge statements all see each other.
+    private long copy(CopyOperation operation){
+        Long rows = jdbcTemplate.execute((ConnectionCallback<Long>) con -> {
+            try {
+                return operation.run(con.unwrap(PGConnection.class).getCopyAPI());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return rows != null ? rows : 0;
+    }
+
+
+    @FunctionalInterface
+    private interface CopyOperation {
+        long run(CopyManager copyManager) throws SQLException, IOException;
+    }
+
+}
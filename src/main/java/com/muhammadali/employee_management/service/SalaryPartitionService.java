@@ -0,0 +1,126 @@
+package com.muhammadali.employee_management.service;
+
+import com.muhammadali.employee_management.dto.SalaryPartitionDTO;
+import com.muhammadali.employee_management.exceptions.BusinessValidationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+
+// Keeps monthly partitions of salaries (see V8) created ahead of the calendar and detaches
+// old ones for archival. A detached partition is renamed salaries_archived_pYYYYMM and left
+// in place as an ordinary table; what happens to it next (dump, move, drop) is up to the DBA.
+@Service
+@Transactional(readOnly = true)
+public class SalaryPartitionService {
+
+    private static final Pattern MONTHLY_PARTITION = Pattern.compile("salaries_p(\\d{6})");
+
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final String LIST_PARTITIONS = """
+            SELECT c.relname AS name, GREATEST(c.reltuples, 0)::BIGINT AS estimated_rows
+            FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = 'salaries'::REGCLASS
+            ORDER BY c.relname
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final int monthsAhead;
+
+    private final Clock clock;
+
+
+    @Autowired
+    public SalaryPartitionService(JdbcTemplate jdbcTemplate,
+                                  @Value("${salary.partitions.months-ahead:3}") int monthsAhead){
+        this(jdbcTemplate, monthsAhead, Clock.systemDefaultZone());
+    }
+
+
+    SalaryPartitionService(JdbcTemplate jdbcTemplate, int monthsAhead, Clock clock){
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = monthsAhead;
+        this.clock = clock;
+    }
+
+
+    // Runs at startup and then daily, so a month's partition always exists well before the
+    // first payment dated in it; rows that arrive early land in salaries_default and are
+    // moved when their partition is created.
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${salary.partitions.maintenance-cron:0 30 2 * * *}")
+    @Transactional
+    public void ensurePartitions(){
+        LocalDate today = LocalDate.now(clock);
+        jdbcTemplate.queryForList("SELECT ensure_salary_partitions(?, ?)", String.class,
+                today, today.plusMonths(monthsAhead));
+    }
+
+
+    public List<SalaryPartitionDTO> list(){
+        return jdbcTemplate.query(LIST_PARTITIONS, (rs, i) -> {
+            String name = rs.getString("name");
+            YearMonth month = month(name);
+            return new SalaryPartitionDTO(name,
+                    month != null ? month.atDay(1) : null,
+                    month != null ? month.plusMonths(1).atDay(1) : null,
+                    rs.getLong("estimated_rows"));
+        });
+    }
+
+
+    // Detaches every monthly partition that ends on or before the given date. Detaching
+    // takes a short ACCESS EXCLUSIVE lock on salaries; the concurrent form cannot run
+    // inside a transaction and is left to manual maintenance.
+    @Transactional
+    public List<String> detachBefore(LocalDate before){
+        if (before == null || !before.isBefore(LocalDate.now(clock).withDayOfMonth(1))) {
+            throw new BusinessValidationException("INVALID_ARCHIVE_DATE",
+                    "Only partitions before the current month can be detached");
+        }
+        List<String> detached = new ArrayList<>();
+        for (SalaryPartitionDTO partition : list()) {
+            if (partition.toDate() == null || partition.toDate().isAfter(before)) {
+                continue;
+            }
+            // Names come from the catalog and matched MONTHLY_PARTITION, so they are safe to inline.
+            String archived = "salaries_archived_p" + partition.fromDate().format(PARTITION_MONTH);
+            jdbcTemplate.execute("ALTER TABLE salaries DETACH PARTITION " + partition.name());
+            jdbcTemplate.execute("ALTER TABLE " + partition.name() + " RENAME TO " + archived);
+            detached.add(archived);
+        }
+        return detached;
+    }
+
+
+    // True once the partition of the month containing day has been detached by detachBefore.
+    public boolean isArchived(LocalDate day){
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?::TEXT) IS NOT NULL",
+                Boolean.class, "salaries_archived_p" + day.format(PARTITION_MONTH)));
+    }
+
+
+    private static YearMonth month(String partitionName){
+        Matcher matcher = MONTHLY_PARTITION.matcher(partitionName);
+        return matcher.matches() ? YearMonth.parse(matcher.group(1), PARTITION_MONTH) : null;
+    }
+
+
+}
@@ -0,0 +1,84 @@
+package com.muhammadali.employee_management.service;
+
+import com.muhammadali.employee_management.dto.EmployeeResponseDTO;
+import com.muhammadali.employee_management.dto.EmployeeSalaryRankDTO;
+import com.muhammadali.employee_management.exceptions.BusinessValidationException;
+import com.muhammadali.employee_management.repository.EmployeeRepository;
+import com.muhammadali.employee_management.repository.SalaryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class SalaryRankingService {
+
+    static final int MAX_TOP_K = 100;
+
+    private static final int MIN_CHUNK_SIZE = 32;
+
+    private final SalaryRepository salaryRepository;
+
+    private final EmployeeRepository employeeRepository;
+
+
+    public List<EmployeeResponseDTO> topEarners(Long departmentId, int k) {
+        List<Long> ids = topEarnerIds(departmentId, k);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, EmployeeResponseDTO> byId = employeeRepository.findProjectedByIdIn(ids)
+                .stream()
+                .collect(Collectors.toMap(EmployeeResponseDTO::id, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+
+    // Company-wide, walks salary rows in (amount DESC) index order and keeps the first k
+    // distinct employees, so an employee with several payments is ranked by their best one.
+    // Each further chunk continues after the last row seen rather than by page offset.
+    public List<Long> topEarnerIds(Long departmentId, int k) {
+        if (k < 1 || k > MAX_TOP_K) {
+            throw new BusinessValidationException(
+                    "INVALID_LIMIT",
+                    "Limit must be between 1 and " + MAX_TOP_K
+            );
+        }
+        if (departmentId != null) {
+            return salaryRepository.findTopEarnersByDepartment(departmentId, PageRequest.of(0, k))
+                    .stream()
+                    .map(EmployeeSalaryRankDTO::employeeId)
+                    .toList();
+        }
+        int chunk = Math.max(k * 4, MIN_CHUNK_SIZE);
+        Set<Long> ids = new LinkedHashSet<>();
+        List<EmployeeSalaryRankDTO> rows = salaryRepository.findSalaryRanking(PageRequest.of(0, chunk));
+        while (true) {
+            for (EmployeeSalaryRankDTO row : rows) {
+                ids.add(row.employeeId());
+                if (ids.size() == k) {
+                    return new ArrayList<>(ids);
+                }
+            }
+            if (rows.size() < chunk) {
+                return new ArrayList<>(ids);
+            }
+            EmployeeSalaryRankDTO last = rows.get(rows.size() - 1);
+            rows = salaryRepository.findSalaryRankingAfter(last.amount(), last.employeeId(), PageRequest.of(0, chunk));
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.muhammadali.employee_management.service;
+
+import com.muhammadali.employee_management.dto.SalaryDepartmentMonthlyStatDTO;
+import com.muhammadali.employee_management.dto.SalaryMonthlyStatDTO;
+import com.muhammadali.employee_management.dto.SalaryRollupRebuildResultDTO;
+import com.muhammadali.employee_management.entity.Salary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+
+// Maintains salary_monthly_rollup: payroll totals per (year, month, department, currency).
+// Every salary write applies its delta inside the writer's transaction, so the rollup
+// commits or rolls back together with the salaries it describes. rebuild() recomputes the
+// table from scratch for writes that bypass the services.
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class SalaryRollupService {
+
+    private static final String UPSERT = """
+            INSERT INTO salary_monthly_rollup AS r
+                (year, month, department_id, currency, total_amount, total_bonus, payment_count)
+            """;
+
+    private static final String ON_CONFLICT_ADD = """
+            ON CONFLICT (year, month, department_id, currency) DO UPDATE SET
+                total_amount  = r.total_amount + EXCLUDED.total_amount,
+                total_bonus   = r.total_bonus + EXCLUDED.total_bonus,
+                payment_count = r.payment_count + EXCLUDED.payment_count
+            """;
+
+    // The department comes from the employee row, locked FOR SHARE so a concurrent move
+    // (which holds it FOR UPDATE) either sees this salary or is seen by it.
+    private static final String APPLY_DELTA = UPSERT + """
+            SELECT ?, ?, e.department_id, ?, ?::NUMERIC, ?::NUMERIC, ?
+            FROM employee e
+            WHERE e.id = ?
+            FOR SHARE
+            """ + ON_CONFLICT_ADD;
+
+    // Moves all of one employee's salaries from one department's rows to another's.
+    private static final String MOVE_EMPLOYEE = UPSERT + """
+            SELECT EXTRACT(YEAR FROM s.payment_date)::INTEGER,
+                   EXTRACT(MONTH FROM s.payment_date)::INTEGER,
+                   d.department_id,
+                   s.currency,
+                   d.sign * SUM(s.amount::NUMERIC),
+                   d.sign * SUM(COALESCE(s.bonus, 0)::NUMERIC),
+                   d.sign * COUNT(*)
+            FROM salaries s
+            CROSS JOIN (VALUES (?::BIGINT, -1), (?::BIGINT, 1)) AS d (department_id, sign)
+            WHERE s.employee_id = ?
+            GROUP BY 1, 2, 3, 4, d.sign
+            """ + ON_CONFLICT_ADD;
+
+    // Applied once with sign -1 before the COPY merge and once with +1 after it, over the
+    // salaries rows the merge touches. salary_load_ready is the load's temp table.
+    private static final String APPLY_LOAD = UPSERT + """
+            SELECT EXTRACT(YEAR FROM s.payment_date)::INTEGER,
+                   EXTRACT(MONTH FROM s.payment_date)::INTEGER,
+                   e.department_id,
+                   s.currency,
+                   ? * SUM(s.amount::NUMERIC),
+                   ? * SUM(COALESCE(s.bonus, 0)::NUMERIC),
+                   ? * COUNT(*)
+            FROM salaries s
+            JOIN salary_load_ready l ON l.employee_ref = s.employee_id AND l.payment_date_value = s.payment_date
+            JOIN employee e ON e.id = s.employee_id
+            GROUP BY 1, 2, 3, 4
+            """ + ON_CONFLICT_ADD;
+
+    // Months whose salaries partition was detached for archival keep their totals: rebuild
+    // neither clears nor recomputes them, so running it twice gives the same rows.
+    private static final String UNARCHIVED = """
+            to_regclass('salaries_archived_p' || to_char(make_date(year, month, 1), 'YYYYMM')) IS NULL
+            """;
+
+    private static final String REBUILD = UPSERT + """
+            SELECT t.* FROM (
+                SELECT EXTRACT(YEAR FROM s.payment_date)::INTEGER AS year,
+                       EXTRACT(MONTH FROM s.payment_date)::INTEGER AS month,
+                       e.department_id,
+                       s.currency,
+                       SUM(s.amount::NUMERIC) AS total_amount,
+                       SUM(COALESCE(s.bonus, 0)::NUMERIC) AS total_bonus,
+                       COUNT(*) AS payment_count
+                FROM salaries s
+                JOIN employee e ON e.id = s.employee_id
+                GROUP BY 1, 2, 3, 4
+            ) t
+            WHERE """ + UNARCHIVED + ON_CONFLICT_ADD;
+
+    private static final String CLEAR_UNARCHIVED = "DELETE FROM salary_monthly_rollup WHERE " + UNARCHIVED;
+
+    private static final String MONTHLY_TOTALS = """
+            SELECT year, month, SUM(total_amount + total_bonus) AS total
+            FROM salary_monthly_rollup
+            WHERE year = ? AND payment_count > 0
+            GROUP BY year, month
+            ORDER BY month
+            """;
+
+    private static final String DEPARTMENT_MONTHLY_TOTALS = """
+            SELECT year, month, SUM(total_amount + total_bonus) AS total
+            FROM salary_monthly_rollup
+            WHERE department_id = ? AND year = ? AND payment_count > 0
+            GROUP BY year, month
+            ORDER BY month
+            """;
+
+    private static final String BY_DEPARTMENT = """
+            SELECT year, month, department_id, currency, total_amount, total_bonus, payment_count
+            FROM salary_monthly_rollup
+            WHERE year = ? AND payment_count > 0
+            ORDER BY month, department_id, currency
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+
+    @Transactional
+    public void added(Salary salary){
+        apply(List.of(Entry.of(salary)));
+    }
+
+
+    @Transactional
+    public void removed(Salary salary){
+        apply(List.of(Entry.of(salary).negate()));
+    }
+
+
+    @Transactional
+    public void changed(Entry before, Salary after){
+        Entry now = Entry.of(after);
+        if (!before.equals(now)) {
+            apply(List.of(before.negate(), now));
+        }
+    }
+
+
+    // The caller holds the employee row FOR UPDATE, so salary writers for this employee
+    // wait until the move commits and then apply their deltas to the new department.
+    @Transactional
+    public void employeeMoved(Long employeeId, Long fromDepartmentId, Long toDepartmentId){
+        if (!Objects.equals(fromDepartmentId, toDepartmentId)) {
+            jdbcTemplate.update(MOVE_EMPLOYEE, fromDepartmentId, toDepartmentId, employeeId);
+        }
+    }
+
+
+    // Called by the COPY load around its merge, while it holds its lock on salaries.
+    @Transactional
+    public void beforeLoadMerge(){
+        jdbcTemplate.update(APPLY_LOAD, -1, -1, -1);
+    }
+
+
+    @Transactional
+    public void afterLoadMerge(){
+        jdbcTemplate.update(APPLY_LOAD, 1, 1, 1);
+    }
+
+
+    // EXCLUSIVE blocks every delta writer but not readers. A salary write that has not yet
+    // reached the rollup waits here and applies its delta on top of the rebuilt rows.
+    // Archived months are left as they are; SalaryService refuses writes into them.
+    @Transactional
+    public SalaryRollupRebuildResultDTO rebuild(){
+        jdbcTemplate.execute("LOCK TABLE salary_monthly_rollup IN EXCLUSIVE MODE");
+        jdbcTemplate.update(CLEAR_UNARCHIVED);
+        int rows = jdbcTemplate.update(REBUILD);
+        Long salaries = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(payment_count), 0) FROM salary_monthly_rollup", Long.class);
+        return new SalaryRollupRebuildResultDTO(rows, salaries != null ? salaries : 0);
+    }
+
+
+    public List<SalaryMonthlyStatDTO> monthlyTotals(int year){
+        return jdbcTemplate.query(MONTHLY_TOTALS,
+                (rs, i) -> new SalaryMonthlyStatDTO(rs.getInt("year"), rs.getInt("month"), rs.getDouble("total")),
+                year);
+    }
+
+
+    public List<SalaryMonthlyStatDTO> monthlyTotals(Long departmentId, int year){
+        return jdbcTemplate.query(DEPARTMENT_MONTHLY_TOTALS,
+                (rs, i) -> new SalaryMonthlyStatDTO(rs.getInt("year"), rs.getInt("month"), rs.getDouble("total")),
+                departmentId, year);
+    }
+
+
+    public List<SalaryDepartmentMonthlyStatDTO> monthlyByDepartment(int year){
+        return jdbcTemplate.query(BY_DEPARTMENT,
+                (rs, i) -> new SalaryDepartmentMonthlyStatDTO(
+                        rs.getInt("year"),
+                        rs.getInt("month"),
+                        rs.getLong("department_id"),
+                        rs.getString("currency"),
+                        rs.getDouble("total_amount"),
+                        rs.getDouble("total_bonus"),
+                        rs.getLong("payment_count")),
+                year);
+    }
+
+
+    private void apply(List<Entry> entries){
+        List<Object[]> args = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            args.add(new Object[]{
+                    entry.paymentDate().getYear(),
+                    entry.paymentDate().getMonthValue(),
+                    entry.currency(),
+                    entry.count() * entry.amount(),
+                    entry.count() * entry.bonus(),
+                    entry.count(),
+                    entry.employeeId()
+            });
+        }
+        jdbcTemplate.batchUpdate(APPLY_DELTA, args);
+    }
+
+
+    // One salary's contribution to its rollup row. Capture it before mutating a Salary so
+    // the old row can be taken back out. count is +1 or -1. The department is resolved when
+    // the delta is applied, from the employee's current row.
+    public record Entry(LocalDate paymentDate, Long employeeId, String currency,
+                        double amount, double bonus, int count) {
+
+        public static Entry of(Salary salary){
+            return new Entry(
+                    // Same conversion Hibernate uses when binding the DATE column.
+                    new java.sql.Date(salary.getPaymentDate().getTime()).toLocalDate(),
+                    salary.getEmployee().getId(),
+                    salary.getCurrency(),
+                    salary.getAmount(),
+                    salary.getBonus() != null ? salary.getBonus() : 0.0,
+                    1);
+        }
+
+        Entry negate(){
+            return new Entry(paymentDate, employeeId, currency, amount, bonus, -count);
+        }
+    }
+
+
+}
@@ -1,10 +1,6 @@
 package com.muhammadali.employee_management.service;
 
-import com.lowagie.text.*;
-import com.lowagie.text.Font;
-import com.lowagie.text.pdf.PdfPCell;
-import com.lowagie.text.pdf.PdfPTable;
-import com.lowagie.text.pdf.PdfWriter;
+import com.muhammadali.employee_management.dto.SalaryDepartmentMonthlyStatDTO;
 import com.muhammadali.employee_management.dto.SalaryMonthlyStatDTO;
 import com.muhammadali.employee_management.dto.SalaryRequestDTO;
 import com.muhammadali.employee_management.dto.SalaryResponseDTO;
@@ -22,12 +18,9 @@ import org.springframework.stereotype.Service;
 
 import org.springframework.transaction.annotation.Transactional;
 
-import java.awt.*;
-import java.io.ByteArrayOutputStream;
 import java.sql.Timestamp;
-import java.text.DecimalFormat;
-import java.time.ZoneId;
-import java.time.format.DateTimeFormatter;
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.Date;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -39,16 +32,20 @@ public class SalaryService {
 
     private final SalaryRepository salaryRepository;
     private final EmployeeRepository employeeRepository;
-    private static final DecimalFormat MONEY_FORMAT=new DecimalFormat("#,##0.00");
-    private static final String DEFAULT_CURRENCY="USD";
+    private final DepartmentSalarySummaryCache salarySummaryCache;
+    private final SalaryRollupService salaryRollupService;
+    private final SalaryPartitionService salaryPartitionService;
 
 
     @Transactional
     public SalaryResponseDTO save(SalaryRequestDTO dto) {
         Employee employee = employeeRepository.findById(dto.employeeId())
                 .orElseThrow(() -> new ResourceNotFoundException("Employee", "id", dto.employeeId()));
+        requireUnarchived(dto.paymentDate());
         Salary salary = SalaryMapper.toEntity(dto, employee);
         Salary saved = salaryRepository.save(salary);
+        salaryRollupService.added(saved);
+        salarySummaryCache.invalidate();
         return SalaryMapper.toResponse(saved);
     }
 
@@ -58,13 +55,19 @@ public class SalaryService {
         Salary salary = salaryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Salary", "id", id));
         Employee employee = getEmployeeById(dto.employeeId());
+        requireUnarchived(salary.getPaymentDate());
+        requireUnarchived(dto.paymentDate());
+        SalaryRollupService.Entry before = SalaryRollupService.Entry.of(salary);
         salary.setEmployee(employee);
         salary.setAmount(dto.amount());
         salary.setCurrency(dto.currency());
         salary.setPaymentDate(dto.paymentDate());
         salary.setBonus(dto.bonus());
         salary.setUpdated_at(new Timestamp(System.currentTimeMillis()));
-        return SalaryMapper.toResponse(salaryRepository.save(salary));
+        Salary updated = salaryRepository.save(salary);
+        salaryRollupService.changed(before, updated);
+        salarySummaryCache.invalidate();
+        return SalaryMapper.toResponse(updated);
     }
 
     public List<SalaryResponseDTO> findAll(){
@@ -103,7 +106,7 @@ public class SalaryService {
 
 
     public List<SalaryResponseDTO> getTop10HighestBonus(){
-        return salaryRepository.findTop10ByOrderByBonusDesc()
+        return salaryRepository.findTop10ByBonusIsNotNullOrderByBonusDesc()
                 .stream()
                 .map(SalaryMapper::toResponse)
                 .toList();
@@ -122,7 +125,23 @@ public class SalaryService {
         if (year==null){
             year=java.time.Year.now().getValue();
         }
-        return salaryRepository.getMonthlySalaryStats(year);
+        return salaryRollupService.monthlyTotals(year);
+    }
+
+
+    public List<SalaryMonthlyStatDTO> getMonthlySalaryStatsByDepartment(Long departmentId, Integer year){
+        if (year==null){
+            year=java.time.Year.now().getValue();
+        }
+        return salaryRollupService.monthlyTotals(departmentId, year);
+    }
+
+
+    public List<SalaryDepartmentMonthlyStatDTO> getMonthlySalaryStatsPerDepartment(Integer year){
+        if (year==null){
+            year=java.time.Year.now().getValue();
+        }
+        return salaryRollupService.monthlyByDepartment(year);
     }
 
 
@@ -161,8 +180,11 @@ public class SalaryService {
     }
 
 
+    // endDate is inclusive for callers; the query takes the exclusive day after it.
     public List<SalaryResponseDTO> getSalariesByDateRange(Date startDate,Date endDate){
-        List<Salary> salaries=salaryRepository.findByPaymentDateBetween(startDate,endDate);
+        List<Salary> salaries=salaryRepository.findByPaymentDateRange(
+                java.sql.Date.valueOf(toLocalDate(startDate)),
+                java.sql.Date.valueOf(toLocalDate(endDate).plusDays(1)));
         return salaries.stream()
                 .map(SalaryMapper::toResponse)
                 .collect(Collectors.toList());
@@ -181,6 +203,25 @@ public class SalaryService {
     }
 
 
+    // Bounded history only reads the partitions of the requested months. to is inclusive.
+    public List<SalaryResponseDTO> getSalaryHistoryByEmployee(Long employeeId, LocalDate from, LocalDate to){
+        if (from == null || to == null) {
+            throw new BusinessValidationException("INVALID_DATE_RANGE", "from and to are both required");
+        }
+        if (from.isAfter(to)) {
+            throw new InvalidDateRangeException("from cannot be after to");
+        }
+        if (!employeeRepository.existsById(employeeId)){
+            throw new ResourceNotFoundException("Employee", "id", employeeId);
+        }
+        return salaryRepository.findByEmployeeIdAndPaymentDateRange(employeeId,
+                        java.sql.Date.valueOf(from), java.sql.Date.valueOf(to.plusDays(1)))
+                .stream()
+                .map(SalaryMapper::toResponse)
+                .toList();
+    }
+
+
     @Transactional
     public SalaryResponseDTO addBonus(Long salaryId, Double bonusAmount) {
         if (bonusAmount == null || bonusAmount <= 0) {
@@ -188,10 +229,14 @@ public class SalaryService {
         }
         Salary salary = salaryRepository.findById(salaryId)
                 .orElseThrow(() -> new ResourceNotFoundException("Salary", "id", salaryId));
+        requireUnarchived(salary.getPaymentDate());
+        SalaryRollupService.Entry before = SalaryRollupService.Entry.of(salary);
         double existingBonus = salary.getBonus() != null ? salary.getBonus() : 0.0;
         salary.setBonus(existingBonus + bonusAmount);
         salary.setUpdated_at(new Timestamp(System.currentTimeMillis()));
-        return SalaryMapper.toResponse(salaryRepository.save(salary));
+        Salary updated = salaryRepository.save(salary);
+        salaryRollupService.changed(before, updated);
+        return SalaryMapper.toResponse(updated);
     }
 
 
@@ -204,10 +249,12 @@ public class SalaryService {
 
     @Transactional
     public void delete(Long id) {
-        if (!salaryRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Salary", "id", id);
-        }
-        salaryRepository.deleteById(id);
+        Salary salary = salaryRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Salary", "id", id));
+        requireUnarchived(salary.getPaymentDate());
+        salaryRepository.delete(salary);
+        salaryRollupService.removed(salary);
+        salarySummaryCache.invalidate();
     }
 
 
@@ -218,12 +265,19 @@ public class SalaryService {
 
 
 
-    private String formatDate(Date date) {
-        return date == null
-                ? "-"
-                : date.toInstant()
-                .atZone(ZoneId.of("Asia/Tashkent"))
-                .format(DateTimeFormatter.ofPattern("dd.MM.yyyy"));
+    // The rollup keeps an archived month's totals as they were when it was detached, so
+    // salaries dated in it can no longer be written.
+    private void requireUnarchived(Date paymentDate) {
+        if (paymentDate != null && salaryPartitionService.isArchived(toLocalDate(paymentDate))) {
+            throw new BusinessValidationException("ARCHIVED_MONTH",
+                    "Salaries dated " + YearMonth.from(toLocalDate(paymentDate)) + " are archived and cannot be changed");
+        }
+    }
+
+
+    // Same conversion Hibernate applies when binding a java.util.Date to a DATE column.
+    private static LocalDate toLocalDate(Date date) {
+        return new java.sql.Date(date.getTime()).toLocalDate();
     }
 
 
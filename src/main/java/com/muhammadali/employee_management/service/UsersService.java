@@ -10,6 +10,7 @@ import com.muhammadali.employee_management.mapper.UsersMapper;
 import com.muhammadali.employee_management.repository.EmployeeRepository;
 import com.muhammadali.employee_management.repository.RoleRepository;
 import com.muhammadali.employee_management.repository.UsersRepository;
+import com.muhammadali.employee_management.security.service.PrincipalCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -31,6 +32,8 @@ public class UsersService {
 
     private final PasswordEncoder passwordEncoder;
 
+    private final PrincipalCache principalCache;
+
 
     @Transactional
     public UsersResponseDTO save(UsersRequestDTO dto) {
@@ -68,6 +71,7 @@ public class UsersService {
     @Transactional
     public UsersResponseDTO update(Long id, UsersRequestDTO dto) {
         Users users = getUserById(id);
+        String previousEmail = users.getEmail();
        // Employee employee = getEmployeeById(dto.employeeId());
         Role role = getRoleById(dto.roleId());
         userRepository.findByUsername(dto.username())
@@ -86,6 +90,8 @@ public class UsersService {
         }
         users.setUpdated_at(new Timestamp(System.currentTimeMillis()));
         Users updated = userRepository.save(users);
+        principalCache.evict(previousEmail);
+        principalCache.evict(updated.getEmail());
         return UsersMapper.toResponse(updated);
     }
 
@@ -113,10 +119,9 @@ public class UsersService {
 
     @Transactional
     public void delete(Long id) {
-        if (!userRepository.existsById(id)) {
-            throw new ResourceNotFoundException("User", "id", id);
-        }
-        userRepository.deleteById(id);
+        Users users = getUserById(id);
+        userRepository.delete(users);
+        principalCache.evict(users.getEmail());
     }
 
 
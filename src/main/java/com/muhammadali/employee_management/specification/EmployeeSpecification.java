@@ -1,7 +1,9 @@
 package com.muhammadali.employee_management.specification;
 
 import com.muhammadali.employee_management.entity.Employee;
+import com.muhammadali.employee_management.enums.Gender;
 import com.muhammadali.employee_management.enums.Status;
+import jakarta.persistence.criteria.JoinType;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDate;
@@ -36,6 +38,31 @@ public class EmployeeSpecification {
     }
 
 
+    public static Specification<Employee> hasGender(Gender gender){
+        return (root,query,builder)->
+                gender==null ? null :
+                        builder.equal(root.get("gender"),gender);
+    }
+
+
+    public static Specification<Employee> hasPosition(String position){
+        return (root,query,builder)->
+                position==null ? null :
+                        builder.equal(root.get("position"),position);
+    }
+
+
+    public static Specification<Employee> fetchDepartment(){
+        return (root,query,builder)->{
+            Class<?> resultType=query.getResultType();
+            if (resultType!=Long.class && resultType!=long.class){
+                root.fetch("department",JoinType.LEFT);
+            }
+            return null;
+        };
+    }
+
+
     public static Specification<Employee> hasAgeBetween(Integer minAge,Integer maxAge){
         return (root,query,builder)->{
             if (minAge==null && maxAge==null) return null;
@@ -0,0 +1,49 @@
+package com.muhammadali.employee_management.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+
+// Where document content lives. Objects are immutable blobs addressed by key; every backend
+// reports a missing object on get() as NoSuchFileException, so callers need not know which
+// one is configured. Implementations are picked by file.storage.type in DocumentStorageConfig.
+public interface DocumentStorage {
+
+    // Stores the content under key, replacing any object already there. size is the exact
+    // length when known, or -1.
+    void put(String key, InputStream content, long size) throws IOException;
+
+    InputStream get(String key) throws IOException;
+
+    // length bytes from start; the range must lie within the object.
+    InputStream get(String key, long start, long length) throws IOException;
+
+    Optional<StoredObject> stat(String key) throws IOException;
+
+    // A missing object is not an error.
+    void delete(String key) throws IOException;
+
+    // Every stored object. The stream may hold files or connections open and must be closed.
+    Stream<StoredObject> list() throws IOException;
+
+
+    // Stores a file that the caller no longer needs. Backends on the same disk move it
+    // into place instead of copying, so it may be gone afterwards.
+    default void putFile(String key, Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            put(key, in, Files.size(file));
+        }
+    }
+
+
+    // The object as a file on this node's disk, for zero-copy sends. Empty for remote backends.
+    default Optional<Path> localFile(String key){
+        return Optional.empty();
+    }
+
+
+}
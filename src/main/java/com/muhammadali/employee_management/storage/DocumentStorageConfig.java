@@ -0,0 +1,54 @@
+package com.muhammadali.employee_management.storage;
+
+import com.muhammadali.employee_management.enums.DocumentStorageType;
+import com.muhammadali.employee_management.exceptions.FileStorageException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+
+
+// file.storage.type picks the backend every node reads and writes documents through. With
+// local, all nodes must share the blob directory; with s3 they only share the bucket.
+@Configuration
+@EnableConfigurationProperties(DocumentStorageProperties.class)
+public class DocumentStorageConfig {
+
+
+    @Bean
+    public DocumentStorage documentStorage(DocumentStorageProperties properties,
+                                           @Value("${file.blob-dir:${file.upload-dir}/blobs}") String blobDir){
+        return create(properties.getType(), properties, blobDir);
+    }
+
+
+    public static DocumentStorage create(DocumentStorageType type, DocumentStorageProperties properties, String blobDir){
+        return switch (type) {
+            case LOCAL -> new LocalDocumentStorage(
+                    properties.getLocal().getRoot() != null ? properties.getLocal().getRoot() : blobDir);
+            case S3 -> s3(properties.getS3());
+        };
+    }
+
+
+    private static S3DocumentStorage s3(DocumentStorageProperties.S3 s3){
+        if (s3.getEndpoint() == null || s3.getBucket() == null) {
+            throw new IllegalStateException("file.storage.s3.endpoint and file.storage.s3.bucket are required");
+        }
+        S3DocumentStorage storage = new S3DocumentStorage(s3.getEndpoint(), s3.getRegion(), s3.getBucket(),
+                s3.getAccessKey(), s3.getSecretKey(), s3.isPathStyle(), (int) s3.getPartSize().toBytes(),
+                s3.getConnectTimeout(), s3.getRequestTimeout());
+        if (s3.isCreateBucket()) {
+            try {
+                storage.createBucketIfMissing();
+            } catch (IOException e) {
+                throw new FileStorageException("Could not create bucket " + s3.getBucket(), e);
+            }
+        }
+        return storage;
+    }
+
+
+}
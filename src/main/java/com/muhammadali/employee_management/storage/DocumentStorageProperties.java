@@ -0,0 +1,64 @@
+package com.muhammadali.employee_management.storage;
+
+import com.muhammadali.employee_management.enums.DocumentStorageType;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "file.storage")
+public class DocumentStorageProperties {
+
+    private DocumentStorageType type = DocumentStorageType.LOCAL;
+
+    // When set, DocumentStorageMigration copies this backend's objects into the active one.
+    private DocumentStorageType migrateFrom;
+
+    private Local local = new Local();
+
+    private S3 s3 = new S3();
+
+
+    @Getter
+    @Setter
+    public static class Local {
+
+        // Defaults to file.blob-dir.
+        private String root;
+    }
+
+
+    @Getter
+    @Setter
+    public static class S3 {
+
+        private String endpoint;
+
+        private String region = "us-east-1";
+
+        private String bucket;
+
+        private String accessKey;
+
+        private String secretKey;
+
+        // Path-style URLs (endpoint/bucket/key), as MinIO and most S3-compatible servers
+        // expect; false for virtual-hosted style (bucket.endpoint/key).
+        private boolean pathStyle = true;
+
+        private DataSize partSize = DataSize.ofMegabytes(8);
+
+        private Duration connectTimeout = Duration.ofSeconds(2);
+
+        private Duration requestTimeout = Duration.ofSeconds(30);
+
+        private boolean createBucket;
+    }
+
+
+}
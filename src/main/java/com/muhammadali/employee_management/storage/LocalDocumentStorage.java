@@ -0,0 +1,198 @@
+package com.muhammadali.employee_management.storage;
+
+import com.muhammadali.employee_management.exceptions.FileStorageException;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+
+// Objects as files under <root>/<k0k1>/<k2k3>/<key>, so no directory grows past 65536
+// entries for hex keys. Writes land in <root>/tmp first and are moved into place atomically,
+// so a reader never sees a partial object.
+public class LocalDocumentStorage implements DocumentStorage {
+
+    private static final Pattern KEY = Pattern.compile("[A-Za-z0-9_-][A-Za-z0-9._-]{3,254}");
+
+    private final Path root;
+
+    private final Path temp;
+
+
+    public LocalDocumentStorage(String root){
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+        this.temp = this.root.resolve("tmp");
+        try {
+            Files.createDirectories(temp);
+        } catch (IOException e) {
+            throw new FileStorageException("Could not create storage directory: " + this.root, e);
+        }
+    }
+
+
+    @Override
+    public void put(String key, InputStream content, long size) throws IOException {
+        Path target = file(key);
+        Path part = Files.createTempFile(temp, "put-", ".part");
+        try {
+            Files.copy(content, part, StandardCopyOption.REPLACE_EXISTING);
+            moveIntoPlace(part, target);
+        } finally {
+            Files.deleteIfExists(part);
+        }
+    }
+
+
+    @Override
+    public void putFile(String key, Path file) throws IOException {
+        try {
+            moveIntoPlace(file, file(key));
+        } catch (AtomicMoveNotSupportedException e) {
+            // Another file system; copy through tmp instead.
+            DocumentStorage.super.putFile(key, file);
+            Files.deleteIfExists(file);
+        }
+    }
+
+
+    @Override
+    public InputStream get(String key) throws IOException {
+        return Files.newInputStream(file(key));
+    }
+
+
+    @Override
+    public InputStream get(String key, long start, long length) throws IOException {
+        FileChannel channel = FileChannel.open(file(key), StandardOpenOption.READ);
+        try {
+            channel.position(start);
+            return new LimitedInputStream(Channels.newInputStream(channel), length);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+
+    @Override
+    public Optional<StoredObject> stat(String key) throws IOException {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file(key), BasicFileAttributes.class);
+            return Optional.of(new StoredObject(key, attributes.size(), attributes.lastModifiedTime().toInstant()));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+    }
+
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(file(key));
+    }
+
+
+    // Only files at their sharded place count; tmp and anything else under root is skipped.
+    @Override
+    public Stream<StoredObject> list() throws IOException {
+        return Files.find(root, 3, (path, attributes) -> attributes.isRegularFile() && isObject(path))
+                .map(path -> {
+                    String key = path.getFileName().toString();
+                    try {
+                        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                        return new StoredObject(key, attributes.size(), attributes.lastModifiedTime().toInstant());
+                    } catch (IOException e) {
+                        // Deleted while listing.
+                        return null;
+                    }
+                })
+                .filter(object -> object != null);
+    }
+
+
+    @Override
+    public Optional<Path> localFile(String key){
+        return Optional.of(file(key));
+    }
+
+
+    Path file(String key){
+        if (key == null || !KEY.matcher(key).matches()) {
+            throw new FileStorageException("Invalid storage key: " + key, "INVALID_PATH");
+        }
+        return root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+    }
+
+
+    private boolean isObject(Path path){
+        String key = path.getFileName().toString();
+        return KEY.matcher(key).matches() && path.equals(file(key));
+    }
+
+
+    private static void moveIntoPlace(Path source, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+
+    private static final class LimitedInputStream extends FilterInputStream {
+
+        private long remaining;
+
+        LimitedInputStream(InputStream in, long limit){
+            super(in);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = super.read();
+            if (b >= 0) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int n = super.read(b, off, (int) Math.min(len, remaining));
+            if (n > 0) {
+                remaining -= n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(Math.min(n, remaining));
+            remaining -= skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(super.available(), remaining);
+        }
+    }
+
+
+}
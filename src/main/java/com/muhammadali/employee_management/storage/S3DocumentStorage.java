@@ -0,0 +1,210 @@
+package com.muhammadali.employee_management.storage;
+
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchBucketException;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.NoSuchFileException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+
+// Objects in an S3 bucket through the AWS SDK, so any S3-compatible server (AWS, MinIO,
+// Ceph RGW) works. Uploads are streamed: content is read one part at a time, sent with a
+// single PUT when it fits in one part and as a multipart upload otherwise, so memory stays
+// at one part buffer per upload whatever the file size. A failed multipart upload is
+// aborted so its parts do not linger in the bucket.
+public class S3DocumentStorage implements DocumentStorage, AutoCloseable {
+
+    // S3 rejects multipart parts smaller than this, except the last.
+    static final int MIN_PART_SIZE = 5 * 1024 * 1024;
+
+    private final S3Client client;
+
+    private final String bucket;
+
+    private final int partSize;
+
+
+    // Without an access key the SDK's default chain applies (environment, instance profile).
+    public S3DocumentStorage(String endpoint, String region, String bucket, String accessKey, String secretKey,
+                             boolean pathStyle, int partSize, Duration connectTimeout, Duration requestTimeout){
+        if (partSize < MIN_PART_SIZE) {
+            throw new IllegalArgumentException("S3 part size must be at least 5MB, was " + partSize);
+        }
+        this.bucket = bucket;
+        this.partSize = partSize;
+        AwsCredentialsProvider credentials = accessKey == null || accessKey.isBlank()
+                ? DefaultCredentialsProvider.create()
+                : StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey));
+        this.client = S3Client.builder()
+                .endpointOverride(URI.create(endpoint))
+                .region(Region.of(region))
+                .credentialsProvider(credentials)
+                .forcePathStyle(pathStyle)
+                .httpClientBuilder(ApacheHttpClient.builder()
+                        .connectionTimeout(connectTimeout)
+                        .socketTimeout(requestTimeout))
+                .build();
+    }
+
+
+    @Override
+    public void put(String key, InputStream content, long size) throws IOException {
+        if (size >= 0 && size < partSize) {
+            // Small objects, which is most documents, get a buffer of their own size.
+            byte[] buffer = new byte[(int) size + 1];
+            int n = content.readNBytes(buffer, 0, buffer.length);
+            if (n > size) {
+                throw new IOException("Content for " + key + " is longer than its declared " + size + " bytes");
+            }
+            putObject(key, buffer, n);
+            return;
+        }
+        byte[] buffer = new byte[partSize];
+        int n = content.readNBytes(buffer, 0, partSize);
+        if (n < partSize) {
+            putObject(key, buffer, n);
+            return;
+        }
+
+        String uploadId = call("POST", key,
+                () -> client.createMultipartUpload(b -> b.bucket(bucket).key(key))).uploadId();
+        try {
+            List<CompletedPart> parts = new ArrayList<>();
+            do {
+                int partNumber = parts.size() + 1;
+                RequestBody body = body(buffer, n);
+                String etag = call("PUT", key, () -> client.uploadPart(
+                        b -> b.bucket(bucket).key(key).uploadId(uploadId).partNumber(partNumber), body)).eTag();
+                parts.add(CompletedPart.builder().partNumber(partNumber).eTag(etag).build());
+                n = content.readNBytes(buffer, 0, partSize);
+            } while (n > 0);
+
+            call("POST", key, () -> client.completeMultipartUpload(
+                    b -> b.bucket(bucket).key(key).uploadId(uploadId).multipartUpload(m -> m.parts(parts))));
+        } catch (IOException | RuntimeException e) {
+            try {
+                client.abortMultipartUpload(b -> b.bucket(bucket).key(key).uploadId(uploadId));
+            } catch (RuntimeException abort) {
+                e.addSuppressed(abort);
+            }
+            throw e;
+        }
+    }
+
+
+    @Override
+    public InputStream get(String key) throws IOException {
+        return call("GET", key, () -> client.getObject(b -> b.bucket(bucket).key(key)));
+    }
+
+
+    @Override
+    public InputStream get(String key, long start, long length) throws IOException {
+        if (length == 0) {
+            return InputStream.nullInputStream();
+        }
+        String range = "bytes=" + start + "-" + (start + length - 1);
+        return call("GET", key, () -> client.getObject(b -> b.bucket(bucket).key(key).range(range)));
+    }
+
+
+    @Override
+    public Optional<StoredObject> stat(String key) throws IOException {
+        HeadObjectResponse head;
+        try {
+            head = call("HEAD", key, () -> client.headObject(b -> b.bucket(bucket).key(key)));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+        return Optional.of(new StoredObject(key, head.contentLength(), head.lastModified()));
+    }
+
+
+    @Override
+    public void delete(String key) throws IOException {
+        // S3 answers 204 for missing keys too.
+        call("DELETE", key, () -> client.deleteObject(b -> b.bucket(bucket).key(key)));
+    }
+
+
+    // Pages through ListObjectsV2 lazily, one request per 1000 keys. Failures while
+    // paging surface from the stream as SdkException.
+    @Override
+    public Stream<StoredObject> list(){
+        return client.listObjectsV2Paginator(b -> b.bucket(bucket)).contents().stream()
+                .map(object -> new StoredObject(object.key(), object.size(), object.lastModified()));
+    }
+
+
+    // For stand-ins such as a fresh MinIO; production buckets are provisioned separately.
+    public void createBucketIfMissing() throws IOException {
+        try {
+            client.headBucket(b -> b.bucket(bucket));
+        } catch (NoSuchBucketException e) {
+            call("PUT", bucket, () -> client.createBucket(b -> b.bucket(bucket)));
+        } catch (SdkException e) {
+            throw new IOException("S3 HEAD " + bucket + " failed", e);
+        }
+    }
+
+
+    @Override
+    public void close(){
+        client.close();
+    }
+
+
+    private void putObject(String key, byte[] buffer, int length) throws IOException {
+        RequestBody body = body(buffer, length);
+        call("PUT", key, () -> client.putObject(b -> b.bucket(bucket).key(key), body));
+    }
+
+
+    // Streams from the shared part buffer instead of copying it; the SDK resets the stream
+    // if it has to retry.
+    private static RequestBody body(byte[] buffer, int length){
+        return RequestBody.fromInputStream(new ByteArrayInputStream(buffer, 0, length), length);
+    }
+
+
+    // DocumentStorage speaks IOException: a missing key becomes NoSuchFileException and
+    // every other SDK failure an IOException carrying the status and S3 error code.
+    private static <T> T call(String method, String what, Supplier<T> request) throws IOException {
+        try {
+            return request.get();
+        } catch (NoSuchKeyException e) {
+            NoSuchFileException missing = new NoSuchFileException(what);
+            missing.initCause(e);
+            throw missing;
+        } catch (S3Exception e) {
+            String code = e.awsErrorDetails() != null ? e.awsErrorDetails().errorCode() : null;
+            throw new IOException("S3 " + method + " " + what + " failed with " + e.statusCode()
+                    + (code != null ? ": " + code : ""), e);
+        } catch (SdkException e) {
+            throw new IOException("S3 " + method + " " + what + " failed", e);
+        }
+    }
+
+
+}
@@ -0,0 +1,9 @@
+package com.muhammadali.employee_management.storage;
+
+import java.time.Instant;
+
+public record StoredObject(
+        String key,
+        long size,
+        Instant lastModified
+){}
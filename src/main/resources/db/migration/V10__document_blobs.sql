@@ -0,0 +1,20 @@
+-- Content-addressed document storage. Each distinct file content is stored once, named by
+-- its SHA-256, and counted by the documents that point at it. Documents uploaded before
+-- this keep content_hash NULL and their own file_path.
+
+CREATE TABLE IF NOT EXISTS document_blob (
+    hash        VARCHAR(64) PRIMARY KEY,
+    size        BIGINT      NOT NULL,
+    ref_count   INTEGER     NOT NULL CHECK (ref_count >= 0),
+    created_at  TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+-- Unreferenced blobs waiting for collection.
+CREATE INDEX IF NOT EXISTS idx_document_blob_unreferenced ON document_blob (hash) WHERE ref_count = 0;
+
+-- The foreign key keeps a blob row from being deleted while a document still uses it, even
+-- if its count has drifted.
+ALTER TABLE employee_documents
+    ADD COLUMN IF NOT EXISTS content_hash VARCHAR(64) REFERENCES document_blob (hash);
+
+CREATE INDEX IF NOT EXISTS idx_employee_documents_content_hash ON employee_documents (content_hash);
@@ -0,0 +1,43 @@
+-- Instances run ensure_salary_partitions at startup, so several may run it at once. The
+-- advisory lock makes them take turns; a partition created by one that committed while
+-- another waited is skipped instead of failing that instance's startup.
+
+CREATE OR REPLACE FUNCTION ensure_salary_partition(day DATE) RETURNS TEXT AS $$
+DECLARE
+    lower_bound    DATE := date_trunc('month', day)::DATE;
+    upper_bound    DATE := (date_trunc('month', day) + INTERVAL '1 month')::DATE;
+    partition_name TEXT := 'salaries_p' || to_char(lower_bound, 'YYYYMM');
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN NULL;
+    END IF;
+
+    BEGIN
+        EXECUTE format('CREATE TABLE %I (LIKE salaries INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', partition_name);
+    EXCEPTION WHEN duplicate_table THEN
+        RETURN NULL;
+    END;
+    EXECUTE format('WITH moved AS (DELETE FROM salaries_default WHERE payment_date >= %L AND payment_date < %L RETURNING *)'
+                   ' INSERT INTO %I SELECT * FROM moved', lower_bound, upper_bound, partition_name);
+    EXECUTE format('ALTER TABLE salaries ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, lower_bound, upper_bound);
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
+
+
+CREATE OR REPLACE FUNCTION ensure_salary_partitions(first_day DATE, last_day DATE) RETURNS SETOF TEXT AS $$
+DECLARE
+    month DATE := date_trunc('month', first_day)::DATE;
+    created TEXT;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('ensure_salary_partitions'));
+    WHILE month <= last_day LOOP
+        created := ensure_salary_partition(month);
+        IF created IS NOT NULL THEN
+            RETURN NEXT created;
+        END IF;
+        month := (month + INTERVAL '1 month')::DATE;
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,72 @@
+-- Baseline of the schema previously maintained only by hibernate.ddl-auto.
+-- Existing databases are baselined at this version and skip it.
+
+CREATE TABLE IF NOT EXISTS departments (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        VARCHAR(255) NOT NULL UNIQUE,
+    manager_id  INTEGER,
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS employee (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    first_name     VARCHAR(255) NOT NULL,
+    last_name      VARCHAR(255),
+    phone          VARCHAR(255),
+    gender         VARCHAR(255),
+    birth_date     DATE,
+    hire_date      DATE,
+    position       VARCHAR(255),
+    department_id  BIGINT NOT NULL REFERENCES departments (id),
+    image_path     VARCHAR(255),
+    status         VARCHAR(255),
+    created_at     TIMESTAMP(6),
+    updated_at     TIMESTAMP(6)
+);
+
+CREATE INDEX IF NOT EXISTS idx_employee_created_at_id ON employee (created_at, id);
+
+CREATE TABLE IF NOT EXISTS salaries (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    employee_id   BIGINT NOT NULL REFERENCES employee (id),
+    amount        FLOAT(53) NOT NULL,
+    currency      VARCHAR(10) NOT NULL,
+    payment_date  DATE NOT NULL,
+    bonus         FLOAT(53),
+    created_at    TIMESTAMP(6),
+    update_at     TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS employee_documents (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    file_name      VARCHAR(255) NOT NULL,
+    file_type      VARCHAR(255) NOT NULL,
+    file_category  VARCHAR(255) NOT NULL,
+    file_path      VARCHAR(255) NOT NULL,
+    uploaded_at    TIMESTAMP(6),
+    employee_id    BIGINT NOT NULL REFERENCES employee (id)
+);
+
+CREATE TABLE IF NOT EXISTS roles (
+    id    BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name  VARCHAR(50) NOT NULL UNIQUE
+);
+
+CREATE TABLE IF NOT EXISTS users (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username     VARCHAR(50) NOT NULL UNIQUE,
+    password     VARCHAR(255) NOT NULL,
+    email        VARCHAR(255) NOT NULL UNIQUE,
+    role_id      BIGINT NOT NULL REFERENCES roles (id),
+    employee_id  BIGINT UNIQUE REFERENCES employee (id),
+    status       VARCHAR(255) NOT NULL,
+    updated_at   TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS refresh_token (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    token        VARCHAR(255),
+    expire_date  TIMESTAMP(6),
+    user_id      BIGINT REFERENCES users (id)
+);
@@ -0,0 +1,13 @@
+-- Trigram GIN indexes so substring search (LIKE '%x%') on names and phones
+-- can use an index instead of scanning employee.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_employee_first_name_trgm
+    ON employee USING gin (lower(first_name) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_employee_last_name_trgm
+    ON employee USING gin (lower(last_name) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_employee_phone_trgm
+    ON employee USING gin (phone gin_trgm_ops);
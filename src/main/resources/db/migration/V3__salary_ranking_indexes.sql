@@ -0,0 +1,9 @@
+-- Ordered indexes for the top-N salary and bonus endpoints. Both cover
+-- employee_id so ranking walks can be answered from the index alone.
+
+CREATE INDEX IF NOT EXISTS idx_salaries_amount_desc
+    ON salaries (amount DESC, employee_id);
+
+CREATE INDEX IF NOT EXISTS idx_salaries_bonus_desc
+    ON salaries (bonus DESC, employee_id)
+    WHERE bonus IS NOT NULL;
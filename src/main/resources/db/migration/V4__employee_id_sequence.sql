@@ -0,0 +1,10 @@
+-- Employee ids move from an identity column to a pooled sequence so Hibernate can
+-- batch inserts. INCREMENT BY must match allocationSize on Employee.id.
+
+CREATE SEQUENCE IF NOT EXISTS employee_seq INCREMENT BY 50;
+
+SELECT setval('employee_seq', COALESCE((SELECT MAX(id) FROM employee), 0) + 1);
+
+ALTER TABLE employee ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE employee ALTER COLUMN id SET DEFAULT nextval('employee_seq');
+ALTER SEQUENCE employee_seq OWNED BY employee.id;
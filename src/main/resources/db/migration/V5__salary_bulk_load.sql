@@ -0,0 +1,30 @@
+-- Support for COPY-based salary loads. Staged rows arrive as text; these casts return
+-- NULL instead of raising so invalid rows can be reported in one set-based pass.
+
+CREATE OR REPLACE FUNCTION try_cast_float8(value TEXT) RETURNS DOUBLE PRECISION AS $$
+BEGIN
+    RETURN value::DOUBLE PRECISION;
+EXCEPTION WHEN others THEN
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql IMMUTABLE;
+
+CREATE OR REPLACE FUNCTION try_cast_date(value TEXT) RETURNS DATE AS $$
+BEGIN
+    RETURN value::DATE;
+EXCEPTION WHEN others THEN
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql IMMUTABLE;
+
+CREATE OR REPLACE FUNCTION try_cast_bigint(value TEXT) RETURNS BIGINT AS $$
+BEGIN
+    RETURN value::BIGINT;
+EXCEPTION WHEN others THEN
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql IMMUTABLE;
+
+-- Merge key for loads: one payment per employee per payment date.
+CREATE INDEX IF NOT EXISTS idx_salaries_employee_payment_date
+    ON salaries (employee_id, payment_date);
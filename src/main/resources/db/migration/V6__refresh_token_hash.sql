@@ -0,0 +1,23 @@
+-- Refresh tokens are stored as a hex SHA-256 digest behind a unique index instead of
+-- plaintext. Live tokens are hashed in place so existing sessions keep working.
+
+ALTER TABLE refresh_token ADD COLUMN IF NOT EXISTS token_hash VARCHAR(64);
+
+UPDATE refresh_token
+SET token_hash = encode(sha256(convert_to(token, 'UTF8')), 'hex')
+WHERE token_hash IS NULL AND token IS NOT NULL;
+
+DELETE FROM refresh_token
+WHERE token_hash IS NULL OR expire_date IS NULL OR expire_date < now();
+
+-- Two logins in the same second used to produce byte-identical tokens.
+DELETE FROM refresh_token r
+USING refresh_token newer
+WHERE r.token_hash = newer.token_hash
+  AND r.id < newer.id;
+
+ALTER TABLE refresh_token DROP COLUMN IF EXISTS token;
+ALTER TABLE refresh_token ALTER COLUMN token_hash SET NOT NULL;
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_refresh_token_token_hash ON refresh_token (token_hash);
+CREATE INDEX IF NOT EXISTS idx_refresh_token_expire_date ON refresh_token (expire_date);
@@ -0,0 +1,30 @@
+-- Monthly payroll totals per department and currency, kept in step with salaries by
+-- delta updates from the application. Totals are NUMERIC so that adding and removing the
+-- same FLOAT amounts cancels exactly instead of drifting.
+
+CREATE TABLE IF NOT EXISTS salary_monthly_rollup (
+    year           INTEGER NOT NULL,
+    month          INTEGER NOT NULL,
+    department_id  BIGINT NOT NULL,
+    currency       VARCHAR(10) NOT NULL,
+    total_amount   NUMERIC NOT NULL,
+    total_bonus    NUMERIC NOT NULL,
+    payment_count  BIGINT NOT NULL,
+    PRIMARY KEY (year, month, department_id, currency)
+);
+
+CREATE INDEX IF NOT EXISTS idx_salary_monthly_rollup_department
+    ON salary_monthly_rollup (department_id, year, month);
+
+INSERT INTO salary_monthly_rollup (year, month, department_id, currency, total_amount, total_bonus, payment_count)
+SELECT EXTRACT(YEAR FROM s.payment_date)::INTEGER,
+       EXTRACT(MONTH FROM s.payment_date)::INTEGER,
+       e.department_id,
+       s.currency,
+       SUM(s.amount::NUMERIC),
+       SUM(COALESCE(s.bonus, 0)::NUMERIC),
+       COUNT(*)
+FROM salaries s
+JOIN employee e ON e.id = s.employee_id
+GROUP BY 1, 2, 3, 4
+ON CONFLICT DO NOTHING;
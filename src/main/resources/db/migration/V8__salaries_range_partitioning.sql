@@ -0,0 +1,88 @@
+-- salaries becomes a table range-partitioned by payment_date, one partition per month,
+-- named salaries_pYYYYMM. A default partition catches dates no monthly partition covers
+-- yet; ensure_salary_partition() moves such rows out when it creates their month.
+-- A partitioned table's primary key must include the partition key, so it becomes
+-- (id, payment_date); ids still come from one sequence and stay unique.
+
+ALTER TABLE salaries RENAME TO salaries_unpartitioned;
+ALTER INDEX IF EXISTS idx_salaries_employee_payment_date RENAME TO idx_salaries_unpartitioned_employee_payment_date;
+ALTER INDEX IF EXISTS idx_salaries_amount_desc RENAME TO idx_salaries_unpartitioned_amount_desc;
+ALTER INDEX IF EXISTS idx_salaries_bonus_desc RENAME TO idx_salaries_unpartitioned_bonus_desc;
+
+CREATE TABLE salaries (
+    id            BIGINT NOT NULL,
+    employee_id   BIGINT NOT NULL REFERENCES employee (id),
+    amount        FLOAT(53) NOT NULL,
+    currency      VARCHAR(10) NOT NULL,
+    payment_date  DATE NOT NULL,
+    bonus         FLOAT(53),
+    created_at    TIMESTAMP(6),
+    update_at     TIMESTAMP(6),
+    PRIMARY KEY (id, payment_date)
+) PARTITION BY RANGE (payment_date);
+
+CREATE TABLE salaries_default PARTITION OF salaries DEFAULT;
+
+CREATE INDEX idx_salaries_employee_payment_date ON salaries (employee_id, payment_date);
+CREATE INDEX idx_salaries_amount_desc ON salaries (amount DESC, employee_id);
+CREATE INDEX idx_salaries_bonus_desc ON salaries (bonus DESC, employee_id) WHERE bonus IS NOT NULL;
+
+
+-- Creates the partition for the month containing day, if missing. Matching rows that
+-- already landed in the default partition are moved into it before it is attached.
+CREATE OR REPLACE FUNCTION ensure_salary_partition(day DATE) RETURNS TEXT AS $$
+DECLARE
+    lower_bound    DATE := date_trunc('month', day)::DATE;
+    upper_bound    DATE := (date_trunc('month', day) + INTERVAL '1 month')::DATE;
+    partition_name TEXT := 'salaries_p' || to_char(lower_bound, 'YYYYMM');
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN NULL;
+    END IF;
+
+    EXECUTE format('CREATE TABLE %I (LIKE salaries INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', partition_name);
+    EXECUTE format('WITH moved AS (DELETE FROM salaries_default WHERE payment_date >= %L AND payment_date < %L RETURNING *)'
+                   ' INSERT INTO %I SELECT * FROM moved', lower_bound, upper_bound, partition_name);
+    EXECUTE format('ALTER TABLE salaries ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, lower_bound, upper_bound);
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
+
+
+-- Creates every missing monthly partition from the month of first_day up to and
+-- including the month of last_day. Returns the partitions it created.
+CREATE OR REPLACE FUNCTION ensure_salary_partitions(first_day DATE, last_day DATE) RETURNS SETOF TEXT AS $$
+DECLARE
+    month DATE := date_trunc('month', first_day)::DATE;
+    created TEXT;
+BEGIN
+    WHILE month <= last_day LOOP
+        created := ensure_salary_partition(month);
+        IF created IS NOT NULL THEN
+            RETURN NEXT created;
+        END IF;
+        month := (month + INTERVAL '1 month')::DATE;
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+
+-- One partition per month that has data, plus the current month and the next three.
+SELECT ensure_salary_partition(month)
+FROM (SELECT DISTINCT date_trunc('month', payment_date)::DATE AS month FROM salaries_unpartitioned) months;
+
+SELECT ensure_salary_partitions(CURRENT_DATE, (CURRENT_DATE + INTERVAL '3 months')::DATE);
+
+INSERT INTO salaries (id, employee_id, amount, currency, payment_date, bonus, created_at, update_at)
+SELECT id, employee_id, amount, currency, payment_date, bonus, created_at, update_at
+FROM salaries_unpartitioned;
+
+DROP TABLE salaries_unpartitioned;
+
+-- The old identity sequence went with the old table; continue numbering after the copied ids.
+CREATE SEQUENCE salaries_id_seq OWNED BY salaries.id;
+SELECT setval('salaries_id_seq', COALESCE((SELECT MAX(id) FROM salaries), 0) + 1, false);
+ALTER TABLE salaries ALTER COLUMN id SET DEFAULT nextval('salaries_id_seq');
+
+ANALYZE salaries;
@@ -0,0 +1,36 @@
+-- Queue and history of asynchronous report jobs. Workers claim QUEUED rows with
+-- FOR UPDATE SKIP LOCKED; RUNNING rows carry a heartbeat so jobs whose worker died (or
+-- was restarted) are put back in the queue. Result files live in the spool directory.
+
+CREATE TABLE IF NOT EXISTS report_job (
+    id              UUID PRIMARY KEY,
+    type            VARCHAR(40)  NOT NULL,
+    status          VARCHAR(20)  NOT NULL,
+    priority        INTEGER      NOT NULL,
+    owner           VARCHAR(255) NOT NULL,
+    report_month    VARCHAR(7),
+    report_year     INTEGER,
+    department_id   BIGINT,
+    export_format   VARCHAR(10),
+    attempts        INTEGER      NOT NULL DEFAULT 0,
+    worker          VARCHAR(100),
+    progress_bytes  BIGINT       NOT NULL DEFAULT 0,
+    message         VARCHAR(1000),
+    file_name       VARCHAR(255) NOT NULL,
+    content_type    VARCHAR(100) NOT NULL,
+    result_file     VARCHAR(255),
+    result_size     BIGINT,
+    created_at      TIMESTAMPTZ  NOT NULL,
+    started_at      TIMESTAMPTZ,
+    heartbeat_at    TIMESTAMPTZ,
+    finished_at     TIMESTAMPTZ,
+    expires_at      TIMESTAMPTZ
+);
+
+-- Claim order; partial so finished history does not bloat it.
+CREATE INDEX IF NOT EXISTS idx_report_job_queue
+    ON report_job (priority DESC, created_at)
+    WHERE status = 'QUEUED';
+
+CREATE INDEX IF NOT EXISTS idx_report_job_owner_status ON report_job (owner, status);
+CREATE INDEX IF NOT EXISTS idx_report_job_status_expires ON report_job (status, expires_at);
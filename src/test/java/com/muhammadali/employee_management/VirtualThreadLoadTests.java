@@ -0,0 +1,149 @@
+package com.muhammadali.employee_management;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.RouterFunctions;
+import org.springframework.web.servlet.function.ServerResponse;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Starts the full application twice against the same database, once on Tomcat's platform
+// thread pool and once on virtual threads, and drives an I/O-bound endpoint at a concurrency
+// well above the 200-thread ceiling. Run with ./gradlew benchmark.
+@Testcontainers
+@Tag("benchmark")
+public class VirtualThreadLoadTests {
+
+    private static final int CONCURRENCY = 1000;
+
+    private static final int REQUESTS = 20_000;
+
+    // Stands in for a slow downstream call (object storage, report backend) made on the
+    // request thread without holding a database connection.
+    private static final Duration IO_LATENCY = Duration.ofMillis(50);
+
+    @Container
+    static final PostgreSQLContainer<?> postgres =
+            new PostgreSQLContainer<>("postgres:15-alpine")
+                    .withDatabaseName("employee_management")
+                    .withUsername("mohirdev")
+                    .withPassword("123");
+
+
+    @Test
+    @DisplayName("benchmark – platform thread pool vs virtual threads")
+    void benchmark_platformVersusVirtualThreads() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        System.out.printf("platform threads: %.0f req/s, p99 %d ms%n", platform.throughput(), platform.p99Millis());
+        System.out.printf("virtual threads:  %.0f req/s, p99 %d ms%n", virtual.throughput(), virtual.p99Millis());
+        assertThat(platform.failures()).isZero();
+        assertThat(virtual.failures()).isZero();
+    }
+
+
+    private Result run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(
+                EmployeeManagementApplication.class, BenchEndpoint.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.datasource.url=" + postgres.getJdbcUrl(),
+                        "spring.datasource.username=" + postgres.getUsername(),
+                        "spring.datasource.password=" + postgres.getPassword(),
+                        "spring.datasource.hikari.maximum-pool-size=20",
+                        "spring.jpa.show-sql=false")
+                .run()) {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            URI uri = URI.create("http://localhost:" + port + "/bench/io");
+            load(uri, CONCURRENCY);
+            return load(uri, REQUESTS);
+        }
+    }
+
+
+    private static Result load(URI uri, int requests) throws Exception {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).GET().build();
+        long[] latencies = new long[requests];
+        int failures = 0;
+
+        long start = System.nanoTime();
+        try (ExecutorService callers = Executors.newFixedThreadPool(CONCURRENCY)) {
+            List<Future<Integer>> responses = new ArrayList<>(requests);
+            for (int i = 0; i < requests; i++) {
+                int slot = i;
+                responses.add(callers.submit(() -> {
+                    long sent = System.nanoTime();
+                    int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    latencies[slot] = System.nanoTime() - sent;
+                    return status;
+                }));
+            }
+            for (Future<Integer> response : responses) {
+                if (response.get() != 200) {
+                    failures++;
+                }
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        long p99 = latencies[(int) Math.ceil(requests * 0.99) - 1];
+        return new Result(requests * 1e9 / elapsed, p99 / 1_000_000, failures);
+    }
+
+
+    private record Result(double throughput, long p99Millis, int failures) {}
+
+
+    // Deliberately not annotated: registered only through the SpringApplicationBuilder above,
+    // so component scanning never pulls it into other test contexts.
+    static class BenchEndpoint {
+
+        @Bean
+        @Order(Ordered.HIGHEST_PRECEDENCE)
+        SecurityFilterChain benchSecurityFilterChain(HttpSecurity http) throws Exception {
+            http.securityMatcher("/bench/**")
+                    .csrf(csrf -> csrf.disable())
+                    .authorizeHttpRequests(auth -> auth.anyRequest().permitAll());
+            return http.build();
+        }
+
+        @Bean
+        RouterFunction<ServerResponse> benchRoutes(JdbcTemplate jdbcTemplate) {
+            return RouterFunctions.route()
+                    .GET("/bench/io", request -> {
+                        Thread.sleep(IO_LATENCY.toMillis());
+                        return ServerResponse.ok().body(jdbcTemplate.queryForObject("SELECT 'ok'", String.class));
+                    })
+                    .build();
+        }
+    }
+}
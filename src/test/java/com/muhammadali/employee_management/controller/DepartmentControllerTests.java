@@ -2,8 +2,11 @@ package com.muhammadali.employee_management.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.muhammadali.employee_management.dto.*;
+import com.muhammadali.employee_management.enums.DepartmentStatType;
 import com.muhammadali.employee_management.exceptions.DepartmentHasEmployeeException;
 import com.muhammadali.employee_management.service.DepartmentService;
+import com.muhammadali.employee_management.service.DepartmentStatsService;
+import com.muhammadali.employee_management.service.ReferenceDataCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,6 +16,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.EnumSet;
 import java.util.List;
 
 import static org.mockito.Mockito.*;
@@ -31,6 +35,12 @@ public class DepartmentControllerTests {
     @MockBean
     public DepartmentService departmentService;
 
+    @MockBean
+    public ReferenceDataCache referenceDataCache;
+
+    @MockBean
+    public DepartmentStatsService departmentStatsService;
+
     public DepartmentRequestDTO requestDTO;
     public DepartmentResponseDTO responseDTO;
     public DepartmentEmployeeCountDTO countDTO;
@@ -159,6 +169,20 @@ public class DepartmentControllerTests {
         verify(departmentService).getMinSalary(1L);
     }
 
+    @Test
+    @DisplayName("GET /api/departments/{id}/stats – TOP_SALARY")
+    public void getDepartmentStats_topSalary() throws Exception {
+        when(departmentService.getTopEarners(1L, 3)).thenReturn(List.of());
+
+        mockMvc.perform(get("/api/departments/1/stats")
+                        .param("type", "TOP_SALARY")
+                        .param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray());
+
+        verify(departmentService).getTopEarners(1L, 3);
+    }
+
     @Test
     @DisplayName("GET /api/departments/{id}/stats – invalid type")
     public void getDepartmentStats_invalidType() throws Exception {
@@ -206,4 +230,54 @@ public class DepartmentControllerTests {
 
         verify(departmentService).delete(1L);
     }
+
+    @Test
+    @DisplayName("GET /api/departments/cache/stats – success")
+    public void getCacheStats_success() throws Exception {
+        when(referenceDataCache.stats()).thenReturn(List.of(
+                new CacheRegionStatsDTO("department", 9, 1, 1, 0.9)));
+
+        mockMvc.perform(get("/api/departments/cache/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].region").value("department"))
+                .andExpect(jsonPath("$[0].hitRate").value(0.9));
+
+        verify(referenceDataCache).stats();
+    }
+
+    @Test
+    @DisplayName("GET /api/departments/{id}/stats?types=... – composite")
+    public void getDepartmentStatsComposite_success() throws Exception {
+        DepartmentStatsDTO stats = new DepartmentStatsDTO(1L, null, 9000.0, 8000.0, null, 12L, null, null, null);
+        when(departmentStatsService.getStats(1L,
+                EnumSet.of(DepartmentStatType.MAX_SALARY, DepartmentStatType.AVG_SALARY,
+                        DepartmentStatType.EMPLOYEE_COUNT), 5))
+                .thenReturn(stats);
+
+        mockMvc.perform(get("/api/departments/1/stats")
+                        .param("types", "max_salary,AVG_SALARY")
+                        .param("types", "EMPLOYEE_COUNT"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.maxSalary").value(9000.0))
+                .andExpect(jsonPath("$.employeeCount").value(12))
+                .andExpect(jsonPath("$.minSalary").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("GET /api/departments/salary-summary – all departments in one call")
+    public void getSalarySummary_success() throws Exception {
+        when(departmentService.getSalarySummary("usd")).thenReturn(List.of(
+                new DepartmentSalarySummaryDTO(1L, "HR", 1000.0, 3000.0, 2000.0, 6000.0, 2L, 2L),
+                new DepartmentSalarySummaryDTO(2L, "IT", null, null, null, null, 1L, 1L)));
+
+        mockMvc.perform(get("/api/departments/salary-summary").param("currency", "usd"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].departmentName").value("HR"))
+                .andExpect(jsonPath("$[0].totalSalary").value(6000.0))
+                .andExpect(jsonPath("$[1].headcount").value(1));
+
+        verify(departmentService).getSalarySummary("usd");
+    }
+
 }
@@ -2,9 +2,15 @@ package com.muhammadali.employee_management.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.muhammadali.employee_management.dto.*;
 import com.muhammadali.employee_management.entity.Employee;
+import com.muhammadali.employee_management.enums.ExportFormat;
+import com.muhammadali.employee_management.enums.ImportFormat;
 import com.muhammadali.employee_management.enums.Gender;
 import com.muhammadali.employee_management.enums.Status;
+import com.muhammadali.employee_management.service.EmployeeExportService;
+import com.muhammadali.employee_management.service.EmployeeFacetService;
+import com.muhammadali.employee_management.service.EmployeeImportService;
 import com.muhammadali.employee_management.service.EmployeeService;
+import com.muhammadali.employee_management.service.EmployeeSuggestIndex;
 import com.muhammadali.employee_management.service.SalaryService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,13 +19,19 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -33,6 +45,10 @@ public class EmployeeControllerTests {
 
     @MockBean public EmployeeService employeeService;
     @MockBean public SalaryService salaryService;
+    @MockBean public EmployeeExportService employeeExportService;
+    @MockBean public EmployeeSuggestIndex employeeSuggestIndex;
+    @MockBean public EmployeeFacetService employeeFacetService;
+    @MockBean public EmployeeImportService employeeImportService;
 
     public EmployeeRequestDTO requestDTO;
     public EmployeeResponseDTO responseDTO;
@@ -330,6 +346,105 @@ public class EmployeeControllerTests {
     }
 
 
+    @Test
+    @DisplayName("GET /api/employees/export – streams CSV")
+    public void export_csv() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/employees/export").param("format", "CSV"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("employees.csv")));
+
+        verify(employeeExportService).export(eq(ExportFormat.CSV), any());
+    }
+
+
+    @Test
+    @DisplayName("GET /api/employees/export – gets the streaming timeout, not the default one")
+    public void export_streamingTimeout() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/employees/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertThat(result.getRequest().getAsyncContext().getTimeout()).isEqualTo(Duration.ofMinutes(30).toMillis());
+    }
+
+
+    @Test
+    @DisplayName("POST /api/employees/import – returns per-row report")
+    public void import_csv() throws Exception {
+        when(employeeImportService.importEmployees(eq(ImportFormat.CSV), any()))
+                .thenReturn(new EmployeeImportResultDTO(2, 1, 1,
+                        List.of(new ImportRowErrorDTO(3, "Department not found with id : '9'"))));
+
+        mockMvc.perform(post("/api/employees/import")
+                        .param("format", "CSV")
+                        .contentType("text/csv")
+                        .content("firstName,departmentId\nJohn,1\nJane,9\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(3));
+
+        verify(employeeImportService).importEmployees(eq(ImportFormat.CSV), any());
+    }
+
+
+    @Test
+    @DisplayName("GET /api/employees/suggest – success")
+    public void suggest_success() throws Exception {
+        when(employeeSuggestIndex.suggest("jo", 10))
+                .thenReturn(List.of(new EmployeeSuggestionDTO(1L, "John Doe", "123456", "Developer", "IT")));
+
+        mockMvc.perform(get("/api/employees/suggest").param("q", "jo"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].fullName").value("John Doe"));
+
+        verify(employeeSuggestIndex).suggest("jo", 10);
+    }
+
+
+    @Test
+    @DisplayName("GET /api/employees/faceted-search – page and facet counts")
+    public void facetedSearch_success() throws Exception {
+        var result = new EmployeeFacetedSearchDTO(
+                List.of(responseDTO), 0, 20, 1,
+                Map.of("ACTIVE", 1L), Map.of("MALE", 1L),
+                Map.of("IT", 1L), Map.of("Developer", 1L));
+        when(employeeFacetService.search(null, "IT", Status.ACTIVE, null, null, null, null, 0, 20))
+                .thenReturn(result);
+
+        mockMvc.perform(get("/api/employees/faceted-search")
+                        .param("department", "IT")
+                        .param("status", "ACTIVE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].fullName").value("John Doe"))
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.statusCounts.ACTIVE").value(1))
+                .andExpect(jsonPath("$.departmentCounts.IT").value(1));
+    }
+
+
+    @Test
+    @DisplayName("GET /api/employees/paging/cursor – success")
+    public void getEmployeesWithCursor_success() throws Exception {
+        var slice = new EmployeeCursorPageDTO(List.of(responseDTO), "next-token", true, 1);
+        when(employeeService.getEmployeesWithCursor("abc", 1, "id", "asc"))
+                .thenReturn(slice);
+
+        mockMvc.perform(get("/api/employees/paging/cursor")
+                        .param("cursor", "abc")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].fullName").value("John Doe"))
+                .andExpect(jsonPath("$.nextCursor").value("next-token"))
+                .andExpect(jsonPath("$.hasNext").value(true));
+
+        verify(employeeService).getEmployeesWithCursor("abc", 1, "id", "asc");
+    }
+
+
     @Test
     @DisplayName("GET /api/employees/{employeeId}/salaries – success")
     public void getEmployeeSalaryHistory_success() throws Exception {
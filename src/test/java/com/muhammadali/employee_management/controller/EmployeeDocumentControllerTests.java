@@ -1,31 +1,37 @@
 package com.muhammadali.employee_management.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.muhammadali.employee_management.dto.EmployeeDocumentDTO;
+import com.muhammadali.employee_management.dto.FileDownloadDTO;
 import com.muhammadali.employee_management.exceptions.*;
 import com.muhammadali.employee_management.service.EmployeeDocumentService;
+import com.muhammadali.employee_management.service.FileDownloadWriter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.core.io.Resource;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.ResponseEntity;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.util.List;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(EmployeeDocumentController.class)
+@Import(FileDownloadWriter.class)
 public class EmployeeDocumentControllerTests {
 
     @Autowired
@@ -37,6 +43,9 @@ public class EmployeeDocumentControllerTests {
     @MockBean
     public EmployeeDocumentService documentService;
 
+    @TempDir
+    public Path tempDir;
+
     public EmployeeDocumentDTO dto;
     public MockMultipartFile file;
 
@@ -158,30 +167,56 @@ public class EmployeeDocumentControllerTests {
 
 
     @Test
-    @DisplayName("GET /api/employees/documents/file/{documentId}/download – success")
+    @DisplayName("GET /api/employees/{employeeId}/documents/file/{documentId}/download – success")
     public void downloadDocument_success() throws Exception {
-        Resource resource = new ByteArrayResource("dummy".getBytes());
-        ResponseEntity<Resource> resp = ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"report.pdf\"")
-                .body(resource);
-        when(documentService.downloadDocument(1L)).thenReturn(resp);
+        when(documentService.getDownload(1L)).thenReturn(download("dummy content"));
 
-        mockMvc.perform(get("/api/employees/documents/file/1/download"))
+        mockMvc.perform(get("/api/employees/1/documents/file/1/download"))
                 .andExpect(status().isOk())
-                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"report.pdf\""));
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("report.pdf")))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"a-d-0\""))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(content().contentType("application/pdf"))
+                .andExpect(content().string("dummy content"));
+
+        verify(documentService).getDownload(1L);
+    }
+
+    @Test
+    @DisplayName("GET /api/employees/{employeeId}/documents/file/{documentId}/download – range")
+    public void downloadDocument_range() throws Exception {
+        when(documentService.getDownload(1L)).thenReturn(download("dummy content"));
+
+        mockMvc.perform(get("/api/employees/1/documents/file/1/download").header(HttpHeaders.RANGE, "bytes=6-12"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 6-12/13"))
+                .andExpect(content().string("content"));
+    }
+
+    @Test
+    @DisplayName("GET /api/employees/{employeeId}/documents/file/{documentId}/download – not modified")
+    public void downloadDocument_notModified() throws Exception {
+        when(documentService.getDownload(1L)).thenReturn(download("dummy content"));
 
-        verify(documentService).downloadDocument(1L);
+        mockMvc.perform(get("/api/employees/1/documents/file/1/download").header(HttpHeaders.IF_NONE_MATCH, "\"a-d-0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
     }
 
     @Test
-    @DisplayName("GET /api/employees/documents/file/{documentId}/download – file not found on disk")
+    @DisplayName("GET /api/employees/{employeeId}/documents/file/{documentId}/download – file not found on disk")
     public void downloadDocument_fileNotFound() throws Exception {
-        when(documentService.downloadDocument(1L))
+        when(documentService.getDownload(1L))
                 .thenThrow(new FileNotFoundCustomException("File not found", "FILE_NOT_FOUND"));
 
-        mockMvc.perform(get("/api/employees/documents/file/1/download"))
+        mockMvc.perform(get("/api/employees/1/documents/file/1/download"))
                 .andExpect(status().isNotFound());
 
-        verify(documentService).downloadDocument(1L);
+        verify(documentService).getDownload(1L);
+    }
+
+    private FileDownloadDTO download(String content) throws IOException {
+        Path path = Files.writeString(tempDir.resolve("stored.pdf"), content);
+        return new FileDownloadDTO(FileDownloadDTO.Content.of(path), "report.pdf", "application/pdf", content.length(), 0L, "\"a-d-0\"");
     }
 }
@@ -0,0 +1,69 @@
+package com.muhammadali.employee_management.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The client address is resolved by Tomcat's RemoteIpValve, which MockMvc does not run, so
+// this starts the real server. The test connects from loopback, a trusted proxy.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "security.login-throttle.ip.capacity=2",
+                "security.login-throttle.ip.refill-period=1h"
+        })
+@Testcontainers
+public class LoginForwardedClientTests {
+
+    @Container
+    static final PostgreSQLContainer<?> pg =
+            new PostgreSQLContainer<>("postgres:15-alpine")
+                    .withDatabaseName("employee_management")
+                    .withUsername("mohirdev")
+                    .withPassword("123");
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry r) {
+        r.add("spring.datasource.url", pg::getJdbcUrl);
+        r.add("spring.datasource.username", pg::getUsername);
+        r.add("spring.datasource.password", pg::getPassword);
+    }
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    @DisplayName("POST /api/users/login – clients behind the same proxy get separate IP buckets")
+    void login_forwardedClientsAreThrottledSeparately() throws Exception {
+        assertThat(login("203.0.113.10", "a@example.com")).isNotEqualTo(429);
+        assertThat(login("203.0.113.10", "b@example.com")).isNotEqualTo(429);
+        assertThat(login("203.0.113.10", "c@example.com")).isEqualTo(429);
+
+        assertThat(login("203.0.113.20", "d@example.com")).isNotEqualTo(429);
+        assertThat(login("203.0.113.20", "e@example.com")).isNotEqualTo(429);
+    }
+
+    private int login(String forwardedFor, String email) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/users/login"))
+                .header("Content-Type", "application/json")
+                .header("X-Forwarded-For", forwardedFor)
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"email\":\"" + email + "\",\"password\":\"wrong\"}"))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
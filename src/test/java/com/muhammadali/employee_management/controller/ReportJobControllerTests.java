@@ -0,0 +1,150 @@
+package com.muhammadali.employee_management.controller;
+
+import com.muhammadali.employee_management.dto.ReportJobRequestDTO;
+import com.muhammadali.employee_management.dto.ReportJobResponseDTO;
+import com.muhammadali.employee_management.entity.ReportJob;
+import com.muhammadali.employee_management.enums.ReportJobStatus;
+import com.muhammadali.employee_management.enums.ReportType;
+import com.muhammadali.employee_management.exceptions.BusinessValidationException;
+import com.muhammadali.employee_management.service.ReportJobService;
+import com.muhammadali.employee_management.service.ReportJobWorker;
+import com.muhammadali.employee_management.service.ReportSpool;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ReportJobController.class)
+public class ReportJobControllerTests {
+
+    private static final UUID ID = UUID.fromString("7b0c1e6a-3f1e-4c55-9f0e-2d7f3c0f1a11");
+
+    private static final UsernamePasswordAuthenticationToken HR = new UsernamePasswordAuthenticationToken(
+            "hr@example.com", null, List.of(new SimpleGrantedAuthority("HR")));
+
+    @Autowired public MockMvc mockMvc;
+
+    @MockBean public ReportJobService reportJobService;
+
+    @MockBean public ReportJobWorker reportJobWorker;
+
+    @MockBean public ReportSpool reportSpool;
+
+    @TempDir
+    Path spoolDir;
+
+    @Test
+    public void submit_returnsAcceptedWithJobLocation() throws Exception {
+        when(reportJobService.submit(any(), eq("hr@example.com"))).thenReturn(job(ReportJobStatus.QUEUED));
+
+        mockMvc.perform(post("/api/reports/jobs")
+                        .principal(HR)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"type\":\"PAYROLL_ZIP\",\"month\":\"2024-01\"}"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/reports/jobs/" + ID))
+                .andExpect(jsonPath("$.status").value("QUEUED"));
+
+        verify(reportJobService).submit(
+                new ReportJobRequestDTO(ReportType.PAYROLL_ZIP, YearMonth.of(2024, 1), null, null, null),
+                "hr@example.com");
+        verify(reportJobWorker).wakeUp();
+    }
+
+    @Test
+    public void submit_withoutType_isBadRequest() throws Exception {
+        mockMvc.perform(post("/api/reports/jobs")
+                        .principal(HR)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"month\":\"2024-01\"}"))
+                .andExpect(status().isBadRequest());
+
+        verify(reportJobService, never()).submit(any(), any());
+    }
+
+    @Test
+    public void get_returnsStatusForNonAdmin() throws Exception {
+        when(reportJobService.get(ID, "hr@example.com", false)).thenReturn(job(ReportJobStatus.RUNNING));
+
+        mockMvc.perform(get("/api/reports/jobs/" + ID).principal(HR))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("RUNNING"));
+    }
+
+    @Test
+    public void result_servesSpooledFile() throws Exception {
+        Path file = Files.writeString(spoolDir.resolve(ID + "-1.zip"), "zip-bytes");
+        ReportJob job = ReportJob.builder()
+                .id(ID)
+                .status(ReportJobStatus.SUCCEEDED)
+                .resultFile(ID + "-1.zip")
+                .fileName("payroll-2024-01.zip")
+                .contentType("application/zip")
+                .build();
+        when(reportJobService.getResult(ID, "hr@example.com", false)).thenReturn(job);
+        when(reportSpool.resolve(ID + "-1.zip")).thenReturn(file);
+
+        mockMvc.perform(get("/api/reports/jobs/" + ID + "/result").principal(HR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/zip"))
+                .andExpect(header().string("Content-Disposition", containsString("payroll-2024-01.zip")))
+                .andExpect(content().string("zip-bytes"));
+    }
+
+    @Test
+    public void result_notReady_isBadRequest() throws Exception {
+        when(reportJobService.getResult(ID, "hr@example.com", false))
+                .thenThrow(new BusinessValidationException("REPORT_JOB_NOT_READY", "not ready"));
+
+        mockMvc.perform(get("/api/reports/jobs/" + ID + "/result").principal(HR))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void result_fileMissing_isNotFound() throws Exception {
+        ReportJob job = ReportJob.builder()
+                .id(ID)
+                .status(ReportJobStatus.SUCCEEDED)
+                .resultFile(ID + "-1.zip")
+                .fileName("payroll-2024-01.zip")
+                .contentType("application/zip")
+                .build();
+        when(reportJobService.getResult(ID, "hr@example.com", false)).thenReturn(job);
+        when(reportSpool.resolve(ID + "-1.zip")).thenReturn(spoolDir.resolve("gone.zip"));
+
+        mockMvc.perform(get("/api/reports/jobs/" + ID + "/result").principal(HR))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void cancel_returnsCancelledJob() throws Exception {
+        when(reportJobService.cancel(ID, "hr@example.com", false)).thenReturn(job(ReportJobStatus.CANCELLED));
+
+        mockMvc.perform(delete("/api/reports/jobs/" + ID).principal(HR))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CANCELLED"));
+    }
+
+    private static ReportJobResponseDTO job(ReportJobStatus status) {
+        return new ReportJobResponseDTO(ID, ReportType.PAYROLL_ZIP, status, 2, "2024-01", null, null, null,
+                0, 0, null, "payroll-2024-01.zip", null, Instant.parse("2024-02-01T09:00:00Z"), null, null, null);
+    }
+}
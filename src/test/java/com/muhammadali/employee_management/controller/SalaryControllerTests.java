@@ -1,9 +1,15 @@
 package com.muhammadali.employee_management.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.muhammadali.employee_management.dto.ImportRowErrorDTO;
+import com.muhammadali.employee_management.dto.SalaryLoadResultDTO;
 import com.muhammadali.employee_management.dto.SalaryMonthlyStatDTO;
 import com.muhammadali.employee_management.dto.SalaryRequestDTO;
 import com.muhammadali.employee_management.dto.SalaryResponseDTO;
+import com.muhammadali.employee_management.dto.SalaryRollupRebuildResultDTO;
 import com.muhammadali.employee_management.exceptions.*;
+import com.muhammadali.employee_management.service.SalaryCopyService;
+import com.muhammadali.employee_management.service.SalaryPartitionService;
+import com.muhammadali.employee_management.service.SalaryRollupService;
 import com.muhammadali.employee_management.service.SalaryService;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,8 +17,11 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import java.time.LocalDate;
 import java.util.Date;
 import java.util.List;
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -25,6 +34,9 @@ public class SalaryControllerTests {
     @Autowired public ObjectMapper objectMapper;
 
     @MockBean public SalaryService salaryService;
+    @MockBean public SalaryCopyService salaryCopyService;
+    @MockBean public SalaryRollupService salaryRollupService;
+    @MockBean public SalaryPartitionService salaryPartitionService;
 
     public SalaryRequestDTO requestDTO;
     public SalaryResponseDTO responseDTO;
@@ -346,6 +358,34 @@ public class SalaryControllerTests {
         verify(salaryService).findWithoutBonus();
     }
 
+    @Test
+    public void importSalaries_success() throws Exception {
+        when(salaryCopyService.load(any())).thenReturn(new SalaryLoadResultDTO(2, 1, 0, 1,
+                List.of(new ImportRowErrorDTO(3, "Amount must be positive"))));
+
+        mockMvc.perform(post("/api/salaries/import")
+                        .contentType("text/csv")
+                        .content("employee_id,amount,currency,payment_date,bonus\n1,5000,USD,2024-01-31,\n1,-1,USD,2024-02-29,\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inserted").value(1))
+                .andExpect(jsonPath("$.errors[0].message").value("Amount must be positive"));
+
+        verify(salaryCopyService).load(any());
+    }
+
+    @Test
+    public void exportSalaries_streamsCsv() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/salaries/export").param("from", "2024-01-01"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", containsString("salaries.csv")));
+
+        verify(salaryCopyService).unload(eq(LocalDate.of(2024, 1, 1)), isNull(), any());
+    }
+
     @Test
     public void delete_success() throws Exception {
         doNothing().when(salaryService).delete(1L);
@@ -367,4 +407,51 @@ public class SalaryControllerTests {
 
         verify(salaryService).delete(1L);
     }
+
+    @Test
+    public void getMonthlyStatsByDepartment_success() throws Exception {
+        when(salaryService.getMonthlySalaryStatsByDepartment(1L, 2024)).thenReturn(List.of(monthlyDTO));
+
+        mockMvc.perform(get("/api/salaries/department/1/monthly-stats")
+                        .param("year", "2024"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].month").value(1))
+                .andExpect(jsonPath("$[0].totalAmount").value(15000.0));
+    }
+
+    @Test
+    public void rebuildMonthlyStats_success() throws Exception {
+        when(salaryRollupService.rebuild()).thenReturn(new SalaryRollupRebuildResultDTO(12, 340));
+
+        mockMvc.perform(post("/api/salaries/monthly-stats/rebuild"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows").value(12))
+                .andExpect(jsonPath("$.salaries").value(340));
+
+        verify(salaryRollupService).rebuild();
+    }
+
+    @Test
+    public void getByEmployee_withRange_usesBoundedQuery() throws Exception {
+        when(salaryService.getSalaryHistoryByEmployee(10L, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 31)))
+                .thenReturn(List.of(responseDTO));
+
+        mockMvc.perform(get("/api/salaries/employee/10")
+                        .param("from", "2024-01-01")
+                        .param("to", "2024-03-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+
+        verify(salaryService, never()).getSalaryHistoryByEmployee(10L);
+    }
+
+    @Test
+    public void detachPartitions_success() throws Exception {
+        when(salaryPartitionService.detachBefore(LocalDate.of(2020, 1, 1)))
+                .thenReturn(List.of("salaries_archived_p201912"));
+
+        mockMvc.perform(post("/api/salaries/partitions/detach").param("before", "2020-01-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0]").value("salaries_archived_p201912"));
+    }
 }
@@ -0,0 +1,75 @@
+package com.muhammadali.employee_management.controller;
+
+import com.muhammadali.employee_management.dto.PayslipDTO;
+import com.muhammadali.employee_management.entity.Department;
+import com.muhammadali.employee_management.exceptions.ResourceNotFoundException;
+import com.muhammadali.employee_management.service.PayslipPdfService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(SalaryPdfController.class)
+public class SalaryPdfControllerTests {
+
+    @Autowired public MockMvc mockMvc;
+
+    @MockBean public PayslipPdfService payslipPdfService;
+
+    @Test
+    public void payslip_streamsPdf() throws Exception {
+        PayslipDTO payslip = new PayslipDTO(5L, 10L, "John", "Doe", "Developer", 1L, "IT",
+                5000.0, null, "USD", Date.valueOf(LocalDate.of(2024, 1, 31)));
+        when(payslipPdfService.getPayslip(5L)).thenReturn(payslip);
+
+        MvcResult result = mockMvc.perform(get("/api/salaries/pdf/payslip/5"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", containsString("payslip-10-5.pdf")));
+
+        verify(payslipPdfService).writePayslip(eq(payslip), any());
+    }
+
+    @Test
+    public void payslip_notFound() throws Exception {
+        when(payslipPdfService.getPayslip(99L)).thenThrow(new ResourceNotFoundException("Salary", "id", 99L));
+
+        mockMvc.perform(get("/api/salaries/pdf/payslip/99"))
+                .andExpect(status().isNotFound());
+
+        verify(payslipPdfService, never()).writePayslip(any(), any());
+    }
+
+    @Test
+    public void payslips_streamsZipForMonth() throws Exception {
+        when(payslipPdfService.getDepartment(1L)).thenReturn(Department.builder().id(1L).name("IT").build());
+
+        MvcResult result = mockMvc.perform(get("/api/salaries/pdf/payslips")
+                        .param("month", "2024-01")
+                        .param("departmentId", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/zip"))
+                .andExpect(header().string("Content-Disposition", containsString("payslips-2024-01.zip")));
+
+        verify(payslipPdfService).writePayslipsZip(eq(YearMonth.of(2024, 1)), eq(1L), any());
+    }
+}
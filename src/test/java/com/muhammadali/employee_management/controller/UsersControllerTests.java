@@ -2,11 +2,14 @@ package com.muhammadali.employee_management.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.muhammadali.employee_management.dto.auth.LoginRequestDTO;
+import com.muhammadali.employee_management.dto.PrincipalCacheStatsDTO;
 import com.muhammadali.employee_management.dto.UsersRequestDTO;
 import com.muhammadali.employee_management.dto.UsersResponseDTO;
 import com.muhammadali.employee_management.enums.Status;
 import com.muhammadali.employee_management.exceptions.*;
 import com.muhammadali.employee_management.security.jwt.JwtService;
+import com.muhammadali.employee_management.security.service.LoginThrottle;
+import com.muhammadali.employee_management.security.service.PrincipalCache;
 import com.muhammadali.employee_management.service.UsersService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -36,6 +39,8 @@ public class UsersControllerTests {
     @MockBean public UsersService usersService;
     @MockBean public AuthenticationManager authenticationManager;
     @MockBean public JwtService jwtService;
+    @MockBean public PrincipalCache principalCache;
+    @MockBean public LoginThrottle loginThrottle;
 
     public UsersRequestDTO requestDTO;
     public UsersResponseDTO responseDTO;
@@ -64,6 +69,19 @@ public class UsersControllerTests {
     }
 
 
+    @Test
+    public void principalCacheStats_success() throws Exception {
+        when(principalCache.stats()).thenReturn(new PrincipalCacheStatsDTO(9, 1, 0, 1, 0.9));
+
+        mockMvc.perform(get("/api/users/principal-cache/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hits").value(9))
+                .andExpect(jsonPath("$.hitRate").value(0.9));
+
+        verify(principalCache).stats();
+    }
+
+
     @Test
     public void create_success() throws Exception {
         when(usersService.save(any(UsersRequestDTO.class))).thenReturn(responseDTO);
@@ -190,6 +208,20 @@ public class UsersControllerTests {
         verifyNoInteractions(jwtService);
     }
 
+    @Test
+    public void login_throttled() throws Exception {
+        doThrow(new TooManyRequestsException("Too many login attempts, try again later", 7))
+                .when(loginThrottle).acquire(any(), eq("john"));
+
+        mockMvc.perform(post("/api/users/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginDTO)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "7"));
+
+        verifyNoInteractions(authenticationManager);
+    }
+
     @Test
     public void getByRole_success() throws Exception {
         when(usersService.findByRole("ADMIN")).thenReturn(List.of(responseDTO));
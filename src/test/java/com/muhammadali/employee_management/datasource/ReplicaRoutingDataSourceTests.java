@@ -0,0 +1,225 @@
+package com.muhammadali.employee_management.datasource;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class ReplicaRoutingDataSourceTests {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private DataSource replicaA;
+
+    private DataSource replicaB;
+
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        replicaA = replica(0.0);
+        replicaB = replica(0.0);
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("a", replicaA);
+        replicas.put("b", replicaB);
+        routing = new ReplicaRoutingDataSource(mock(DataSource.class), replicas, Duration.ofSeconds(5),
+                Duration.ofSeconds(5), new ReadYourWritesTracker(Duration.ofSeconds(5), 100, now::get), now::get);
+        routing.afterPropertiesSet();
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("admin@x.com", null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        new ArrayList<>(TransactionSynchronizationManager.getResourceMap().keySet())
+                .forEach(TransactionSynchronizationManager::unbindResource);
+    }
+
+
+    @Test
+    void readOnly_roundRobinsReplicas() {
+        assertThat(route(true)).isEqualTo("a");
+        assertThat(route(true)).isEqualTo("b");
+        assertThat(route(true)).isEqualTo("a");
+    }
+
+
+    @Test
+    void writeAndNonTransactional_goToPrimary() {
+        assertThat(route(false)).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+    }
+
+
+    @Test
+    void unhealthyOrLaggingReplica_isSkipped() throws SQLException {
+        when(replicaA.getConnection()).thenThrow(new SQLException("down"));
+        stubLag(replicaB, 30.0);
+        routing.checkReplicas();
+
+        assertThat(route(true)).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+
+        stubLag(replicaB, 1.0);
+        routing.checkReplicas();
+
+        assertThat(route(true)).isEqualTo("b");
+        assertThat(route(true)).isEqualTo("b");
+    }
+
+
+    @Test
+    void staleHealthCheck_skipsReplicaUntilChecksResume() {
+        now.addAndGet(Duration.ofSeconds(15).toNanos());
+        assertThat(route(true)).isEqualTo("a");
+
+        // Three intervals without a check: the last verdict is no longer trusted.
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertThat(route(true)).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+
+        routing.checkReplicas();
+        assertThat(route(true)).isNotEqualTo(ReplicaRoutingDataSource.PRIMARY);
+    }
+
+
+    @Test
+    void readYourWrites_pinsUserToPrimaryWithinWindow() {
+        route(false);
+        commit();
+
+        assertThat(route(true)).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("other@x.com", null, List.of()));
+        assertThat(route(true)).isNotEqualTo(ReplicaRoutingDataSource.PRIMARY);
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("admin@x.com", null, List.of()));
+        now.addAndGet(Duration.ofSeconds(6).toNanos());
+        assertThat(route(true)).isNotEqualTo(ReplicaRoutingDataSource.PRIMARY);
+    }
+
+
+    @Test
+    void routeCurrentTransaction_keepsTheTargetUntilCompletion() {
+        route(true);
+        Object routed = routing.routeCurrentTransaction();
+
+        assertThat(routed).isEqualTo("b");
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo("b");
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo("b");
+
+        // A write inside it still goes to the primary.
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo("a");
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo("b");
+    }
+
+
+    @Test
+    void cacheGuard_stopsCachePutsOnlyForReplicaTransactions() {
+        EntityManagerFactory emf = mock(EntityManagerFactory.class);
+        EntityManager em = mock(EntityManager.class);
+        Session session = mock(Session.class);
+        when(em.unwrap(Session.class)).thenReturn(session);
+        when(session.getCacheMode()).thenReturn(CacheMode.NORMAL);
+        when(session.isOpen()).thenReturn(true);
+        TransactionSynchronizationManager.bindResource(emf, new EntityManagerHolder(em));
+        ReplicaCacheGuard guard = new ReplicaCacheGuard(routing, emf);
+        TransactionExecution readOnly = mock(TransactionExecution.class);
+        when(readOnly.isReadOnly()).thenReturn(true);
+        try {
+            route(true);
+            guard.afterBegin(readOnly, null);
+            verify(session).setCacheMode(CacheMode.GET);
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            verify(session).setCacheMode(CacheMode.NORMAL);
+
+            // Pinned to the primary by a recent write: caches are filled as usual.
+            route(false);
+            commit();
+            route(true);
+            guard.afterBegin(readOnly, null);
+            verify(session, times(1)).setCacheMode(CacheMode.GET);
+        } finally {
+            TransactionSynchronizationManager.unbindResource(emf);
+        }
+    }
+
+
+    private Object route(boolean readOnly) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+        return routing.determineCurrentLookupKey();
+    }
+
+
+    private void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+
+    private static DataSource replica(double lag) throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        stubLag(dataSource, lag);
+        return dataSource;
+    }
+
+
+    private static void stubLag(DataSource dataSource, double lag) throws SQLException {
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.next()).thenReturn(true);
+        when(rs.getDouble(1)).thenReturn(lag);
+        when(statement.executeQuery(anyString())).thenReturn(rs);
+        when(connection.createStatement()).thenReturn(statement);
+        doReturn(connection).when(dataSource).getConnection();
+    }
+}
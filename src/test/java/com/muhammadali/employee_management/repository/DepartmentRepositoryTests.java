@@ -1,8 +1,10 @@
 package com.muhammadali.employee_management.repository;
 import com.muhammadali.employee_management.dto.DepartmentEmployeeCountDTO;
+import com.muhammadali.employee_management.dto.DepartmentSalarySummaryDTO;
 import com.muhammadali.employee_management.dto.DepartmentYearlyStatsDTO;
 import com.muhammadali.employee_management.entity.Department;
 import com.muhammadali.employee_management.entity.Employee;
+import com.muhammadali.employee_management.entity.Salary;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -138,11 +140,48 @@ public class DepartmentRepositoryTests {
         assertThat(result.get(0).getEmployeeCount()).isEqualTo(2);
     }
 
+    @Test
+    @DisplayName("getSalarySummary – one row per department, currency filter on salaries only")
+    void getSalarySummary() {
+        salary(john, 1000.0, "USD");
+        salary(john, 3000.0, "EUR");
+        salary(jane, 2000.0, "USD");
+
+        List<DepartmentSalarySummaryDTO> all = departmentRepository.getSalarySummary(null);
+        DepartmentSalarySummaryDTO hrSummary = all.stream()
+                .filter(s -> s.departmentId().equals(hr.getId())).findFirst().orElseThrow();
+        DepartmentSalarySummaryDTO itSummary = all.stream()
+                .filter(s -> s.departmentId().equals(it.getId())).findFirst().orElseThrow();
+
+        assertThat(hrSummary.minSalary()).isEqualTo(1000.0);
+        assertThat(hrSummary.maxSalary()).isEqualTo(3000.0);
+        assertThat(hrSummary.averageSalary()).isEqualTo(2000.0);
+        assertThat(hrSummary.totalSalary()).isEqualTo(6000.0);
+        assertThat(hrSummary.headcount()).isEqualTo(2);
+        assertThat(itSummary.headcount()).isEqualTo(1);
+        assertThat(itSummary.totalSalary()).isNull();
+
+        DepartmentSalarySummaryDTO usd = departmentRepository.getSalarySummary("USD").stream()
+                .filter(s -> s.departmentId().equals(hr.getId())).findFirst().orElseThrow();
+        assertThat(usd.maxSalary()).isEqualTo(2000.0);
+        assertThat(usd.totalSalary()).isEqualTo(3000.0);
+        assertThat(usd.headcount()).isEqualTo(2);
+    }
+
     @Test
     void contextLoads() {
         assertThat(departmentRepository).isNotNull();
     }
 
+    private void salary(Employee employee, Double amount, String currency) {
+        em.persistAndFlush(Salary.builder()
+                .employee(employee)
+                .amount(amount)
+                .currency(currency)
+                .paymentDate(new java.util.Date())
+                .build());
+    }
+
     private static Timestamp now() {
         return Timestamp.valueOf(LocalDateTime.now());
     }
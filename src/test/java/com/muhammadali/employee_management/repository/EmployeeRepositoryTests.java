@@ -1,10 +1,14 @@
 package com.muhammadali.employee_management.repository;
 
+import com.muhammadali.employee_management.dto.EmployeeFacetCountDTO;
+import com.muhammadali.employee_management.dto.EmployeeResponseDTO;
 import com.muhammadali.employee_management.entity.Department;
 import com.muhammadali.employee_management.entity.Employee;
 import com.muhammadali.employee_management.entity.Salary;
 import com.muhammadali.employee_management.enums.Gender;
 import com.muhammadali.employee_management.enums.Status;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,7 +17,6 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
@@ -23,10 +26,12 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @Testcontainers
 public class EmployeeRepositoryTests {
 
@@ -216,17 +221,6 @@ public class EmployeeRepositoryTests {
         assertThat(cnt).isEqualTo(1L); // faqat "Developer"
     }
 
-    @Test
-    @DisplayName("findTopEmployeesBySalary – native query + pagination")
-    void findTopEmployeesBySalary() {
-        Pageable topTwo = PageRequest.of(0, 2);
-        List<Employee> top = repo.findTopEmployeesBySalary(topTwo);
-        assertThat(top)
-                .hasSize(2)
-                .extracting("firstName")
-                .containsExactly("Bob", "Jane");
-    }
-
     @Test
     @DisplayName("findByHireDateBetween – date range JPQL")
     void findByHireDateBetween() {
@@ -258,6 +252,73 @@ public class EmployeeRepositoryTests {
 
 
 
+    @Test
+    @DisplayName("projected list queries – exactly one SQL statement each")
+    void projectedListQueriesRunOneStatement() {
+        assertSingleStatement(() -> repo.findAllProjected(), 3);
+        assertSingleStatement(() -> repo.findProjectedByStatus(Status.ACTIVE), 2);
+        assertSingleStatement(() -> repo.findProjectedByDepartmentName("Human Resources"), 2);
+        assertSingleStatement(() -> repo.findProjectedByDepartmentId(it.getId()), 1);
+        assertSingleStatement(() -> repo.findProjectedByName("jo", PageRequest.of(0, 10)), 2);
+        assertSingleStatement(() -> repo.findProjectedByPhone("111", PageRequest.of(0, 10)), 3);
+        assertSingleStatement(() -> repo.findProjectedByGender(Gender.MALE), 2);
+        assertSingleStatement(() -> repo.findProjectedByStatusAndDepartmentName(Status.INACTIVE, "IT"), 1);
+        assertSingleStatement(() -> repo.findProjectedByDepartmentNameAndPositionIgnoreCase("it", "developer"), 1);
+        assertSingleStatement(() -> repo.findProjectedByHireDateBetween(
+                LocalDate.of(2020, 6, 1), LocalDate.of(2022, 6, 1)), 2);
+    }
+
+
+    @Test
+    @DisplayName("findProjectedByName – ranked by similarity and capped")
+    void findProjectedByNameRankedAndLimited() {
+        List<EmployeeResponseDTO> res = repo.findProjectedByName("john", PageRequest.of(0, 1));
+        assertThat(res)
+                .hasSize(1)
+                .extracting(EmployeeResponseDTO::fullName)
+                .containsExactly("John Doe");
+    }
+
+
+    @Test
+    @DisplayName("findProjectedByName / findProjectedByPhone – % and _ match literally")
+    void projectedSearchEscapesWildcards() {
+        assertThat(repo.findProjectedByName("%", PageRequest.of(0, 10))).isEmpty();
+        assertThat(repo.findProjectedByName("j_hn", PageRequest.of(0, 10))).isEmpty();
+        assertThat(repo.findProjectedByPhone("111_222", PageRequest.of(0, 10))).isEmpty();
+        assertThat(repo.findProjectedByPhone("111-222", PageRequest.of(0, 10))).isNotEmpty();
+    }
+
+
+    @Test
+    @DisplayName("countFacets – grouping sets return every facet and the total in one pass")
+    void countFacets() {
+        LocalDate anyDate = LocalDate.of(1900, 1, 1);
+        List<EmployeeFacetCountDTO> facets =
+                repo.countFacets("", null, Status.ACTIVE.name(), null, null, false, anyDate, anyDate);
+
+        assertThat(facets)
+                .extracting(EmployeeFacetCountDTO::getFacet, EmployeeFacetCountDTO::getValue, EmployeeFacetCountDTO::getCount)
+                .contains(
+                        tuple("TOTAL", null, 2L),
+                        tuple("STATUS", "ACTIVE", 2L),
+                        tuple("GENDER", "MALE", 1L),
+                        tuple("GENDER", "FEMALE", 1L),
+                        tuple("DEPARTMENT", "Human Resources", 2L),
+                        tuple("POSITION", "Developer", 2L));
+    }
+
+
+    @Test
+    @DisplayName("findAllProjected – builds full name and department name")
+    void findAllProjectedMapsColumns() {
+        List<EmployeeResponseDTO> res = repo.findAllProjected();
+        assertThat(res)
+                .extracting(EmployeeResponseDTO::fullName, EmployeeResponseDTO::departmentName)
+                .contains(tuple("Bob Johnson", "IT"));
+    }
+
+
     @Test
     @DisplayName("context loads")
     void contextLoads() {
@@ -266,6 +327,22 @@ public class EmployeeRepositoryTests {
 
 
 
+    private void assertSingleStatement(Supplier<List<EmployeeResponseDTO>> listCall, int expectedSize) {
+        Statistics stats = entityManager.getEntityManager()
+                .getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        entityManager.clear();
+        stats.clear();
+
+        List<EmployeeResponseDTO> res = listCall.get();
+
+        assertThat(res).hasSize(expectedSize);
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(stats.getEntityLoadCount()).isZero();
+    }
+
+
     private Employee employee(String fn, String ln, Gender g, LocalDate bd, LocalDate hd,
                               Status st, Department dept, String salaryAmount) {
         Employee e = Employee.builder()
@@ -0,0 +1,89 @@
+package com.muhammadali.employee_management.repository;
+
+import com.muhammadali.employee_management.entity.RefreshToken;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Testcontainers
+public class RefreshTokenRepositoryTests {
+
+
+    @Container
+    static final PostgreSQLContainer<?> postgres =
+            new PostgreSQLContainer<>("postgres:15-alpine")
+                    .withDatabaseName("employee_management")
+                    .withUsername("mohirdev")
+                    .withPassword("123");
+
+    @DynamicPropertySource
+    static void datasourceProps(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.email", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private RefreshTokenRepository repo;
+
+    private final long now = System.currentTimeMillis();
+
+    @BeforeEach
+    void setUp() {
+        token("a".repeat(64), new Date(now - 3_000));
+        token("b".repeat(64), new Date(now - 2_000));
+        token("c".repeat(64), new Date(now - 1_000));
+        token("d".repeat(64), new Date(now + 60_000));
+    }
+
+    @Test
+    @DisplayName("findByTokenHash – unique digest lookup")
+    void findByTokenHash() {
+        assertThat(repo.findByTokenHash("d".repeat(64))).isPresent();
+        assertThat(repo.findByTokenHash("e".repeat(64))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("deleteExpiredBatch – oldest expired first, bounded by limit")
+    void deleteExpiredBatch() {
+        assertThat(repo.deleteExpiredBatch(new Date(now), 2)).isEqualTo(2);
+        em.clear();
+
+        assertThat(repo.findByTokenHash("a".repeat(64))).isEmpty();
+        assertThat(repo.findByTokenHash("b".repeat(64))).isEmpty();
+        assertThat(repo.findByTokenHash("c".repeat(64))).isPresent();
+
+        assertThat(repo.deleteExpiredBatch(new Date(now), 2)).isEqualTo(1);
+        assertThat(repo.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("deleteByTokenHash")
+    void deleteByTokenHash() {
+        assertThat(repo.deleteByTokenHash("d".repeat(64))).isEqualTo(1);
+        assertThat(repo.deleteByTokenHash("d".repeat(64))).isZero();
+    }
+
+    private void token(String hash, Date expireDate) {
+        RefreshToken token = new RefreshToken();
+        token.setTokenHash(hash);
+        token.setExpireDate(expireDate);
+        em.persistAndFlush(token);
+    }
+}
@@ -1,6 +1,6 @@
 package com.muhammadali.employee_management.repository;
 
-import com.muhammadali.employee_management.dto.SalaryMonthlyStatDTO;
+import com.muhammadali.employee_management.dto.EmployeeSalaryRankDTO;
 import com.muhammadali.employee_management.entity.Department;
 import com.muhammadali.employee_management.entity.Employee;
 import com.muhammadali.employee_management.entity.Salary;
@@ -11,13 +11,13 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.Date;
@@ -88,15 +88,68 @@ public class SalaryRepositoryTests {
     }
 
     @Test
-    @DisplayName("getMonthlySalaryStats")
-    void getMonthlySalaryStats() {
-        List<SalaryMonthlyStatDTO> stats =
-                repo.getMonthlySalaryStats(2023);
-
-        assertThat(stats).hasSize(4);
-        assertThat(stats.get(2))
-                .extracting("year", "month", "total")
-                .containsExactly(2023, 3, new BigDecimal("7000.00"));
+    @DisplayName("findSalaryRanking – amount desc, one row per payment")
+    void findSalaryRanking() {
+        List<EmployeeSalaryRankDTO> res = repo.findSalaryRanking(PageRequest.of(0, 3));
+
+        assertThat(res)
+                .extracting(EmployeeSalaryRankDTO::employeeId, EmployeeSalaryRankDTO::amount)
+                .containsExactly(
+                        tuple(bob.getId(), 7000d),
+                        tuple(jane.getId(), 6000d),
+                        tuple(john.getId(), 5500d));
+    }
+
+    @Test
+    @DisplayName("findSalaryRankingAfter – continues after the given row")
+    void findSalaryRankingAfter() {
+        List<EmployeeSalaryRankDTO> res =
+                repo.findSalaryRankingAfter(6000d, jane.getId(), PageRequest.of(0, 10));
+
+        assertThat(res)
+                .extracting(EmployeeSalaryRankDTO::employeeId, EmployeeSalaryRankDTO::amount)
+                .containsExactly(
+                        tuple(john.getId(), 5500d),
+                        tuple(john.getId(), 5000d));
+    }
+
+    @Test
+    @DisplayName("findTopEarnersByDepartment – one row per employee, best payment first")
+    void findTopEarnersByDepartment() {
+        List<EmployeeSalaryRankDTO> res =
+                repo.findTopEarnersByDepartment(hr.getId(), PageRequest.of(0, 10));
+
+        assertThat(res)
+                .extracting(EmployeeSalaryRankDTO::employeeId, EmployeeSalaryRankDTO::amount)
+                .containsExactly(
+                        tuple(jane.getId(), 6000d),
+                        tuple(john.getId(), 5500d));
+    }
+
+    @Test
+    @DisplayName("findTop10ByBonusIsNotNullOrderByBonusDesc – skips null bonuses")
+    void findTop10ByBonusIsNotNull() {
+        List<Salary> res = repo.findTop10ByBonusIsNotNullOrderByBonusDesc();
+
+        assertThat(res).extracting(Salary::getBonus).containsExactly(600d, 550d, 500d);
+    }
+
+    @Test
+    @DisplayName("findByPaymentDateRange – half-open, upper bound excluded")
+    void findByPaymentDateRange() {
+        assertThat(repo.findByPaymentDateRange(date(2023, 2, 15), date(2023, 4, 15)))
+                .extracting(Salary::getAmount)
+                .containsExactly(6000d, 7000d);
+    }
+
+    @Test
+    @DisplayName("findByEmployeeIdAndPaymentDateRange – one employee, half-open range")
+    void findByEmployeeIdAndPaymentDateRange() {
+        assertThat(repo.findByEmployeeIdAndPaymentDateRange(john.getId(), date(2023, 1, 1), date(2023, 5, 1)))
+                .extracting(Salary::getAmount)
+                .containsExactly(5000d, 5500d);
+        assertThat(repo.findByEmployeeIdAndPaymentDateRange(john.getId(), date(2023, 2, 1), date(2023, 4, 15)))
+                .isEmpty();
     }
 
     @Test
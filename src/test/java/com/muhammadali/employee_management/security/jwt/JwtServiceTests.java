@@ -0,0 +1,122 @@
+package com.muhammadali.employee_management.security.jwt;
+
+import com.muhammadali.employee_management.exceptions.AuthenticationFailedException;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class JwtServiceTests {
+
+    private static final String SECRET = "verylongsecretkey-shouldbeatleast32characters!!";
+
+    private JwtService jwtService;
+
+    private final UserDetails john = new User("john@example.com", "hash", List.of());
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService(SECRET, 2);
+    }
+
+
+    @Test
+    void verify_returnsSameClaimsOnRepeatedCalls() {
+        String token = jwtService.generateToken("john@example.com");
+
+        Claims first = jwtService.verify(token);
+        Claims second = jwtService.verify(token);
+
+        assertThat(first.getSubject()).isEqualTo("john@example.com");
+        assertThat(second).isSameAs(first);
+    }
+
+
+    @Test
+    void validateToken_checksSubject() {
+        String token = jwtService.generateToken("john@example.com");
+        Claims claims = jwtService.verify(token);
+
+        assertThat(jwtService.validateToken(claims, john)).isTrue();
+        assertThatThrownBy(() -> jwtService.validateToken(claims, new User("jane@example.com", "hash", List.of())))
+                .isInstanceOf(AuthenticationFailedException.class);
+    }
+
+
+    @Test
+    void verify_rejectsTamperedToken() {
+        String token = jwtService.generateToken("john@example.com");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThatThrownBy(() -> jwtService.verify(tampered))
+                .isInstanceOf(AuthenticationFailedException.class);
+    }
+
+
+    @Test
+    void verify_rejectsExpiredToken() {
+        String expired = Jwts.builder()
+                .setSubject("john@example.com")
+                .setIssuedAt(new Date(System.currentTimeMillis() - 120_000))
+                .setExpiration(new Date(System.currentTimeMillis() - 60_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()), SignatureAlgorithm.HS256)
+                .compact();
+
+        assertThatThrownBy(() -> jwtService.verify(expired))
+                .isInstanceOf(AuthenticationFailedException.class);
+    }
+
+
+    @Test
+    void claimsCache_dropsEntriesPastTokenExpiry() {
+        VerifiedClaimsCache cache = new VerifiedClaimsCache(2);
+        Claims claims = Jwts.claims().setSubject("john@example.com");
+        claims.setExpiration(new Date(System.currentTimeMillis() - 1));
+
+        cache.put("token", claims);
+
+        assertThat(cache.get("token")).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+
+    @Test
+    void claimsCache_isBounded() {
+        VerifiedClaimsCache cache = new VerifiedClaimsCache(2);
+        Date future = new Date(System.currentTimeMillis() + 60_000);
+        cache.put("a", Jwts.claims().setSubject("a").setExpiration(future));
+        cache.put("b", Jwts.claims().setSubject("b").setExpiration(future));
+        cache.put("c", Jwts.claims().setSubject("c").setExpiration(future));
+
+        assertThat(cache.size()).isLessThanOrEqualTo(2);
+    }
+
+
+    @Test
+    void claimsCache_servesVerifiedClaimsUntilExpiry() {
+        VerifiedClaimsCache cache = new VerifiedClaimsCache(2);
+        Claims claims = Jwts.claims().setSubject("a").setExpiration(new Date(System.currentTimeMillis() + 60_000));
+        cache.put("a", claims);
+
+        assertThat(cache.get("a")).isSameAs(claims);
+        assertThat(cache.get("b")).isNull();
+    }
+
+
+    @Test
+    void claimsCache_disabledWhenSizeIsZero() {
+        JwtService uncached = new JwtService(SECRET, 0);
+        String token = uncached.generateToken("john@example.com");
+
+        assertThat(uncached.verify(token)).isNotSameAs(uncached.verify(token));
+    }
+}
@@ -0,0 +1,77 @@
+package com.muhammadali.employee_management.security.service;
+
+import com.muhammadali.employee_management.exceptions.TooManyRequestsException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class LoginThrottleTests {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private LoginThrottle throttle;
+
+    @BeforeEach
+    void setUp() {
+        throttle = new LoginThrottle(
+                new LoginThrottle.Limit(3, Duration.ofSeconds(1).toNanos()),
+                new LoginThrottle.Limit(2, Duration.ofSeconds(10).toNanos()),
+                100, now::get);
+    }
+
+
+    @Test
+    void acquire_rejectsAccountAfterBurst() {
+        throttle.acquire("10.0.0.1", "a@x.com");
+        throttle.acquire("10.0.0.2", "A@X.com");
+
+        assertThatThrownBy(() -> throttle.acquire("10.0.0.3", "a@x.com"))
+                .isInstanceOf(TooManyRequestsException.class)
+                .extracting("retryAfterSeconds").isEqualTo(10L);
+    }
+
+
+    @Test
+    void acquire_rejectsIpSprayingAccounts() {
+        throttle.acquire("10.0.0.1", "a@x.com");
+        throttle.acquire("10.0.0.1", "b@x.com");
+        throttle.acquire("10.0.0.1", "c@x.com");
+
+        assertThatThrownBy(() -> throttle.acquire("10.0.0.1", "d@x.com"))
+                .isInstanceOf(TooManyRequestsException.class)
+                .extracting("retryAfterSeconds").isEqualTo(1L);
+    }
+
+
+    @Test
+    void acquire_refillsOverTime() {
+        throttle.acquire("10.0.0.1", "a@x.com");
+        throttle.acquire("10.0.0.1", "a@x.com");
+        assertThatThrownBy(() -> throttle.acquire("10.0.0.1", "a@x.com"))
+                .isInstanceOf(TooManyRequestsException.class);
+
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        assertThatCode(() -> throttle.acquire("10.0.0.1", "a@x.com")).doesNotThrowAnyException();
+    }
+
+
+    @Test
+    void acquire_boundedKeysKeepBusyBuckets() {
+        LoginThrottle small = new LoginThrottle(
+                new LoginThrottle.Limit(1, Duration.ofSeconds(60).toNanos()),
+                new LoginThrottle.Limit(1, Duration.ofSeconds(60).toNanos()),
+                2, now::get);
+        small.acquire("10.0.0.1", null);
+        small.acquire("10.0.0.2", null);
+        small.acquire("10.0.0.3", null);
+
+        // 10.0.0.3 is still drained even though the map had to make room for it
+        assertThatThrownBy(() -> small.acquire("10.0.0.3", null))
+                .isInstanceOf(TooManyRequestsException.class);
+    }
+}
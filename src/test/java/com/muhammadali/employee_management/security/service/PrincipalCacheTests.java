@@ -0,0 +1,120 @@
+package com.muhammadali.employee_management.security.service;
+
+import com.muhammadali.employee_management.dto.PrincipalCacheStatsDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class PrincipalCacheTests {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private PrincipalCache cache;
+
+    private final Function<String, UserDetails> loader = email -> {
+        loads.incrementAndGet();
+        return new User(email, "hash", List.of(new SimpleGrantedAuthority("ADMIN")));
+    };
+
+    @BeforeEach
+    void setUp() {
+        cache = new PrincipalCache(Duration.ofSeconds(60), 2, now::get);
+    }
+
+
+    @Test
+    void get_loadsOnceWithinTtl() {
+        cache.get("a@x.com", loader);
+        UserDetails hit = cache.get("a@x.com", loader);
+
+        assertThat(loads).hasValue(1);
+        assertThat(hit.getUsername()).isEqualTo("a@x.com");
+        assertThat(hit.getAuthorities()).extracting("authority").containsExactly("ADMIN");
+
+        PrincipalCacheStatsDTO stats = cache.stats();
+        assertThat(stats.hits()).isEqualTo(1);
+        assertThat(stats.misses()).isEqualTo(1);
+        assertThat(stats.hitRate()).isEqualTo(0.5);
+    }
+
+
+    @Test
+    void get_reloadsAfterTtl() {
+        cache.get("a@x.com", loader);
+        now.addAndGet(Duration.ofSeconds(61).toNanos());
+        cache.get("a@x.com", loader);
+
+        assertThat(loads).hasValue(2);
+    }
+
+
+    @Test
+    void get_hitSurvivesCredentialErasure() {
+        User first = (User) cache.get("a@x.com", loader);
+        first.eraseCredentials();
+
+        assertThat(cache.get("a@x.com", loader).getPassword()).isEqualTo("hash");
+    }
+
+
+    @Test
+    void evict_forcesReload() {
+        cache.get("a@x.com", loader);
+        cache.evict("a@x.com");
+        cache.get("a@x.com", loader);
+
+        assertThat(loads).hasValue(2);
+        assertThat(cache.stats().evictions()).isEqualTo(1);
+    }
+
+
+    @Test
+    void evict_duringLoadKeepsTheLoadedPrincipalOutOfTheCache() {
+        // The role change commits, and its afterCommit evict runs, while the load is in flight.
+        Function<String, UserDetails> racing = email -> {
+            UserDetails stale = loader.apply(email);
+            cache.evict(email);
+            return stale;
+        };
+        cache.get("a@x.com", racing);
+        cache.get("a@x.com", loader);
+
+        assertThat(loads).hasValue(2);
+    }
+
+
+    @Test
+    void get_staysWithinMaxSize() {
+        cache.get("a@x.com", loader);
+        cache.get("b@x.com", loader);
+        cache.get("c@x.com", loader);
+
+        assertThat(cache.stats().size()).isEqualTo(2);
+        assertThat(cache.stats().evictions()).isEqualTo(1);
+    }
+
+
+    @Test
+    void get_loaderFailureIsNotCached() {
+        Function<String, UserDetails> failing = email -> {
+            throw new UsernameNotFoundException(email);
+        };
+
+        assertThatThrownBy(() -> cache.get("missing@x.com", failing))
+                .isInstanceOf(UsernameNotFoundException.class);
+        assertThat(cache.stats().size()).isZero();
+    }
+}
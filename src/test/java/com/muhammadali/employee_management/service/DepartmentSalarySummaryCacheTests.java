@@ -0,0 +1,143 @@
+package com.muhammadali.employee_management.service;
+
+import com.muhammadali.employee_management.datasource.ReadYourWritesTracker;
+import com.muhammadali.employee_management.datasource.ReplicaRoutingDataSource;
+import com.muhammadali.employee_management.dto.DepartmentSalarySummaryDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class DepartmentSalarySummaryCacheTests {
+
+    private static final List<DepartmentSalarySummaryDTO> SUMMARY = List.of(
+            new DepartmentSalarySummaryDTO(1L, "HR", 1000.0, 3000.0, 2000.0, 6000.0, 2L, 2L));
+
+    private final AtomicLong now = new AtomicLong();
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private DepartmentSalarySummaryCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new DepartmentSalarySummaryCache(Duration.ofMinutes(10), now::get,
+                TransactionOperations.withoutTransaction());
+    }
+
+
+    @Test
+    void get_loadsOncePerCurrencyWithinTtl() {
+        assertThat(cache.get(null, this::load)).isEqualTo(SUMMARY);
+        assertThat(cache.get(null, this::load)).isEqualTo(SUMMARY);
+        cache.get("usd", this::load);
+        cache.get("USD", this::load);
+
+        assertThat(loads).hasValue(2);
+
+        now.addAndGet(Duration.ofMinutes(11).toNanos());
+        cache.get(null, this::load);
+
+        assertThat(loads).hasValue(3);
+    }
+
+
+    @Test
+    void invalidate_dropsEntries() {
+        cache.get(null, this::load);
+        cache.invalidate();
+        cache.get(null, this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+
+    @Test
+    void loadOverlappingInvalidation_isNotStored() {
+        cache.get(null, () -> {
+            cache.invalidate();
+            return load();
+        });
+        cache.get(null, this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+
+    @Test
+    void loadAfterInvalidation_readsFromThePrimaryWhenRoutingIsOn() throws SQLException {
+        DataSource primary = dataSource(0.0);
+        DataSource replica = dataSource(0.0);
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, Map.of("replica", replica),
+                Duration.ofSeconds(5), Duration.ofSeconds(5), new ReadYourWritesTracker(Duration.ofSeconds(5), 100));
+        routing.afterPropertiesSet();
+        DataSource lazy = new LazyConnectionDataSourceProxy(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(lazy);
+        DepartmentSalarySummaryCache routed = new DepartmentSalarySummaryCache(Duration.ofMinutes(10), transactionManager);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        clearInvocations(primary, replica);
+
+        // A plain read-only query is served by the replica...
+        readOnly.executeWithoutResult(status -> query(lazy));
+        verify(replica).getConnection();
+        verify(primary, never()).getConnection();
+        clearInvocations(primary, replica);
+
+        // ...but a cache fill right after a write's invalidation is not.
+        routed.invalidate();
+        readOnly.executeWithoutResult(status -> routed.get(null, () -> {
+            query(lazy);
+            return load();
+        }));
+        verify(primary).getConnection();
+        verify(replica, never()).getConnection();
+    }
+
+
+    private static void query(DataSource dataSource) {
+        try {
+            DataSourceUtils.getConnection(dataSource).createStatement();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+
+    private static DataSource dataSource(double lag) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.next()).thenReturn(true);
+        when(rs.getDouble(1)).thenReturn(lag);
+        Statement statement = mock(Statement.class);
+        when(statement.executeQuery(anyString())).thenReturn(rs);
+        Connection connection = mock(Connection.class);
+        when(connection.createStatement()).thenReturn(statement);
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        return dataSource;
+    }
+
+
+    private List<DepartmentSalarySummaryDTO> load() {
+        loads.incrementAndGet();
+        return SUMMARY;
+    }
+}
@@ -2,7 +2,6 @@ package com.muhammadali.employee_management.service;
 
 import com.muhammadali.employee_management.dto.*;
 import com.muhammadali.employee_management.entity.Department;
-import com.muhammadali.employee_management.entity.Employee;
 import com.muhammadali.employee_management.exceptions.*;
 import com.muhammadali.employee_management.repository.DepartmentRepository;
 import com.muhammadali.employee_management.repository.EmployeeRepository;
@@ -30,6 +29,15 @@ public class DepartmentServiceTests {
     @Mock
     private EmployeeRepository employeeRepository;
 
+    @Mock
+    private SalaryRankingService salaryRankingService;
+
+    @Mock
+    private ReferenceDataCache referenceDataCache;
+
+    @Mock
+    private DepartmentSalarySummaryCache salarySummaryCache;
+
     @InjectMocks
     private DepartmentService departmentService;
 
@@ -57,6 +65,17 @@ public class DepartmentServiceTests {
     }
 
 
+    @Test
+    void save_shouldRejectDuplicateName() {
+        when(departmentRepository.findByNameIgnoreCase("IT"))
+                .thenReturn(Optional.of(Department.builder().id(1L).name("it").build()));
+
+        assertThatThrownBy(() -> departmentService.save(new DepartmentRequestDTO("IT", 1)))
+                .isInstanceOf(ResourceAlreadyExistsException.class);
+        verify(departmentRepository, never()).save(any());
+    }
+
+
     @Test
     void update_shouldUpdateDepartment() {
         Department existing = Department.builder()
@@ -77,6 +96,7 @@ public class DepartmentServiceTests {
 
         assertThat(res.name()).isEqualTo("HR-new");
         assertThat(res.manager_id()).isEqualTo(99);
+        verify(referenceDataCache).evictDepartment(1L);
     }
 
     @Test
@@ -91,6 +111,27 @@ public class DepartmentServiceTests {
     }
 
 
+    @Test
+    void getTopEarners_shouldDelegateWithDepartment() {
+        when(departmentRepository.findById(1L))
+                .thenReturn(Optional.of(Department.builder().id(1L).build()));
+        when(salaryRankingService.topEarners(1L, 3)).thenReturn(List.of());
+
+        assertThat(departmentService.getTopEarners(1L, 3)).isEmpty();
+        verify(salaryRankingService).topEarners(1L, 3);
+    }
+
+
+    @Test
+    void getTopEarners_shouldThrowWhenDepartmentMissing() {
+        when(departmentRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> departmentService.getTopEarners(1L, 3))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verifyNoInteractions(salaryRankingService);
+    }
+
+
     @Test
     void delete_shouldDeleteWhenNoEmployees() {
         Department dept = Department.builder().id(1L).build();
@@ -104,6 +145,8 @@ public class DepartmentServiceTests {
         departmentService.delete(1L);
 
         verify(departmentRepository).delete(dept);
+        verify(referenceDataCache).evictDepartment(1L);
+        verify(salarySummaryCache).invalidate();
     }
 
 
@@ -120,6 +163,7 @@ public class DepartmentServiceTests {
 
         assertThatThrownBy(() -> departmentService.delete(1L))
                 .isInstanceOf(DepartmentHasEmployeeException.class);
+        verifyNoInteractions(referenceDataCache);
     }
 
 
@@ -269,8 +313,9 @@ public class DepartmentServiceTests {
 
     @Test
     void getEmployeesByDepartment_shouldReturnList() {
-        when(employeeRepository.findByDepartmentId(1L))
-                .thenReturn(List.of(new Employee()));
+        when(employeeRepository.findProjectedByDepartmentId(1L))
+                .thenReturn(List.of(new EmployeeResponseDTO(
+                        1L, "John Doe", null, null, null, null, "Developer", "IT", null, null)));
 
         assertThat(
                 departmentService.getEmployeesByDepartment(1L))
@@ -305,4 +350,22 @@ public class DepartmentServiceTests {
     }
 
 
+    @Test
+    void getSalarySummary_unknownCurrency_shouldThrowWithoutCaching() {
+        assertThatThrownBy(() ->
+                departmentService.getSalarySummary("dollars"))
+                .isInstanceOf(BusinessValidationException.class);
+
+        verifyNoInteractions(salarySummaryCache);
+    }
+
+
+    @Test
+    void getSalarySummary_shouldNormalizeCurrencyForTheCache() {
+        departmentService.getSalarySummary(" usd ");
+
+        verify(salarySummaryCache).get(eq("USD"), any());
+    }
+
+
 }
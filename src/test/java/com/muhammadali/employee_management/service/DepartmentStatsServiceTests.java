@@ -0,0 +1,181 @@
+package com.muhammadali.employee_management.service;
+
+import com.muhammadali.employee_management.dto.DepartmentAggregateStatsDTO;
+import com.muhammadali.employee_management.dto.DepartmentStatsDTO;
+import com.muhammadali.employee_management.dto.EmployeeResponseDTO;
+import com.muhammadali.employee_management.enums.DepartmentStatType;
+import com.muhammadali.employee_management.enums.Status;
+import com.muhammadali.employee_management.exceptions.BusinessValidationException;
+import com.muhammadali.employee_management.exceptions.DeadlineExceededException;
+import com.muhammadali.employee_management.exceptions.ResourceNotFoundException;
+import com.muhammadali.employee_management.repository.DepartmentRepository;
+import com.muhammadali.employee_management.repository.EmployeeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DepartmentStatsServiceTests {
+
+    @Mock
+    private DepartmentRepository departmentRepository;
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private SalaryRankingService salaryRankingService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ExecutorService pool = Executors.newFixedThreadPool(4);
+
+    private DepartmentStatsService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new DepartmentStatsService(departmentRepository, employeeRepository, salaryRankingService,
+                new TaskExecutorAdapter(pool), transactionManager, Duration.ofMillis(500));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+
+    @Test
+    void getStats_scalarTypesUseSingleAggregateQuery() {
+        when(departmentRepository.existsById(1L)).thenReturn(true);
+        when(departmentRepository.getAggregateStats(1L)).thenReturn(aggregate(null, 9000.0, 7000.0, 3L, 12L));
+
+        DepartmentStatsDTO res = service.getStats(1L,
+                EnumSet.of(DepartmentStatType.MIN_SALARY, DepartmentStatType.MAX_SALARY,
+                        DepartmentStatType.EMPLOYEE_COUNT), 5);
+
+        assertThat(res.departmentId()).isEqualTo(1L);
+        assertThat(res.minSalary()).isEqualTo(0.0);
+        assertThat(res.maxSalary()).isEqualTo(9000.0);
+        assertThat(res.employeeCount()).isEqualTo(12L);
+        assertThat(res.averageSalary()).isNull();
+        assertThat(res.positionCount()).isNull();
+        assertThat(res.employees()).isNull();
+        verify(departmentRepository).getAggregateStats(1L);
+        verifyNoInteractions(employeeRepository, salaryRankingService);
+    }
+
+
+    @Test
+    void getStats_listTypesRunConcurrently() {
+        List<EmployeeResponseDTO> employees = List.of(employee(1L));
+        List<EmployeeResponseDTO> top = List.of(employee(2L));
+        CountDownLatch bothStarted = new CountDownLatch(2);
+
+        when(departmentRepository.existsById(1L)).thenReturn(true);
+        when(employeeRepository.findProjectedByDepartmentId(1L)).thenAnswer(inv -> {
+            bothStarted.countDown();
+            assertThat(bothStarted.await(1, TimeUnit.SECONDS)).isTrue();
+            return employees;
+        });
+        when(salaryRankingService.topEarners(1L, 3)).thenAnswer(inv -> {
+            bothStarted.countDown();
+            assertThat(bothStarted.await(1, TimeUnit.SECONDS)).isTrue();
+            return top;
+        });
+
+        DepartmentStatsDTO res = service.getStats(1L,
+                EnumSet.of(DepartmentStatType.EMPLOYEES, DepartmentStatType.TOP_SALARY), 3);
+
+        assertThat(res.employees()).isEqualTo(employees);
+        assertThat(res.topEarners()).isEqualTo(top);
+        assertThat(res.yearlyStats()).isNull();
+        verify(departmentRepository, never()).getAggregateStats(any());
+    }
+
+
+    @Test
+    void getStats_throwsWhenDeadlinePasses() {
+        when(departmentRepository.existsById(1L)).thenReturn(true);
+        when(departmentRepository.getYearlyHiresByDepartment(1L)).thenAnswer(inv -> {
+            Thread.sleep(5_000);
+            return List.of();
+        });
+
+        assertThatThrownBy(() -> service.getStats(1L, EnumSet.of(DepartmentStatType.YEARLY_STATS), 5))
+                .isInstanceOf(DeadlineExceededException.class);
+    }
+
+
+    @Test
+    void getStats_eachQueryRunsWithTheDeadlineAsItsTimeout() {
+        when(departmentRepository.existsById(1L)).thenReturn(true);
+        when(departmentRepository.getYearlyHiresByDepartment(1L)).thenReturn(List.of());
+
+        service.getStats(1L, EnumSet.of(DepartmentStatType.YEARLY_STATS), 5);
+
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definition.capture());
+        assertThat(definition.getValue().isReadOnly()).isTrue();
+        assertThat(definition.getValue().getTimeout()).isEqualTo(1);
+    }
+
+
+    @Test
+    void getStats_propagatesQueryFailure() {
+        when(departmentRepository.existsById(1L)).thenReturn(true);
+        when(salaryRankingService.topEarners(1L, 500))
+                .thenThrow(new BusinessValidationException("INVALID_LIMIT", "Limit must be between 1 and 100"));
+
+        assertThatThrownBy(() -> service.getStats(1L, EnumSet.of(DepartmentStatType.TOP_SALARY), 500))
+                .isInstanceOf(BusinessValidationException.class);
+    }
+
+
+    @Test
+    void getStats_rejectsMissingDepartmentAndBadTypes() {
+        when(departmentRepository.existsById(99L)).thenReturn(false);
+
+        assertThatThrownBy(() -> service.getStats(99L, EnumSet.of(DepartmentStatType.AVG_SALARY), 5))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> service.getStats(1L, EnumSet.noneOf(DepartmentStatType.class), 5))
+                .isInstanceOf(BusinessValidationException.class);
+        assertThatThrownBy(() -> service.getStats(1L, EnumSet.of(DepartmentStatType.TOP_EMPLOYEE_COUNT), 5))
+                .isInstanceOf(BusinessValidationException.class);
+    }
+
+
+    private static DepartmentAggregateStatsDTO aggregate(Double min, Double max, Double avg,
+                                                         Long positions, Long employees) {
+        return new DepartmentAggregateStatsDTO() {
+            @Override public Double getMinSalary() { return min; }
+            @Override public Double getMaxSalary() { return max; }
+            @Override public Double getAverageSalary() { return avg; }
+            @Override public Long getPositionCount() { return positions; }
+            @Override public Long getEmployeeCount() { return employees; }
+        };
+    }
+
+
+    private static EmployeeResponseDTO employee(Long id) {
+        return new EmployeeResponseDTO(id, "Emp " + id, null, null, null, null, null, null, Status.ACTIVE, null);
+    }
+}
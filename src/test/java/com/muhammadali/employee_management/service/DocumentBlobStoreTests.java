@@ -0,0 +1,279 @@
+package com.muhammadali.employee_management.service;
+
+import com.muhammadali.employee_management.dto.BlobReconcileResultDTO;
+import com.muhammadali.employee_management.entity.Department;
+import com.muhammadali.employee_management.entity.Employee;
+import com.muhammadali.employee_management.entity.EmployeeDocument;
+import com.muhammadali.employee_management.enums.Status;
+import com.muhammadali.employee_management.repository.DepartmentRepository;
+import com.muhammadali.employee_management.repository.EmployeeDocumentRepository;
+import com.muhammadali.employee_management.repository.EmployeeRepository;
+import com.muhammadali.employee_management.storage.DocumentStorage;
+import com.muhammadali.employee_management.storage.DocumentStorageConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+// The store commits and collects in transactions of its own, so the tests run without the
+// usual per-test transaction and clean up after themselves. Blobs go to the local backend.
+@DataJpaTest
+@Testcontainers
+@Import({DocumentBlobStore.class, DocumentStorageConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class DocumentBlobStoreTests {
+
+    private static final String HELLO_HASH = "2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824";
+
+    @Container
+    static final PostgreSQLContainer<?> pg =
+            new PostgreSQLContainer<>("postgres:15-alpine")
+                    .withDatabaseName("employee_management")
+                    .withUsername("mohirdev")
+                    .withPassword("123");
+
+    @TempDir
+    static Path blobDir;
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry r) {
+        r.add("spring.datasource.url", pg::getJdbcUrl);
+        r.add("spring.datasource.email", pg::getUsername);
+        r.add("spring.datasource.password", pg::getPassword);
+        r.add("file.blob-dir", () -> blobDir.toString());
+    }
+
+    @Autowired
+    private DocumentBlobStore store;
+
+    @Autowired
+    private DocumentStorage storage;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeDocumentRepository documentRepository;
+
+    private Employee john;
+
+    @BeforeEach
+    void setUp() {
+        Department it = departmentRepository.save(Department.builder().name("IT").managerId(1).build());
+        john = employeeRepository.save(Employee.builder()
+                .firstName("John").lastName("Doe").department(it).status(Status.ACTIVE).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM employee_documents");
+        jdbcTemplate.update("DELETE FROM document_blob");
+        jdbcTemplate.update("DELETE FROM employee");
+        jdbcTemplate.update("DELETE FROM departments");
+    }
+
+    @Test
+    @DisplayName("acquire – identical content is stored once and counted per reference")
+    void acquire_deduplicates() throws IOException {
+        DocumentBlobStore.StagedBlob first = stage("hello");
+        store.acquire(first);
+        DocumentBlobStore.StagedBlob second = stage("hello");
+        store.acquire(second);
+
+        assertThat(blobDir.resolve("2c/f2/" + HELLO_HASH)).hasContent("hello");
+        assertThat(first.tempFile()).doesNotExist();
+        assertThat(second.tempFile()).doesNotExist();
+        assertThat(refCount(HELLO_HASH)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("stage – local backend leaves the staged file for acquire to move into place")
+    void stage_localBackendMovesOnAcquire() throws IOException {
+        DocumentBlobStore.StagedBlob staged = stage("hello");
+
+        assertThat(blobFile(HELLO_HASH)).doesNotExist();
+        assertThat(staged.tempFile()).exists();
+
+        store.acquire(staged);
+
+        assertThat(blobFile(HELLO_HASH)).hasContent("hello");
+        assertThat(staged.tempFile()).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("stage – remote backend stores the object before any reference is taken")
+    void stage_remoteBackendStoresBeforeAcquire() throws IOException {
+        DocumentBlobStore remote = remoteStore();
+        DocumentBlobStore.StagedBlob staged = remote.stage(content("hello"));
+
+        assertThat(blobFile(HELLO_HASH)).hasContent("hello");
+        assertThat(staged.tempFile()).exists();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM document_blob WHERE hash = ?", Integer.class, HELLO_HASH)).isZero();
+    }
+
+    @Test
+    @DisplayName("acquire – puts the object back if it was collected after staging")
+    void acquire_restoresObjectCollectedAfterStage() throws IOException {
+        DocumentBlobStore remote = remoteStore();
+        DocumentBlobStore.StagedBlob staged = remote.stage(content("hello"));
+        storage.delete(HELLO_HASH);
+
+        remote.acquire(staged);
+
+        assertThat(blobFile(HELLO_HASH)).hasContent("hello");
+        assertThat(staged.tempFile()).doesNotExist();
+        assertThat(refCount(HELLO_HASH)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("release – the last reference removes row and file, but only after commit")
+    void release_collectsAfterCommit() throws IOException {
+        store.acquire(stage("hello"));
+        store.acquire(stage("hello"));
+        Path blob = blobFile(HELLO_HASH);
+
+        store.release(HELLO_HASH);
+        assertThat(refCount(HELLO_HASH)).isEqualTo(1);
+        assertThat(blob).exists();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            store.release(HELLO_HASH);
+            assertThat(blob).exists();
+        });
+
+        assertThat(blob).doesNotExist();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM document_blob WHERE hash = ?", Integer.class, HELLO_HASH)).isZero();
+    }
+
+    @Test
+    @DisplayName("release – a rolled-back delete keeps the blob")
+    void release_rolledBack() throws IOException {
+        store.acquire(stage("hello"));
+        Path blob = blobFile(HELLO_HASH);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            store.release(HELLO_HASH);
+            status.setRollbackOnly();
+        });
+
+        assertThat(blob).exists();
+        assertThat(refCount(HELLO_HASH)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("collect – a blob still referenced by a document is kept even if its count drifted")
+    void collect_protectedByForeignKey() throws IOException {
+        store.acquire(stage("hello"));
+        Path blob = blobFile(HELLO_HASH);
+        document(HELLO_HASH);
+        jdbcTemplate.update("UPDATE document_blob SET ref_count = 0 WHERE hash = ?", HELLO_HASH);
+
+        assertThat(store.collect(HELLO_HASH)).isFalse();
+        assertThat(blob).exists();
+    }
+
+    @Test
+    @DisplayName("reconcile – recounts drift, adopts and collects old orphans, sweeps stale uploads")
+    void reconcile_repairs() throws IOException {
+        store.acquire(stage("hello"));
+        Path referenced = blobFile(HELLO_HASH);
+        document(HELLO_HASH);
+        jdbcTemplate.update("UPDATE document_blob SET ref_count = 5 WHERE hash = ?", HELLO_HASH);
+
+        FileTime old = FileTime.from(Instant.now().minus(Duration.ofHours(2)));
+        DocumentBlobStore.StagedBlob orphan = stage("orphan");
+        storage.putFile(orphan.hash(), orphan.tempFile());
+        Path orphanFile = blobFile(orphan.hash());
+        Files.setLastModifiedTime(orphanFile, old);
+
+        DocumentBlobStore.StagedBlob fresh = stage("fresh");
+        storage.putFile(fresh.hash(), fresh.tempFile());
+        Path freshFile = blobFile(fresh.hash());
+
+        DocumentBlobStore.StagedBlob abandoned = stage("abandoned");
+        Files.setLastModifiedTime(abandoned.tempFile(), old);
+
+        BlobReconcileResultDTO result = store.reconcile();
+
+        assertThat(result).isEqualTo(new BlobReconcileResultDTO(1, 1, 1, 1));
+        assertThat(refCount(HELLO_HASH)).isEqualTo(1);
+        assertThat(referenced).exists();
+        assertThat(orphanFile).doesNotExist();
+        assertThat(freshFile).exists();
+        assertThat(abandoned.tempFile()).doesNotExist();
+    }
+
+    private DocumentBlobStore.StagedBlob stage(String content) throws IOException {
+        return store.stage(content(content));
+    }
+
+    private static InputStream content(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // The same local storage, seen as a backend without local files.
+    private DocumentBlobStore remoteStore() {
+        DocumentStorage remote = spy(storage);
+        doReturn(Optional.empty()).when(remote).localFile(anyString());
+        return new DocumentBlobStore(jdbcTemplate, transactionManager, remote, blobDir.toString(), Duration.ofHours(1));
+    }
+
+    private static Path blobFile(String hash) {
+        return blobDir.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    private void document(String hash) {
+        EmployeeDocument document = new EmployeeDocument();
+        document.setFileName("hello.txt");
+        document.setFileType("text/plain");
+        document.setFileCategory("HR");
+        document.setFilePath(hash);
+        document.setContentHash(hash);
+        document.setEmployee(john);
+        documentRepository.save(document);
+    }
+
+    private int refCount(String hash) {
+        return jdbcTemplate.queryForObject("SELECT ref_count FROM document_blob WHERE hash = ?", Integer.class, hash);
+    }
+}
@@ -0,0 +1,85 @@
+package com.muhammadali.employee_management.service;
+
+import com.muhammadali.employee_management.dto.StorageMigrationResultDTO;
+import com.muhammadali.employee_management.storage.LocalDocumentStorage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.*;
+
+@ExtendWith(OutputCaptureExtension.class)
+public class DocumentStorageMigrationTests {
+
+    @TempDir
+    Path sourceDir;
+
+    @TempDir
+    Path targetDir;
+
+    @Test
+    void copy_transfersMissingObjectsAndSkipsPresentOnes() throws IOException {
+        LocalDocumentStorage source = new LocalDocumentStorage(sourceDir.toString());
+        LocalDocumentStorage target = new LocalDocumentStorage(targetDir.toString());
+        put(source, "aaaa1111", "first");
+        put(source, "bbbb2222", "second");
+        put(target, "aaaa1111", "first");
+
+        StorageMigrationResultDTO result = DocumentStorageMigration.copy(source, target);
+
+        assertThat(result).isEqualTo(new StorageMigrationResultDTO(1, 1, 0, 0, 0));
+        try (InputStream in = target.get("bbbb2222")) {
+            assertThat(in).hasContent("second");
+        }
+        assertThat(source.stat("bbbb2222")).isPresent();
+
+        assertThat(DocumentStorageMigration.copy(source, target))
+                .isEqualTo(new StorageMigrationResultDTO(0, 2, 0, 0, 0));
+    }
+
+    @Test
+    void copy_replacesTruncatedTargetObject() throws IOException {
+        LocalDocumentStorage source = new LocalDocumentStorage(sourceDir.toString());
+        LocalDocumentStorage target = new LocalDocumentStorage(targetDir.toString());
+        put(source, "aaaa1111", "complete");
+        put(target, "aaaa1111", "comp");
+
+        assertThat(DocumentStorageMigration.copy(source, target).copied()).isEqualTo(1);
+        try (InputStream in = target.get("aaaa1111")) {
+            assertThat(in).hasContent("complete");
+        }
+    }
+
+    @Test
+    void copy_countsAndLogsEachFailedObject(CapturedOutput output) throws IOException {
+        LocalDocumentStorage source = new LocalDocumentStorage(sourceDir.toString());
+        LocalDocumentStorage target = new LocalDocumentStorage(targetDir.toString()) {
+            @Override
+            public void put(String key, InputStream content, long size) throws IOException {
+                if (key.equals("bbbb2222")) {
+                    throw new IOException("disk full");
+                }
+                super.put(key, content, size);
+            }
+        };
+        put(source, "aaaa1111", "first");
+        put(source, "bbbb2222", "second");
+
+        assertThat(DocumentStorageMigration.copy(source, target))
+                .isEqualTo(new StorageMigrationResultDTO(1, 0, 1, 0, 0));
+        assertThat(output).contains("Failed to copy bbbb2222", "disk full");
+    }
+
+    private static void put(LocalDocumentStorage storage, String key, String content) throws IOException {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        storage.put(key, new ByteArrayInputStream(bytes), bytes.length);
+    }
+}
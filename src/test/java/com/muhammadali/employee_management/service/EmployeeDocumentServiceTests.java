@@ -1,24 +1,26 @@
 package com.muhammadali.employee_management.service;
 
 import com.muhammadali.employee_management.dto.EmployeeDocumentDTO;
+import com.muhammadali.employee_management.dto.FileDownloadDTO;
 import com.muhammadali.employee_management.entity.Employee;
 import com.muhammadali.employee_management.entity.EmployeeDocument;
 import com.muhammadali.employee_management.exceptions.*;
 import com.muhammadali.employee_management.mapper.EmployeeDocumentMapper;
 import com.muhammadali.employee_management.repository.EmployeeDocumentRepository;
 import com.muhammadali.employee_management.repository.EmployeeRepository;
+import com.muhammadali.employee_management.storage.DocumentStorage;
+import com.muhammadali.employee_management.storage.StoredObject;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.io.TempDir;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
-import org.springframework.core.io.Resource;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.ResponseEntity;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -34,6 +36,8 @@ import static org.mockito.Mockito.*;
 @MockitoSettings(strictness = Strictness.LENIENT)
 public class EmployeeDocumentServiceTests {
 
+    private static final String HASH = "2c26b46b68ffc68ff99b453c1d30413413422d706483bfa0f98a5e886266e7ae";
+
     @InjectMocks
     public EmployeeDocumentService service;
 
@@ -46,6 +50,15 @@ public class EmployeeDocumentServiceTests {
     @Mock
     public EmployeeDocumentMapper mapper;
 
+    @Mock
+    public DocumentBlobStore blobStore;
+
+    @Mock
+    public DocumentStorage documentStorage;
+
+    @Mock
+    public PlatformTransactionManager transactionManager;
+
     @Captor
     public ArgumentCaptor<EmployeeDocument> documentCaptor;
 
@@ -102,7 +115,11 @@ public class EmployeeDocumentServiceTests {
                 "dummy".getBytes()
         );
 
+        DocumentBlobStore.StagedBlob staged =
+                new DocumentBlobStore.StagedBlob(tempDir.resolve("upload.tmp"), HASH, 5);
+
         when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
+        when(blobStore.stage(any())).thenReturn(staged);
         when(documentRepository.save(any(EmployeeDocument.class))).thenReturn(doc);
         when(mapper.toDTO(doc)).thenReturn(dto);
 
@@ -115,25 +132,64 @@ public class EmployeeDocumentServiceTests {
         EmployeeDocument saved = documentCaptor.getValue();
         assertThat(saved.getEmployee()).isEqualTo(employee);
         assertThat(saved.getFileCategory()).isEqualTo("HR");
-        assertThat(Files.exists(Path.of(saved.getFilePath()))).isTrue();
+        assertThat(saved.getContentHash()).isEqualTo(HASH);
+        assertThat(saved.getFilePath()).isEqualTo(HASH);
+
+        // Stored first; the transaction only covers the lookup, the reference and the row.
+        InOrder order = inOrder(blobStore, transactionManager, employeeRepository);
+        order.verify(blobStore).stage(any());
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(employeeRepository).findById(1L);
+        order.verify(blobStore).acquire(staged);
+        order.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("uploadDocument – failed move discards the staged file")
+    public void uploadDocument_acquireFails() throws IOException {
+        MultipartFile file = new MockMultipartFile(
+                "file",
+                "report.pdf",
+                "application/pdf",
+                "dummy".getBytes()
+        );
+        DocumentBlobStore.StagedBlob staged =
+                new DocumentBlobStore.StagedBlob(tempDir.resolve("upload.tmp"), HASH, 5);
+
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
+        when(blobStore.stage(any())).thenReturn(staged);
+        doThrow(new IOException("disk full")).when(blobStore).acquire(staged);
+
+        assertThatThrownBy(() ->
+                service.uploadDocument(1L, file, "HR"))
+                .isInstanceOf(FileStorageException.class);
+
+        verify(blobStore).discard(staged);
+        verify(documentRepository, never()).save(any());
     }
 
     @Test
     @DisplayName("uploadDocument – employee not found")
-    public void uploadDocument_employeeNotFound() {
+    public void uploadDocument_employeeNotFound() throws IOException {
         MultipartFile file = new MockMultipartFile(
                 "file",
                 "report.pdf",
                 "application/pdf",
                 "dummy".getBytes()
         );
+        DocumentBlobStore.StagedBlob staged =
+                new DocumentBlobStore.StagedBlob(tempDir.resolve("upload.tmp"), HASH, 5);
 
         when(employeeRepository.findById(1L)).thenReturn(Optional.empty());
+        when(blobStore.stage(any())).thenReturn(staged);
 
         assertThatThrownBy(() ->
                 service.uploadDocument(1L, file, "HR"))
                 .isInstanceOf(ResourceNotFoundException.class);
 
+        verify(blobStore).discard(staged);
+        verify(blobStore, never()).acquire(any());
+        verify(transactionManager).rollback(any());
         verify(documentRepository, never()).save(any());
     }
 
@@ -202,27 +258,68 @@ public class EmployeeDocumentServiceTests {
 
 
     @Test
-    @DisplayName("downloadDocument – success")
-    public void downloadDocument_success() throws IOException {
+    @DisplayName("getDownload – success")
+    public void getDownload_success() throws IOException {
         Files.write(Path.of(doc.getFilePath()), "content".getBytes());
         when(documentRepository.findById(10L)).thenReturn(Optional.of(doc));
 
-        ResponseEntity<Resource> response =
-                service.downloadDocument(10L);
+        FileDownloadDTO download = service.getDownload(10L);
 
-        assertThat(response.getBody()).isNotNull();
-        assertThat(response.getHeaders()
-                .getFirst(HttpHeaders.CONTENT_DISPOSITION))
-                .contains("report.pdf");
+        assertThat(download.fileName()).isEqualTo("report.pdf");
+        assertThat(download.contentType()).isEqualTo("application/pdf");
+        assertThat(download.size()).isEqualTo(7);
+        assertThat(download.lastModified() % 1000).isZero();
+        assertThat(download.etag()).startsWith("\"a-7-").endsWith("\"");
     }
 
     @Test
-    @DisplayName("downloadDocument – file not found")
-    public void downloadDocument_fileNotFound() {
+    @DisplayName("getDownload – content-addressed document is read from storage with its hash as ETag")
+    public void getDownload_blob() throws IOException {
+        doc.setContentHash(HASH);
+        when(documentRepository.findById(10L)).thenReturn(Optional.of(doc));
+        when(documentStorage.stat(HASH)).thenReturn(Optional.of(
+                new StoredObject(HASH, 7, Instant.parse("2024-03-01T12:00:00.750Z"))));
+        when(documentStorage.localFile(HASH)).thenReturn(Optional.empty());
+        when(documentStorage.get(HASH, 2, 5)).thenReturn(new ByteArrayInputStream("ntent".getBytes()));
+
+        FileDownloadDTO download = service.getDownload(10L);
+
+        assertThat(download.etag()).isEqualTo("\"" + HASH + "\"");
+        assertThat(download.size()).isEqualTo(7);
+        assertThat(download.lastModified()).isEqualTo(Instant.parse("2024-03-01T12:00:00Z").toEpochMilli());
+        assertThat(download.content().localFile()).isNull();
+        assertThat(download.content().open(2, 5)).hasContent("ntent");
+    }
+
+    @Test
+    @DisplayName("getDownload – content-addressed document missing from storage")
+    public void getDownload_blobMissing() throws IOException {
+        doc.setContentHash(HASH);
+        when(documentRepository.findById(10L)).thenReturn(Optional.of(doc));
+        when(documentStorage.stat(HASH)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() ->
+                service.getDownload(10L))
+                .isInstanceOf(FileNotFoundCustomException.class);
+    }
+
+    @Test
+    @DisplayName("getDownload – missing stored content type falls back to octet-stream")
+    public void getDownload_contentTypeFallback() throws IOException {
+        Files.write(Path.of(doc.getFilePath()), "content".getBytes());
+        doc.setFileType("not a media type");
+        when(documentRepository.findById(10L)).thenReturn(Optional.of(doc));
+
+        assertThat(service.getDownload(10L).contentType()).isEqualTo("application/octet-stream");
+    }
+
+    @Test
+    @DisplayName("getDownload – file not found")
+    public void getDownload_fileNotFound() {
         when(documentRepository.findById(10L)).thenReturn(Optional.of(doc));
 
         assertThatThrownBy(() ->
-                service.downloadDocument(10L))
+                service.getDownload(10L))
                 .isInstanceOf(FileNotFoundCustomException.class);
     }
 
@@ -240,6 +337,22 @@ public class EmployeeDocumentServiceTests {
         verify(documentRepository).delete(doc);
     }
 
+    @Test
+    @DisplayName("deleteDocument – content-addressed document releases its blob")
+    public void deleteDocument_releasesBlob() throws IOException {
+        Path file = Files.createFile(Path.of(doc.getFilePath()));
+        doc.setContentHash(HASH);
+        when(documentRepository.findById(10L)).thenReturn(Optional.of(doc));
+
+        service.deleteDocument(10L);
+
+        InOrder order = inOrder(documentRepository, blobStore);
+        order.verify(documentRepository).delete(doc);
+        order.verify(blobStore).release(HASH);
+        // Shared content stays until the store collects it.
+        assertThat(Files.exists(file)).isTrue();
+    }
+
     @Test
     @DisplayName("deleteDocument – not found")
     public void deleteDocument_notFound() {
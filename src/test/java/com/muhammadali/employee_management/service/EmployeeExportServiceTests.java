@@ -0,0 +1,83 @@
+package com.muhammadali.employee_management.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.muhammadali.employee_management.entity.Department;
+import com.muhammadali.employee_management.entity.Employee;
+import com.muhammadali.employee_management.enums.ExportFormat;
+import com.muhammadali.employee_management.enums.Gender;
+import com.muhammadali.employee_management.enums.Status;
+import com.muhammadali.employee_management.repository.EmployeeRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeExportServiceTests {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private EmployeeExportService service;
+
+    private Employee john, jane;
+
+    @BeforeEach
+    void setUp() {
+        service = new EmployeeExportService(employeeRepository, entityManager,
+                new ObjectMapper().findAndRegisterModules());
+
+        Department hr = Department.builder().id(1L).name("HR, Payroll").build();
+
+        john = Employee.builder().id(1L).firstName("John").lastName("Doe")
+                .gender(Gender.MALE).birthDate(LocalDate.of(1990, 1, 1))
+                .status(Status.ACTIVE).department(hr).position("Developer").build();
+
+        jane = Employee.builder().id(2L).firstName("Jane").lastName("\"JJ\" Smith")
+                .gender(Gender.FEMALE).birthDate(LocalDate.of(1992, 2, 2))
+                .status(Status.INACTIVE).department(hr).position("Analyst").build();
+    }
+
+
+    @Test
+    void export_ndjsonWritesOneObjectPerLine() throws Exception {
+        when(employeeRepository.streamAllForExport()).thenReturn(Stream.of(john, jane));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.export(ExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).startsWith("{").contains("\"fullName\":\"John Doe\"");
+        verify(entityManager).detach(john);
+        verify(entityManager).detach(jane);
+    }
+
+
+    @Test
+    void export_csvWritesHeaderAndEscapesValues() throws Exception {
+        when(employeeRepository.streamAllForExport()).thenReturn(Stream.of(jane));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.export(ExportFormat.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).startsWith("id,fullName");
+        assertThat(lines[1]).isEqualTo("2,\"Jane \"\"JJ\"\" Smith\",,FEMALE,1992-02-02,,Analyst,\"HR, Payroll\",INACTIVE");
+    }
+
+}
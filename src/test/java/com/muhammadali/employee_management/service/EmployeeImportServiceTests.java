@@ -0,0 +1,204 @@
+package com.muhammadali.employee_management.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.muhammadali.employee_management.dto.EmployeeImportResultDTO;
+import com.muhammadali.employee_management.dto.ImportRowErrorDTO;
+import com.muhammadali.employee_management.entity.Department;
+import com.muhammadali.employee_management.entity.Employee;
+import com.muhammadali.employee_management.enums.ImportFormat;
+import com.muhammadali.employee_management.exceptions.BusinessValidationException;
+import com.muhammadali.employee_management.repository.DepartmentRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeImportServiceTests {
+
+    @Mock
+    private DepartmentRepository departmentRepository;
+
+    @Mock
+    private EmployeeSuggestIndex employeeSuggestIndex;
+
+    @Mock
+    private DepartmentSalarySummaryCache salarySummaryCache;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private EmployeeImportService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new EmployeeImportService(departmentRepository, employeeSuggestIndex, salarySummaryCache, entityManager,
+                transactionManager, new ObjectMapper().findAndRegisterModules());
+        ReflectionTestUtils.setField(service, "batchSize", 2);
+        ReflectionTestUtils.setField(service, "indexRebuildThreshold", 1000);
+
+        lenient().when(departmentRepository.findAllIds()).thenReturn(List.of(1L));
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        lenient().when(entityManager.getReference(eq(Department.class), any()))
+                .thenAnswer(inv -> Department.builder().id(inv.getArgument(1)).build());
+    }
+
+
+    @Test
+    void importCsv_reportsInvalidRowsAndKeepsValidOnes() throws Exception {
+        String csv = """
+                firstName,lastName,gender,birthDate,departmentId,status
+                John,Doe,MALE,1990-01-01,1,ACTIVE
+                Jane,Smith,FEMALE,1992-02-02,9,ACTIVE
+                Bob,"Stone, Jr.",ROBOT,1985-03-03,1,ACTIVE
+                ,Empty,MALE,1985-03-03,1,ACTIVE
+                """;
+
+        EmployeeImportResultDTO res = service.importEmployees(ImportFormat.CSV, stream(csv));
+
+        assertThat(res.processed()).isEqualTo(4);
+        assertThat(res.imported()).isEqualTo(1);
+        assertThat(res.failed()).isEqualTo(3);
+        assertThat(res.errors()).extracting(ImportRowErrorDTO::line).containsExactly(3L, 4L, 5L);
+        assertThat(res.errors().get(0).message()).contains("Department not found");
+
+        ArgumentCaptor<Employee> saved = ArgumentCaptor.forClass(Employee.class);
+        verify(entityManager).persist(saved.capture());
+        assertThat(saved.getValue().getFirstName()).isEqualTo("John");
+        verify(employeeSuggestIndex).index(saved.getValue());
+        verify(employeeSuggestIndex, never()).rebuild();
+    }
+
+
+    @Test
+    void importNdjson_rebuildsIndexPastThreshold() throws Exception {
+        ReflectionTestUtils.setField(service, "indexRebuildThreshold", 2);
+        String ndjson = """
+                {"firstName":"A","departmentId":1}
+                {"firstName":"B","departmentId":1}
+                {"firstName":"C","departmentId":1}
+                """;
+
+        EmployeeImportResultDTO res = service.importEmployees(ImportFormat.NDJSON, stream(ndjson));
+
+        assertThat(res.imported()).isEqualTo(3);
+        // The first batch still fitted under the threshold; the rebuild covers the rest.
+        verify(employeeSuggestIndex, times(2)).index(any(Employee.class));
+        verify(employeeSuggestIndex).rebuild();
+        verify(salarySummaryCache).invalidate();
+    }
+
+
+    @Test
+    void importNdjson_insertsInBatches() throws Exception {
+        String ndjson = """
+                {"firstName":"A","departmentId":1,"birthDate":"1990-01-01"}
+                {"firstName":"B","departmentId":1}
+                {"firstName":"C","departmentId":1,"status":"ACTIVE"}
+                """;
+
+        EmployeeImportResultDTO res = service.importEmployees(ImportFormat.NDJSON, stream(ndjson));
+
+        assertThat(res.imported()).isEqualTo(3);
+        assertThat(res.failed()).isZero();
+        verify(entityManager, times(3)).persist(any(Employee.class));
+        verify(entityManager, times(2)).flush();
+        verify(entityManager, times(2)).clear();
+    }
+
+
+    @Test
+    void importNdjson_malformedLineIsReported() throws Exception {
+        String ndjson = """
+                {"firstName":"A","departmentId":1}
+                {not json
+                """;
+
+        EmployeeImportResultDTO res = service.importEmployees(ImportFormat.NDJSON, stream(ndjson));
+
+        assertThat(res.imported()).isEqualTo(1);
+        assertThat(res.errors()).singleElement()
+                .satisfies(e -> {
+                    assertThat(e.line()).isEqualTo(2L);
+                    assertThat(e.message()).startsWith("Malformed JSON");
+                });
+    }
+
+
+    @Test
+    void importNdjson_nullOrNonObjectLineIsReported() throws Exception {
+        String ndjson = """
+                null
+                {"firstName":"A","departmentId":1}
+                [1, 2]
+                """;
+
+        EmployeeImportResultDTO res = service.importEmployees(ImportFormat.NDJSON, stream(ndjson));
+
+        assertThat(res.imported()).isEqualTo(1);
+        assertThat(res.errors()).extracting(ImportRowErrorDTO::line).containsExactly(1L, 3L);
+        assertThat(res.errors()).allSatisfy(e -> assertThat(e.message()).isEqualTo("Expected a JSON object"));
+    }
+
+
+    @Test
+    void failedBatch_isRetriedRowByRow() throws Exception {
+        doThrow(new PersistenceException("batch failed"))
+                .doNothing()
+                .doThrow(new PersistenceException("duplicate key"))
+                .when(entityManager).flush();
+
+        String ndjson = """
+                {"firstName":"A","departmentId":1}
+                {"firstName":"B","departmentId":1}
+                """;
+
+        EmployeeImportResultDTO res = service.importEmployees(ImportFormat.NDJSON, stream(ndjson));
+
+        assertThat(res.imported()).isEqualTo(1);
+        assertThat(res.failed()).isEqualTo(1);
+        assertThat(res.errors()).extracting(ImportRowErrorDTO::line, ImportRowErrorDTO::message)
+                .containsExactly(tuple(2L, "duplicate key"));
+    }
+
+
+    @Test
+    void importCsv_unknownHeaderRejectsFile() {
+        assertThatThrownBy(() -> service.importEmployees(ImportFormat.CSV, stream("firstName,salary\nA,1\n")))
+                .isInstanceOf(BusinessValidationException.class)
+                .hasMessageContaining("Unknown column: salary");
+        verifyNoInteractions(entityManager, employeeSuggestIndex);
+    }
+
+
+    @Test
+    void splitCsv_handlesQuotedFields() {
+        assertThat(EmployeeImportService.splitCsv("a,\"b, c\",\"say \"\"hi\"\"\",")
+        ).containsExactly("a", "b, c", "say \"hi\"", "");
+    }
+
+
+    private static InputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,5 +1,6 @@
 package com.muhammadali.employee_management.service;
 
+import com.muhammadali.employee_management.dto.EmployeeCursorPageDTO;
 import com.muhammadali.employee_management.dto.EmployeeRequestDTO;
 import com.muhammadali.employee_management.dto.EmployeeResponseDTO;
 import com.muhammadali.employee_management.entity.Department;
@@ -8,6 +9,7 @@ import com.muhammadali.employee_management.enums.Gender;
 import com.muhammadali.employee_management.enums.Status;
 import com.muhammadali.employee_management.exceptions.BusinessValidationException;
 import com.muhammadali.employee_management.exceptions.ResourceNotFoundException;
+import com.muhammadali.employee_management.mapper.EmployeeMapper;
 import com.muhammadali.employee_management.repository.DepartmentRepository;
 import com.muhammadali.employee_management.repository.EmployeeRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -22,6 +24,7 @@ import java.util.*;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +36,18 @@ public class EmployeeServiceTests {
     @Mock
     private DepartmentRepository departmentRepository;
 
+    @Mock
+    private EmployeeSuggestIndex employeeSuggestIndex;
+
+    @Mock
+    private SalaryRankingService salaryRankingService;
+
+    @Mock
+    private DepartmentSalarySummaryCache salarySummaryCache;
+
+    @Mock
+    private SalaryRollupService salaryRollupService;
+
     @InjectMocks
     private EmployeeService service;
 
@@ -73,6 +88,7 @@ public class EmployeeServiceTests {
         assertThat(res.id()).isEqualTo(3L);
         assertThat(res.fullName()).isEqualTo("Alice Wonder");
         verify(employeeRepository).save(any(Employee.class));
+        verify(employeeSuggestIndex).index(any(Employee.class));
     }
 
     @Test
@@ -86,7 +102,7 @@ public class EmployeeServiceTests {
     void update_success() {
         EmployeeRequestDTO dto = buildDto("Johnny", "Doe", Gender.MALE, john.getBirthDate(), john.getHireDate(), Status.ACTIVE, it.getId());
 
-        when(employeeRepository.findById(1L)).thenReturn(Optional.of(john));
+        when(employeeRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(john));
         when(departmentRepository.findById(2L)).thenReturn(Optional.of(it));
         when(employeeRepository.save(any(Employee.class))).thenReturn(john);
 
@@ -94,12 +110,13 @@ public class EmployeeServiceTests {
 
         assertThat(res.fullName()).isEqualTo("Johnny Doe");
         assertThat(res.departmentName()).isEqualTo("IT");
+        verify(salaryRollupService).employeeMoved(1L, 1L, 2L);
     }
 
     @Test
     void update_notFound() {
         EmployeeRequestDTO dto = buildDto("x", "y", Gender.MALE, LocalDate.now().minusYears(20), LocalDate.now(), Status.ACTIVE, hr.getId());
-        when(employeeRepository.findById(999L)).thenReturn(Optional.empty());
+        when(employeeRepository.findByIdForUpdate(999L)).thenReturn(Optional.empty());
         assertThatThrownBy(() -> service.update(999L, dto)).isInstanceOf(ResourceNotFoundException.class);
     }
 
@@ -110,6 +127,7 @@ public class EmployeeServiceTests {
 
         assertThatCode(() -> service.delete(1L)).doesNotThrowAnyException();
         verify(employeeRepository).deleteById(1L);
+        verify(employeeSuggestIndex).remove(1L);
     }
 
     @Test
@@ -122,42 +140,42 @@ public class EmployeeServiceTests {
 
     @Test
     void findAll_mapsToDTO() {
-        when(employeeRepository.findAll()).thenReturn(List.of(john, jane));
+        when(employeeRepository.findAllProjected()).thenReturn(dtos(john, jane));
         List<EmployeeResponseDTO> res = service.findAll();
         assertThat(res).hasSize(2);
     }
 
     @Test
     void getEmployeesByStatus() {
-        when(employeeRepository.findByStatus(Status.ACTIVE)).thenReturn(List.of(john));
+        when(employeeRepository.findProjectedByStatus(Status.ACTIVE)).thenReturn(dtos(john));
         List<EmployeeResponseDTO> res = service.getEmployeesStatus(Status.ACTIVE);
         assertThat(res).hasSize(1).extracting("fullName").containsExactly("John Doe");
     }
 
     @Test
     void getEmployeeByDepartment() {
-        when(employeeRepository.findByDepartmentName("HR")).thenReturn(List.of(john));
+        when(employeeRepository.findProjectedByDepartmentName("HR")).thenReturn(dtos(john));
         List<EmployeeResponseDTO> res = service.getEmployeeByDepartment("HR");
         assertThat(res).hasSize(1);
     }
 
     @Test
     void searchByName() {
-        when(employeeRepository.findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase("smith", "smith")).thenReturn(List.of(jane));
+        when(employeeRepository.findProjectedByName(eq("smith"), any(Pageable.class))).thenReturn(dtos(jane));
         List<EmployeeResponseDTO> res = service.searchByName("smith");
         assertThat(res).hasSize(1);
     }
 
     @Test
     void searchByPhone() {
-        when(employeeRepository.findByPhoneContainingIgnoreCase("000")).thenReturn(List.of(john, jane));
+        when(employeeRepository.findProjectedByPhone(eq("000"), any(Pageable.class))).thenReturn(dtos(john, jane));
         List<EmployeeResponseDTO> res = service.searchByPhone("000");
         assertThat(res).hasSize(2);
     }
 
     @Test
     void searchByGender() {
-        when(employeeRepository.findByGender(Gender.MALE)).thenReturn(List.of(john));
+        when(employeeRepository.findProjectedByGender(Gender.MALE)).thenReturn(dtos(john));
         List<EmployeeResponseDTO> res = service.searchByGender(Gender.MALE);
         assertThat(res).hasSize(1);
     }
@@ -166,7 +184,7 @@ public class EmployeeServiceTests {
     void searchByBirthDateBetween_valid() {
         LocalDate from = LocalDate.now().minusYears(31);
         LocalDate to = LocalDate.now().minusYears(24);
-        when(employeeRepository.findByBirthDateBetween(from, to)).thenReturn(List.of(john, jane));
+        when(employeeRepository.findProjectedByBirthDateBetween(from, to)).thenReturn(dtos(john, jane));
         List<EmployeeResponseDTO> res = service.searchByBirthDateBetween(from, to);
         assertThat(res).hasSize(2);
     }
@@ -180,7 +198,7 @@ public class EmployeeServiceTests {
 
     @Test
     void searchBySalaryRange_valid() {
-        when(employeeRepository.findEmployeeBySalaryBetween(4500.0, 7500.0)).thenReturn(List.of(john, jane));
+        when(employeeRepository.findProjectedBySalaryBetween(4500.0, 7500.0)).thenReturn(dtos(john, jane));
         List<EmployeeResponseDTO> res = service.searchBySalaryRange(4500.0, 7500.0);
         assertThat(res).hasSize(2);
     }
@@ -194,21 +212,28 @@ public class EmployeeServiceTests {
     void searchByHireDateRange() {
         LocalDate from = LocalDate.now().minusDays(40);
         LocalDate to = LocalDate.now();
-        when(employeeRepository.findByHireDateBetween(from, to)).thenReturn(List.of(john, jane));
+        when(employeeRepository.findProjectedByHireDateBetween(from, to)).thenReturn(dtos(john, jane));
         List<EmployeeResponseDTO> res = service.searchByHireDateRange(from, to);
         assertThat(res).hasSize(2);
     }
 
     @Test
     void filterByStatusAndDepartment() {
-        when(employeeRepository.findByStatusAndDepartmentName(Status.ACTIVE, "HR")).thenReturn(List.of(john));
+        when(employeeRepository.findProjectedByStatusAndDepartmentName(Status.ACTIVE, "HR")).thenReturn(dtos(john));
         List<EmployeeResponseDTO> res = service.filterByStatusAndDepartment(Status.ACTIVE, "HR");
         assertThat(res).hasSize(1);
     }
 
+    @Test
+    void getTop5HighestSalary_delegatesToRanking() {
+        when(salaryRankingService.topEarners(null, 5)).thenReturn(dtos(jane, john));
+        List<EmployeeResponseDTO> res = service.getTop5HighestSalary();
+        assertThat(res).extracting(EmployeeResponseDTO::fullName).containsExactly("Jane Smith", "John Doe");
+    }
+
     @Test
     void filterByDepartmentAndPosition_ignoreCase() {
-        when(employeeRepository.findByDepartmentNameAndPositionIgnoreCase("hr", "developer")).thenReturn(List.of(john));
+        when(employeeRepository.findProjectedByDepartmentNameAndPositionIgnoreCase("hr", "developer")).thenReturn(dtos(john));
         List<EmployeeResponseDTO> res = service.filterByDepartmentAndPosition("hr", "developer");
         assertThat(res).hasSize(1);
     }
@@ -217,13 +242,61 @@ public class EmployeeServiceTests {
 
     @Test
     void getEmployeesWithPagingAndSorting() {
-        Page<Employee> page = new PageImpl<>(List.of(john));
-        when(employeeRepository.findAll(any(Pageable.class))).thenReturn(page);
+        Page<EmployeeResponseDTO> page = new PageImpl<>(dtos(john));
+        when(employeeRepository.findAllProjected(any(Pageable.class))).thenReturn(page);
         Page<EmployeeResponseDTO> res = service.getEmployeesWithPagingAndSorting(0, 1, "firstName", "asc");
         assertThat(res.getTotalElements()).isEqualTo(1);
     }
 
 
+    @Test
+    void getEmployeesWithCursor_firstPageReturnsNextCursor() {
+        Slice<Employee> slice = new SliceImpl<>(List.of(john), PageRequest.of(0, 1), true);
+        when(employeeRepository.findKeysetByIdAsc(eq(0L), any(Pageable.class))).thenReturn(slice);
+
+        EmployeeCursorPageDTO res = service.getEmployeesWithCursor(null, 1, "id", "asc");
+
+        assertThat(res.content()).extracting("fullName").containsExactly("John Doe");
+        assertThat(res.hasNext()).isTrue();
+        assertThat(res.nextCursor()).isNotNull();
+    }
+
+
+    @Test
+    void getEmployeesWithCursor_nextPageContinuesAfterLastId() {
+        Slice<Employee> first = new SliceImpl<>(List.of(john), PageRequest.of(0, 1), true);
+        Slice<Employee> second = new SliceImpl<>(List.of(jane), PageRequest.of(0, 1), false);
+        when(employeeRepository.findKeysetByIdAsc(eq(0L), any(Pageable.class))).thenReturn(first);
+        when(employeeRepository.findKeysetByIdAsc(eq(1L), any(Pageable.class))).thenReturn(second);
+
+        String cursor = service.getEmployeesWithCursor(null, 1, "id", "asc").nextCursor();
+        EmployeeCursorPageDTO res = service.getEmployeesWithCursor(cursor, 1, "id", "asc");
+
+        assertThat(res.content()).extracting("fullName").containsExactly("Jane Smith");
+        assertThat(res.hasNext()).isFalse();
+        assertThat(res.nextCursor()).isNull();
+    }
+
+
+    @Test
+    void getEmployeesWithCursor_rejectsUnindexedSortField() {
+        assertThatThrownBy(() -> service.getEmployeesWithCursor(null, 10, "firstName", "asc"))
+                .isInstanceOf(BusinessValidationException.class);
+    }
+
+
+    @Test
+    void getEmployeesWithCursor_rejectsCursorForOtherDirection() {
+        Slice<Employee> slice = new SliceImpl<>(List.of(john), PageRequest.of(0, 1), true);
+        when(employeeRepository.findKeysetByIdAsc(eq(0L), any(Pageable.class))).thenReturn(slice);
+
+        String cursor = service.getEmployeesWithCursor(null, 1, "id", "asc").nextCursor();
+
+        assertThatThrownBy(() -> service.getEmployeesWithCursor(cursor, 1, "id", "desc"))
+                .isInstanceOf(BusinessValidationException.class);
+    }
+
+
 
 
     @Test
@@ -266,6 +339,11 @@ public class EmployeeServiceTests {
     }
 
 
+    private List<EmployeeResponseDTO> dtos(Employee... employees) {
+        return Arrays.stream(employees).map(EmployeeMapper::toResponse).toList();
+    }
+
+
     private EmployeeRequestDTO buildDto(String fn, String ln, Gender g, LocalDate bd, LocalDate hd, Status st, Long deptId) {
         return new EmployeeRequestDTO(fn, ln, "000", g, bd, hd, "Developer", deptId, null, st
         );
@@ -0,0 +1,120 @@
+package com.muhammadali.employee_management.service;
+
+import com.muhammadali.employee_management.dto.EmployeeSuggestionDTO;
+import com.muhammadali.employee_management.dto.SuggestIndexStatsDTO;
+import com.muhammadali.employee_management.entity.Department;
+import com.muhammadali.employee_management.entity.Employee;
+import com.muhammadali.employee_management.repository.EmployeeRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeSuggestIndexTests {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @InjectMocks
+    private EmployeeSuggestIndex index;
+
+    private Employee john, jane, bob;
+
+    @BeforeEach
+    void setUp() {
+        Department it = Department.builder().id(1L).name("IT").build();
+        john = Employee.builder().id(1L).firstName("John").lastName("Doe")
+                .phone("+998 90 123 4567").position("Backend Developer").department(it).build();
+        jane = Employee.builder().id(2L).firstName("Jane").lastName("Johnson")
+                .phone("+998 91 765 4321").position("Analyst").department(it).build();
+        bob = Employee.builder().id(3L).firstName("Bob").lastName("Smith")
+                .phone("+998 93 000 1111").position("Developer").department(it).build();
+    }
+
+
+    @Test
+    void rebuild_indexesNamesPositionsAndPhoneDigits() {
+        when(employeeRepository.streamAllForExport()).thenReturn(Stream.of(john, jane, bob));
+        index.rebuild();
+
+        assertThat(index.suggest("jo", 10)).extracting(EmployeeSuggestionDTO::id).containsExactly(1L, 2L);
+        assertThat(index.suggest("john do", 10)).extracting(EmployeeSuggestionDTO::id).containsExactly(1L);
+        assertThat(index.suggest("develop", 10)).extracting(EmployeeSuggestionDTO::id).containsExactly(1L, 3L);
+        assertThat(index.suggest("4567", 10)).extracting(EmployeeSuggestionDTO::id).containsExactly(1L);
+        assertThat(index.suggest("jo", 1)).hasSize(1);
+    }
+
+
+    @Test
+    void rebuild_keepsChangesCommittedWhileItReads() {
+        index.index(john);
+        // Saves landing mid-stream: bob added, jane (already read) deleted. Neither waits for the rebuild.
+        Stream<Employee> rows = Stream.of(john, jane).peek(employee -> {
+            if (employee == jane) {
+                index.index(bob);
+                index.remove(2L);
+                assertThat(index.suggest("bob", 10)).hasSize(1);
+            }
+        });
+        when(employeeRepository.streamAllForExport()).thenReturn(rows);
+
+        index.rebuild();
+
+        assertThat(index.suggest("jane", 10)).isEmpty();
+        assertThat(index.suggest("bob", 10)).extracting(EmployeeSuggestionDTO::id).containsExactly(3L);
+        assertThat(index.suggest("john", 10)).extracting(EmployeeSuggestionDTO::id).containsExactly(1L);
+    }
+
+
+    @Test
+    void index_updateReplacesOldKeysAndRemoveDropsEntry() {
+        index.index(john);
+        index.index(bob);
+        assertThat(index.suggest("john", 10)).hasSize(1);
+
+        john.setFirstName("Jack");
+        index.index(john);
+        assertThat(index.suggest("john", 10)).isEmpty();
+        assertThat(index.suggest("jack", 10)).extracting(EmployeeSuggestionDTO::fullName).containsExactly("Jack Doe");
+
+        index.remove(1L);
+        assertThat(index.suggest("jack", 10)).isEmpty();
+        assertThat(index.suggest("bob", 10)).hasSize(1);
+    }
+
+
+    @Test
+    void suggest_ignoresTooShortOrBlankQueries() {
+        index.index(john);
+        assertThat(index.suggest("j", 10)).isEmpty();
+        assertThat(index.suggest("  ", 10)).isEmpty();
+        assertThat(index.suggest(null, 10)).isEmpty();
+    }
+
+
+    @Test
+    void stats_reportsDocumentsAndMemory() {
+        index.index(john);
+        index.index(jane);
+
+        SuggestIndexStatsDTO stats = index.stats();
+
+        assertThat(stats.documents()).isEqualTo(2);
+        assertThat(stats.keys()).isPositive();
+        assertThat(stats.postings()).isGreaterThanOrEqualTo(stats.keys());
+        assertThat(stats.estimatedBytes()).isPositive();
+    }
+
+}
@@ -0,0 +1,204 @@
+package com.muhammadali.employee_management.service;
+
+import com.muhammadali.employee_management.dto.FileDownloadDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class FileDownloadWriterTests {
+
+    private static final String CONTENT = "0123456789abcdefghij";
+
+    private static final long LAST_MODIFIED = Instant.parse("2024-03-01T12:00:00Z").toEpochMilli();
+
+    private static final String ETAG = "\"1-14-18df9e2b200\"";
+
+    @TempDir
+    Path tempDir;
+
+    private FileDownloadWriter writer;
+
+    private FileDownloadDTO file;
+
+    private MockHttpServletRequest request;
+
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        writer = new FileDownloadWriter(DataSize.ofBytes(16));
+        Path path = Files.writeString(tempDir.resolve("scan.pdf"), CONTENT);
+        file = new FileDownloadDTO(FileDownloadDTO.Content.of(path), "scan.pdf", "application/pdf", CONTENT.length(), LAST_MODIFIED, ETAG);
+        request = new MockHttpServletRequest("GET", "/download");
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    void wholeFileWithValidators() throws IOException {
+        writer.write(file, request, response);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo(CONTENT);
+        assertThat(response.getContentLengthLong()).isEqualTo(CONTENT.length());
+        assertThat(response.getContentType()).isEqualTo("application/pdf");
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(ETAG);
+        assertThat(response.getDateHeader(HttpHeaders.LAST_MODIFIED)).isEqualTo(LAST_MODIFIED);
+        assertThat(response.getHeader(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+    }
+
+    @Test
+    void ifNoneMatch_notModified() throws IOException {
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, ETAG);
+
+        writer.write(file, request, response);
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void ifModifiedSince_notModified() throws IOException {
+        request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, httpDate(LAST_MODIFIED));
+
+        writer.write(file, request, response);
+
+        assertThat(response.getStatus()).isEqualTo(304);
+    }
+
+    @Test
+    void singleRange_partialContent() throws IOException {
+        request.addHeader(HttpHeaders.RANGE, "bytes=10-14");
+
+        writer.write(file, request, response);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 10-14/20");
+        assertThat(response.getContentAsString()).isEqualTo("abcde");
+        assertThat(response.getContentLengthLong()).isEqualTo(5);
+    }
+
+    @Test
+    void suffixAndOpenEndedRanges() throws IOException {
+        request.addHeader(HttpHeaders.RANGE, "bytes=-3");
+        writer.write(file, request, response);
+        assertThat(response.getContentAsString()).isEqualTo("hij");
+
+        MockHttpServletRequest openEnded = new MockHttpServletRequest("GET", "/download");
+        openEnded.addHeader(HttpHeaders.RANGE, "bytes=15-");
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        writer.write(file, openEnded, second);
+        assertThat(second.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 15-19/20");
+        assertThat(second.getContentAsString()).isEqualTo("fghij");
+    }
+
+    @Test
+    void rangePastEnd_notSatisfiable() throws IOException {
+        request.addHeader(HttpHeaders.RANGE, "bytes=20-");
+
+        writer.write(file, request, response);
+
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */20");
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void staleIfRange_sendsWholeFile() throws IOException {
+        request.addHeader(HttpHeaders.RANGE, "bytes=10-14");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"an-older-version\"");
+
+        writer.write(file, request, response);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void matchingIfRange_byEtagOrDate_sendsRange() throws IOException {
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-1");
+        request.addHeader(HttpHeaders.IF_RANGE, ETAG);
+        writer.write(file, request, response);
+        assertThat(response.getStatus()).isEqualTo(206);
+
+        MockHttpServletRequest byDate = new MockHttpServletRequest("GET", "/download");
+        byDate.addHeader(HttpHeaders.RANGE, "bytes=0-1");
+        byDate.addHeader(HttpHeaders.IF_RANGE, httpDate(LAST_MODIFIED));
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        writer.write(file, byDate, second);
+        assertThat(second.getStatus()).isEqualTo(206);
+    }
+
+    @Test
+    void severalRanges_sendWholeFile() throws IOException {
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-1,5-6");
+
+        writer.write(file, request, response);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void tomcatSendfile_handsBodyToConnector() throws IOException {
+        request.setAttribute(FileDownloadWriter.SENDFILE_SUPPORT, Boolean.TRUE);
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-");
+
+        writer.write(file, request, response);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(request.getAttribute(FileDownloadWriter.SENDFILE_FILENAME))
+                .isEqualTo(tempDir.resolve("scan.pdf").toAbsolutePath().toString());
+        assertThat(request.getAttribute(FileDownloadWriter.SENDFILE_START)).isEqualTo(2L);
+        assertThat(request.getAttribute(FileDownloadWriter.SENDFILE_END)).isEqualTo(20L);
+    }
+
+    @Test
+    void remoteContent_streamsRequestedRange() throws IOException {
+        request.setAttribute(FileDownloadWriter.SENDFILE_SUPPORT, Boolean.TRUE);
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-");
+        long[] opened = new long[2];
+        FileDownloadDTO remote = new FileDownloadDTO((start, length) -> {
+            opened[0] = start;
+            opened[1] = length;
+            return new ByteArrayInputStream(CONTENT.substring((int) start).getBytes(StandardCharsets.UTF_8));
+        }, "scan.pdf", "application/pdf", CONTENT.length(), LAST_MODIFIED, ETAG);
+
+        writer.write(remote, request, response);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsString()).isEqualTo(CONTENT.substring(2));
+        assertThat(opened).containsExactly(2L, 18L);
+        assertThat(request.getAttribute(FileDownloadWriter.SENDFILE_FILENAME)).isNull();
+    }
+
+    @Test
+    void parseRange_rejectsMalformedHeaders() {
+        assertThat(FileDownloadWriter.parseRange("bytes=5-2", 20)).isNull();
+        assertThat(FileDownloadWriter.parseRange("bytes=x-2", 20)).isNull();
+        assertThat(FileDownloadWriter.parseRange("items=0-2", 20)).isNull();
+        assertThat(FileDownloadWriter.parseRange("bytes=-0", 20)).isEqualTo(FileDownloadWriter.ByteRange.UNSATISFIABLE);
+        assertThat(FileDownloadWriter.parseRange("bytes=0-99", 20)).isEqualTo(new FileDownloadWriter.ByteRange(0, 19));
+    }
+
+    private static String httpDate(long millis) {
+        return DateTimeFormatter.ofPattern("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.US)
+                .format(Instant.ofEpochMilli(millis).atZone(ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,154 @@
+package com.muhammadali.employee_management.service;
+
+import com.muhammadali.employee_management.dto.PayslipDTO;
+import com.muhammadali.employee_management.exceptions.ResourceNotFoundException;
+import com.muhammadali.employee_management.repository.DepartmentRepository;
+import com.muhammadali.employee_management.repository.SalaryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PayslipPdfServiceTests {
+
+    private static final YearMonth MONTH = YearMonth.of(2024, 1);
+
+    @Mock
+    private SalaryRepository salaryRepository;
+
+    @Mock
+    private DepartmentRepository departmentRepository;
+
+    private PayslipPdfService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new PayslipPdfService(salaryRepository, departmentRepository, new PayslipRenderer(), 4, 8, 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.destroy();
+    }
+
+    @Test
+    void writePayslipsZip_oneEntryPerPaymentInCursorOrder() throws IOException {
+        when(salaryRepository.streamPayslips(Date.valueOf(LocalDate.of(2024, 1, 1)),
+                Date.valueOf(LocalDate.of(2024, 2, 1)), null))
+                .thenReturn(LongStream.rangeClosed(1, 10).mapToObj(id -> payslip(id, id <= 4 ? 1L : 2L)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.writePayslipsZip(MONTH, null, out);
+
+        assertThat(entries(out.toByteArray()))
+                .hasSize(10)
+                .first().isEqualTo("payslip-101-1.pdf");
+        assertThat(entries(out.toByteArray())).last().isEqualTo("payslip-110-10.pdf");
+    }
+
+    @Test
+    void writePayrollZip_onePdfPerDepartment() throws IOException {
+        when(salaryRepository.streamPayslips(any(), any(), isNull()))
+                .thenReturn(LongStream.rangeClosed(1, 7).mapToObj(id -> payslip(id, id <= 4 ? 1L : 2L)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.writePayrollZip(MONTH, out);
+
+        assertThat(entries(out.toByteArray())).containsExactly("payroll-1-2024-01.pdf", "payroll-2-2024-01.pdf");
+    }
+
+    @Test
+    void writePayslipsZip_clientGoneStopsAndClosesCursor() {
+        List<Boolean> closed = new ArrayList<>();
+        Stream<PayslipDTO> cursor = LongStream.rangeClosed(1, 1000).mapToObj(id -> payslip(id, 1L))
+                .onClose(() -> closed.add(true));
+        when(salaryRepository.streamPayslips(any(), any(), isNull())).thenReturn(cursor);
+
+        OutputStream broken = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        assertThatThrownBy(() -> service.writePayslipsZip(MONTH, null, broken)).isInstanceOf(IOException.class);
+        assertThat(closed).containsExactly(true);
+    }
+
+    @Test
+    void getPayslip_notFound() {
+        when(salaryRepository.findPayslip(9L)).thenReturn(Optional.empty());
+        assertThatThrownBy(() -> service.getPayslip(9L)).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    @Tag("benchmark")
+    void benchmark_tenThousandPayslips() throws IOException {
+        service.destroy();
+        service = new PayslipPdfService(salaryRepository, departmentRepository, new PayslipRenderer(), 0, 256, 0);
+        when(salaryRepository.streamPayslips(any(), any(), isNull()))
+                .thenReturn(LongStream.rangeClosed(1, 10_000).mapToObj(id -> payslip(id, id / 500)));
+        CountingStream out = new CountingStream();
+
+        long start = System.nanoTime();
+        service.writePayslipsZip(MONTH, null, out);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.printf("payslips x10000: %d ms, %d KB zip%n", millis, out.count / 1024);
+        assertThat(out.count).isPositive();
+    }
+
+    private static PayslipDTO payslip(long id, long departmentId) {
+        return new PayslipDTO(id, 100 + id, "Employee", String.valueOf(id), "Developer", departmentId,
+                "Dept " + departmentId, 5000.0, 100.0, "USD", Date.valueOf(LocalDate.of(2024, 1, 31)));
+    }
+
+    private static List<String> entries(byte[] zip) throws IOException {
+        List<String> names = new ArrayList<>();
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            ZipEntry entry;
+            while ((entry = in.getNextEntry()) != null) {
+                byte[] pdf = in.readAllBytes();
+                assertThat(new String(pdf, 0, 5)).isEqualTo("%PDF-");
+                names.add(entry.getName());
+            }
+        }
+        return names;
+    }
+
+    private static final class CountingStream extends OutputStream {
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.muhammadali.employee_management.service;
+
+import com.muhammadali.employee_management.dto.PayslipDTO;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PayslipRendererTests {
+
+    private final PayslipRenderer renderer = new PayslipRenderer();
+
+    @Test
+    void renderPayslip_writesPdfWithoutClosingStream() throws IOException {
+        TrackingStream out = new TrackingStream();
+
+        renderer.renderPayslip(payslip(1L, "USD"), out);
+
+        assertThat(new String(out.toByteArray(), 0, 5, StandardCharsets.US_ASCII)).isEqualTo("%PDF-");
+        assertThat(out.closed).isFalse();
+    }
+
+    @Test
+    void renderPayroll_mixedCurrencies() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        renderer.renderPayroll("IT", YearMonth.of(2024, 1),
+                List.of(payslip(1L, "USD"), payslip(2L, "EUR"), payslip(3L, null)), out);
+
+        assertThat(new String(out.toByteArray(), 0, 5, StandardCharsets.US_ASCII)).isEqualTo("%PDF-");
+    }
+
+    @Test
+    void renderPayslip_concurrentRendersShareTemplates() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<byte[]>> results = new ArrayList<>();
+            for (long i = 0; i < 200; i++) {
+                long id = i;
+                results.add(pool.submit(() -> {
+                    ByteArrayOutputStream out = new ByteArrayOutputStream();
+                    renderer.renderPayslip(payslip(id, "USD"), out);
+                    return out.toByteArray();
+                }));
+            }
+            for (Future<byte[]> result : results) {
+                byte[] pdf = result.get();
+                assertThat(new String(pdf, pdf.length - 6, 5, StandardCharsets.US_ASCII)).isEqualTo("%%EOF");
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    static PayslipDTO payslip(long id, String currency) {
+        return new PayslipDTO(id, 100 + id, "John", "Doe", "Developer", 1L, "IT",
+                5000.0, id % 2 == 0 ? 250.0 : null, currency, Date.valueOf(LocalDate.of(2024, 1, 31)));
+    }
+
+    private static final class TrackingStream extends ByteArrayOutputStream {
+        boolean closed;
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
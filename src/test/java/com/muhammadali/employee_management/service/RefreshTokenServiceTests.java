@@ -0,0 +1,104 @@
+package com.muhammadali.employee_management.service;
+
+import com.muhammadali.employee_management.entity.RefreshToken;
+import com.muhammadali.employee_management.entity.Users;
+import com.muhammadali.employee_management.exceptions.AuthenticationFailedException;
+import com.muhammadali.employee_management.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RefreshTokenServiceTests {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @InjectMocks
+    private RefreshTokenService service;
+
+
+    @Test
+    void save_storesDigestNotToken() {
+        when(refreshTokenRepository.save(any(RefreshToken.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        service.save(Users.builder().id(1L).build(), "raw-token");
+
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertThat(saved.getValue().getTokenHash())
+                .hasSize(64)
+                .isEqualTo(RefreshTokenService.hash("raw-token"))
+                .doesNotContain("raw-token");
+        assertThat(saved.getValue().getExpireDate()).isAfter(new Date());
+    }
+
+
+    @Test
+    void verify_returnsLiveToken() {
+        RefreshToken token = token(new Date(System.currentTimeMillis() + 60_000));
+        when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash("raw-token")))
+                .thenReturn(Optional.of(token));
+
+        assertThat(service.verify("raw-token")).isSameAs(token);
+    }
+
+
+    @Test
+    void verify_deletesAndRejectsExpiredToken() {
+        RefreshToken token = token(new Date(System.currentTimeMillis() - 1));
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(token));
+
+        assertThatThrownBy(() -> service.verify("raw-token"))
+                .isInstanceOf(AuthenticationFailedException.class)
+                .hasMessage("Refresh token expired");
+        verify(refreshTokenRepository).delete(token);
+    }
+
+
+    @Test
+    void verify_unknownToken() {
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.verify("raw-token"))
+                .isInstanceOf(AuthenticationFailedException.class)
+                .hasMessage("Refresh token not found");
+    }
+
+
+    @Test
+    void delete_byDigest() {
+        service.delete("raw-token");
+        verify(refreshTokenRepository).deleteByTokenHash(RefreshTokenService.hash("raw-token"));
+    }
+
+
+    @Test
+    void purgeExpired_loopsUntilShortChunk() {
+        ReflectionTestUtils.setField(service, "purgeBatchSize", 2);
+        when(refreshTokenRepository.deleteExpiredBatch(any(Date.class), eq(2))).thenReturn(2, 2, 1);
+
+        assertThat(service.purgeExpired()).isEqualTo(5);
+        verify(refreshTokenRepository, times(3)).deleteExpiredBatch(any(Date.class), eq(2));
+    }
+
+
+    private static RefreshToken token(Date expireDate) {
+        RefreshToken token = new RefreshToken();
+        token.setId(1L);
+        token.setTokenHash(RefreshTokenService.hash("raw-token"));
+        token.setExpireDate(expireDate);
+        return token;
+    }
+}
@@ -0,0 +1,71 @@
+package com.muhammadali.employee_management.service;
+
+import com.muhammadali.employee_management.entity.RefreshToken;
+import com.muhammadali.employee_management.exceptions.AuthenticationFailedException;
+import com.muhammadali.employee_management.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.*;
+
+// verify() runs in its own transaction here, so whether the expired token's delete survives
+// the rejection is decided by a real commit or rollback.
+@DataJpaTest
+@Testcontainers
+@Import(RefreshTokenService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class RefreshTokenServiceTransactionTests {
+
+    @Container
+    static final PostgreSQLContainer<?> pg =
+            new PostgreSQLContainer<>("postgres:15-alpine")
+                    .withDatabaseName("employee_management")
+                    .withUsername("mohirdev")
+                    .withPassword("123");
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry r) {
+        r.add("spring.datasource.url", pg::getJdbcUrl);
+        r.add("spring.datasource.email", pg::getUsername);
+        r.add("spring.datasource.password", pg::getPassword);
+    }
+
+    @Autowired
+    private RefreshTokenService service;
+
+    @Autowired
+    private RefreshTokenRepository repository;
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("verify – an expired token is rejected and its row is gone afterwards")
+    void verify_expiredTokenIsDeleted() {
+        RefreshToken token = new RefreshToken();
+        token.setTokenHash(RefreshTokenService.hash("raw-token"));
+        token.setExpireDate(new Date(System.currentTimeMillis() - 1_000));
+        repository.save(token);
+
+        assertThatThrownBy(() -> service.verify("raw-token"))
+                .isInstanceOf(AuthenticationFailedException.class)
+                .hasMessageContaining("expired");
+
+        assertThat(repository.findByTokenHash(RefreshTokenService.hash("raw-token"))).isEmpty();
+    }
+}
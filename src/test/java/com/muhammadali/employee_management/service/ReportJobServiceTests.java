@@ -0,0 +1,203 @@
+package com.muhammadali.employee_management.service;
+
+import com.muhammadali.employee_management.dto.ReportJobRequestDTO;
+import com.muhammadali.employee_management.dto.ReportJobResponseDTO;
+import com.muhammadali.employee_management.entity.ReportJob;
+import com.muhammadali.employee_management.enums.ExportFormat;
+import com.muhammadali.employee_management.enums.ReportJobStatus;
+import com.muhammadali.employee_management.enums.ReportType;
+import com.muhammadali.employee_management.exceptions.BusinessValidationException;
+import com.muhammadali.employee_management.exceptions.ResourceNotFoundException;
+import com.muhammadali.employee_management.exceptions.TooManyRequestsException;
+import com.muhammadali.employee_management.repository.DepartmentRepository;
+import com.muhammadali.employee_management.repository.ReportJobRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+// The claim query relies on FOR UPDATE SKIP LOCKED, so this runs against the container.
+@DataJpaTest
+@Testcontainers
+public class ReportJobServiceTests {
+
+    @Container
+    static final PostgreSQLContainer<?> pg =
+            new PostgreSQLContainer<>("postgres:15-alpine")
+                    .withDatabaseName("employee_management")
+                    .withUsername("mohirdev")
+                    .withPassword("123");
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry r) {
+        r.add("spring.datasource.url", pg::getJdbcUrl);
+        r.add("spring.datasource.email", pg::getUsername);
+        r.add("spring.datasource.password", pg::getPassword);
+    }
+
+    private static final Instant NOW = Instant.parse("2031-05-20T10:00:00Z");
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private ReportJobRepository reportJobRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Test
+    @DisplayName("submit – queues with the type's priority and checks per-type parameters")
+    void submit_queuesWithTypePriority() {
+        ReportJobResponseDTO job = service(NOW).submit(
+                new ReportJobRequestDTO(ReportType.EMPLOYEE_EXPORT, null, null, null, ExportFormat.CSV), "alice");
+
+        assertThat(job.status()).isEqualTo(ReportJobStatus.QUEUED);
+        assertThat(job.priority()).isEqualTo(ReportType.EMPLOYEE_EXPORT.getPriority());
+        assertThat(job.fileName()).isEqualTo("employees.csv");
+
+        assertThatThrownBy(() -> service(NOW).submit(
+                new ReportJobRequestDTO(ReportType.PAYROLL_ZIP, null, null, null, null), "alice"))
+                .isInstanceOf(BusinessValidationException.class)
+                .hasMessageContaining("month");
+        assertThatThrownBy(() -> service(NOW).submit(
+                new ReportJobRequestDTO(ReportType.PAYSLIPS_ZIP, YearMonth.of(2031, 4), 999_999L, null, null), "alice"))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("submit – rejects users with too many jobs queued or running")
+    void submit_limitsActiveJobsPerUser() {
+        ReportJobService service = new ReportJobService(reportJobRepository, departmentRepository, 1, 2,
+                Duration.ofHours(24), Duration.ofMinutes(2), 3, Duration.ofDays(7), clock(NOW));
+        service.submit(stats(2030), "alice");
+        service.submit(stats(2031), "alice");
+
+        assertThatThrownBy(() -> service.submit(stats(2029), "alice"))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThat(service.submit(stats(2029), "bob").status()).isEqualTo(ReportJobStatus.QUEUED);
+    }
+
+    @Test
+    @DisplayName("claimNext – highest priority first, skipping users at their running limit")
+    void claimNext_priorityWithinPerUserLimit() {
+        ReportJobService service = service(NOW);
+        UUID payroll = service.submit(new ReportJobRequestDTO(ReportType.PAYROLL_ZIP, YearMonth.of(2031, 4), null, null, null), "alice").id();
+        UUID aliceStats = service(NOW.plusSeconds(1)).submit(stats(2031), "alice").id();
+        UUID bobExport = service(NOW.plusSeconds(2)).submit(
+                new ReportJobRequestDTO(ReportType.EMPLOYEE_EXPORT, null, null, null, null), "bob").id();
+
+        assertThat(service.claimNext("w1")).map(ReportJob::getId).contains(aliceStats);
+        assertThat(service.claimNext("w1")).map(ReportJob::getId).contains(bobExport);
+        // alice's payroll waits until her stats job is done
+        assertThat(service.claimNext("w1")).isEmpty();
+
+        service.succeed(aliceStats, 1, aliceStats + "-1.csv", 10);
+        assertThat(service.claimNext("w1")).map(ReportJob::getId).contains(payroll);
+    }
+
+    @Test
+    @DisplayName("heartbeat – only the current attempt of a running job is accepted")
+    void heartbeat_fencedByAttemptAndStatus() {
+        ReportJobService service = service(NOW);
+        UUID id = service.submit(stats(2031), "alice").id();
+        ReportJob claimed = service.claimNext("w1").orElseThrow();
+
+        assertThat(service.heartbeat(id, claimed.getAttempts(), 1024)).isTrue();
+        assertThat(service.heartbeat(id, claimed.getAttempts() - 1, 2048)).isFalse();
+
+        em.clear();
+        service.cancel(id, "alice", false);
+        assertThat(service.heartbeat(id, claimed.getAttempts(), 4096)).isFalse();
+        assertThat(service.succeed(id, claimed.getAttempts(), "late.csv", 10)).isFalse();
+
+        em.clear();
+        ReportJob job = reportJobRepository.findById(id).orElseThrow();
+        assertThat(job.getStatus()).isEqualTo(ReportJobStatus.CANCELLED);
+        assertThat(job.getProgressBytes()).isEqualTo(1024);
+    }
+
+    @Test
+    @DisplayName("requeueStale – re-queues jobs without a heartbeat and fails them after the last attempt")
+    void requeueStale_requeuesThenFails() {
+        UUID id = service(NOW).submit(stats(2031), "alice").id();
+        service(NOW).claimNext("w1");
+
+        assertThat(service(NOW.plusSeconds(60)).requeueStale()).isZero();
+        assertThat(service(NOW.plusSeconds(180)).requeueStale()).isEqualTo(1);
+        em.clear();
+        assertThat(reportJobRepository.findById(id).orElseThrow().getStatus()).isEqualTo(ReportJobStatus.QUEUED);
+
+        for (String worker : new String[]{"w2", "w3"}) {
+            em.clear();
+            service(NOW).claimNext(worker);
+            service(NOW.plusSeconds(180)).requeueStale();
+        }
+
+        em.clear();
+        ReportJob job = reportJobRepository.findById(id).orElseThrow();
+        assertThat(job.getAttempts()).isEqualTo(3);
+        assertThat(job.getStatus()).isEqualTo(ReportJobStatus.FAILED);
+    }
+
+    @Test
+    @DisplayName("expireFinished – expires results past their TTL and hands back the files")
+    void expireFinished_returnsResultFiles() {
+        UUID id = service(NOW).submit(stats(2031), "alice").id();
+        ReportJob claimed = service(NOW).claimNext("w1").orElseThrow();
+        service(NOW).succeed(id, claimed.getAttempts(), id + "-1.csv", 10);
+        em.clear();
+
+        assertThat(service(NOW.plus(Duration.ofHours(23))).expireFinished()).isEmpty();
+        assertThat(service(NOW.plus(Duration.ofHours(25))).expireFinished()).containsExactly(id + "-1.csv");
+
+        em.clear();
+        assertThat(reportJobRepository.findById(id).orElseThrow().getStatus()).isEqualTo(ReportJobStatus.EXPIRED);
+        assertThatThrownBy(() -> service(NOW).getResult(id, "alice", false))
+                .isInstanceOf(BusinessValidationException.class)
+                .hasMessageContaining("expired");
+
+        service(NOW.plus(Duration.ofDays(9))).expireFinished();
+        em.clear();
+        assertThat(reportJobRepository.findById(id)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("get – other users' jobs are not found, except for admins")
+    void get_onlyOwnerOrAdmin() {
+        UUID id = service(NOW).submit(stats(2031), "alice").id();
+
+        assertThat(service(NOW).get(id, "alice", false).id()).isEqualTo(id);
+        assertThat(service(NOW).get(id, "root", true).id()).isEqualTo(id);
+        assertThatThrownBy(() -> service(NOW).get(id, "bob", false))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private ReportJobService service(Instant now) {
+        return new ReportJobService(reportJobRepository, departmentRepository, 1, 20,
+                Duration.ofHours(24), Duration.ofMinutes(2), 3, Duration.ofDays(7), clock(now));
+    }
+
+    private static Clock clock(Instant now) {
+        return Clock.fixed(now, ZoneOffset.UTC);
+    }
+
+    private static ReportJobRequestDTO stats(int year) {
+        return new ReportJobRequestDTO(ReportType.DEPARTMENT_SALARY_STATS, null, null, year, null);
+    }
+}
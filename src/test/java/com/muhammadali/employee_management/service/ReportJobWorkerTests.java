@@ -0,0 +1,176 @@
+package com.muhammadali.employee_management.service;
+
+import com.muhammadali.employee_management.entity.ReportJob;
+import com.muhammadali.employee_management.enums.ExportFormat;
+import com.muhammadali.employee_management.enums.ReportJobStatus;
+import com.muhammadali.employee_management.enums.ReportType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReportJobWorkerTests {
+
+    @Mock
+    private ReportJobService reportJobService;
+
+    @Mock
+    private PayslipPdfService payslipPdfService;
+
+    @Mock
+    private EmployeeExportService employeeExportService;
+
+    @Mock
+    private SalaryRollupService salaryRollupService;
+
+    @TempDir
+    Path spoolDir;
+
+    private ReportJobWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        worker = new ReportJobWorker(reportJobService, new ReportSpool(spoolDir.toString()),
+                payslipPdfService, employeeExportService, salaryRollupService, 1, Duration.ofHours(24),
+                Duration.ofSeconds(2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        worker.destroy();
+    }
+
+    @Test
+    void dispatch_runsClaimedJobAndSpoolsResult() throws IOException {
+        ReportJob job = exportJob();
+        when(reportJobService.claimNext(anyString())).thenReturn(Optional.of(job), Optional.empty());
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1).write("id,fullName\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(employeeExportService).export(eq(ExportFormat.CSV), any());
+        when(reportJobService.succeed(any(), anyInt(), anyString(), anyLong())).thenReturn(true);
+
+        worker.dispatch();
+
+        String resultName = job.getId() + "-1.csv";
+        verify(reportJobService, timeout(5000)).succeed(job.getId(), 1, resultName, 12L);
+        assertThat(spoolDir.resolve(resultName)).hasContent("id,fullName\n");
+        assertThat(spoolDir.resolve(job.getId() + "-1.part")).doesNotExist();
+    }
+
+    @Test
+    void dispatch_claimsNoMoreThanTheWorkerCount() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(reportJobService.claimNext(anyString()))
+                .thenReturn(Optional.of(exportJob()), Optional.of(exportJob()), Optional.empty());
+        doAnswer(invocation -> {
+            release.await();
+            return null;
+        }).when(employeeExportService).export(any(), any());
+
+        worker.dispatch();
+
+        verify(reportJobService, times(1)).claimNext(anyString());
+        release.countDown();
+    }
+
+    @Test
+    void failedReport_marksJobFailedAndRemovesPartialFile() throws IOException {
+        ReportJob job = exportJob();
+        when(reportJobService.claimNext(anyString())).thenReturn(Optional.of(job), Optional.empty());
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1).write(new byte[100_000]);
+            throw new IOException("disk full");
+        }).when(employeeExportService).export(any(), any());
+
+        worker.dispatch();
+
+        verify(reportJobService, timeout(5000)).fail(job.getId(), 1, "disk full");
+        verify(reportJobService, never()).succeed(any(), anyInt(), anyString(), anyLong());
+        assertThat(spoolDir.resolve(job.getId() + "-1.part")).doesNotExist();
+    }
+
+    @Test
+    void tick_stopsJobThatIsNoLongerOurs() throws IOException {
+        ReportJob job = exportJob();
+        CountDownLatch started = new CountDownLatch(1);
+        when(reportJobService.claimNext(anyString())).thenReturn(Optional.of(job), Optional.empty());
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write(new byte[100_000]);
+            started.countDown();
+            // Keeps writing until the cancellation check in the progress stream stops it.
+            while (true) {
+                out.write(new byte[100_000]);
+                Thread.sleep(10);
+            }
+        }).when(employeeExportService).export(any(), any());
+        when(reportJobService.heartbeat(eq(job.getId()), eq(1), anyLong())).thenReturn(false);
+
+        worker.dispatch();
+        assertThatCode(() -> started.await()).doesNotThrowAnyException();
+        worker.tick();
+
+        verify(reportJobService, after(500).never()).fail(any(), anyInt(), any());
+        verify(reportJobService, never()).succeed(any(), anyInt(), anyString(), anyLong());
+        assertThat(spoolDir.resolve(job.getId() + "-1.part")).doesNotExist();
+    }
+
+    @Test
+    void start_ticksOnItsOwnThread() {
+        ReportJobWorker fast = new ReportJobWorker(reportJobService, new ReportSpool(spoolDir.toString()),
+                payslipPdfService, employeeExportService, salaryRollupService, 1, Duration.ofHours(24),
+                Duration.ofMillis(20));
+        doThrow(new IllegalStateException("database down")).doNothing().when(reportJobService).requeueStale();
+        try {
+            fast.start();
+
+            // The failed first tick does not stop later ones.
+            verify(reportJobService, timeout(5000).atLeast(2)).requeueStale();
+        } finally {
+            fast.destroy();
+        }
+    }
+
+    @Test
+    void cleanup_deletesExpiredResults() throws IOException {
+        Files.writeString(spoolDir.resolve("old-1.zip"), "zip");
+        when(reportJobService.expireFinished()).thenReturn(List.of("old-1.zip"));
+
+        worker.cleanup();
+
+        assertThat(spoolDir.resolve("old-1.zip")).doesNotExist();
+    }
+
+    private static ReportJob exportJob() {
+        return ReportJob.builder()
+                .id(UUID.randomUUID())
+                .type(ReportType.EMPLOYEE_EXPORT)
+                .status(ReportJobStatus.RUNNING)
+                .owner("alice")
+                .exportFormat(ExportFormat.CSV)
+                .attempts(1)
+                .fileName("employees.csv")
+                .contentType("text/csv")
+                .build();
+    }
+}
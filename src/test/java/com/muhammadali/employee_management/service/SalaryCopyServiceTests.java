@@ -0,0 +1,222 @@
+package com.muhammadali.employee_management.service;
+
+import com.muhammadali.employee_management.dto.ImportRowErrorDTO;
+import com.muhammadali.employee_management.dto.SalaryDepartmentMonthlyStatDTO;
+import com.muhammadali.employee_management.dto.SalaryLoadResultDTO;
+import com.muhammadali.employee_management.dto.SalaryRequestDTO;
+import com.muhammadali.employee_management.entity.Department;
+import com.muhammadali.employee_management.entity.Employee;
+import com.muhammadali.employee_management.entity.Salary;
+import com.muhammadali.employee_management.enums.Status;
+import com.muhammadali.employee_management.exceptions.BusinessValidationException;
+import com.muhammadali.employee_management.repository.SalaryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+// COPY only exists on a real PostgreSQL connection, so unlike the other service tests
+// this one runs against the container instead of mocks.
+@DataJpaTest
+@Testcontainers
+@Import({SalaryCopyService.class, SalaryService.class, DepartmentSalarySummaryCache.class,
+        SalaryRollupService.class, SalaryPartitionService.class})
+public class SalaryCopyServiceTests {
+
+    @Container
+    static final PostgreSQLContainer<?> pg =
+            new PostgreSQLContainer<>("postgres:15-alpine")
+                    .withDatabaseName("employee_management")
+                    .withUsername("mohirdev")
+                    .withPassword("123");
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry r) {
+        r.add("spring.datasource.url", pg::getJdbcUrl);
+        r.add("spring.datasource.email", pg::getUsername);
+        r.add("spring.datasource.password", pg::getPassword);
+    }
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private SalaryCopyService service;
+
+    @Autowired
+    private SalaryService salaryService;
+
+    @Autowired
+    private SalaryRepository salaryRepository;
+
+    @Autowired
+    private SalaryRollupService salaryRollupService;
+
+    private Employee john, jane;
+
+    @BeforeEach
+    void setUp() {
+        Department it = Department.builder().name("IT").managerId(1).build();
+        em.persistAndFlush(it);
+        john = employee("John", it);
+        jane = employee("Jane", it);
+
+        em.persistAndFlush(Salary.builder()
+                .employee(john)
+                .amount(5000d)
+                .currency("USD")
+                .paymentDate(Date.valueOf(LocalDate.of(2024, 1, 31)))
+                .build());
+    }
+
+    @Test
+    @DisplayName("load – merges valid rows, reports invalid ones by line")
+    void load_mergesAndReports() {
+        String csv = SalaryCopyService.CSV_COLUMNS + "\n"
+                + john.getId() + ",6000,USD,2024-01-31,100\n"
+                + jane.getId() + ",7000,USD,2024-01-31,\n"
+                + "999999,1000,USD,2024-01-31,\n"
+                + jane.getId() + ",-5,USD,2024-02-29,\n"
+                + jane.getId() + ",100,USD,2024-02-30,\n"
+                + jane.getId() + ",8000,USD,2024-02-29,\n"
+                + jane.getId() + ",8100,USD,2024-02-29,\n";
+
+        SalaryLoadResultDTO res = service.load(stream(csv));
+
+        assertThat(res.processed()).isEqualTo(7);
+        assertThat(res.rejected()).isEqualTo(3);
+        assertThat(res.updated()).isEqualTo(1);
+        assertThat(res.inserted()).isEqualTo(2);
+        assertThat(res.errors())
+                .extracting(ImportRowErrorDTO::line, ImportRowErrorDTO::message)
+                .containsExactly(
+                        tuple(4L, "Employee not found with id : '999999'"),
+                        tuple(5L, "Amount must be positive"),
+                        tuple(6L, "Invalid payment date: 2024-02-30"));
+
+        em.clear();
+        assertThat(salaryRepository.findByEmployee_IdOrderByPaymentDate(john.getId()))
+                .singleElement()
+                .satisfies(s -> {
+                    assertThat(s.getAmount()).isEqualTo(6000d);
+                    assertThat(s.getBonus()).isEqualTo(100d);
+                });
+        assertThat(salaryRepository.findByEmployee_IdOrderByPaymentDate(jane.getId()))
+                .extracting(Salary::getAmount)
+                .containsExactly(7000d, 8100d);
+    }
+
+    @Test
+    @DisplayName("load – monthly rollup matches a full rebuild afterwards")
+    void load_keepsRollupInStep() {
+        salaryRollupService.rebuild();
+        String csv = SalaryCopyService.CSV_COLUMNS + "\n"
+                + john.getId() + ",6000,EUR,2024-01-31,100\n"
+                + jane.getId() + ",7000,USD,2024-02-29,\n";
+
+        service.load(stream(csv));
+
+        var incremental = salaryRollupService.monthlyByDepartment(2024);
+        salaryRollupService.rebuild();
+        assertThat(incremental)
+                .isEqualTo(salaryRollupService.monthlyByDepartment(2024))
+                .extracting(SalaryDepartmentMonthlyStatDTO::month, SalaryDepartmentMonthlyStatDTO::currency,
+                        SalaryDepartmentMonthlyStatDTO::totalAmount)
+                .containsExactly(tuple(1, "EUR", 6000d), tuple(2, "USD", 7000d));
+    }
+
+    @Test
+    @DisplayName("load – malformed file is rejected as a whole")
+    void load_malformedFile() {
+        String csv = SalaryCopyService.CSV_COLUMNS + "\n" + john.getId() + ",1,USD,2024-01-31,0,extra\n";
+
+        assertThatThrownBy(() -> service.load(stream(csv)))
+                .isInstanceOf(BusinessValidationException.class)
+                .hasMessageStartingWith("Could not read salary file");
+    }
+
+    @Test
+    @DisplayName("unload – CSV in load column order, filtered by date")
+    void unload_filtersByDate() {
+        ByteArrayOutputStream all = new ByteArrayOutputStream();
+        long rows = service.unload(null, null, all);
+
+        assertThat(rows).isEqualTo(1);
+        assertThat(all.toString(StandardCharsets.UTF_8).lines().toList())
+                .containsExactly(SalaryCopyService.CSV_COLUMNS, john.getId() + ",5000,USD,2024-01-31,");
+
+        ByteArrayOutputStream none = new ByteArrayOutputStream();
+        assertThat(service.unload(LocalDate.of(2024, 2, 1), null, none)).isZero();
+    }
+
+    @Test
+    @DisplayName("unload – rejects inverted range")
+    void unload_invertedRange() {
+        assertThatThrownBy(() -> service.unload(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 1, 1),
+                new ByteArrayOutputStream()))
+                .isInstanceOf(BusinessValidationException.class);
+    }
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("benchmark – COPY load vs per-row SalaryService.save")
+    void benchmark_copyVersusPerRow() {
+        int rows = 10_000;
+        LocalDate start = LocalDate.of(2000, 1, 1);
+
+        long perRowStart = System.nanoTime();
+        for (int i = 0; i < rows; i++) {
+            salaryService.save(new SalaryRequestDTO(john.getId(), 1000d + i, "USD",
+                    Date.valueOf(start.plusDays(i)), null));
+        }
+        em.flush();
+        em.clear();
+        long perRowMillis = (System.nanoTime() - perRowStart) / 1_000_000;
+
+        StringBuilder csv = new StringBuilder(SalaryCopyService.CSV_COLUMNS).append('\n');
+        for (int i = 0; i < rows; i++) {
+            csv.append(jane.getId()).append(',').append(1000 + i).append(",USD,")
+                    .append(start.plusDays(i)).append(",\n");
+        }
+        long copyStart = System.nanoTime();
+        SalaryLoadResultDTO res = service.load(stream(csv.toString()));
+        long copyMillis = (System.nanoTime() - copyStart) / 1_000_000;
+
+        System.out.printf("salaries x%d: per-row save %d ms, COPY load %d ms%n", rows, perRowMillis, copyMillis);
+        assertThat(res.inserted()).isEqualTo(rows);
+    }
+
+    private Employee employee(String name, Department dept) {
+        Employee e = Employee.builder()
+                .firstName(name)
+                .lastName("Doe")
+                .department(dept)
+                .status(Status.ACTIVE)
+                .build();
+        em.persistAndFlush(e);
+        return e;
+    }
+
+    private static InputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,169 @@
+package com.muhammadali.employee_management.service;
+
+import com.muhammadali.employee_management.dto.SalaryPartitionDTO;
+import com.muhammadali.employee_management.entity.Department;
+import com.muhammadali.employee_management.entity.Employee;
+import com.muhammadali.employee_management.entity.Salary;
+import com.muhammadali.employee_management.enums.Status;
+import com.muhammadali.employee_management.exceptions.BusinessValidationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+// Partition DDL only means something on a real PostgreSQL, so this runs against the container.
+@DataJpaTest
+@Testcontainers
+public class SalaryPartitionServiceTests {
+
+    @Container
+    static final PostgreSQLContainer<?> pg =
+            new PostgreSQLContainer<>("postgres:15-alpine")
+                    .withDatabaseName("employee_management")
+                    .withUsername("mohirdev")
+                    .withPassword("123");
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry r) {
+        r.add("spring.datasource.url", pg::getJdbcUrl);
+        r.add("spring.datasource.email", pg::getUsername);
+        r.add("spring.datasource.password", pg::getPassword);
+    }
+
+    private static final LocalDate TODAY = LocalDate.of(2031, 5, 20);
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private SalaryPartitionService service;
+
+    private Employee john;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(TODAY.atStartOfDay(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault());
+        service = new SalaryPartitionService(jdbcTemplate, 2, clock);
+
+        Department it = Department.builder().name("IT").managerId(1).build();
+        em.persistAndFlush(it);
+        john = Employee.builder().firstName("John").lastName("Doe").department(it).status(Status.ACTIVE).build();
+        em.persistAndFlush(john);
+    }
+
+    @Test
+    @DisplayName("ensurePartitions – creates months ahead and moves early rows out of the default partition")
+    void ensurePartitions_createsAheadAndMovesDefaultRows() {
+        salary(LocalDate.of(2031, 6, 30));
+
+        service.ensurePartitions();
+
+        assertThat(service.list())
+                .extracting(SalaryPartitionDTO::name)
+                .contains("salaries_p203105", "salaries_p203106", "salaries_p203107", "salaries_default");
+        assertThat(count("salaries_p203106")).isEqualTo(1);
+        assertThat(count("salaries_default")).isZero();
+
+        service.ensurePartitions();
+        assertThat(count("salaries_p203106")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("ensure_salary_partitions – a second caller waits and skips what the first created")
+    void ensurePartitions_concurrentCallersDoNotFail() throws Exception {
+        try (Connection first = dataSource.getConnection(); Connection second = dataSource.getConnection()) {
+            first.setAutoCommit(false);
+            second.setAutoCommit(false);
+            ensure(first);
+
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            try {
+                Future<?> waiting = executor.submit(() -> ensure(second));
+                Thread.sleep(200);
+                assertThat(waiting.isDone()).isFalse();
+
+                first.commit();
+                waiting.get(10, TimeUnit.SECONDS);
+                second.commit();
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+        assertThat(count("salaries_p203501")).isZero();
+    }
+
+    @Test
+    @DisplayName("detachBefore – detaches and renames whole months before the date")
+    void detachBefore_detachesOldMonths() {
+        jdbcTemplate.queryForList("SELECT ensure_salary_partitions(?, ?)", String.class,
+                LocalDate.of(2031, 1, 1), LocalDate.of(2031, 3, 1));
+        salary(LocalDate.of(2031, 1, 31));
+
+        assertThat(service.detachBefore(LocalDate.of(2031, 3, 1)))
+                .containsExactly("salaries_archived_p203101", "salaries_archived_p203102");
+
+        assertThat(service.list())
+                .extracting(SalaryPartitionDTO::name)
+                .contains("salaries_p203103")
+                .doesNotContain("salaries_p203101", "salaries_p203102");
+        assertThat(count("salaries_archived_p203101")).isEqualTo(1);
+        assertThat(count("salaries")).isZero();
+    }
+
+    @Test
+    @DisplayName("detachBefore – refuses the current month")
+    void detachBefore_rejectsCurrentMonth() {
+        assertThatThrownBy(() -> service.detachBefore(TODAY))
+                .isInstanceOf(BusinessValidationException.class);
+    }
+
+    private void salary(LocalDate paymentDate) {
+        em.persistAndFlush(Salary.builder()
+                .employee(john)
+                .amount(1000d)
+                .currency("USD")
+                .paymentDate(Date.valueOf(paymentDate))
+                .build());
+    }
+
+    private static Void ensure(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT ensure_salary_partitions(?, ?)")) {
+            statement.setObject(1, LocalDate.of(2035, 1, 1));
+            statement.setObject(2, LocalDate.of(2035, 2, 1));
+            statement.executeQuery().close();
+        }
+        return null;
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+}
@@ -0,0 +1,107 @@
+package com.muhammadali.employee_management.service;
+
+import com.muhammadali.employee_management.dto.EmployeeResponseDTO;
+import com.muhammadali.employee_management.dto.EmployeeSalaryRankDTO;
+import com.muhammadali.employee_management.enums.Status;
+import com.muhammadali.employee_management.exceptions.BusinessValidationException;
+import com.muhammadali.employee_management.repository.EmployeeRepository;
+import com.muhammadali.employee_management.repository.SalaryRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SalaryRankingServiceTests {
+
+    @Mock
+    private SalaryRepository salaryRepository;
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @InjectMocks
+    private SalaryRankingService service;
+
+
+    @Test
+    void topEarnerIds_collapsesRepeatedEmployees() {
+        when(salaryRepository.findSalaryRanking(any(Pageable.class))).thenReturn(List.of(
+                rank(3L, 9000d), rank(3L, 8500d), rank(1L, 8000d), rank(2L, 7000d)));
+
+        assertThat(service.topEarnerIds(null, 2)).containsExactly(3L, 1L);
+    }
+
+
+    @Test
+    void topEarnerIds_continuesAfterLastRowWhenFirstChunkIsAllDuplicates() {
+        List<EmployeeSalaryRankDTO> firstChunk = Collections.nCopies(32, rank(7L, 5000d));
+        when(salaryRepository.findSalaryRanking(PageRequest.of(0, 32))).thenReturn(firstChunk);
+        when(salaryRepository.findSalaryRankingAfter(5000d, 7L, PageRequest.of(0, 32)))
+                .thenReturn(List.of(rank(8L, 4000d)));
+
+        assertThat(service.topEarnerIds(null, 2)).containsExactly(7L, 8L);
+    }
+
+
+    @Test
+    void topEarnerIds_ranksDepartmentInOneGroupedQuery() {
+        when(salaryRepository.findTopEarnersByDepartment(5L, PageRequest.of(0, 10)))
+                .thenReturn(List.of(rank(2L, 300d), rank(1L, 100d)));
+
+        assertThat(service.topEarnerIds(5L, 10)).containsExactly(2L, 1L);
+        verify(salaryRepository, never()).findSalaryRanking(any(Pageable.class));
+    }
+
+
+    @Test
+    void topEarnerIds_rejectsInvalidLimit() {
+        assertThatThrownBy(() -> service.topEarnerIds(null, 0))
+                .isInstanceOf(BusinessValidationException.class);
+        assertThatThrownBy(() -> service.topEarnerIds(null, SalaryRankingService.MAX_TOP_K + 1))
+                .isInstanceOf(BusinessValidationException.class);
+        verifyNoInteractions(salaryRepository);
+    }
+
+
+    @Test
+    void topEarners_keepsRankingOrder() {
+        when(salaryRepository.findSalaryRanking(any(Pageable.class)))
+                .thenReturn(List.of(rank(2L, 9000d), rank(1L, 8000d)));
+        when(employeeRepository.findProjectedByIdIn(anyCollection()))
+                .thenReturn(List.of(response(1L, "John Doe"), response(2L, "Jane Smith")));
+
+        List<EmployeeResponseDTO> res = service.topEarners(null, 5);
+
+        assertThat(res).extracting(EmployeeResponseDTO::id).containsExactly(2L, 1L);
+    }
+
+
+    @Test
+    void topEarners_emptyWhenNoSalaries() {
+        when(salaryRepository.findSalaryRanking(any(Pageable.class))).thenReturn(List.of());
+
+        assertThat(service.topEarners(null, 5)).isEmpty();
+        verifyNoInteractions(employeeRepository);
+    }
+
+
+    private static EmployeeSalaryRankDTO rank(Long employeeId, Double amount) {
+        return new EmployeeSalaryRankDTO(employeeId, amount);
+    }
+
+    private static EmployeeResponseDTO response(Long id, String fullName) {
+        return new EmployeeResponseDTO(id, fullName, null, null, null, null, null, null, Status.ACTIVE, null);
+    }
+}
@@ -0,0 +1,158 @@
+package com.muhammadali.employee_management.service;
+
+import com.muhammadali.employee_management.dto.SalaryDepartmentMonthlyStatDTO;
+import com.muhammadali.employee_management.dto.SalaryMonthlyStatDTO;
+import com.muhammadali.employee_management.dto.SalaryRequestDTO;
+import com.muhammadali.employee_management.dto.SalaryResponseDTO;
+import com.muhammadali.employee_management.entity.Department;
+import com.muhammadali.employee_management.entity.Employee;
+import com.muhammadali.employee_management.enums.Status;
+import com.muhammadali.employee_management.exceptions.BusinessValidationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+// The rollup is plain SQL against PostgreSQL (ON CONFLICT, NUMERIC casts), so like
+// SalaryCopyServiceTests this runs against the container. Each test checks the
+// incrementally maintained rows against a full rebuild.
+@DataJpaTest
+@Testcontainers
+@Import({SalaryRollupService.class, SalaryService.class, SalaryPartitionService.class,
+        DepartmentSalarySummaryCache.class})
+public class SalaryRollupServiceTests {
+
+    @Container
+    static final PostgreSQLContainer<?> pg =
+            new PostgreSQLContainer<>("postgres:15-alpine")
+                    .withDatabaseName("employee_management")
+                    .withUsername("mohirdev")
+                    .withPassword("123");
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry r) {
+        r.add("spring.datasource.url", pg::getJdbcUrl);
+        r.add("spring.datasource.email", pg::getUsername);
+        r.add("spring.datasource.password", pg::getPassword);
+    }
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private SalaryRollupService rollup;
+
+    @Autowired
+    private SalaryService salaryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Department it, hr;
+
+    private Employee john;
+
+    @BeforeEach
+    void setUp() {
+        it = Department.builder().name("IT").managerId(1).build();
+        hr = Department.builder().name("HR").managerId(2).build();
+        em.persistAndFlush(it);
+        em.persistAndFlush(hr);
+        john = Employee.builder().firstName("John").lastName("Doe").department(it).status(Status.ACTIVE).build();
+        em.persistAndFlush(john);
+        rollup.rebuild();
+    }
+
+    @Test
+    @DisplayName("save, update, addBonus and delete apply deltas")
+    void serviceWrites_matchRebuild() {
+        SalaryResponseDTO jan = salaryService.save(request(5000d, "USD", LocalDate.of(2024, 1, 31), 100d));
+        SalaryResponseDTO feb = salaryService.save(request(5100d, "USD", LocalDate.of(2024, 2, 29), null));
+        salaryService.save(request(900d, "EUR", LocalDate.of(2024, 2, 29), null));
+
+        salaryService.update(feb.id(), request(5200d, "USD", LocalDate.of(2024, 3, 31), 50d));
+        salaryService.addBonus(jan.id(), 25d);
+        salaryService.delete(jan.id());
+        em.flush();
+
+        assertMatchesRebuild(2024);
+        assertThat(rollup.monthlyTotals(2024))
+                .extracting(SalaryMonthlyStatDTO::month, SalaryMonthlyStatDTO::totalAmount)
+                .containsExactly(tuple(2, 900d), tuple(3, 5250d));
+    }
+
+    @Test
+    @DisplayName("employeeMoved – totals follow the employee to the new department")
+    void employeeMoved_movesTotals() {
+        salaryService.save(request(5000d, "USD", LocalDate.of(2024, 1, 31), null));
+        salaryService.save(request(6000d, "USD", LocalDate.of(2024, 2, 29), null));
+
+        john.setDepartment(hr);
+        em.persistAndFlush(john);
+        rollup.employeeMoved(john.getId(), it.getId(), hr.getId());
+
+        assertMatchesRebuild(2024);
+        assertThat(rollup.monthlyTotals(it.getId(), 2024)).isEmpty();
+        assertThat(rollup.monthlyTotals(hr.getId(), 2024))
+                .extracting(SalaryMonthlyStatDTO::totalAmount)
+                .containsExactly(5000d, 6000d);
+    }
+
+    @Test
+    @DisplayName("salary deltas use the department on the employee row, not the loaded entity")
+    void salaryWrite_usesCommittedDepartmentOfEmployee() {
+        em.getEntityManager().createNativeQuery("UPDATE employee SET department_id = :dept WHERE id = :id")
+                .setParameter("dept", hr.getId())
+                .setParameter("id", john.getId())
+                .executeUpdate();
+
+        salaryService.save(request(5000d, "USD", LocalDate.of(2024, 1, 31), null));
+
+        assertThat(rollup.monthlyTotals(it.getId(), 2024)).isEmpty();
+        assertThat(rollup.monthlyTotals(hr.getId(), 2024))
+                .extracting(SalaryMonthlyStatDTO::totalAmount)
+                .containsExactly(5000d);
+    }
+
+    @Test
+    @DisplayName("rebuild – leaves archived months as they are and can run repeatedly")
+    void rebuild_keepsArchivedMonthsAndIsIdempotent() {
+        salaryService.save(request(5000d, "USD", LocalDate.of(2024, 1, 31), null));
+        em.flush();
+        jdbcTemplate.execute("CREATE TABLE salaries_archived_p202401 (LIKE salaries)");
+
+        rollup.rebuild();
+        rollup.rebuild();
+
+        assertThat(rollup.monthlyTotals(2024))
+                .extracting(SalaryMonthlyStatDTO::totalAmount)
+                .containsExactly(5000d);
+        assertThatThrownBy(() -> salaryService.save(request(100d, "USD", LocalDate.of(2024, 1, 15), null)))
+                .isInstanceOf(BusinessValidationException.class);
+    }
+
+    private void assertMatchesRebuild(int year) {
+        List<SalaryDepartmentMonthlyStatDTO> incremental = rollup.monthlyByDepartment(year);
+        rollup.rebuild();
+        assertThat(incremental).isEqualTo(rollup.monthlyByDepartment(year));
+    }
+
+    private SalaryRequestDTO request(Double amount, String currency, LocalDate paymentDate, Double bonus) {
+        return new SalaryRequestDTO(john.getId(), amount, currency, Date.valueOf(paymentDate), bonus);
+    }
+}
@@ -28,6 +28,9 @@ public class SalaryServiceTests {
     @Mock public SalaryRepository salaryRepository;
     @Mock public EmployeeRepository employeeRepository;
     @Mock public SalaryMapper salaryMapper;
+    @Mock public DepartmentSalarySummaryCache salarySummaryCache;
+    @Mock public SalaryRollupService salaryRollupService;
+    @Mock public SalaryPartitionService salaryPartitionService;
     @Captor public ArgumentCaptor<Salary> salaryCaptor;
 
     @InjectMocks public SalaryService service;
@@ -67,6 +70,20 @@ public class SalaryServiceTests {
         Salary saved = salaryCaptor.getValue();
         assertThat(saved.getAmount()).isEqualTo(5000.0);
         assertThat(saved.getEmployee()).isEqualTo(employee);
+        verify(salaryRollupService).added(salary);
+        verify(salarySummaryCache).invalidate();
+    }
+
+    @Test
+    public void save_archivedMonth_shouldThrow() {
+        when(employeeRepository.findById(10L)).thenReturn(Optional.of(employee));
+        when(salaryPartitionService.isArchived(any())).thenReturn(true);
+
+        assertThatThrownBy(() -> service.save(dto))
+                .isInstanceOf(BusinessValidationException.class)
+                .hasMessageContaining("archived");
+        verify(salaryRepository, never()).save(any());
+        verifyNoInteractions(salaryRollupService);
     }
 
     @Test
@@ -76,6 +93,7 @@ public class SalaryServiceTests {
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("Employee not found with id : '10'");
         verify(salaryRepository, never()).save(any());
+        verifyNoInteractions(salarySummaryCache, salaryRollupService);
     }
 
 
@@ -83,8 +101,10 @@ public class SalaryServiceTests {
     @Test
     public void update_success() {
         SalaryRequestDTO updateDto = new SalaryRequestDTO(10L, 6000.0, "EUR", new Date(), 300.0);
+        SalaryRollupService.Entry before = SalaryRollupService.Entry.of(salary);
         when(salaryRepository.findById(1L)).thenReturn(Optional.of(salary));
         when(employeeRepository.findById(10L)).thenReturn(Optional.of(employee));
+        when(salaryRepository.save(salary)).thenReturn(salary);
 
         service.update(1L, updateDto);
 
@@ -92,6 +112,7 @@ public class SalaryServiceTests {
         assertThat(salary.getAmount()).isEqualTo(6000.0);
         assertThat(salary.getCurrency()).isEqualTo("EUR");
         assertThat(salary.getBonus()).isEqualTo(300.0);
+        verify(salaryRollupService).changed(before, salary);
     }
 
     @Test
@@ -183,7 +204,7 @@ public class SalaryServiceTests {
 
     @Test
     public void getTop10HighestBonus_success() {
-        when(salaryRepository.findTop10ByOrderByBonusDesc()).thenReturn(List.of(salary));
+        when(salaryRepository.findTop10ByBonusIsNotNullOrderByBonusDesc()).thenReturn(List.of(salary));
         List<SalaryResponseDTO> res = service.getTop10HighestBonus();
         assertThat(res).hasSize(1);
     }
@@ -200,18 +221,26 @@ public class SalaryServiceTests {
     @Test
     public void getMonthlySalaryStats_withYear() {
         SalaryMonthlyStatDTO stat = new SalaryMonthlyStatDTO(2024, 1, 15000.0);
-        when(salaryRepository.getMonthlySalaryStats(2024)).thenReturn(List.of(stat));
+        when(salaryRollupService.monthlyTotals(2024)).thenReturn(List.of(stat));
         List<SalaryMonthlyStatDTO> res = service.getMonthlySalaryStats(2024);
         assertThat(res).hasSize(1);
-        verify(salaryRepository).getMonthlySalaryStats(2024);
+        verify(salaryRollupService).monthlyTotals(2024);
+        verifyNoInteractions(salaryRepository);
     }
 
     @Test
     public void getMonthlySalaryStats_defaultYear() {
         int currentYear = java.time.Year.now().getValue();
-        when(salaryRepository.getMonthlySalaryStats(currentYear)).thenReturn(List.of());
+        when(salaryRollupService.monthlyTotals(currentYear)).thenReturn(List.of());
         service.getMonthlySalaryStats(null);
-        verify(salaryRepository).getMonthlySalaryStats(currentYear);
+        verify(salaryRollupService).monthlyTotals(currentYear);
+    }
+
+    @Test
+    public void getMonthlySalaryStatsByDepartment_readsRollup() {
+        SalaryMonthlyStatDTO stat = new SalaryMonthlyStatDTO(2024, 3, 5200.0);
+        when(salaryRollupService.monthlyTotals(1L, 2024)).thenReturn(List.of(stat));
+        assertThat(service.getMonthlySalaryStatsByDepartment(1L, 2024)).containsExactly(stat);
     }
 
 
@@ -248,13 +277,22 @@ public class SalaryServiceTests {
 
     @Test
     public void getSalariesByDateRange_success() {
-        Date start = new Date();
-        Date end = new Date();
-        when(salaryRepository.findByPaymentDateBetween(start, end)).thenReturn(List.of(salary));
+        Date start = java.sql.Date.valueOf(java.time.LocalDate.of(2024, 1, 1));
+        Date end = java.sql.Date.valueOf(java.time.LocalDate.of(2024, 1, 31));
+        when(salaryRepository.findByPaymentDateRange(start, java.sql.Date.valueOf(java.time.LocalDate.of(2024, 2, 1))))
+                .thenReturn(List.of(salary));
         List<SalaryResponseDTO> res = service.getSalariesByDateRange(start, end);
         assertThat(res).hasSize(1);
     }
 
+    @Test
+    public void getSalaryHistoryByEmployee_range_invertedRange() {
+        assertThatThrownBy(() -> service.getSalaryHistoryByEmployee(10L,
+                java.time.LocalDate.of(2024, 2, 1), java.time.LocalDate.of(2024, 1, 1)))
+                .isInstanceOf(InvalidDateRangeException.class);
+        verifyNoInteractions(salaryRepository);
+    }
+
 
 
     @Test
@@ -277,9 +315,12 @@ public class SalaryServiceTests {
 
     @Test
     public void addBonus_success() {
+        SalaryRollupService.Entry before = SalaryRollupService.Entry.of(salary);
         when(salaryRepository.findById(1L)).thenReturn(Optional.of(salary));
+        when(salaryRepository.save(salary)).thenReturn(salary);
         service.addBonus(1L, 100.0);
         assertThat(salary.getBonus()).isEqualTo(300.0); // 200 + 100
+        verify(salaryRollupService).changed(before, salary);
     }
 
     @Test
@@ -309,14 +350,15 @@ public class SalaryServiceTests {
 
     @Test
     public void delete_success() {
-        when(salaryRepository.existsById(1L)).thenReturn(true);
+        when(salaryRepository.findById(1L)).thenReturn(Optional.of(salary));
         service.delete(1L);
-        verify(salaryRepository).deleteById(1L);
+        verify(salaryRepository).delete(salary);
+        verify(salaryRollupService).removed(salary);
     }
 
     @Test
     public void delete_notFound() {
-        when(salaryRepository.existsById(1L)).thenReturn(false);
+        when(salaryRepository.findById(1L)).thenReturn(Optional.empty());
         assertThatThrownBy(() -> service.delete(1L))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("Salary not found with id : '1'");
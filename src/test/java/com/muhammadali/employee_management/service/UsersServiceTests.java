@@ -12,6 +12,7 @@ import com.muhammadali.employee_management.mapper.UsersMapper;
 import com.muhammadali.employee_management.repository.EmployeeRepository;
 import com.muhammadali.employee_management.repository.RoleRepository;
 import com.muhammadali.employee_management.repository.UsersRepository;
+import com.muhammadali.employee_management.security.service.PrincipalCache;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
@@ -33,6 +34,7 @@ public class UsersServiceTests {
     @Mock public RoleRepository roleRepository;
     @Mock public PasswordEncoder passwordEncoder;
     @Mock public UsersMapper usersMapper;
+    @Mock public PrincipalCache principalCache;
 
     @InjectMocks public UsersService service;
 
@@ -171,6 +173,7 @@ public class UsersServiceTests {
     @Test
     public void update_success() {
         UsersRequestDTO updateDto = new UsersRequestDTO("john2", "john2@example.com", "newPass", 1L, 1L, Status.INACTIVE);
+        String previousEmail = user.getEmail();
         when(usersRepository.findById(10L)).thenReturn(Optional.of(user));
         when(roleRepository.findById(1L)).thenReturn(Optional.of(role));
         when(usersRepository.findByUsername("john2")).thenReturn(Optional.empty());
@@ -187,6 +190,8 @@ public class UsersServiceTests {
         assertThat(user.getPassword()).isEqualTo("newEncoded");
         assertThat(user.getStatus()).isEqualTo("INACTIVE");
         assertThat(result).isEqualTo(responseDTO);
+        verify(principalCache).evict(previousEmail);
+        verify(principalCache).evict("john2@example.com");
     }
 
     @Test
@@ -250,17 +255,19 @@ public class UsersServiceTests {
 
     @Test
     public void delete_success() {
-        when(usersRepository.existsById(10L)).thenReturn(true);
+        when(usersRepository.findById(10L)).thenReturn(Optional.of(user));
         service.delete(10L);
-        verify(usersRepository).deleteById(10L);
+        verify(usersRepository).delete(user);
+        verify(principalCache).evict(user.getEmail());
     }
 
     @Test
     public void delete_notFound() {
-        when(usersRepository.existsById(10L)).thenReturn(false);
+        when(usersRepository.findById(10L)).thenReturn(Optional.empty());
         assertThatThrownBy(() -> service.delete(10L))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("User not found with id : '10'");
-        verify(usersRepository, never()).deleteById(anyLong());
+        verify(usersRepository, never()).delete(any(Users.class));
+        verifyNoInteractions(principalCache);
     }
 }
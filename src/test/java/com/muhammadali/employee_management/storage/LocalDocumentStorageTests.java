@@ -0,0 +1,103 @@
+package com.muhammadali.employee_management.storage;
+
+import com.muhammadali.employee_management.exceptions.FileStorageException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class LocalDocumentStorageTests {
+
+    private static final String KEY = "abcdef0123456789";
+
+    @TempDir
+    Path root;
+
+    private LocalDocumentStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        storage = new LocalDocumentStorage(root.toString());
+    }
+
+    @Test
+    void put_storesUnderShardedPath() throws IOException {
+        put(KEY, "hello world");
+
+        assertThat(root.resolve("ab/cd/" + KEY)).hasContent("hello world");
+        assertThat(storage.localFile(KEY)).contains(root.resolve("ab/cd/" + KEY));
+        assertThat(storage.stat(KEY)).get().extracting(StoredObject::size).isEqualTo(11L);
+        try (Stream<Path> leftovers = Files.list(root.resolve("tmp"))) {
+            assertThat(leftovers).isEmpty();
+        }
+    }
+
+    @Test
+    void get_readsWholeObjectOrRange() throws IOException {
+        put(KEY, "hello world");
+
+        try (InputStream whole = storage.get(KEY); InputStream range = storage.get(KEY, 6, 3)) {
+            assertThat(whole).hasContent("hello world");
+            assertThat(range).hasContent("wor");
+        }
+    }
+
+    @Test
+    void missingObject_isEmptyOrNoSuchFile() throws IOException {
+        assertThat(storage.stat(KEY)).isEmpty();
+        assertThatThrownBy(() -> storage.get(KEY)).isInstanceOf(NoSuchFileException.class);
+        assertThatCode(() -> storage.delete(KEY)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void putFile_movesFileIntoPlace() throws IOException {
+        Path staged = Files.writeString(root.resolve("tmp/staged"), "moved");
+
+        storage.putFile(KEY, staged);
+
+        assertThat(staged).doesNotExist();
+        assertThat(root.resolve("ab/cd/" + KEY)).hasContent("moved");
+    }
+
+    @Test
+    void list_skipsFilesOutsideTheShardLayout() throws IOException {
+        put(KEY, "one");
+        put("0123456789", "two");
+        Files.writeString(root.resolve("tmp/upload.tmp"), "staged");
+        Files.writeString(root.resolve("ab/stray"), "stray");
+
+        try (Stream<StoredObject> objects = storage.list()) {
+            assertThat(objects).extracting(StoredObject::key).containsExactlyInAnyOrder(KEY, "0123456789");
+        }
+    }
+
+    @Test
+    void delete_removesObject() throws IOException {
+        put(KEY, "hello");
+
+        storage.delete(KEY);
+
+        assertThat(storage.stat(KEY)).isEmpty();
+    }
+
+    @Test
+    void invalidKey_isRejected() {
+        assertThatThrownBy(() -> storage.get("../../etc/passwd")).isInstanceOf(FileStorageException.class);
+        assertThatThrownBy(() -> storage.get("ab")).isInstanceOf(FileStorageException.class);
+    }
+
+    private void put(String key, String content) throws IOException {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        storage.put(key, new ByteArrayInputStream(bytes), bytes.length);
+    }
+}
@@ -0,0 +1,125 @@
+package com.muhammadali.employee_management.storage;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+// Runs the S3 backend against MinIO, the same stand-in docker-compose offers under the s3 profile.
+@Testcontainers
+public class S3DocumentStorageTests {
+
+    @Container
+    static final GenericContainer<?> minio =
+            new GenericContainer<>("minio/minio:RELEASE.2024-01-16T16-07-38Z")
+                    .withCommand("server", "/data")
+                    .withEnv("MINIO_ROOT_USER", "minioadmin")
+                    .withEnv("MINIO_ROOT_PASSWORD", "minioadmin")
+                    .withExposedPorts(9000)
+                    .waitingFor(Wait.forHttp("/minio/health/live").forPort(9000));
+
+    private static S3DocumentStorage storage;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        storage = new S3DocumentStorage("http://" + minio.getHost() + ":" + minio.getMappedPort(9000),
+                "us-east-1", "documents", "minioadmin", "minioadmin", true,
+                S3DocumentStorage.MIN_PART_SIZE, Duration.ofSeconds(2), Duration.ofSeconds(30));
+        storage.createBucketIfMissing();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        storage.close();
+    }
+
+    @Test
+    void put_smallObject_roundTripsWithRangeAndStat() throws IOException {
+        byte[] content = "hello world".getBytes(StandardCharsets.UTF_8);
+
+        storage.put("small", new ByteArrayInputStream(content), content.length);
+
+        try (InputStream whole = storage.get("small"); InputStream range = storage.get("small", 6, 3)) {
+            assertThat(whole).hasContent("hello world");
+            assertThat(range).hasContent("wor");
+        }
+        assertThat(storage.stat("small")).get().extracting(StoredObject::size).isEqualTo(11L);
+    }
+
+    @Test
+    void put_unknownLengthBeyondOnePart_usesMultipartUpload() throws IOException {
+        byte[] content = new byte[S3DocumentStorage.MIN_PART_SIZE * 2 + 1234];
+        new Random(42).nextBytes(content);
+
+        storage.put("large", new ByteArrayInputStream(content), -1);
+
+        try (InputStream in = storage.get("large")) {
+            assertThat(in.readAllBytes()).isEqualTo(content);
+        }
+        try (InputStream tail = storage.get("large", content.length - 10, 10)) {
+            assertThat(tail.readAllBytes()).containsExactly(
+                    Arrays.copyOfRange(content, content.length - 10, content.length));
+        }
+        assertThat(storage.stat("large")).get().extracting(StoredObject::size).isEqualTo((long) content.length);
+    }
+
+    @Test
+    void missingObject_isEmptyOrNoSuchFile() throws IOException {
+        assertThat(storage.stat("missing")).isEmpty();
+        assertThatThrownBy(() -> storage.get("missing")).isInstanceOf(NoSuchFileException.class);
+        assertThatCode(() -> storage.delete("missing")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void keysNeedingEncoding_roundTrip() throws IOException {
+        byte[] content = "x".getBytes(StandardCharsets.UTF_8);
+
+        storage.put("a key+with=odd&chars", new ByteArrayInputStream(content), content.length);
+
+        assertThat(storage.stat("a key+with=odd&chars")).isPresent();
+        try (InputStream in = storage.get("a key+with=odd&chars")) {
+            assertThat(in).hasContent("x");
+        }
+    }
+
+    @Test
+    void list_and_delete() throws IOException {
+        byte[] content = "listed".getBytes(StandardCharsets.UTF_8);
+        storage.put("listed", new ByteArrayInputStream(content), content.length);
+
+        try (Stream<StoredObject> objects = storage.list()) {
+            assertThat(objects).extracting(StoredObject::key).contains("listed");
+        }
+
+        storage.delete("listed");
+
+        assertThat(storage.stat("listed")).isEmpty();
+    }
+
+    @Test
+    void wrongCredentials_areReported() {
+        try (S3DocumentStorage wrong = new S3DocumentStorage("http://" + minio.getHost() + ":" + minio.getMappedPort(9000),
+                "us-east-1", "documents", "minioadmin", "not-the-secret", true,
+                S3DocumentStorage.MIN_PART_SIZE, Duration.ofSeconds(2), Duration.ofSeconds(30))) {
+
+            assertThatThrownBy(() -> wrong.get("small"))
+                    .isInstanceOf(IOException.class)
+                    .hasMessageContaining("403");
+        }
+    }
+}